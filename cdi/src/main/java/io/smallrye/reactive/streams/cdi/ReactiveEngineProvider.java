@@ -1,6 +1,5 @@
 package io.smallrye.reactive.streams.cdi;
 
-import java.util.Iterator;
 import java.util.ServiceLoader;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -8,22 +7,21 @@ import javax.enterprise.inject.Produces;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.ReactiveStreamsEngine;
 
+import io.smallrye.reactive.index.ServiceIndex;
+
 public class ReactiveEngineProvider {
 
     /**
-     * @return the reactive stream engine. It uses {@link ServiceLoader#load(Class)} to find an implementation from the
-     *         Classpath.
+     * @return the reactive stream engine. It uses the {@link ServiceIndex} to find an implementation from the Classpath,
+     *         falling back to {@link ServiceLoader#load(Class)} if no implementation is indexed.
      * @throws IllegalStateException if no implementations are found.
      */
     @Produces
     @ApplicationScoped
     public ReactiveStreamsEngine getEngine() {
-        Iterator<ReactiveStreamsEngine> iterator = ServiceLoader.load(ReactiveStreamsEngine.class).iterator();
-        if (iterator.hasNext()) {
-            return iterator.next();
-        }
-        throw new IllegalStateException("No implementation of the "
-                + ReactiveStreamsEngine.class.getName() + " found in the Classpath");
+        return ServiceIndex.first(ReactiveStreamsEngine.class)
+                .orElseThrow(() -> new IllegalStateException("No implementation of the "
+                        + ReactiveStreamsEngine.class.getName() + " found in the Classpath"));
     }
 
 }
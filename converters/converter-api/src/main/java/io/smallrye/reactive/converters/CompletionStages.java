@@ -0,0 +1,66 @@
+package io.smallrye.reactive.converters;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
+/**
+ * Helpers to implement {@link ReactiveTypeConverter#fromCompletionStage(CompletionStage)}.
+ */
+public final class CompletionStages {
+
+    private CompletionStages() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Invokes the callback once the given stage completes. The callback receives either the value (possibly
+     * {@code null}) and a {@code null} failure, or a {@code null} value and the failure, unwrapped if it is a
+     * {@link CompletionException}.
+     * <p>
+     * If the stage is a {@link CompletableFuture} that is already completed, the callback is invoked synchronously,
+     * without registering a completion action on the stage. Otherwise, a single completion action is registered.
+     *
+     * @param stage the stage, must not be {@code null}
+     * @param callback the callback, must not be {@code null}
+     * @param <T> the type of value
+     */
+    public static <T> void whenComplete(CompletionStage<T> stage, BiConsumer<? super T, ? super Throwable> callback) {
+        Objects.requireNonNull(callback, "The callback must not be `null`");
+        if (Objects.requireNonNull(stage, "The stage must not be `null`") instanceof CompletableFuture) {
+            CompletableFuture<T> future = (CompletableFuture<T>) stage;
+            if (future.isDone()) {
+                T value;
+                try {
+                    value = future.getNow(null);
+                } catch (CompletionException | CancellationException e) {
+                    callback.accept(null, unwrap(e));
+                    return;
+                }
+                callback.accept(value, null);
+                return;
+            }
+        }
+        stage.whenComplete((value, failure) -> {
+            if (failure != null) {
+                callback.accept(null, unwrap(failure));
+            } else {
+                callback.accept(value, null);
+            }
+        });
+    }
+
+    /**
+     * @param failure the failure
+     * @return the cause of the failure if it is a {@link CompletionException}, the failure otherwise
+     */
+    public static Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+}
@@ -2,31 +2,44 @@ package io.smallrye.reactive.converters;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.StreamSupport;
 
-public class Registry {
+import io.smallrye.reactive.index.ServiceIndex;
 
-    private static final List<ReactiveTypeConverter> converters;
+public class Registry {
 
-    static {
-        converters = new CopyOnWriteArrayList<>();
-        // Load the converters from the service loader.
-        StreamSupport.stream(ServiceLoader.load(ReactiveTypeConverter.class).spliterator(), false)
-                .forEach(converters::add);
-    }
+    /**
+     * Loaded on first use and not in the static initializer, so a native image initializing this class at build time
+     * does not instantiate the converters of the application during the build.
+     */
+    private static volatile List<ReactiveTypeConverter> converters;
 
     private Registry() {
         // Avoid direct instantiation.
     }
 
+    private static List<ReactiveTypeConverter> converters() {
+        List<ReactiveTypeConverter> list = converters;
+        if (list == null) {
+            synchronized (Registry.class) {
+                list = converters;
+                if (list == null) {
+                    // Load the converters from the service index, or the service loader if they are not indexed.
+                    list = new CopyOnWriteArrayList<>(ServiceIndex.load(ReactiveTypeConverter.class));
+                    converters = list;
+                }
+            }
+        }
+        return list;
+    }
+
     public static <T> Optional<ReactiveTypeConverter<T>> lookup(Class<T> input) {
-        return converters.stream().filter(entry -> entry.type().isAssignableFrom(Objects.requireNonNull(input)))
+        return converters().stream().filter(entry -> entry.type().isAssignableFrom(Objects.requireNonNull(input)))
                 .map(fc -> (ReactiveTypeConverter<T>) fc)
                 .findAny();
     }
 
     public static void register(ReactiveTypeConverter... fcs) {
-        Collections.addAll(converters, fcs);
+        Collections.addAll(converters(), fcs);
     }
 
 }
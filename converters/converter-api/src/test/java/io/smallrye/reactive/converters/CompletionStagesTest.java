@@ -0,0 +1,86 @@
+package io.smallrye.reactive.converters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class CompletionStagesTest {
+
+    private final AtomicReference<Object> value = new AtomicReference<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private <T> void observe(CompletionStage<T> stage) {
+        CompletionStages.whenComplete(stage, (v, f) -> {
+            calls.incrementAndGet();
+            value.set(v);
+            failure.set(f);
+        });
+    }
+
+    @Test
+    public void testWithACompletedFuture() {
+        observe(CompletableFuture.completedFuture("hello"));
+        assertThat(calls).hasValue(1);
+        assertThat(value).hasValue("hello");
+        assertThat(failure.get()).isNull();
+    }
+
+    @Test
+    public void testWithAFailedFuture() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(new IllegalStateException());
+        observe(future);
+        assertThat(calls).hasValue(1);
+        assertThat(value.get()).isNull();
+        assertThat(failure.get()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testWithACancelledFuture() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        future.cancel(false);
+        observe(future);
+        assertThat(failure.get()).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    public void testWithAPendingStage() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        observe(future.thenApply(s -> s + "!"));
+        assertThat(calls).hasValue(0);
+        future.complete("hello");
+        assertThat(calls).hasValue(1);
+        assertThat(value).hasValue("hello!");
+    }
+
+    @Test
+    public void testThatDependentFailuresAreUnwrapped() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletionStage<String> dependent = future.thenApply(s -> s);
+        observe(dependent);
+        future.completeExceptionally(new IllegalStateException());
+        assertThat(failure.get()).isInstanceOf(IllegalStateException.class);
+
+        // Already completed dependent stage.
+        observe(dependent);
+        assertThat(calls).hasValue(2);
+        assertThat(failure.get()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testUnwrap() {
+        IllegalStateException boom = new IllegalStateException();
+        assertThat(CompletionStages.unwrap(new CompletionException(boom))).isSameAs(boom);
+        assertThat(CompletionStages.unwrap(boom)).isSameAs(boom);
+        CompletionException withoutCause = new CompletionException("no cause", null);
+        assertThat(CompletionStages.unwrap(withoutCause)).isSameAs(withoutCause);
+    }
+}
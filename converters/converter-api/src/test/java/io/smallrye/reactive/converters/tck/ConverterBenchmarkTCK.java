@@ -0,0 +1,139 @@
+package io.smallrye.reactive.converters.tck;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+
+/**
+ * JMH benchmarks measuring the throughput of the 4 conversions of a {@link ReactiveTypeConverter}.
+ * <p>
+ * Converter modules extend this class in their test sources (the class name must end with {@code ConverterBenchmark})
+ * and run it with {@code mvn verify -Pbenchmarks}. The warmup, measurement, fork and parameter settings are defined
+ * here so the results of the different converters can be compared. The {@code gc} profiler is enabled by the profile
+ * to report the allocation rate ({@code gc.alloc.rate.norm} is the number of bytes allocated per operation).
+ * <p>
+ * Each benchmark converts an instance created during the setup and consumes the result synchronously. The results
+ * of {@code fromPublisher} and {@code fromCompletionStage} are consumed through
+ * {@link ReactiveTypeConverter#toRSPublisher(Object)}, so they include the cost of this conversion.
+ *
+ * @param <T> the converted type
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public abstract class ConverterBenchmarkTCK<T> {
+
+    /**
+     * The number of items emitted by the converted instances. Converters emitting at most one item receive a single
+     * item.
+     */
+    @Param({ "1", "1000" })
+    public int count;
+
+    private T instance;
+
+    private Publisher<String> publisher;
+
+    private CompletableFuture<String> completed;
+
+    protected abstract ReactiveTypeConverter<T> converter();
+
+    /**
+     * Creates an instance emitting the given values synchronously, and then completing.
+     *
+     * @param values the values, never empty
+     * @return the instance
+     */
+    protected abstract T createInstanceEmittingMultipleValues(String... values);
+
+    @Setup
+    public void setup() {
+        String[] values = new String[converter().emitAtMostOneItem() ? 1 : count];
+        Arrays.fill(values, "item");
+        instance = createInstanceEmittingMultipleValues(values);
+        publisher = Flowable.fromArray(values);
+        completed = CompletableFuture.completedFuture("item");
+    }
+
+    @Benchmark
+    public void toRSPublisher(Blackhole blackhole) {
+        Publisher<Object> converted = converter().toRSPublisher(instance);
+        converted.subscribe(new BlackholeSubscriber(blackhole));
+    }
+
+    @Benchmark
+    public Object toCompletionStage() {
+        return converter().toCompletionStage(instance).toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public void fromPublisher(Blackhole blackhole) {
+        T converted = converter().fromPublisher(publisher);
+        converter().toRSPublisher(converted).subscribe(new BlackholeSubscriber(blackhole));
+    }
+
+    @Benchmark
+    public void fromCompletedCompletionStage(Blackhole blackhole) {
+        T converted = converter().fromCompletionStage(completed);
+        converter().toRSPublisher(converted).subscribe(new BlackholeSubscriber(blackhole));
+    }
+
+    @Benchmark
+    public void fromCompletionStage(Blackhole blackhole) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        T converted = converter().fromCompletionStage(future);
+        converter().toRSPublisher(converted).subscribe(new BlackholeSubscriber(blackhole));
+        future.complete("item");
+    }
+
+    private static final class BlackholeSubscriber implements Subscriber<Object> {
+
+        private final Blackhole blackhole;
+
+        private BlackholeSubscriber(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            blackhole.consume(item);
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            blackhole.consume(failure);
+        }
+
+        @Override
+        public void onComplete() {
+            blackhole.consume(true);
+        }
+    }
+}
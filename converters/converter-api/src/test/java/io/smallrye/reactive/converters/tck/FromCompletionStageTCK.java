@@ -5,6 +5,8 @@ import static org.assertj.core.api.Assertions.fail;
 
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import org.junit.Test;
 
@@ -124,4 +126,52 @@ public abstract class FromCompletionStageTCK<T> {
         assertThat(terminated).isFalse();
     }
 
+    @Test
+    public void testThatAnAsynchronousStageIsObservedOnce() {
+        String uuid = UUID.randomUUID().toString();
+        CountingFuture<String> future = new CountingFuture<>();
+        T instance = converter().fromCompletionStage(future);
+        new Thread(() -> {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            future.complete(uuid);
+        }).start();
+        String res = getOne(instance);
+        if (converter().emitItems()) {
+            assertThat(res).isEqualTo(uuid);
+        }
+        // The completion action may not be registered if the future completed before the subscription.
+        assertThat(future.registrations.get()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void testThatACompletedFutureIsReadSynchronously() {
+        String uuid = UUID.randomUUID().toString();
+        CountingFuture<String> future = new CountingFuture<>();
+        future.complete(uuid);
+        T instance = converter().fromCompletionStage(future);
+        String res = getOne(instance);
+        if (converter().emitItems()) {
+            assertThat(res).isEqualTo(uuid);
+        }
+        assertThat(future.registrations.get()).isZero();
+    }
+
+    /**
+     * Counts the completion actions registered using {@link #whenComplete(BiConsumer)}.
+     */
+    private static class CountingFuture<X> extends CompletableFuture<X> {
+
+        private final AtomicInteger registrations = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<X> whenComplete(BiConsumer<? super X, ? super Throwable> action) {
+            registrations.incrementAndGet();
+            return super.whenComplete(action);
+        }
+    }
+
 }
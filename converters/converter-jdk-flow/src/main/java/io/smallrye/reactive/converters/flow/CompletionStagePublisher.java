@@ -0,0 +1,127 @@
+package io.smallrye.reactive.converters.flow;
+
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import io.smallrye.reactive.converters.CompletionStages;
+
+/**
+ * A {@link Flow.Publisher} emitting the outcome of a {@link CompletionStage}: the value followed by the completion, an
+ * empty stream if the value is {@code null}, or the failure.
+ * <p>
+ * Each subscription registers a single completion action on the stage, which is also the {@link Flow.Subscription}
+ * passed downstream (see {@link CompletionStages#whenComplete(CompletionStage, BiConsumer)}). The value is emitted
+ * once requested. Cancelling the subscription does not cancel the stage, the outcome is just not delivered.
+ *
+ * @param <T> the type of item
+ */
+final class CompletionStagePublisher<T> implements Flow.Publisher<T> {
+
+    private final CompletionStage<T> stage;
+
+    CompletionStagePublisher(CompletionStage<T> stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        StageSubscription<T> subscription = new StageSubscription<>(Objects.requireNonNull(subscriber));
+        subscriber.onSubscribe(subscription);
+        if (subscription.get() != StageSubscription.DONE) {
+            CompletionStages.whenComplete(stage, subscription);
+        }
+    }
+
+    static final class StageSubscription<T> extends AtomicInteger
+            implements Flow.Subscription, BiConsumer<T, Throwable> {
+
+        private static final long serialVersionUID = 1L;
+
+        static final int NO_REQUEST_NO_VALUE = 0;
+        static final int REQUEST_NO_VALUE = 1;
+        static final int NO_REQUEST_VALUE = 2;
+        static final int DONE = 3;
+
+        private final transient Flow.Subscriber<? super T> downstream;
+        private transient T value;
+
+        StageSubscription(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (getAndSet(DONE) != DONE) {
+                    value = null;
+                    downstream.onError(new IllegalArgumentException("Invalid request number, must be greater than 0"));
+                }
+                return;
+            }
+            for (;;) {
+                int state = get();
+                if (state == REQUEST_NO_VALUE || state == DONE) {
+                    return;
+                }
+                if (state == NO_REQUEST_VALUE) {
+                    if (compareAndSet(NO_REQUEST_VALUE, DONE)) {
+                        T item = value;
+                        value = null;
+                        emit(item);
+                    }
+                    return;
+                }
+                if (compareAndSet(NO_REQUEST_NO_VALUE, REQUEST_NO_VALUE)) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void accept(T item, Throwable failure) {
+            if (failure != null || item == null) {
+                if (getAndSet(DONE) != DONE) {
+                    if (failure != null) {
+                        downstream.onError(failure);
+                    } else {
+                        downstream.onComplete();
+                    }
+                }
+                return;
+            }
+            value = item;
+            for (;;) {
+                int state = get();
+                if (state == DONE) {
+                    value = null;
+                    return;
+                }
+                if (state == REQUEST_NO_VALUE) {
+                    if (compareAndSet(REQUEST_NO_VALUE, DONE)) {
+                        value = null;
+                        emit(item);
+                    }
+                    return;
+                }
+                if (compareAndSet(NO_REQUEST_NO_VALUE, NO_REQUEST_VALUE)) {
+                    return;
+                }
+            }
+        }
+
+        private void emit(T item) {
+            downstream.onNext(item);
+            downstream.onComplete();
+        }
+
+        @Override
+        public void cancel() {
+            if (getAndSet(DONE) != DONE) {
+                value = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.smallrye.reactive.converters.flow;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Completes a {@link CompletableFuture} with the first item emitted by a {@link Flow.Publisher}, and cancels the
+ * subscription once received. The future is completed with {@code null} if the stream completes empty, or
+ * exceptionally if it fails before emitting an item.
+ *
+ * @param <T> the type of item
+ */
+final class FirstItemSubscriber<T> extends CompletableFuture<T> implements Flow.Subscriber<T> {
+
+    private Flow.Subscription upstream;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (!isDone()) {
+            upstream.cancel();
+            complete(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable failure) {
+        completeExceptionally(failure);
+    }
+
+    @Override
+    public void onComplete() {
+        complete(null);
+    }
+}
@@ -0,0 +1,77 @@
+package io.smallrye.reactive.converters.flow;
+
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import org.reactivestreams.Publisher;
+
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
+
+/**
+ * Converter for the {@link Flow.Publisher} type introduced in Java 9.
+ * <p>
+ * Publishers are bridged without intermediate operators: converting a publisher that has been produced by this
+ * converter returns the original instance instead of wrapping it twice, and instances implementing both interfaces
+ * are just cast.
+ */
+@ServiceProvider(ReactiveTypeConverter.class)
+public class FlowPublisherConverter implements ReactiveTypeConverter<Flow.Publisher> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <X> CompletionStage<X> toCompletionStage(Flow.Publisher instance) {
+        FirstItemSubscriber<X> subscriber = new FirstItemSubscriber<>();
+        instance.subscribe(subscriber);
+        return subscriber;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <X> Publisher<X> toRSPublisher(Flow.Publisher instance) {
+        if (instance instanceof FlowPublisherFromReactiveStreams) {
+            return ((FlowPublisherFromReactiveStreams<X>) instance).unwrap();
+        }
+        if (instance instanceof Publisher) {
+            return (Publisher<X>) instance;
+        }
+        return new ReactiveStreamsPublisherFromFlow<>((Flow.Publisher<X>) Objects.requireNonNull(instance));
+    }
+
+    @Override
+    public <X> Flow.Publisher fromCompletionStage(CompletionStage<X> cs) {
+        return new CompletionStagePublisher<>(Objects.requireNonNull(cs));
+    }
+
+    @Override
+    public <X> Flow.Publisher fromPublisher(Publisher<X> publisher) {
+        if (publisher instanceof ReactiveStreamsPublisherFromFlow) {
+            return ((ReactiveStreamsPublisherFromFlow<X>) publisher).unwrap();
+        }
+        if (publisher instanceof Flow.Publisher) {
+            return (Flow.Publisher) publisher;
+        }
+        return new FlowPublisherFromReactiveStreams<>(Objects.requireNonNull(publisher));
+    }
+
+    @Override
+    public Class<Flow.Publisher> type() {
+        return Flow.Publisher.class;
+    }
+
+    @Override
+    public boolean emitItems() {
+        return true;
+    }
+
+    @Override
+    public boolean emitAtMostOneItem() {
+        return false;
+    }
+
+    @Override
+    public boolean supportNullValue() {
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+package io.smallrye.reactive.converters.flow;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Exposes a Reactive Streams {@link Publisher} as a {@link Flow.Publisher}.
+ * <p>
+ * Each subscription allocates a single object, acting as the {@link Subscriber} subscribed to the wrapped
+ * publisher and as the {@link Flow.Subscription} passed downstream.
+ *
+ * @param <T> the type of item
+ */
+final class FlowPublisherFromReactiveStreams<T> implements Flow.Publisher<T> {
+
+    private final Publisher<T> publisher;
+
+    FlowPublisherFromReactiveStreams(Publisher<T> publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * @return the wrapped publisher
+     */
+    Publisher<T> unwrap() {
+        return publisher;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        publisher.subscribe(new Bridge<>(Objects.requireNonNull(subscriber)));
+    }
+
+    static final class Bridge<T> implements Subscriber<T>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> downstream;
+        private Subscription upstream;
+
+        Bridge(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            downstream.onError(failure);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.smallrye.reactive.converters.flow;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Exposes a {@link Flow.Publisher} as a Reactive Streams {@link Publisher}.
+ * <p>
+ * Each subscription allocates a single object, acting as the {@link Flow.Subscriber} subscribed to the wrapped
+ * publisher and as the {@link Subscription} passed downstream.
+ *
+ * @param <T> the type of item
+ */
+final class ReactiveStreamsPublisherFromFlow<T> implements Publisher<T> {
+
+    private final Flow.Publisher<T> publisher;
+
+    ReactiveStreamsPublisherFromFlow(Flow.Publisher<T> publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * @return the wrapped publisher
+     */
+    Flow.Publisher<T> unwrap() {
+        return publisher;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        publisher.subscribe(new Bridge<>(Objects.requireNonNull(subscriber)));
+    }
+
+    static final class Bridge<T> implements Flow.Subscriber<T>, Subscription {
+
+        private final Subscriber<? super T> downstream;
+        private Flow.Subscription upstream;
+
+        Bridge(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            downstream.onError(failure);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.smallrye.reactive.converters.flow;
+
+import java.util.concurrent.Flow;
+
+import org.reactivestreams.FlowAdapters;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.ConverterBenchmarkTCK;
+
+public class FlowPublisherConverterBenchmark extends ConverterBenchmarkTCK<Flow.Publisher> {
+
+    private final ReactiveTypeConverter<Flow.Publisher> converter = Registry.lookup(Flow.Publisher.class)
+            .orElseThrow(() -> new AssertionError("Flow.Publisher converter should be found"));
+
+    @Override
+    protected ReactiveTypeConverter<Flow.Publisher> converter() {
+        return converter;
+    }
+
+    @Override
+    protected Flow.Publisher createInstanceEmittingMultipleValues(String... values) {
+        return FlowAdapters.toFlowPublisher(Flowable.fromArray(values));
+    }
+}
@@ -0,0 +1,65 @@
+package io.smallrye.reactive.converters.flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.FlowAdapters;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+
+public class FlowPublisherConverterTest {
+
+    private ReactiveTypeConverter<Flow.Publisher> converter;
+
+    @Before
+    public void lookup() {
+        converter = Registry.lookup(Flow.Publisher.class)
+                .orElseThrow(() -> new AssertionError("Flow.Publisher converter should be found"));
+    }
+
+    @Test
+    public void testThatTheLookupFindsTheConverterForFlowPublisherImplementations() {
+        assertThat(Registry.lookup(SubmissionPublisher.class)).containsInstanceOf(FlowPublisherConverter.class);
+    }
+
+    @Test
+    public void testThatRoundTripsReturnTheOriginalInstance() {
+        Flowable<String> flowable = Flowable.just("a", "b");
+        Flow.Publisher flow = converter.fromPublisher(flowable);
+        assertThat(converter.<String> toRSPublisher(flow)).isSameAs(flowable);
+
+        Flow.Publisher<String> original = FlowAdapters.toFlowPublisher(flowable);
+        Publisher<String> publisher = converter.toRSPublisher(original);
+        assertThat(converter.fromPublisher(publisher)).isSameAs(original);
+    }
+
+    @Test
+    public void testThatBackPressureIsPropagated() {
+        Flow.Publisher<Integer> flow = FlowAdapters.toFlowPublisher(Flowable.range(0, 10));
+        TestSubscriber<Integer> subscriber = Flowable.fromPublisher(converter.<Integer> toRSPublisher(flow)).test(0);
+        subscriber.assertNoValues();
+        subscriber.request(2);
+        subscriber.assertValues(0, 1).assertNotComplete();
+        subscriber.request(8);
+        subscriber.assertValueCount(10).assertComplete();
+    }
+
+    @Test
+    public void testThatCancellationIsPropagated() {
+        SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+        TestSubscriber<String> subscriber = Flowable.fromPublisher(converter.<String> toRSPublisher(publisher)).test();
+        assertThat(publisher.getNumberOfSubscribers()).isEqualTo(1);
+        subscriber.cancel();
+        publisher.submit("hello");
+        subscriber.assertEmpty();
+        publisher.close();
+    }
+}
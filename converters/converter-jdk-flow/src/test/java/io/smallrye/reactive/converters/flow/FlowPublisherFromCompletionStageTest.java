@@ -0,0 +1,82 @@
+package io.smallrye.reactive.converters.flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.FlowAdapters;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.FromCompletionStageTCK;
+
+public class FlowPublisherFromCompletionStageTest extends FromCompletionStageTCK<Flow.Publisher> {
+
+    private ReactiveTypeConverter<Flow.Publisher> converter;
+
+    @Before
+    public void lookup() {
+        converter = Registry.lookup(Flow.Publisher.class)
+                .orElseThrow(() -> new AssertionError("Flow.Publisher converter should be found"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Flowable<String> flowable(Flow.Publisher instance) {
+        return Flowable.fromPublisher(FlowAdapters.toPublisher((Flow.Publisher<String>) instance));
+    }
+
+    @Override
+    protected ReactiveTypeConverter<Flow.Publisher> converter() {
+        return converter;
+    }
+
+    @Override
+    protected String getOne(Flow.Publisher instance) {
+        return flowable(instance).blockingFirst(null);
+    }
+
+    @Override
+    protected Exception getFailure(Flow.Publisher instance) {
+        AtomicReference<Exception> reference = new AtomicReference<>();
+        try {
+            flowable(instance).blockingLast(null);
+        } catch (Exception e) {
+            reference.set(e);
+        }
+        return reference.get();
+    }
+
+    @Test
+    public void testThatTheValueIsEmittedOnRequest() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        TestSubscriber<String> subscriber = flowable(converter.fromCompletionStage(future)).test(0);
+        future.complete("hello");
+        subscriber.assertNoValues().assertNotComplete();
+        subscriber.request(1);
+        subscriber.assertResult("hello");
+    }
+
+    @Test
+    public void testThatTheValueIsNotEmittedAfterCancellation() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        TestSubscriber<String> subscriber = flowable(converter.fromCompletionStage(future)).test();
+        subscriber.cancel();
+        future.complete("hello");
+        subscriber.assertEmpty();
+        assertThat(future.isCancelled()).isFalse();
+    }
+
+    @Test
+    public void testThatAnInvalidRequestIsReported() {
+        CompletableFuture<String> future = CompletableFuture.completedFuture("hello");
+        TestSubscriber<String> subscriber = flowable(converter.fromCompletionStage(future)).test(0);
+        subscriber.request(-1);
+        subscriber.assertNoValues().assertError(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,60 @@
+package io.smallrye.reactive.converters.flow;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.reactivestreams.FlowAdapters;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.FromRSPublisherTCK;
+
+public class FlowPublisherFromRSPublisherTest extends FromRSPublisherTCK<Flow.Publisher> {
+
+    private ReactiveTypeConverter<Flow.Publisher> converter;
+
+    @Before
+    public void lookup() {
+        converter = Registry.lookup(Flow.Publisher.class)
+                .orElseThrow(() -> new AssertionError("Flow.Publisher converter should be found"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Flowable<String> flowable(Flow.Publisher instance) {
+        return Flowable.fromPublisher(FlowAdapters.toPublisher((Flow.Publisher<String>) instance));
+    }
+
+    @Override
+    protected ReactiveTypeConverter<Flow.Publisher> converter() {
+        return converter;
+    }
+
+    @Override
+    protected String getOne(Flow.Publisher instance) {
+        return flowable(instance).blockingFirst(null);
+    }
+
+    @Override
+    protected Exception getFailure(Flow.Publisher instance) {
+        AtomicReference<Exception> reference = new AtomicReference<>();
+        try {
+            flowable(instance).blockingLast(null);
+        } catch (Exception e) {
+            reference.set(e);
+        }
+        return reference.get();
+    }
+
+    @Override
+    protected List<String> getAll(Flow.Publisher instance) {
+        return flowable(instance).toList().blockingGet();
+    }
+
+    @Override
+    protected void consume(Flow.Publisher instance) {
+        flowable(instance).blockingLast(null);
+    }
+}
@@ -0,0 +1,102 @@
+package io.smallrye.reactive.converters.flow;
+
+import java.util.Optional;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.reactivestreams.FlowAdapters;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.ToCompletionStageTCK;
+
+public class FlowPublisherToCompletionStageTest extends ToCompletionStageTCK<Flow.Publisher> {
+
+    private ReactiveTypeConverter<Flow.Publisher> converter;
+
+    @Before
+    public void lookup() {
+        converter = Registry.lookup(Flow.Publisher.class)
+                .orElseThrow(() -> new AssertionError("Flow.Publisher converter should be found"));
+    }
+
+    private static Flow.Publisher flow(Flowable<?> flowable) {
+        return FlowAdapters.toFlowPublisher(flowable);
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> createInstanceEmittingASingleValueImmediately(String value) {
+        return Optional.of(flow(Flowable.just(value)));
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> createInstanceEmittingASingleValueAsynchronously(String value) {
+        return Optional.of(flow(Flowable.just(value).delay(10, TimeUnit.MILLISECONDS)));
+    }
+
+    @Override
+    protected Flow.Publisher createInstanceFailingImmediately(RuntimeException e) {
+        return flow(Flowable.error(e));
+    }
+
+    @Override
+    protected Flow.Publisher createInstanceFailingAsynchronously(RuntimeException e) {
+        return flow(Flowable.just("X").delay(10, TimeUnit.MILLISECONDS).map(s -> {
+            throw e;
+        }));
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> createInstanceEmittingANullValueImmediately() {
+        return Optional.empty();
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> createInstanceEmittingANullValueAsynchronously() {
+        return Optional.empty();
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> createInstanceEmittingMultipleValues(String... values) {
+        return Optional.of(flow(Flowable.fromArray(values)));
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> createInstanceEmittingAMultipleValuesAndFailure(String v1, String v2,
+            RuntimeException e) {
+        Flowable<String> stream = Flowable.create(emitter -> {
+            emitter.onNext(v1);
+            emitter.onNext(v2);
+            emitter.onError(e);
+        }, BackpressureStrategy.BUFFER);
+        return Optional.of(flow(stream));
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> createInstanceCompletingImmediately() {
+        return Optional.of(flow(Flowable.empty()));
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> createInstanceCompletingAsynchronously() {
+        return Optional.of(flow(Flowable.just("X").delay(10, TimeUnit.MILLISECONDS).flatMap(s -> Flowable.empty())));
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> never() {
+        return Optional.of(flow(Flowable.never()));
+    }
+
+    @Override
+    protected Optional<Flow.Publisher> empty() {
+        return Optional.of(flow(Flowable.empty()));
+    }
+
+    @Override
+    protected ReactiveTypeConverter<Flow.Publisher> converter() {
+        return converter;
+    }
+}
@@ -1,7 +1,6 @@
 package io.smallrye.reactive.converters.microprofile;
 
 import java.util.Optional;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
@@ -9,8 +8,11 @@ import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
 import org.reactivestreams.Publisher;
 
 import io.reactivex.processors.AsyncProcessor;
+import io.smallrye.reactive.converters.CompletionStages;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 
+@ServiceProvider(ReactiveTypeConverter.class)
 public class PublisherBuilderConverter implements ReactiveTypeConverter<PublisherBuilder> {
     @SuppressWarnings("unchecked")
     @Override
@@ -27,9 +29,9 @@ public class PublisherBuilderConverter implements ReactiveTypeConverter<Publishe
     @Override
     public <X> PublisherBuilder fromCompletionStage(CompletionStage<X> cs) {
         AsyncProcessor<X> processor = AsyncProcessor.create();
-        cs.whenComplete((X v, Throwable e) -> {
+        CompletionStages.whenComplete(cs, (X v, Throwable e) -> {
             if (e != null) {
-                processor.onError(e instanceof CompletionException ? e.getCause() : e);
+                processor.onError(e);
             } else if (v == null) {
                 processor.onError(new NullPointerException());
             } else {
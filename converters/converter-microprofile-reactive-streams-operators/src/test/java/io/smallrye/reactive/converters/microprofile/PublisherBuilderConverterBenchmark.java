@@ -0,0 +1,24 @@
+package io.smallrye.reactive.converters.microprofile;
+
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.ConverterBenchmarkTCK;
+
+public class PublisherBuilderConverterBenchmark extends ConverterBenchmarkTCK<PublisherBuilder> {
+
+    private final ReactiveTypeConverter<PublisherBuilder> converter = Registry.lookup(PublisherBuilder.class)
+            .orElseThrow(() -> new AssertionError("PublisherBuilder converter should be found"));
+
+    @Override
+    protected ReactiveTypeConverter<PublisherBuilder> converter() {
+        return converter;
+    }
+
+    @Override
+    protected PublisherBuilder createInstanceEmittingMultipleValues(String... values) {
+        return ReactiveStreams.of(values);
+    }
+}
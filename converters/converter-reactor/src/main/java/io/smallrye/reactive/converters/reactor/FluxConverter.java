@@ -1,13 +1,15 @@
 package io.smallrye.reactive.converters.reactor;
 
-import java.util.concurrent.CompletionException;
+import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
 
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 import reactor.core.publisher.Flux;
 
+@ServiceProvider(ReactiveTypeConverter.class)
 public class FluxConverter implements ReactiveTypeConverter<Flux> {
 
     @SuppressWarnings("unchecked")
@@ -24,16 +26,7 @@ public class FluxConverter implements ReactiveTypeConverter<Flux> {
 
     @Override
     public <X> Flux fromCompletionStage(CompletionStage<X> cs) {
-        return Flux.create(sink -> cs.whenComplete((X v, Throwable e) -> {
-            if (e != null) {
-                sink.error(e instanceof CompletionException ? e.getCause() : e);
-            } else if (v != null) {
-                sink.next(v);
-                sink.complete();
-            } else {
-                sink.complete();
-            }
-        }));
+        return Flux.from(new MonoFromCompletionStage<>(Objects.requireNonNull(cs)));
     }
 
     @Override
@@ -1,13 +1,15 @@
 package io.smallrye.reactive.converters.reactor;
 
-import java.util.concurrent.CompletionException;
+import java.util.Objects;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
 
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 import reactor.core.publisher.Mono;
 
+@ServiceProvider(ReactiveTypeConverter.class)
 public class MonoConverter implements ReactiveTypeConverter<Mono> {
 
     @SuppressWarnings("unchecked")
@@ -24,15 +26,7 @@ public class MonoConverter implements ReactiveTypeConverter<Mono> {
 
     @Override
     public <X> Mono fromCompletionStage(CompletionStage<X> cs) {
-        return Mono.create(sink -> cs.whenComplete((X v, Throwable e) -> {
-            if (e != null) {
-                sink.error(e instanceof CompletionException ? e.getCause() : e);
-            } else if (v != null) {
-                sink.success(v);
-            } else {
-                sink.success();
-            }
-        }));
+        return new MonoFromCompletionStage<>(Objects.requireNonNull(cs));
     }
 
     @Override
@@ -0,0 +1,59 @@
+package io.smallrye.reactive.converters.reactor;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+
+import io.smallrye.reactive.converters.CompletionStages;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+
+/**
+ * Emits the outcome of a {@link CompletionStage}. A {@code null} value completes the {@link Mono} empty.
+ * <p>
+ * Each subscription registers a single completion action on the stage, which is also the subscription passed
+ * downstream, and emits synchronously if the stage is an already completed
+ * {@link java.util.concurrent.CompletableFuture} (see
+ * {@link CompletionStages#whenComplete(CompletionStage, BiConsumer)}). Cancelling the subscription does not cancel the stage,
+ * the outcome is just not delivered.
+ *
+ * @param <T> the type of value
+ */
+final class MonoFromCompletionStage<T> extends Mono<T> {
+
+    private final CompletionStage<T> stage;
+
+    MonoFromCompletionStage(CompletionStage<T> stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super T> actual) {
+        StageSubscriber<T> subscriber = new StageSubscriber<>(actual);
+        actual.onSubscribe(subscriber);
+        if (!subscriber.isCancelled()) {
+            CompletionStages.whenComplete(stage, subscriber);
+        }
+    }
+
+    static final class StageSubscriber<T> extends Operators.MonoSubscriber<T, T> implements BiConsumer<T, Throwable> {
+
+        StageSubscriber(CoreSubscriber<? super T> actual) {
+            super(actual);
+        }
+
+        @Override
+        public void accept(T value, Throwable failure) {
+            if (isCancelled()) {
+                return;
+            }
+            if (failure != null) {
+                actual.onError(failure);
+            } else if (value != null) {
+                complete(value);
+            } else {
+                actual.onComplete();
+            }
+        }
+    }
+}
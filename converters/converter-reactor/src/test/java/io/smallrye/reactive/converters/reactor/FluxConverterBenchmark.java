@@ -0,0 +1,22 @@
+package io.smallrye.reactive.converters.reactor;
+
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.ConverterBenchmarkTCK;
+import reactor.core.publisher.Flux;
+
+public class FluxConverterBenchmark extends ConverterBenchmarkTCK<Flux> {
+
+    private final ReactiveTypeConverter<Flux> converter = Registry.lookup(Flux.class)
+            .orElseThrow(() -> new AssertionError("Flux converter should be found"));
+
+    @Override
+    protected ReactiveTypeConverter<Flux> converter() {
+        return converter;
+    }
+
+    @Override
+    protected Flux createInstanceEmittingMultipleValues(String... values) {
+        return Flux.fromArray(values);
+    }
+}
@@ -0,0 +1,22 @@
+package io.smallrye.reactive.converters.reactor;
+
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.ConverterBenchmarkTCK;
+import reactor.core.publisher.Mono;
+
+public class MonoConverterBenchmark extends ConverterBenchmarkTCK<Mono> {
+
+    private final ReactiveTypeConverter<Mono> converter = Registry.lookup(Mono.class)
+            .orElseThrow(() -> new AssertionError("Mono converter should be found"));
+
+    @Override
+    protected ReactiveTypeConverter<Mono> converter() {
+        return converter;
+    }
+
+    @Override
+    protected Mono createInstanceEmittingMultipleValues(String... values) {
+        return Mono.just(values[0]);
+    }
+}
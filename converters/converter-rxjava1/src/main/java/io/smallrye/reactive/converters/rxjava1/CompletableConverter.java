@@ -2,14 +2,16 @@ package io.smallrye.reactive.converters.rxjava1;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
 
 import hu.akarnokd.rxjava.interop.RxJavaInterop;
+import io.smallrye.reactive.converters.CompletionStages;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 import rx.Completable;
+import rx.subscriptions.BooleanSubscription;
 
 /**
  * Converter handling the RX Java 1 {@link Completable} type.
@@ -40,6 +42,7 @@ import rx.Completable;
  * depending of the {@link Completable}.
  *
  */
+@ServiceProvider(ReactiveTypeConverter.class)
 public class CompletableConverter implements ReactiveTypeConverter<Completable> {
 
     @SuppressWarnings("unchecked")
@@ -58,18 +61,19 @@ public class CompletableConverter implements ReactiveTypeConverter<Completable>
     @Override
     public Completable fromCompletionStage(CompletionStage cs) {
         CompletionStage<?> future = Objects.requireNonNull(cs);
-        return Completable
-                .create(emitter -> future.<Void> whenComplete((Object res, Throwable err) -> {
+        return Completable.create(subscriber -> {
+            BooleanSubscription subscription = new BooleanSubscription();
+            subscriber.onSubscribe(subscription);
+            CompletionStages.whenComplete(future, (Object res, Throwable err) -> {
+                if (!subscription.isUnsubscribed()) {
                     if (err != null) {
-                        if (err instanceof CompletionException) {
-                            emitter.onError(err.getCause());
-                        } else {
-                            emitter.onError(err);
-                        }
+                        subscriber.onError(err);
                     } else {
-                        emitter.onCompleted();
+                        subscriber.onCompleted();
                     }
-                }));
+                }
+            });
+        });
     }
 
     @Override
@@ -1,15 +1,17 @@
 package io.smallrye.reactive.converters.rxjava1;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
 
 import hu.akarnokd.rxjava.interop.RxJavaInterop;
+import io.smallrye.reactive.converters.CompletionStages;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
-import rx.Emitter;
+import io.smallrye.reactive.index.ServiceProvider;
 import rx.Observable;
+import rx.internal.producers.SingleDelayedProducer;
 
 /**
  * Converter handling the RX Java {@link Observable} type.
@@ -46,23 +48,9 @@ import rx.Observable;
  * returned {@link Publisher} fails.
  *
  */
+@ServiceProvider(ReactiveTypeConverter.class)
 public class ObservableConverter implements ReactiveTypeConverter<Observable> {
 
-    private static <X> void toStreamEvents(CompletionStage<X> cs, Emitter<Object> emitter) {
-        cs.whenComplete((X res, Throwable err) -> {
-            if (err != null) {
-                if (err instanceof CompletionException) {
-                    emitter.onError(err.getCause());
-                } else {
-                    emitter.onError(err);
-                }
-            } else {
-                emitter.onNext(res);
-                emitter.onCompleted();
-            }
-        });
-    }
-
     @SuppressWarnings("unchecked")
     @Override
     public <T> Publisher<T> toRSPublisher(Observable instance) {
@@ -90,7 +78,23 @@ public class ObservableConverter implements ReactiveTypeConverter<Observable> {
 
     @Override
     public <X> Observable fromCompletionStage(CompletionStage<X> cs) {
-        return Observable.create(emitter -> toStreamEvents(cs, emitter), Emitter.BackpressureMode.ERROR);
+        CompletionStage<X> future = Objects.requireNonNull(cs);
+        // The producer holds the value until it is requested, and is emitted synchronously if the future is completed.
+        return Observable.<X> unsafeCreate(subscriber -> {
+            SingleDelayedProducer<X> producer = new SingleDelayedProducer<>(subscriber);
+            subscriber.setProducer(producer);
+            if (!subscriber.isUnsubscribed()) {
+                CompletionStages.whenComplete(future, (X res, Throwable err) -> {
+                    if (err != null) {
+                        if (!subscriber.isUnsubscribed()) {
+                            subscriber.onError(err);
+                        }
+                    } else {
+                        producer.setValue(res);
+                    }
+                });
+            }
+        });
     }
 
     @Override
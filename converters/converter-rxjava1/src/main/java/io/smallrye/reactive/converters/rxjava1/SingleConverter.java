@@ -2,13 +2,14 @@ package io.smallrye.reactive.converters.rxjava1;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
 
 import hu.akarnokd.rxjava.interop.RxJavaInterop;
+import io.smallrye.reactive.converters.CompletionStages;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 import rx.Single;
 
 /**
@@ -38,6 +39,7 @@ import rx.Single;
  * If the passed {@link Single} fails, the returned stream also fails.
  *
  */
+@ServiceProvider(ReactiveTypeConverter.class)
 public class SingleConverter implements ReactiveTypeConverter<Single> {
 
     @SuppressWarnings("unchecked")
@@ -61,20 +63,15 @@ public class SingleConverter implements ReactiveTypeConverter<Single> {
     @Override
     public <X> Single<X> fromCompletionStage(CompletionStage<X> cs) {
         CompletionStage<X> future = Objects.requireNonNull(cs);
-        return Single
-                .create(emitter -> future.<X> whenComplete((X res, Throwable err) -> {
-                    if (!emitter.isUnsubscribed()) {
-                        if (err != null) {
-                            if (err instanceof CompletionException) {
-                                emitter.onError(err.getCause());
-                            } else {
-                                emitter.onError(err);
-                            }
-                        } else {
-                            emitter.onSuccess(res);
-                        }
-                    }
-                }));
+        return Single.create(subscriber -> CompletionStages.whenComplete(future, (X res, Throwable err) -> {
+            if (!subscriber.isUnsubscribed()) {
+                if (err != null) {
+                    subscriber.onError(err);
+                } else {
+                    subscriber.onSuccess(res);
+                }
+            }
+        }));
     }
 
     @Override
@@ -0,0 +1,22 @@
+package io.smallrye.reactive.converters.rxjava1;
+
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.ConverterBenchmarkTCK;
+import rx.Observable;
+
+public class ObservableConverterBenchmark extends ConverterBenchmarkTCK<Observable> {
+
+    private final ReactiveTypeConverter<Observable> converter = Registry.lookup(Observable.class)
+            .orElseThrow(() -> new AssertionError("Observable converter should be found"));
+
+    @Override
+    protected ReactiveTypeConverter<Observable> converter() {
+        return converter;
+    }
+
+    @Override
+    protected Observable createInstanceEmittingMultipleValues(String... values) {
+        return Observable.from(values);
+    }
+}
@@ -1,13 +1,16 @@
 package io.smallrye.reactive.converters.rxjava1;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
+import org.junit.Test;
 
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
 import io.smallrye.reactive.converters.Registry;
 import io.smallrye.reactive.converters.tck.FromCompletionStageTCK;
 import rx.Observable;
+import rx.observers.TestSubscriber;
 
 public class ObservableFromCompletionStageTest extends FromCompletionStageTCK<Observable> {
 
@@ -41,4 +44,30 @@ public class ObservableFromCompletionStageTest extends FromCompletionStageTCK<Ob
         }
         return reference.get();
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatTheValueIsEmittedOnRequest() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        TestSubscriber<String> subscriber = new TestSubscriber<>(0L);
+        ((Observable<String>) converter.fromCompletionStage(future)).subscribe(subscriber);
+        future.complete("hello");
+        subscriber.assertNoValues();
+        subscriber.assertNotCompleted();
+        subscriber.requestMore(1);
+        subscriber.assertValue("hello");
+        subscriber.assertCompleted();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatTheValueIsNotEmittedAfterUnsubscription() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        TestSubscriber<String> subscriber = new TestSubscriber<>();
+        ((Observable<String>) converter.fromCompletionStage(future)).subscribe(subscriber);
+        subscriber.unsubscribe();
+        future.complete("hello");
+        subscriber.assertNoValues();
+        subscriber.assertNoTerminalEvent();
+    }
 }
@@ -2,7 +2,6 @@ package io.smallrye.reactive.converters.rxjava2;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
@@ -10,6 +9,7 @@ import org.reactivestreams.Publisher;
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 
 /**
  * Converter handling the RX Java 2 {@link Completable} type.
@@ -40,6 +40,7 @@ import io.smallrye.reactive.converters.ReactiveTypeConverter;
  * depending of the {@link Completable}.
  *
  */
+@ServiceProvider(ReactiveTypeConverter.class)
 public class CompletableConverter implements ReactiveTypeConverter<Completable> {
 
     @SuppressWarnings("unchecked")
@@ -57,21 +58,7 @@ public class CompletableConverter implements ReactiveTypeConverter<Completable>
     @SuppressWarnings("unchecked")
     @Override
     public Completable fromCompletionStage(CompletionStage cs) {
-        CompletionStage<?> future = Objects.requireNonNull(cs);
-        return Completable
-                .create(emitter -> future.<Void> whenComplete((Object res, Throwable err) -> {
-                    if (!emitter.isDisposed()) {
-                        if (err != null) {
-                            if (err instanceof CompletionException) {
-                                emitter.onError(err.getCause());
-                            } else {
-                                emitter.onError(err);
-                            }
-                        } else {
-                            emitter.onComplete();
-                        }
-                    }
-                }));
+        return new FromCompletionStage.CompletableFromStage(Objects.requireNonNull(cs));
     }
 
     @Override
@@ -1,5 +1,6 @@
 package io.smallrye.reactive.converters.rxjava2;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -7,6 +8,7 @@ import org.reactivestreams.Publisher;
 
 import io.reactivex.Flowable;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 
 /**
  * Converter handling the RX Java 2 {@link Flowable} type.
@@ -41,6 +43,7 @@ import io.smallrye.reactive.converters.ReactiveTypeConverter;
  * back-pressure behavior of the passed {@link Flowable}. This operation returns the passed {@link Flowable} directly.
  *
  */
+@ServiceProvider(ReactiveTypeConverter.class)
 public class FlowableConverter implements ReactiveTypeConverter<Flowable> {
 
     @SuppressWarnings("unchecked")
@@ -71,7 +74,7 @@ public class FlowableConverter implements ReactiveTypeConverter<Flowable> {
 
     @Override
     public <X> Flowable fromCompletionStage(CompletionStage<X> cs) {
-        return Flowable.generate(emitter -> ObservableConverter.toStreamEvents(cs, emitter));
+        return new FromCompletionStage.FlowableFromStage<>(Objects.requireNonNull(cs));
     }
 
     @Override
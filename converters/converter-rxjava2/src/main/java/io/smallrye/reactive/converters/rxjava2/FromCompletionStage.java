@@ -0,0 +1,264 @@
+package io.smallrye.reactive.converters.rxjava2;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+import org.reactivestreams.Subscriber;
+
+import io.reactivex.Completable;
+import io.reactivex.CompletableObserver;
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.MaybeObserver;
+import io.reactivex.Observable;
+import io.reactivex.Observer;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.observers.DeferredScalarDisposable;
+import io.reactivex.internal.subscriptions.DeferredScalarSubscription;
+import io.smallrye.reactive.converters.CompletionStages;
+
+/**
+ * Sources emitting the outcome of a {@link CompletionStage}. Each subscription registers a single completion action
+ * on the stage, which is also the subscription / disposable passed downstream, and emits synchronously if the stage is
+ * an already completed {@link java.util.concurrent.CompletableFuture} (see
+ * {@link CompletionStages#whenComplete(CompletionStage, BiConsumer)}).
+ * <p>
+ * Disposing or cancelling the subscription does not cancel the stage, the outcome is just not delivered.
+ */
+final class FromCompletionStage {
+
+    private FromCompletionStage() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Emits the value and completes, or completes empty if the value is {@code null}.
+     */
+    static final class FlowableFromStage<T> extends Flowable<T> {
+
+        private final CompletionStage<T> stage;
+
+        FlowableFromStage(CompletionStage<T> stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        protected void subscribeActual(Subscriber<? super T> s) {
+            StageSubscription<T> subscription = new StageSubscription<>(s);
+            s.onSubscribe(subscription);
+            if (!subscription.isCancelled()) {
+                CompletionStages.whenComplete(stage, subscription);
+            }
+        }
+    }
+
+    static final class StageSubscription<T> extends DeferredScalarSubscription<T> implements BiConsumer<T, Throwable> {
+
+        private static final long serialVersionUID = 1L;
+
+        StageSubscription(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void accept(T value, Throwable failure) {
+            if (isCancelled()) {
+                return;
+            }
+            if (failure != null) {
+                downstream.onError(failure);
+            } else if (value != null) {
+                complete(value);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Emits the value and completes, or completes empty if the value is {@code null}.
+     */
+    static final class ObservableFromStage<T> extends Observable<T> {
+
+        private final CompletionStage<T> stage;
+
+        ObservableFromStage(CompletionStage<T> stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        protected void subscribeActual(Observer<? super T> observer) {
+            StageDisposable<T> disposable = new StageDisposable<>(observer);
+            observer.onSubscribe(disposable);
+            if (!disposable.isDisposed()) {
+                CompletionStages.whenComplete(stage, disposable);
+            }
+        }
+    }
+
+    static final class StageDisposable<T> extends DeferredScalarDisposable<T> implements BiConsumer<T, Throwable> {
+
+        private static final long serialVersionUID = 1L;
+
+        StageDisposable(Observer<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void accept(T value, Throwable failure) {
+            if (isDisposed()) {
+                return;
+            }
+            if (failure != null) {
+                error(failure);
+            } else if (value != null) {
+                complete(value);
+            } else {
+                complete();
+            }
+        }
+    }
+
+    /**
+     * Emits the value, or fails with a {@link NullPointerException} if the value is {@code null}.
+     */
+    static final class SingleFromStage<T> extends Single<T> {
+
+        private final CompletionStage<T> stage;
+
+        SingleFromStage(CompletionStage<T> stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        protected void subscribeActual(SingleObserver<? super T> observer) {
+            OneShot<T> callback = new OneShot<T>() {
+                @Override
+                void onValue(T value) {
+                    if (value == null) {
+                        observer.onError(new NullPointerException("The completion stage completed with `null`"));
+                    } else {
+                        observer.onSuccess(value);
+                    }
+                }
+
+                @Override
+                void onFailure(Throwable failure) {
+                    observer.onError(failure);
+                }
+            };
+            observer.onSubscribe(callback);
+            callback.register(stage);
+        }
+    }
+
+    /**
+     * Emits the value, unwrapping {@link Optional} values, or completes empty if the value is {@code null} or an empty
+     * {@link Optional}.
+     */
+    static final class MaybeFromStage<T> extends Maybe<T> {
+
+        private final CompletionStage<?> stage;
+
+        MaybeFromStage(CompletionStage<?> stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        protected void subscribeActual(MaybeObserver<? super T> observer) {
+            OneShot<Object> callback = new OneShot<Object>() {
+                @SuppressWarnings("unchecked")
+                @Override
+                void onValue(Object value) {
+                    Object item = value instanceof Optional ? ((Optional<?>) value).orElse(null) : value;
+                    if (item == null) {
+                        observer.onComplete();
+                    } else {
+                        observer.onSuccess((T) item);
+                    }
+                }
+
+                @Override
+                void onFailure(Throwable failure) {
+                    observer.onError(failure);
+                }
+            };
+            observer.onSubscribe(callback);
+            callback.register(stage);
+        }
+    }
+
+    /**
+     * Completes when the stage completes, ignoring the value.
+     */
+    static final class CompletableFromStage extends Completable {
+
+        private final CompletionStage<?> stage;
+
+        CompletableFromStage(CompletionStage<?> stage) {
+            this.stage = stage;
+        }
+
+        @Override
+        protected void subscribeActual(CompletableObserver observer) {
+            OneShot<Object> callback = new OneShot<Object>() {
+                @Override
+                void onValue(Object value) {
+                    observer.onComplete();
+                }
+
+                @Override
+                void onFailure(Throwable failure) {
+                    observer.onError(failure);
+                }
+            };
+            observer.onSubscribe(callback);
+            callback.register(stage);
+        }
+    }
+
+    /**
+     * Completion action delivering the outcome at most once, and acting as the disposable passed downstream. The
+     * outcome is dropped if it is disposed first.
+     */
+    abstract static class OneShot<T> extends AtomicBoolean implements Disposable, BiConsumer<T, Throwable> {
+
+        private static final long serialVersionUID = 1L;
+
+        abstract void onValue(T value);
+
+        abstract void onFailure(Throwable failure);
+
+        @SuppressWarnings("unchecked")
+        void register(CompletionStage<?> stage) {
+            if (!get()) {
+                CompletionStages.whenComplete((CompletionStage<T>) stage, this);
+            }
+        }
+
+        @Override
+        public void accept(T value, Throwable failure) {
+            if (compareAndSet(false, true)) {
+                if (failure != null) {
+                    onFailure(failure);
+                } else {
+                    onValue(value);
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            set(true);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get();
+        }
+    }
+}
@@ -3,15 +3,14 @@ package io.smallrye.reactive.converters.rxjava2;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
 
 import io.reactivex.Flowable;
 import io.reactivex.Maybe;
-import io.reactivex.MaybeEmitter;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 
 /**
  * Converter handling the RX Java 2 {@link Maybe} type.
@@ -44,6 +43,7 @@ import io.smallrye.reactive.converters.ReactiveTypeConverter;
  * {@link Maybe} is empty, the returned stream is empty.
  *
  */
+@ServiceProvider(ReactiveTypeConverter.class)
 public class MaybeConverter implements ReactiveTypeConverter<Maybe> {
 
     @SuppressWarnings("unchecked")
@@ -62,34 +62,7 @@ public class MaybeConverter implements ReactiveTypeConverter<Maybe> {
     @SuppressWarnings("unchecked")
     @Override
     public Maybe fromCompletionStage(CompletionStage cs) {
-        CompletionStage<?> future = Objects.requireNonNull(cs);
-        return Maybe
-                .create(emitter -> future.<Void> whenComplete((Object res, Throwable err) -> {
-                    if (emitter.isDisposed()) {
-                        return;
-                    }
-                    if (err != null) {
-                        emitter.onError(err instanceof CompletionException ? err.getCause() : err);
-                    } else {
-                        if (res == null) {
-                            emitter.onComplete();
-                        } else if (res instanceof Optional) {
-                            manageOptional(emitter, (Optional) res);
-                        } else {
-                            emitter.onSuccess(res);
-                        }
-                    }
-
-                }));
-    }
-
-    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-    private <T> void manageOptional(MaybeEmitter<T> emitter, Optional<T> optional) {
-        if (optional.isPresent()) {
-            emitter.onSuccess(optional.get());
-        } else {
-            emitter.onComplete();
-        }
+        return new FromCompletionStage.MaybeFromStage<>(Objects.requireNonNull(cs));
     }
 
     @SuppressWarnings("unchecked")
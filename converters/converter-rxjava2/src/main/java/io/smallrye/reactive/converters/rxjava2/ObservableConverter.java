@@ -1,15 +1,15 @@
 package io.smallrye.reactive.converters.rxjava2;
 
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
 
 import io.reactivex.BackpressureStrategy;
-import io.reactivex.Emitter;
 import io.reactivex.Observable;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 
 /**
  * Converter handling the RX Java 2 {@link Observable} type.
@@ -46,23 +46,9 @@ import io.smallrye.reactive.converters.ReactiveTypeConverter;
  * overflow.
  *
  */
+@ServiceProvider(ReactiveTypeConverter.class)
 public class ObservableConverter implements ReactiveTypeConverter<Observable> {
 
-    static <X> void toStreamEvents(CompletionStage<X> cs, Emitter<Object> emitter) {
-        cs.whenComplete((X res, Throwable err) -> {
-            if (res != null) {
-                emitter.onNext(res);
-                emitter.onComplete();
-            } else {
-                if (err != null) {
-                    emitter.onError(err instanceof CompletionException ? err.getCause() : err);
-                } else {
-                    emitter.onComplete();
-                }
-            }
-        });
-    }
-
     @SuppressWarnings("unchecked")
     @Override
     public <T> Publisher<T> toRSPublisher(Observable instance) {
@@ -88,8 +74,7 @@ public class ObservableConverter implements ReactiveTypeConverter<Observable> {
 
     @Override
     public <X> Observable fromCompletionStage(CompletionStage<X> cs) {
-        return Observable.generate(emitter -> toStreamEvents(cs, emitter));
-
+        return new FromCompletionStage.ObservableFromStage<>(Objects.requireNonNull(cs));
     }
 
     @Override
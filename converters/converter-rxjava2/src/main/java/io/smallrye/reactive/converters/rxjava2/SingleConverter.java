@@ -2,7 +2,6 @@ package io.smallrye.reactive.converters.rxjava2;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
 import org.reactivestreams.Publisher;
@@ -10,6 +9,7 @@ import org.reactivestreams.Publisher;
 import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.index.ServiceProvider;
 
 /**
  * Converter handling the RX Java 2 {@link Single} type.
@@ -37,6 +37,7 @@ import io.smallrye.reactive.converters.ReactiveTypeConverter;
  * If the passed {@link Single} fails, the returned stream also fails.
  *
  */
+@ServiceProvider(ReactiveTypeConverter.class)
 public class SingleConverter implements ReactiveTypeConverter<Single> {
 
     @SuppressWarnings("unchecked")
@@ -59,17 +60,7 @@ public class SingleConverter implements ReactiveTypeConverter<Single> {
 
     @Override
     public <X> Single<X> fromCompletionStage(CompletionStage<X> cs) {
-        CompletionStage<X> future = Objects.requireNonNull(cs);
-        return Single
-                .create(emitter -> future.<X> whenComplete((X res, Throwable err) -> {
-                    if (!emitter.isDisposed()) {
-                        if (err != null) {
-                            emitter.onError(err instanceof CompletionException ? err.getCause() : err);
-                        } else {
-                            emitter.onSuccess(res);
-                        }
-                    }
-                }));
+        return new FromCompletionStage.SingleFromStage<>(Objects.requireNonNull(cs));
     }
 
     @Override
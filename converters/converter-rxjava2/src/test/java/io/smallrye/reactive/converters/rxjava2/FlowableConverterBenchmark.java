@@ -0,0 +1,22 @@
+package io.smallrye.reactive.converters.rxjava2;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.ConverterBenchmarkTCK;
+
+public class FlowableConverterBenchmark extends ConverterBenchmarkTCK<Flowable> {
+
+    private final ReactiveTypeConverter<Flowable> converter = Registry.lookup(Flowable.class)
+            .orElseThrow(() -> new AssertionError("Flowable converter should be found"));
+
+    @Override
+    protected ReactiveTypeConverter<Flowable> converter() {
+        return converter;
+    }
+
+    @Override
+    protected Flowable createInstanceEmittingMultipleValues(String... values) {
+        return Flowable.fromArray(values);
+    }
+}
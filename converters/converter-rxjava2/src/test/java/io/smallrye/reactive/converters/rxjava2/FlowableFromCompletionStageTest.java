@@ -1,11 +1,16 @@
 package io.smallrye.reactive.converters.rxjava2;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
+import org.junit.Test;
 
 import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
 import io.smallrye.reactive.converters.ReactiveTypeConverter;
 import io.smallrye.reactive.converters.Registry;
 import io.smallrye.reactive.converters.tck.FromCompletionStageTCK;
@@ -48,4 +53,37 @@ public class FlowableFromCompletionStageTest extends FromCompletionStageTCK<Flow
         }
         return reference.get();
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatTheValueIsEmittedOnRequest() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        TestSubscriber<String> subscriber = ((Flowable<String>) converter.fromCompletionStage(future)).test(0);
+        future.complete("hello");
+        subscriber.assertNoValues().assertNotComplete();
+        subscriber.request(1);
+        subscriber.assertResult("hello");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatTheValueIsNotEmittedAfterCancellation() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        TestSubscriber<String> subscriber = ((Flowable<String>) converter.fromCompletionStage(future)).test();
+        subscriber.cancel();
+        future.complete("hello");
+        subscriber.assertEmpty();
+        assertThat(future.isCancelled()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThatEachSubscriberGetsTheValue() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Flowable<String> flowable = converter.fromCompletionStage(future);
+        TestSubscriber<String> first = flowable.test();
+        future.complete("hello");
+        first.assertResult("hello");
+        flowable.test().assertResult("hello");
+    }
 }
@@ -0,0 +1,22 @@
+package io.smallrye.reactive.converters.rxjava2;
+
+import io.reactivex.Single;
+import io.smallrye.reactive.converters.ReactiveTypeConverter;
+import io.smallrye.reactive.converters.Registry;
+import io.smallrye.reactive.converters.tck.ConverterBenchmarkTCK;
+
+public class SingleConverterBenchmark extends ConverterBenchmarkTCK<Single> {
+
+    private final ReactiveTypeConverter<Single> converter = Registry.lookup(Single.class)
+            .orElseThrow(() -> new AssertionError("Single converter should be found"));
+
+    @Override
+    protected ReactiveTypeConverter<Single> converter() {
+        return converter;
+    }
+
+    @Override
+    protected Single createInstanceEmittingMultipleValues(String... values) {
+        return Single.just(values[0]);
+    }
+}
@@ -1,11 +1,11 @@
 package io.smallrye.reactive.operators.quickstart;
 
+import io.smallrye.reactive.streams.vertx.VertxStreams;
 import io.vertx.core.Future;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.reactivex.core.AbstractVerticle;
-import io.vertx.reactivex.core.eventbus.Message;
-import io.vertx.reactivex.core.eventbus.MessageConsumer;
-import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
 
 public class DataProcessor extends AbstractVerticle {
 
@@ -16,9 +16,9 @@ public class DataProcessor extends AbstractVerticle {
         vertx.createHttpServer()
                 .requestHandler(request -> {
                     // Consume messages from the Vert.x event bus
-                    MessageConsumer<JsonObject> consumer = vertx.eventBus().consumer("data");
-                    // Wrap the stream and manipulate the data
-                    ReactiveStreams.fromPublisher(consumer.toFlowable())
+                    MessageConsumer<JsonObject> consumer = vertx.getDelegate().eventBus().consumer("data");
+                    // Wrap the stream (without intermediate buffer) and manipulate the data
+                    VertxStreams.fromReadStream(consumer)
                             .limit(5) // Take only 5 messages
                             .map(Message::body) // Extract the body
                             .map(json -> json.getInteger("value")) // Extract the value
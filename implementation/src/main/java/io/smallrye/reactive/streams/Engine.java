@@ -1,5 +1,6 @@
 package io.smallrye.reactive.streams;
 
+import java.util.Collection;
 import java.util.concurrent.CompletionStage;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
@@ -11,19 +12,77 @@ import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
 
 import io.reactivex.Flowable;
+import io.smallrye.reactive.index.ServiceProvider;
+import io.smallrye.reactive.streams.admission.AdmissionControl;
+import io.smallrye.reactive.streams.graph.GraphOptimizer;
+import io.smallrye.reactive.streams.graph.SynchronousExecutor;
 import io.smallrye.reactive.streams.operators.*;
+import io.smallrye.reactive.streams.pool.ProcessorPool;
+import io.smallrye.reactive.streams.prefetch.AdaptivePrefetch;
 import io.smallrye.reactive.streams.spi.Transformer;
 import io.smallrye.reactive.streams.stages.Stages;
+import io.smallrye.reactive.streams.utils.ConfinedConnectableProcessor;
+import io.smallrye.reactive.streams.utils.ConfinedWrappedProcessor;
 import io.smallrye.reactive.streams.utils.ConnectableProcessor;
 import io.smallrye.reactive.streams.utils.DefaultSubscriberWithCompletionStage;
 import io.smallrye.reactive.streams.utils.WrappedProcessor;
+import io.smallrye.reactive.streams.watchdog.LeakDetector;
+import io.smallrye.reactive.streams.watchdog.StreamWatchdog;
 
+@ServiceProvider(ReactiveStreamsEngine.class)
 public class Engine implements ReactiveStreamsEngine {
 
+    private static final GraphOptimizer OPTIMIZER = new GraphOptimizer();
+
+    private final String name;
+
+    /**
+     * Creates an unnamed engine, only subject to the global {@link AdmissionControl}.
+     */
+    public Engine() {
+        this(null);
+    }
+
+    /**
+     * Creates a named engine. The streams it builds are subject to the {@link AdmissionControl} installed for this
+     * name, in addition to the global one, and use the {@link AdaptivePrefetch} and the {@link ProcessorPool}
+     * installed for this name, instead of the global ones.
+     *
+     * @param name the name, {@code null} for an unnamed engine
+     */
+    public Engine(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return the name of the engine, {@code null} if it is unnamed
+     */
+    public String getName() {
+        return name;
+    }
+
     @Override
     public <T> Publisher<T> buildPublisher(Graph graph) {
+        return buildPublisher(graph, true);
+    }
+
+    /**
+     * Builds a publisher used by a stage, such as the inner streams of {@code flatMap} or the segments of
+     * {@code concat}. Unlike {@link #buildPublisher(Graph)}, the publisher is not subject to the
+     * {@link AdmissionControl}, as it runs under the permit of the outer stream.
+     *
+     * @param graph the graph
+     * @param <T> the type of item
+     * @return the publisher
+     */
+    public <T> Publisher<T> buildInnerPublisher(Graph graph) {
+        return buildPublisher(graph, false);
+    }
+
+    private <T> Publisher<T> buildPublisher(Graph graph, boolean admission) {
+        Collection<Stage> stages = OPTIMIZER.optimize(graph).getStages();
         Flowable<T> flowable = null;
-        for (Stage stage : graph.getStages()) {
+        for (Stage stage : stages) {
             Operator operator = Stages.lookup(stage);
             if (flowable == null) {
                 if (operator instanceof PublisherOperator) {
@@ -33,27 +92,33 @@ public class Engine implements ReactiveStreamsEngine {
                 }
             } else {
                 if (operator instanceof ProcessorOperator) {
-                    flowable = applyProcessors(flowable, stage, (ProcessorOperator) operator);
+                    flowable = applyProcessors(flowable, true, stage, (ProcessorOperator) operator);
                 } else {
                     throw new IllegalArgumentException("Expecting a processor stage, got a " + stage);
                 }
             }
         }
-        return flowable;
+        return instrument(flowable, stages, admission);
     }
 
     @Override
     public <T, R> SubscriberWithCompletionStage<T, R> buildSubscriber(Graph graph) {
-        Processor<T, T> processor = new ConnectableProcessor<>();
+        ProcessorPool pool = pool();
+        Processor<T, T> processor = pool == null ? createProcessor() : pool.acquire();
         Flowable<T> flowable = Flowable.fromPublisher(processor);
-        for (Stage stage : graph.getStages()) {
+        // The items from the processor are not delivered using the execution model until a stage applies it.
+        boolean onExecutionModel = false;
+        Collection<Stage> stages = OPTIMIZER.optimize(graph).getStages();
+        for (Stage stage : stages) {
             Operator operator = Stages.lookup(stage);
             if (operator instanceof ProcessorOperator) {
-                flowable = applyProcessors(flowable, stage, (ProcessorOperator) operator);
+                flowable = applyProcessors(flowable, onExecutionModel, stage, (ProcessorOperator) operator);
+                onExecutionModel = true;
             } else if (operator instanceof TerminalOperator) {
-                CompletionStage<R> result = applySubscriber(Transformer.apply(flowable), stage,
+                CompletionStage<R> result = applySubscriber(flowable, onExecutionModel, stages, false, stage,
                         (TerminalOperator) operator);
-                return new DefaultSubscriberWithCompletionStage<>(processor, result);
+                return pool == null ? new DefaultSubscriberWithCompletionStage<>(processor, result)
+                        : pool.subscriber(processor, result);
             } else {
                 throw new UnsupportedStageException(stage);
             }
@@ -64,51 +129,132 @@ public class Engine implements ReactiveStreamsEngine {
 
     @Override
     public <T, R> Processor<T, R> buildProcessor(Graph graph) {
-        Processor<T, T> processor = new ConnectableProcessor<>();
+        ProcessorPool pool = pool();
+        Processor<T, T> processor = pool == null ? createProcessor() : pool.acquire();
 
         Flowable<T> flowable = Flowable.fromPublisher(processor);
-        for (Stage stage : graph.getStages()) {
+        boolean onExecutionModel = false;
+        Collection<Stage> stages = OPTIMIZER.optimize(graph).getStages();
+        for (Stage stage : stages) {
             Operator operator = Stages.lookup(stage);
-            flowable = applyProcessors(flowable, stage, (ProcessorOperator) operator);
+            flowable = applyProcessors(flowable, onExecutionModel, stage, (ProcessorOperator) operator);
+            onExecutionModel = true;
         }
 
+        Flowable<T> result = instrument(flowable, stages, false);
+        Processor<T, T> wrapped;
+        if (pool != null) {
+            wrapped = pool.processor(processor, result);
+        } else if (Transformer.isThreadConfined(this)) {
+            wrapped = new ConfinedWrappedProcessor<>(processor, result);
+        } else {
+            wrapped = new WrappedProcessor<>(processor, result);
+        }
         //noinspection unchecked
-        return (Processor<T, R>) new WrappedProcessor<>(processor, flowable);
+        return (Processor<T, R>) wrapped;
+    }
+
+    /**
+     * @return the {@link ProcessorPool} recycling the processors of the subscriber and processor graphs, {@code null}
+     *         if none is installed or if the streams are confined to the calling thread
+     */
+    private ProcessorPool pool() {
+        return Transformer.isThreadConfined(this) ? null : ProcessorPool.forEngine(this);
+    }
+
+    /**
+     * Creates the processor receiving the items of a subscriber or processor graph. The thread-confined variant is
+     * used when the {@link io.smallrye.reactive.streams.spi.ExecutionModel} guarantees that the stream is confined to
+     * the calling thread.
+     *
+     * @param <T> the type of item
+     * @return the processor
+     */
+    private <T> Processor<T, T> createProcessor() {
+        return Transformer.isThreadConfined(this) ? new ConfinedConnectableProcessor<>() : new ConnectableProcessor<>();
     }
 
     @Override
     public <T> CompletionStage<T> buildCompletion(Graph graph) {
+        Collection<Stage> stages = OPTIMIZER.optimize(graph).getStages();
+        if (!Transformer.hasExecutionModel() && SynchronousExecutor.supports(stages)) {
+            // In-memory source and synchronous stages, no need to assemble the flowable.
+            return SynchronousExecutor.execute(stages);
+        }
         Flowable<?> flowable = null;
-        for (Stage stage : graph.getStages()) {
+        for (Stage stage : stages) {
             Operator operator = Stages.lookup(stage);
             if (operator instanceof PublisherOperator) {
                 flowable = createPublisher(stage, (PublisherOperator) operator);
             } else if (operator instanceof ProcessorOperator) {
-                flowable = applyProcessors(flowable, stage, (ProcessorOperator) operator);
+                flowable = applyProcessors(flowable, true, stage, (ProcessorOperator) operator);
             } else {
-                return applySubscriber(flowable, stage, (TerminalOperator) operator);
+                return applySubscriber(flowable, true, stages, true, stage, (TerminalOperator) operator);
             }
         }
 
         throw new IllegalArgumentException("Graph did not have terminal stage");
     }
 
-    private <I, O> Flowable<O> applyProcessors(Flowable<I> flowable, Stage stage, ProcessorOperator operator) {
+    /**
+     * Applies a processing stage.
+     *
+     * @param flowable the upstream
+     * @param onExecutionModel whether or not the upstream signals are already delivered using the execution model
+     * @param stage the stage
+     * @param operator the operator
+     * @return the resulting flowable, its signals are delivered using the execution model
+     */
+    private <I, O> Flowable<O> applyProcessors(Flowable<I> flowable, boolean onExecutionModel, Stage stage,
+            ProcessorOperator operator) {
         @SuppressWarnings("unchecked")
         ProcessingStage<I, O> ps = operator.create(this, stage);
-        return Transformer.apply(ps.apply(flowable));
+        Flowable<O> result = ps.apply(flowable);
+        if (onExecutionModel && operator.isSynchronous()) {
+            // Synchronous stages do not introduce thread boundaries, no need to apply the execution model again.
+            return result;
+        }
+        return Transformer.apply(result, this);
     }
 
-    private <T, R> CompletionStage<R> applySubscriber(Flowable<T> flowable, Stage stage, TerminalOperator operator) {
+    /**
+     * Applies the terminal stage. The stream is instrumented, see {@link #instrument(Flowable, Collection, boolean)}.
+     *
+     * @param flowable the upstream
+     * @param onExecutionModel whether or not the upstream signals are already delivered using the execution model
+     * @param stages all the stages of the graph
+     * @param admission whether the stream is subject to the admission control
+     * @param stage the terminal stage
+     * @param operator the operator
+     * @return the completion stage of the terminal stage
+     */
+    private <T, R> CompletionStage<R> applySubscriber(Flowable<T> flowable, boolean onExecutionModel,
+            Collection<Stage> stages, boolean admission, Stage stage, TerminalOperator operator) {
         @SuppressWarnings("unchecked")
         TerminalStage<T, R> ps = operator.create(this, stage);
-        return ps.apply(Transformer.apply(flowable));
+        Flowable<T> upstream = onExecutionModel ? flowable : Transformer.apply(flowable, this);
+        return ps.apply(instrument(upstream, stages, admission));
+    }
+
+    /**
+     * Instruments the last flowable of a graph: the stream is tracked by the {@link StreamWatchdog} and the
+     * {@link LeakDetector}, and subject to the {@link AdmissionControl}, if they are installed. Otherwise the
+     * flowable is returned as it is.
+     *
+     * @param flowable the last flowable of the graph
+     * @param stages the stages of the graph
+     * @param admission whether the stream is subject to the admission control
+     * @return the instrumented flowable
+     */
+    private <T> Flowable<T> instrument(Flowable<T> flowable, Collection<Stage> stages, boolean admission) {
+        Flowable<T> watched = StreamWatchdog.watch(flowable, stages);
+        return LeakDetector.track(admission ? AdmissionControl.admit(watched, name) : watched, stages);
     }
 
     private <O> Flowable<O> createPublisher(Stage stage, PublisherOperator operator) {
         @SuppressWarnings("unchecked")
         PublisherStage<O> ps = operator.create(this, stage);
-        return Transformer.apply(ps.get());
+        return Transformer.apply(ps.get(), this);
     }
 
 }
@@ -0,0 +1,361 @@
+package io.smallrye.reactive.streams.admission;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Flowable;
+
+/**
+ * Caps the number of streams running concurrently. A stream holds a permit from its subscription until it terminates
+ * or is cancelled. When all the permits are taken, the {@link Policy} decides whether the new streams wait for a
+ * permit, or are rejected: the subscriber then receives a {@link RejectedExecutionException}.
+ * <p>
+ * The admission control is disabled by default. It can be installed globally, capping the streams built by all the
+ * engines, or for a named {@link io.smallrye.reactive.streams.Engine}. The streams built by a named engine must get a
+ * permit from both. It applies to the streams built with {@code buildPublisher} (when they are subscribed) and
+ * {@code buildCompletion}, except the closed graphs executed synchronously on the caller thread. The inner streams
+ * built by the stages ({@code flatMap}, {@code concat}...) run under the permit of their outer stream.
+ *
+ * <pre>
+ * AdmissionControl.builder()
+ *         .maxConcurrentStreams(200)
+ *         .policy(AdmissionControl.Policy.QUEUE)
+ *         .maxQueuedStreams(1000)
+ *         .install();
+ * </pre>
+ */
+public final class AdmissionControl implements AutoCloseable {
+
+    /**
+     * The behavior when all the permits are taken.
+     */
+    public enum Policy {
+        /**
+         * The new streams wait for a permit, in order. When {@code maxQueuedStreams} are already waiting, the new
+         * streams are rejected.
+         */
+        QUEUE,
+        /**
+         * The new streams are rejected immediately.
+         */
+        FAIL,
+        /**
+         * The new streams wait for a permit, in order. When {@code maxQueuedStreams} are already waiting, the oldest
+         * waiting stream is rejected to make room for the new one, as it is the most likely to be outdated.
+         */
+        SHED
+    }
+
+    private static volatile AdmissionControl global;
+    private static final Map<String, AdmissionControl> NAMED = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int maxConcurrentStreams;
+    private final Policy policy;
+    private final int maxQueuedStreams;
+    private final AdmissionMetrics metrics = new AdmissionMetrics();
+
+    /**
+     * The streams waiting for a permit. Guarded by {@code this}, as the number of permits.
+     */
+    private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+    private int available;
+
+    /**
+     * The tickets admitted when a permit is released. They are admitted by a drain loop, so a stream terminating
+     * synchronously on subscription does not admit the next one recursively.
+     */
+    private final Queue<Ticket> admitted = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private AdmissionControl(Builder builder, String name) {
+        this.name = name;
+        this.maxConcurrentStreams = builder.maxConcurrentStreams;
+        this.policy = builder.policy;
+        this.maxQueuedStreams = builder.policy == Policy.FAIL ? 0 : builder.maxQueuedStreams;
+        this.available = maxConcurrentStreams;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the admission control installed globally, empty if none
+     */
+    public static Optional<AdmissionControl> current() {
+        return Optional.ofNullable(global);
+    }
+
+    /**
+     * @param engineName the name of the engine, must not be {@code null}
+     * @return the admission control installed for the given engine, empty if none
+     */
+    public static Optional<AdmissionControl> current(String engineName) {
+        return Optional.ofNullable(NAMED.get(Objects.requireNonNull(engineName)));
+    }
+
+    /**
+     * Subjects the subscriptions to the given flowable to the admission controls installed globally and for the given
+     * engine. Called by the engine on the streams it builds.
+     *
+     * @param flowable the flowable
+     * @param engineName the name of the engine, {@code null} for the unnamed engines
+     * @param <T> the type of item
+     * @return the given flowable if no admission control applies, a flowable acquiring the permits on subscription
+     *         otherwise
+     */
+    public static <T> Flowable<T> admit(Flowable<T> flowable, String engineName) {
+        AdmissionControl named = engineName == null ? null : NAMED.get(engineName);
+        AdmissionControl all = global;
+        if (named == null && all == null) {
+            return flowable;
+        }
+        AdmissionControl[] controls;
+        if (named == null) {
+            controls = new AdmissionControl[] { all };
+        } else if (all == null) {
+            controls = new AdmissionControl[] { named };
+        } else {
+            controls = new AdmissionControl[] { named, all };
+        }
+        return new AdmittedFlowable<>(flowable, controls);
+    }
+
+    /**
+     * @return the maximum number of streams running concurrently
+     */
+    public int getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    /**
+     * @return the policy applied when all the permits are taken
+     */
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return the maximum number of streams waiting for a permit, {@code 0} for the {@link Policy#FAIL} policy
+     */
+    public int getMaxQueuedStreams() {
+        return maxQueuedStreams;
+    }
+
+    /**
+     * @return the metrics
+     */
+    public AdmissionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Uninstalls this admission control. The streams built afterwards are not subject to it anymore, the running and
+     * waiting streams are not affected.
+     */
+    @Override
+    public void close() {
+        if (name == null) {
+            synchronized (AdmissionControl.class) {
+                if (global == this) {
+                    global = null;
+                }
+            }
+        } else {
+            NAMED.remove(name, this);
+        }
+    }
+
+    void acquire(Ticket ticket) {
+        Ticket rejected = null;
+        boolean admittedNow = false;
+        synchronized (this) {
+            if (available > 0) {
+                available--;
+                admittedNow = true;
+            } else if (waiting.size() < maxQueuedStreams) {
+                waiting.add(ticket);
+            } else if (policy == Policy.SHED && maxQueuedStreams > 0) {
+                rejected = waiting.poll();
+                waiting.add(ticket);
+            } else {
+                rejected = ticket;
+            }
+            metrics.setQueued(waiting.size());
+        }
+        if (admittedNow) {
+            admit(ticket);
+        } else if (rejected != null && rejected.reject(new RejectedExecutionException(
+                "Too many concurrent streams (" + maxConcurrentStreams + "), the stream has been rejected"))) {
+            metrics.onRejected(rejected != ticket);
+        }
+    }
+
+    /**
+     * Admits the ticket holding a permit, or gives the permit back if it has been released concurrently.
+     */
+    private void admit(Ticket ticket) {
+        if (ticket.compareAndSet(Ticket.WAITING, Ticket.ADMITTED)) {
+            metrics.onAdmitted();
+            ticket.onAdmitted();
+        } else {
+            release();
+        }
+    }
+
+    /**
+     * Gives back the permit held by the ticket, or removes the ticket from the waiting queue.
+     */
+    void release(Ticket ticket) {
+        int previous = ticket.release();
+        if (previous == Ticket.ADMITTED) {
+            metrics.onReleased();
+            release();
+        } else if (previous == Ticket.WAITING) {
+            synchronized (this) {
+                waiting.remove(ticket);
+                metrics.setQueued(waiting.size());
+            }
+        }
+    }
+
+    private void release() {
+        synchronized (this) {
+            Ticket next = waiting.poll();
+            metrics.setQueued(waiting.size());
+            if (next == null) {
+                available++;
+                return;
+            }
+            // The permit is transferred to the next ticket.
+            admitted.add(next);
+        }
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Ticket ticket;
+            while ((ticket = admitted.poll()) != null) {
+                admit(ticket);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * A stream requesting a permit.
+     */
+    abstract static class Ticket extends AtomicInteger {
+
+        private static final long serialVersionUID = 1L;
+
+        static final int WAITING = 0;
+        static final int ADMITTED = 1;
+        static final int RELEASED = 2;
+
+        boolean reject(RejectedExecutionException failure) {
+            if (compareAndSet(WAITING, RELEASED)) {
+                onRejected(failure);
+                return true;
+            }
+            return false;
+        }
+
+        int release() {
+            return getAndSet(RELEASED);
+        }
+
+        abstract void onAdmitted();
+
+        abstract void onRejected(RejectedExecutionException failure);
+    }
+
+    public static class Builder {
+        private int maxConcurrentStreams = Integer.MAX_VALUE;
+        private Policy policy = Policy.QUEUE;
+        private int maxQueuedStreams = Integer.MAX_VALUE;
+
+        private Builder() {
+            // Use AdmissionControl.builder().
+        }
+
+        /**
+         * @param maxConcurrentStreams the maximum number of streams running concurrently, must be strictly positive,
+         *        not bounded by default
+         * @return this builder
+         */
+        public Builder maxConcurrentStreams(int maxConcurrentStreams) {
+            if (maxConcurrentStreams <= 0) {
+                throw new IllegalArgumentException(
+                        "The maximum number of concurrent streams must be strictly positive");
+            }
+            this.maxConcurrentStreams = maxConcurrentStreams;
+            return this;
+        }
+
+        /**
+         * @param policy the policy applied when all the permits are taken, must not be {@code null},
+         *        {@link Policy#QUEUE} by default
+         * @return this builder
+         */
+        public Builder policy(Policy policy) {
+            this.policy = Objects.requireNonNull(policy);
+            return this;
+        }
+
+        /**
+         * @param maxQueuedStreams the maximum number of streams waiting for a permit, must not be negative, not bounded
+         *        by default. Ignored by the {@link Policy#FAIL} policy.
+         * @return this builder
+         */
+        public Builder maxQueuedStreams(int maxQueuedStreams) {
+            if (maxQueuedStreams < 0) {
+                throw new IllegalArgumentException("The maximum number of queued streams must not be negative");
+            }
+            this.maxQueuedStreams = maxQueuedStreams;
+            return this;
+        }
+
+        /**
+         * Creates the admission control and installs it globally, replacing the previously installed one.
+         *
+         * @return the installed admission control
+         */
+        public AdmissionControl install() {
+            AdmissionControl control = new AdmissionControl(this, null);
+            synchronized (AdmissionControl.class) {
+                global = control;
+            }
+            return control;
+        }
+
+        /**
+         * Creates the admission control and installs it for the engine with the given name, replacing the previously
+         * installed one.
+         *
+         * @param engineName the name of the engine, must not be {@code null}
+         * @return the installed admission control
+         */
+        public AdmissionControl install(String engineName) {
+            AdmissionControl control = new AdmissionControl(this, Objects.requireNonNull(engineName));
+            NAMED.put(engineName, control);
+            return control;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.smallrye.reactive.streams.admission;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters maintained by an {@link AdmissionControl}.
+ */
+public class AdmissionMetrics {
+
+    private final LongAdder active = new LongAdder();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private volatile int queued;
+
+    AdmissionMetrics() {
+        // Created by the admission control.
+    }
+
+    /**
+     * @return the number of streams currently holding a permit
+     */
+    public long getActive() {
+        return active.sum();
+    }
+
+    /**
+     * @return the number of streams currently waiting for a permit
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * @return the number of streams that have been given a permit
+     */
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    /**
+     * @return the number of rejected streams, including the shed ones
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of waiting streams rejected to make room for a new one, with the {@code SHED} policy
+     */
+    public long getShed() {
+        return shed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionMetrics{active=" + getActive()
+                + ", queued=" + getQueued()
+                + ", admitted=" + getAdmitted()
+                + ", rejected=" + getRejected()
+                + ", shed=" + getShed() + "}";
+    }
+
+    void onAdmitted() {
+        admitted.increment();
+        active.increment();
+    }
+
+    void onReleased() {
+        active.decrement();
+    }
+
+    void onRejected(boolean shed) {
+        rejected.increment();
+        if (shed) {
+            this.shed.increment();
+        }
+    }
+
+    void setQueued(int queued) {
+        this.queued = queued;
+    }
+}
@@ -0,0 +1,137 @@
+package io.smallrye.reactive.streams.admission;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.smallrye.reactive.streams.admission.AdmissionControl.Ticket;
+
+/**
+ * Subscribes to the source once the permits of all the admission controls have been acquired, and releases them when
+ * the stream terminates or is cancelled. The downstream receives its subscription immediately: its requests are
+ * accumulated and its cancellation releases the permits, or withdraws the stream from the waiting queues.
+ */
+final class AdmittedFlowable<T> extends Flowable<T> {
+
+    private final Publisher<T> source;
+    private final AdmissionControl[] controls;
+
+    AdmittedFlowable(Publisher<T> source, AdmissionControl[] controls) {
+        this.source = source;
+        this.controls = controls;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> subscriber) {
+        AdmittedSubscriber<T> admitted = new AdmittedSubscriber<>(subscriber, source, controls);
+        subscriber.onSubscribe(admitted);
+        admitted.acquire(0);
+    }
+
+    static final class AdmittedSubscriber<T> extends AtomicReference<Subscription>
+            implements FlowableSubscriber<T>, Subscription {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Subscriber<? super T> downstream;
+        private final Publisher<T> source;
+        private final AdmissionControl[] controls;
+        private final AtomicReferenceArray<Ticket> tickets;
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+
+        AdmittedSubscriber(Subscriber<? super T> downstream, Publisher<T> source, AdmissionControl[] controls) {
+            this.downstream = downstream;
+            this.source = source;
+            this.controls = controls;
+            this.tickets = new AtomicReferenceArray<>(controls.length);
+        }
+
+        /**
+         * Acquires the permit of the admission control at the given index, and then the next ones.
+         */
+        void acquire(int index) {
+            if (cancelled) {
+                return;
+            }
+            if (index == controls.length) {
+                source.subscribe(this);
+                return;
+            }
+            Ticket ticket = new Ticket() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                void onAdmitted() {
+                    acquire(index + 1);
+                }
+
+                @Override
+                void onRejected(RejectedExecutionException failure) {
+                    releaseAll();
+                    if (!cancelled) {
+                        downstream.onError(failure);
+                    }
+                }
+            };
+            tickets.set(index, ticket);
+            if (cancelled) {
+                // Cancelled concurrently, the ticket may not have been released.
+                releaseAll();
+                return;
+            }
+            controls[index].acquire(ticket);
+        }
+
+        private void releaseAll() {
+            for (int i = 0; i < controls.length; i++) {
+                Ticket ticket = tickets.get(i);
+                if (ticket != null) {
+                    controls[i].release(ticket);
+                }
+            }
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            SubscriptionHelper.deferredSetOnce(this, requested, subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            releaseAll();
+            downstream.onError(failure);
+        }
+
+        @Override
+        public void onComplete() {
+            releaseAll();
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            SubscriptionHelper.deferredRequest(this, requested, n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            releaseAll();
+            SubscriptionHelper.cancel(this);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.smallrye.reactive.streams.boundary;
+
+import java.util.function.ToLongFunction;
+
+import io.smallrye.reactive.streams.prefetch.AdaptivePrefetch;
+
+/**
+ * A window adjusted from the observed consumption rate, see {@link AdaptivePrefetch}.
+ */
+final class AdaptiveDemand implements Demand {
+
+    /**
+     * The consumption rate is not measured over shorter periods, as it would be too noisy.
+     */
+    private static final long MIN_SAMPLING_PERIOD_NANOS = 100_000L;
+
+    /**
+     * Only one item out of 16 is measured by the size estimator.
+     */
+    private static final int SIZE_SAMPLING_MASK = 15;
+
+    private final long min;
+    private final long max;
+    private final double targetLatencyNanos;
+    private final long maxBytes;
+    private final ToLongFunction<Object> sizeEstimator;
+
+    private long window;
+    private long consumed;
+    private long count;
+    private long lastAdaptation;
+    private boolean starved;
+    private double rate;
+    private double size;
+
+    AdaptiveDemand(AdaptivePrefetch config) {
+        this.min = config.getMinPrefetch();
+        this.max = config.getMaxPrefetch();
+        this.targetLatencyNanos = config.getTargetLatency().toNanos();
+        this.maxBytes = config.getMaxBytes();
+        this.sizeEstimator = config.getSizeEstimator();
+        this.window = config.getInitialPrefetch();
+        this.lastAdaptation = System.nanoTime();
+    }
+
+    @Override
+    public long window() {
+        return window;
+    }
+
+    @Override
+    public long limit(long window) {
+        // Request again once a quarter of the window has been consumed, so a growing window is used quickly.
+        return Math.max(1L, window >> 2);
+    }
+
+    @Override
+    public void onConsumed(Object item) {
+        consumed++;
+        if (sizeEstimator != null && (count++ & SIZE_SAMPLING_MASK) == 0) {
+            long estimate = sizeEstimator.applyAsLong(item);
+            size = size == 0 ? estimate : size + (estimate - size) / 8;
+        }
+    }
+
+    @Override
+    public void onStarved() {
+        starved = true;
+    }
+
+    /**
+     * Adjusts the window from the consumption rate observed since the last adjustment.
+     *
+     * @return the window
+     */
+    @Override
+    public long adapt() {
+        long now = System.nanoTime();
+        long elapsed = now - lastAdaptation;
+        if (elapsed < MIN_SAMPLING_PERIOD_NANOS) {
+            return window;
+        }
+        double observed = (double) consumed / elapsed;
+        rate = rate == 0 ? observed : rate + (observed - rate) / 4;
+        // Little's law: the items consumed during the target latency.
+        long target = (long) Math.ceil(rate * targetLatencyNanos);
+        if (starved) {
+            // The consumer waited, the window limits the throughput.
+            target = Math.max(target, window * 2);
+        }
+        target = Math.max(min, Math.min(max, target));
+        if (size > 0) {
+            target = Math.max(min, Math.min(target, (long) (maxBytes / size)));
+        }
+        window = target;
+        consumed = 0;
+        starved = false;
+        lastAdaptation = now;
+        return window;
+    }
+}
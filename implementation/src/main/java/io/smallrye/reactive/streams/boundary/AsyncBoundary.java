@@ -0,0 +1,194 @@
+package io.smallrye.reactive.streams.boundary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.prefetch.AdaptivePrefetch;
+
+/**
+ * The thread boundary owned by the engine, to be used by the execution models instead of
+ * {@link Flowable#observeOn(Scheduler)}. The items are requested with a fixed prefetch, or an {@link AdaptivePrefetch},
+ * and handed over to the consumer thread through a queue chosen from the topology of the boundary (see
+ * {@link QueueType}), unless set explicitly:
+ * <ul>
+ * <li>one upstream, fixed prefetch: {@link QueueType#SPSC_ARRAY},</li>
+ * <li>one upstream, adaptive prefetch: {@link QueueType#SPSC_CHUNKED},</li>
+ * <li>several upstreams, see {@link #merge(Iterable)}: {@link QueueType#MPSC_LINKED}.</li>
+ * </ul>
+ *
+ * <pre>
+ * AsyncBoundary boundary = AsyncBoundary.builder()
+ *         .scheduler(scheduler)
+ *         .prefetch(256)
+ *         .build();
+ * Flowable&lt;T&gt; result = boundary.apply(flowable);
+ * </pre>
+ */
+public final class AsyncBoundary {
+
+    private final Scheduler scheduler;
+    private final int prefetch;
+    private final AdaptivePrefetch adaptivePrefetch;
+    private final QueueType queueType;
+
+    private AsyncBoundary(Builder builder) {
+        this.scheduler = builder.scheduler;
+        this.prefetch = builder.prefetch;
+        this.adaptivePrefetch = builder.adaptivePrefetch;
+        this.queueType = builder.queueType;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates the boundary used for the streams built by the given engine: it uses the {@link AdaptivePrefetch}
+     * applying to the engine if any, or the RxJava buffer size (128) as prefetch.
+     *
+     * @param engine the engine, {@code null} if unknown
+     * @param scheduler the scheduler delivering the signals, must not be {@code null}
+     * @return the boundary
+     */
+    public static AsyncBoundary forEngine(Engine engine, Scheduler scheduler) {
+        return builder()
+                .scheduler(Objects.requireNonNull(scheduler))
+                .adaptivePrefetch(AdaptivePrefetch.forEngine(engine))
+                .build();
+    }
+
+    /**
+     * Delivers the signals of the given flowable on the scheduler.
+     *
+     * @param flowable the flowable
+     * @param <T> the type of item
+     * @return the resulting flowable
+     */
+    public <T> Flowable<T> apply(Flowable<T> flowable) {
+        return new AsyncBoundaryFlowable<>(Objects.requireNonNull(flowable), this);
+    }
+
+    /**
+     * Subscribes to all the given publishers and delivers their items on the scheduler, in the order they are
+     * received. Each publisher has its own window.
+     *
+     * @param publishers the publishers, must not be {@code null}
+     * @param <T> the type of item
+     * @return the resulting flowable
+     * @throws IllegalStateException if the queue has been set to a single-producer queue
+     */
+    public <T> Flowable<T> merge(Iterable<? extends Publisher<? extends T>> publishers) {
+        if (queueType != null && !queueType.supportsMultipleProducers()) {
+            throw new IllegalStateException("The " + queueType + " queue cannot be used to merge publishers");
+        }
+        List<Publisher<? extends T>> list = new ArrayList<>();
+        for (Publisher<? extends T> publisher : publishers) {
+            list.add(Objects.requireNonNull(publisher));
+        }
+        return new MergeBoundaryFlowable<>(list, this);
+    }
+
+    /**
+     * @return the scheduler delivering the signals, {@code null} if they are delivered on the thread emitting them
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return the fixed prefetch, ignored when an adaptive prefetch is set
+     */
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * @return the adaptive prefetch, {@code null} if the prefetch is fixed
+     */
+    public AdaptivePrefetch getAdaptivePrefetch() {
+        return adaptivePrefetch;
+    }
+
+    /**
+     * @return the queue type, {@code null} if it is chosen from the topology
+     */
+    public QueueType getQueueType() {
+        return queueType;
+    }
+
+    Demand createDemand() {
+        return adaptivePrefetch == null ? new Demand.Fixed(prefetch) : new AdaptiveDemand(adaptivePrefetch);
+    }
+
+    <T> SimplePlainQueue<T> createQueue(boolean multipleProducers) {
+        QueueType type = queueType == null ? QueueType.select(multipleProducers, adaptivePrefetch != null) : queueType;
+        return type.create(adaptivePrefetch == null ? prefetch : adaptivePrefetch.getMaxPrefetch());
+    }
+
+    public static class Builder {
+        private Scheduler scheduler;
+        private int prefetch = Flowable.bufferSize();
+        private AdaptivePrefetch adaptivePrefetch;
+        private QueueType queueType;
+
+        private Builder() {
+            // Use AsyncBoundary.builder().
+        }
+
+        /**
+         * @param scheduler the scheduler delivering the signals, {@code null} to deliver them on the thread emitting
+         *        them, {@code null} by default
+         * @return this builder
+         */
+        public Builder scheduler(Scheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * @param prefetch the number of items requested to each upstream, must be strictly positive. They are
+         *        requested again once three quarters of them are consumed. The RxJava buffer size (128) by default.
+         * @return this builder
+         */
+        public Builder prefetch(int prefetch) {
+            if (prefetch <= 0) {
+                throw new IllegalArgumentException("The prefetch must be strictly positive");
+            }
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        /**
+         * @param adaptivePrefetch the adaptive prefetch, replacing the fixed prefetch, {@code null} to use the fixed
+         *        prefetch, {@code null} by default
+         * @return this builder
+         */
+        public Builder adaptivePrefetch(AdaptivePrefetch adaptivePrefetch) {
+            this.adaptivePrefetch = adaptivePrefetch;
+            return this;
+        }
+
+        /**
+         * @param queueType the queue, {@code null} to choose it from the topology, {@code null} by default
+         * @return this builder
+         */
+        public Builder queue(QueueType queueType) {
+            this.queueType = queueType;
+            return this;
+        }
+
+        public AsyncBoundary build() {
+            return new AsyncBoundary(this);
+        }
+    }
+}
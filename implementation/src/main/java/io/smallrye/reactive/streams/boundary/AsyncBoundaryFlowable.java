@@ -0,0 +1,232 @@
+package io.smallrye.reactive.streams.boundary;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Queues the items of the source and delivers them from a drain loop, running on the scheduler if any, or on the
+ * thread signaling otherwise. The requests to the source keep the number of items requested but not consumed within
+ * the window computed by the {@link Demand}. The queue never holds more items than this number.
+ */
+final class AsyncBoundaryFlowable<T> extends Flowable<T> {
+
+    private final Flowable<T> source;
+    private final AsyncBoundary boundary;
+
+    AsyncBoundaryFlowable(Flowable<T> source, AsyncBoundary boundary) {
+        this.source = source;
+        this.boundary = boundary;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> subscriber) {
+        Scheduler scheduler = boundary.getScheduler();
+        source.subscribe(new BoundarySubscriber<>(subscriber, scheduler == null ? null : scheduler.createWorker(),
+                boundary.createDemand(), boundary.createQueue(false)));
+    }
+
+    static final class BoundarySubscriber<T> extends AtomicInteger
+            implements FlowableSubscriber<T>, Subscription, Runnable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Subscriber<? super T> downstream;
+        private final Scheduler.Worker worker;
+        private final Demand demand;
+        private final SimplePlainQueue<T> queue;
+        private final AtomicLong requested = new AtomicLong();
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable failure;
+
+        /**
+         * The number of items requested to the upstream and not consumed at the last replenishment, and the number of
+         * items consumed since. Only accessed from the drain loop, once the subscription is set.
+         */
+        private long outstanding;
+        private long produced;
+        private long limit;
+
+        BoundarySubscriber(Subscriber<? super T> downstream, Scheduler.Worker worker, Demand demand,
+                SimplePlainQueue<T> queue) {
+            this.downstream = downstream;
+            this.worker = worker;
+            this.demand = demand;
+            this.queue = queue;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (SubscriptionHelper.validate(upstream, subscription)) {
+                upstream = subscription;
+                long initial = demand.window();
+                outstanding = initial;
+                limit = demand.limit(initial);
+                downstream.onSubscribe(this);
+                subscription.request(initial);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                upstream.cancel();
+                failure = new MissingBackpressureException("Queue is full?!");
+                done = true;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                RxJavaPlugins.onError(throwable);
+                return;
+            }
+            failure = throwable;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                schedule();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                schedule();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            if (worker != null) {
+                worker.dispose();
+            }
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        private void schedule() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            if (worker == null) {
+                run();
+            } else {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                long r = requested.get();
+                long e = 0L;
+                while (e != r) {
+                    boolean d = done;
+                    T item = queue.poll();
+                    boolean empty = item == null;
+                    if (isTerminated(d, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    e++;
+                    demand.onConsumed(item);
+                    if (++produced >= limit) {
+                        replenish(false);
+                    }
+                }
+                if (e == r) {
+                    if (isTerminated(done, queue.isEmpty())) {
+                        return;
+                    }
+                } else if (!done) {
+                    // The consumer is waiting for items.
+                    demand.onStarved();
+                    if (produced == outstanding) {
+                        // Nothing in flight anymore, request even if the amount is small.
+                        replenish(true);
+                    }
+                }
+                if (e != 0L) {
+                    BackpressureHelper.produced(requested, e);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void replenish(boolean force) {
+            long window = demand.adapt();
+            limit = demand.limit(window);
+            long inFlight = outstanding - produced;
+            produced = 0L;
+            long n = window - inFlight;
+            if (n > 0 && (n >= limit || force)) {
+                outstanding = inFlight + n;
+                upstream.request(n);
+            } else {
+                outstanding = inFlight;
+            }
+        }
+
+        private boolean isTerminated(boolean d, boolean empty) {
+            if (cancelled) {
+                queue.clear();
+                return true;
+            }
+            if (d) {
+                Throwable throwable = failure;
+                if (throwable != null) {
+                    queue.clear();
+                    downstream.onError(throwable);
+                } else if (empty) {
+                    downstream.onComplete();
+                } else {
+                    return false;
+                }
+                if (worker != null) {
+                    worker.dispose();
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
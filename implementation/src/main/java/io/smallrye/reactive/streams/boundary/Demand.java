@@ -0,0 +1,75 @@
+package io.smallrye.reactive.streams.boundary;
+
+/**
+ * Computes the window of a boundary, i.e. the number of items requested to the upstream but not yet consumed. Only
+ * used by the drain loop of the boundary, the implementations are not thread-safe.
+ */
+interface Demand {
+
+    /**
+     * @return the current window
+     */
+    long window();
+
+    /**
+     * @param window the window
+     * @return the number of items to consume before requesting more items
+     */
+    long limit(long window);
+
+    /**
+     * Records an item delivered to the consumer.
+     *
+     * @param item the item
+     */
+    void onConsumed(Object item);
+
+    /**
+     * Records that the consumer requested items while none were available.
+     */
+    void onStarved();
+
+    /**
+     * Called before requesting more items.
+     *
+     * @return the window, possibly adjusted
+     */
+    long adapt();
+
+    /**
+     * A window of a fixed size, replenished once three quarters of it are consumed, like the RxJava operators.
+     */
+    final class Fixed implements Demand {
+
+        private final long prefetch;
+
+        Fixed(long prefetch) {
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public long window() {
+            return prefetch;
+        }
+
+        @Override
+        public long limit(long window) {
+            return window - (window >> 2);
+        }
+
+        @Override
+        public void onConsumed(Object item) {
+            // Nothing to record.
+        }
+
+        @Override
+        public void onStarved() {
+            // Nothing to record.
+        }
+
+        @Override
+        public long adapt() {
+            return prefetch;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package io.smallrye.reactive.streams.boundary;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.AtomicThrowable;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Subscribes to several sources and delivers their items, in the order they are received, from a single drain loop.
+ * The sources emit concurrently into the same queue, each of them with its own window.
+ */
+final class MergeBoundaryFlowable<T> extends Flowable<T> {
+
+    private final List<Publisher<? extends T>> sources;
+    private final AsyncBoundary boundary;
+
+    MergeBoundaryFlowable(List<Publisher<? extends T>> sources, AsyncBoundary boundary) {
+        this.sources = sources;
+        this.boundary = boundary;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> subscriber) {
+        Scheduler scheduler = boundary.getScheduler();
+        MergeCoordinator<T> coordinator = new MergeCoordinator<>(subscriber,
+                scheduler == null ? null : scheduler.createWorker(), boundary, sources.size());
+        subscriber.onSubscribe(coordinator);
+        coordinator.subscribe(sources);
+    }
+
+    /**
+     * An item and the source it comes from, so the drain loop can replenish this source.
+     */
+    static final class Entry<T> {
+        final InnerSubscriber<T> source;
+        final T item;
+
+        Entry(InnerSubscriber<T> source, T item) {
+            this.source = source;
+            this.item = item;
+        }
+    }
+
+    static final class MergeCoordinator<T> extends AtomicInteger implements Subscription, Runnable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Subscriber<? super T> downstream;
+        private final Scheduler.Worker worker;
+        private final SimplePlainQueue<Entry<T>> queue;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicThrowable errors = new AtomicThrowable();
+        private final AtomicInteger active;
+        private final InnerSubscriber<T>[] inners;
+        private volatile boolean cancelled;
+
+        @SuppressWarnings("unchecked")
+        MergeCoordinator(Subscriber<? super T> downstream, Scheduler.Worker worker, AsyncBoundary boundary,
+                int count) {
+            this.downstream = downstream;
+            this.worker = worker;
+            this.queue = boundary.createQueue(true);
+            this.active = new AtomicInteger(count);
+            this.inners = (InnerSubscriber<T>[]) new InnerSubscriber<?>[count];
+            for (int i = 0; i < count; i++) {
+                inners[i] = new InnerSubscriber<>(this, boundary.createDemand());
+            }
+        }
+
+        void subscribe(List<Publisher<? extends T>> sources) {
+            if (inners.length == 0) {
+                schedule();
+                return;
+            }
+            for (int i = 0; i < inners.length && !cancelled; i++) {
+                sources.get(i).subscribe(inners[i]);
+            }
+        }
+
+        void onNext(InnerSubscriber<T> inner, T item) {
+            if (!queue.offer(new Entry<>(inner, item))) {
+                onError(new MissingBackpressureException("Queue is full?!"));
+                return;
+            }
+            schedule();
+        }
+
+        void onError(Throwable failure) {
+            if (errors.addThrowable(failure)) {
+                cancelSources();
+                schedule();
+            } else {
+                RxJavaPlugins.onError(failure);
+            }
+        }
+
+        void onComplete() {
+            active.decrementAndGet();
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                schedule();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            cancelSources();
+            if (worker != null) {
+                worker.dispose();
+            }
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        private void cancelSources() {
+            for (InnerSubscriber<T> inner : inners) {
+                SubscriptionHelper.cancel(inner);
+            }
+        }
+
+        private void schedule() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            if (worker == null) {
+                run();
+            } else {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                long r = requested.get();
+                long e = 0L;
+                while (e != r) {
+                    // Read before polling: the items of a completed source are already in the queue.
+                    boolean done = active.get() == 0;
+                    Entry<T> entry = queue.poll();
+                    boolean empty = entry == null;
+                    if (isTerminated(done, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(entry.item);
+                    e++;
+                    entry.source.consumed(entry.item);
+                }
+                if (e == r) {
+                    if (isTerminated(active.get() == 0, queue.isEmpty())) {
+                        return;
+                    }
+                } else {
+                    for (InnerSubscriber<T> inner : inners) {
+                        inner.starved();
+                    }
+                }
+                if (e != 0L) {
+                    BackpressureHelper.produced(requested, e);
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean isTerminated(boolean done, boolean empty) {
+            if (cancelled) {
+                queue.clear();
+                return true;
+            }
+            if (errors.get() != null) {
+                queue.clear();
+                downstream.onError(errors.terminate());
+            } else if (done && empty) {
+                downstream.onComplete();
+            } else {
+                return false;
+            }
+            if (worker != null) {
+                worker.dispose();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Subscribes to one of the sources. The window accounting is done by the drain loop of the coordinator.
+     */
+    static final class InnerSubscriber<T> extends AtomicReference<Subscription> implements FlowableSubscriber<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MergeCoordinator<T> parent;
+        private final Demand demand;
+
+        /**
+         * The number of items requested and not consumed at the last replenishment, and the number of items consumed
+         * since. Only accessed from the drain loop, once the subscription is set.
+         */
+        private long outstanding;
+        private long produced;
+        private long limit;
+
+        InnerSubscriber(MergeCoordinator<T> parent, Demand demand) {
+            this.parent = parent;
+            this.demand = demand;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            // Initialized before setting the subscription, which publishes them to the drain loop.
+            long initial = demand.window();
+            outstanding = initial;
+            limit = demand.limit(initial);
+            if (SubscriptionHelper.setOnce(this, subscription)) {
+                subscription.request(initial);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            parent.onNext(this, item);
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            parent.onError(failure);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.onComplete();
+        }
+
+        void consumed(T item) {
+            demand.onConsumed(item);
+            if (++produced >= limit) {
+                replenish(false);
+            }
+        }
+
+        void starved() {
+            if (get() == null) {
+                // Not subscribed yet.
+                return;
+            }
+            demand.onStarved();
+            if (produced == outstanding) {
+                replenish(true);
+            }
+        }
+
+        private void replenish(boolean force) {
+            long window = demand.adapt();
+            limit = demand.limit(window);
+            long inFlight = outstanding - produced;
+            produced = 0L;
+            long n = window - inFlight;
+            if (n > 0 && (n >= limit || force)) {
+                outstanding = inFlight + n;
+                get().request(n);
+            } else {
+                outstanding = inFlight;
+            }
+        }
+    }
+}
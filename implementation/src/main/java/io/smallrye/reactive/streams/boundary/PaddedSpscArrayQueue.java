@@ -0,0 +1,109 @@
+package io.smallrye.reactive.streams.boundary;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.util.Pow2;
+
+/**
+ * A bounded single-producer single-consumer queue. The superclasses pad the producer and consumer indexes, so they
+ * live on different cache lines: the producer only reads the consumer index when the slots it looked ahead are used,
+ * and the consumer never reads the producer index, except in {@link #isEmpty()}.
+ */
+final class PaddedSpscArrayQueue<T> extends SpscConsumerPadding implements SimplePlainQueue<T> {
+
+    private static final AtomicLongFieldUpdater<SpscProducerFields> PRODUCER_INDEX = AtomicLongFieldUpdater
+            .newUpdater(SpscProducerFields.class, "producerIndex");
+    private static final AtomicLongFieldUpdater<SpscConsumerFields> CONSUMER_INDEX = AtomicLongFieldUpdater
+            .newUpdater(SpscConsumerFields.class, "consumerIndex");
+
+    /**
+     * The producer checks that the slot this number of items ahead is free, and then does not check the next slots.
+     */
+    private static final int MAX_LOOK_AHEAD = 4096;
+
+    private final AtomicReferenceArray<T> buffer;
+    private final int mask;
+    private final int lookAhead;
+
+    PaddedSpscArrayQueue(int capacity) {
+        int size = Pow2.roundToPowerOfTwo(Math.max(2, capacity));
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.lookAhead = Math.min(size / 4, MAX_LOOK_AHEAD);
+    }
+
+    @Override
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException("The item must not be null");
+        }
+        long index = producerIndex;
+        int offset = (int) index & mask;
+        if (index >= producerLimit) {
+            if (buffer.get((int) (index + lookAhead) & mask) == null) {
+                producerLimit = index + lookAhead;
+            } else if (buffer.get(offset) != null) {
+                return false;
+            }
+        }
+        buffer.lazySet(offset, item);
+        PRODUCER_INDEX.lazySet(this, index + 1);
+        return true;
+    }
+
+    @Override
+    public boolean offer(T first, T second) {
+        return offer(first) && offer(second);
+    }
+
+    @Override
+    public T poll() {
+        long index = consumerIndex;
+        int offset = (int) index & mask;
+        T item = buffer.get(offset);
+        if (item == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        CONSUMER_INDEX.lazySet(this, index + 1);
+        return item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return producerIndex == consumerIndex;
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // Drop the item.
+        }
+    }
+}
+
+// The padding fields are never read: 8 longs (64 bytes, a cache line) separate the indexes from each other and from
+// the other fields and objects.
+
+abstract class SpscProducerPadding {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SpscProducerFields extends SpscProducerPadding {
+    volatile long producerIndex;
+    long producerLimit;
+}
+
+abstract class SpscConsumerPaddingBefore extends SpscProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SpscConsumerFields extends SpscConsumerPaddingBefore {
+    volatile long consumerIndex;
+}
+
+abstract class SpscConsumerPadding extends SpscConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
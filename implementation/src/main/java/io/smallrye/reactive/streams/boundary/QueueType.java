@@ -0,0 +1,83 @@
+package io.smallrye.reactive.streams.boundary;
+
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.SpscLinkedArrayQueue;
+
+/**
+ * The queues an {@link AsyncBoundary} can use to hand the items over to the consumer thread.
+ */
+public enum QueueType {
+
+    /**
+     * A bounded single-producer single-consumer queue backed by an array. The producer and consumer indexes are
+     * padded to live on different cache lines, so the two threads do not invalidate each other's cache. The array is
+     * allocated upfront: best suited to the fixed prefetch.
+     */
+    SPSC_ARRAY(false) {
+        @Override
+        <T> SimplePlainQueue<T> create(int capacity) {
+            return new PaddedSpscArrayQueue<>(capacity);
+        }
+    },
+
+    /**
+     * An unbounded single-producer single-consumer queue made of linked array chunks. The chunks are allocated as the
+     * queue grows: best suited to the adaptive prefetch, whose window varies.
+     */
+    SPSC_CHUNKED(false) {
+        @Override
+        <T> SimplePlainQueue<T> create(int capacity) {
+            return new SpscLinkedArrayQueue<>(Math.min(capacity, CHUNK_SIZE));
+        }
+    },
+
+    /**
+     * An unbounded multiple-producer single-consumer linked queue, allocating a node per item. Required when several
+     * upstreams are merged into the same boundary.
+     */
+    MPSC_LINKED(true) {
+        @Override
+        <T> SimplePlainQueue<T> create(int capacity) {
+            return new MpscLinkedQueue<>();
+        }
+    };
+
+    private static final int CHUNK_SIZE = 128;
+
+    private final boolean multipleProducers;
+
+    QueueType(boolean multipleProducers) {
+        this.multipleProducers = multipleProducers;
+    }
+
+    /**
+     * @return {@code true} if the queue can be fed by several threads concurrently
+     */
+    public boolean supportsMultipleProducers() {
+        return multipleProducers;
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param capacity the maximum number of items the queue is expected to hold, i.e. the maximum window
+     * @param <T> the type of item
+     * @return the queue
+     */
+    abstract <T> SimplePlainQueue<T> create(int capacity);
+
+    /**
+     * Selects the queue for a boundary.
+     *
+     * @param multipleProducers whether several upstreams feed the boundary
+     * @param adaptive whether the boundary uses an adaptive prefetch
+     * @return the queue type
+     */
+    static QueueType select(boolean multipleProducers, boolean adaptive) {
+        if (multipleProducers) {
+            return MPSC_LINKED;
+        }
+        return adaptive ? SPSC_CHUNKED : SPSC_ARRAY;
+    }
+}
@@ -0,0 +1,143 @@
+package io.smallrye.reactive.streams.extensions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.reactivestreams.Processor;
+
+import io.smallrye.reactive.streams.operators.DeferredProcessor;
+
+/**
+ * A stage, provided by the engine, grouping the items into batches ({@link List}). A batch is emitted when it reaches
+ * the maximum number of items, when its estimated size reaches the maximum size, or when the maximum latency has
+ * elapsed since the reception of its first item, whichever comes first.
+ * <p>
+ * As the MicroProfile Reactive Streams Operators builders do not accept custom stages, use {@link #processor()} and
+ * the {@code via} operator:
+ *
+ * <pre>
+ * ReactiveStreams.fromPublisher(records)
+ *         .via(Batch.builder().maxItems(500).maxLatency(Duration.ofMillis(20)).build().processor())
+ *         .forEach(database::bulkInsert)
+ * </pre>
+ */
+public final class Batch implements Stage {
+
+    private final int maxItems;
+    private final long maxBytes;
+    private final ToLongFunction<Object> sizeEstimator;
+    private final Duration maxLatency;
+
+    private Batch(Builder builder) {
+        this.maxItems = builder.maxItems;
+        this.maxBytes = builder.maxBytes;
+        this.sizeEstimator = builder.sizeEstimator;
+        this.maxLatency = builder.maxLatency;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the maximum number of items per batch
+     */
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    /**
+     * @return the maximum estimated size of a batch, {@link Long#MAX_VALUE} if not limited
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the size estimator, {@code null} if the size of the batches is not limited
+     */
+    public ToLongFunction<Object> getSizeEstimator() {
+        return sizeEstimator;
+    }
+
+    /**
+     * @return the maximum latency, {@link Duration#ZERO} if not limited
+     */
+    public Duration getMaxLatency() {
+        return maxLatency;
+    }
+
+    /**
+     * Creates a processor executing this stage. When the stream is run by this engine, the stage is applied in place,
+     * with the configuration of the engine, and the builder can be run several times. With another engine, the
+     * processor can only be used once.
+     *
+     * @param <T> the type of item
+     * @return the processor
+     */
+    public <T> Processor<T, List<T>> processor() {
+        return DeferredProcessor.fromStage(this);
+    }
+
+    public static class Builder {
+        private int maxItems = 128;
+        private long maxBytes = Long.MAX_VALUE;
+        private ToLongFunction<Object> sizeEstimator;
+        private Duration maxLatency = Duration.ZERO;
+
+        private Builder() {
+            // Use Batch.builder().
+        }
+
+        /**
+         * @param maxItems the maximum number of items per batch, must be strictly positive, 128 by default
+         * @return this builder
+         */
+        public Builder maxItems(int maxItems) {
+            if (maxItems <= 0) {
+                throw new IllegalArgumentException("The maximum number of items must be strictly positive");
+            }
+            this.maxItems = maxItems;
+            return this;
+        }
+
+        /**
+         * @param maxBytes the maximum estimated size of a batch, must be strictly positive
+         * @param estimator the function estimating the size of an item, must not be {@code null}
+         * @param <T> the type of item
+         * @return this builder
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Builder maxBytes(long maxBytes, ToLongFunction<? super T> estimator) {
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("The maximum size must be strictly positive");
+            }
+            this.maxBytes = maxBytes;
+            this.sizeEstimator = (ToLongFunction<Object>) Objects.requireNonNull(estimator);
+            return this;
+        }
+
+        /**
+         * @param maxLatency the maximum time between the reception of the first item of a batch and its emission,
+         *        must not be {@code null} or negative
+         * @return this builder
+         */
+        public Builder maxLatency(Duration maxLatency) {
+            if (Objects.requireNonNull(maxLatency).isNegative()) {
+                throw new IllegalArgumentException("The maximum latency must not be negative");
+            }
+            this.maxLatency = maxLatency;
+            return this;
+        }
+
+        public Batch build() {
+            return new Batch(this);
+        }
+    }
+}
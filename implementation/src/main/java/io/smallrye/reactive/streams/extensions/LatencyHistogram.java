@@ -0,0 +1,149 @@
+package io.smallrye.reactive.streams.extensions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies, in nanoseconds.
+ * <p>
+ * Like an HDR histogram, the values are counted in buckets whose width grows with the magnitude of the value: values
+ * lower than 128 ns are recorded exactly, and the other values with a relative error lower than 1/64 (~1.6%). Values
+ * greater than {@link #HIGHEST_TRACKABLE_VALUE} (about 18 minutes) are counted in the last bucket, but the maximum is
+ * exact.
+ * <p>
+ * Recording a value is wait-free on the recording thread (one atomic increment of the bucket and one addition to a
+ * {@link LongAdder}) and does not allocate. The statistics can be read while values are being recorded, but they are
+ * not an atomic snapshot: values recorded during the read may be partially taken into account.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The highest value counted in its own bucket, in nanoseconds.
+     */
+    public static final long HIGHEST_TRACKABLE_VALUE = (1L << 40) - 1;
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(index(HIGHEST_TRACKABLE_VALUE) + 1);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency. Negative values are recorded as {@code 0}.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(Math.min(value, HIGHEST_TRACKABLE_VALUE)));
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @return the highest recorded value in nanoseconds, {@code 0} if no value has been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded values in nanoseconds, {@code 0} if no value has been recorded
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Computes the value at the given percentile: at least {@code percentile}% of the recorded values are lower than
+     * or equal to the returned value. The returned value is the highest value of the bucket containing the
+     * percentile, capped by the maximum.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the value at the given percentile in nanoseconds, {@code 0} if no value has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100");
+        }
+        long[] snapshot = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulated = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulated += snapshot[i];
+            if (cumulated >= rank) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @param unit the unit of the returned value
+     * @return the value at the given percentile converted to the given unit, see {@link #getValueAtPercentile(double)}
+     */
+    public long getValueAtPercentile(double percentile, TimeUnit unit) {
+        return unit.convert(getValueAtPercentile(percentile), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{count=" + getCount()
+                + ", mean=" + (long) getMean()
+                + ", p50=" + getValueAtPercentile(50)
+                + ", p90=" + getValueAtPercentile(90)
+                + ", p99=" + getValueAtPercentile(99)
+                + ", p99.9=" + getValueAtPercentile(99.9)
+                + ", max=" + getMax() + "}";
+    }
+
+    /**
+     * Values lower than {@link #SUB_BUCKET_COUNT} have their own bucket. The other values are grouped by their
+     * {@link #SUB_BUCKET_BITS} most significant bits: each power of two is split into
+     * {@link #SUB_BUCKET_HALF_COUNT} buckets.
+     */
+    static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long top = index - (long) shift * SUB_BUCKET_HALF_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+}
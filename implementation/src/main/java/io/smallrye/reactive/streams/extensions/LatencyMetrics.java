@@ -0,0 +1,44 @@
+package io.smallrye.reactive.streams.extensions;
+
+/**
+ * Latencies recorded by a {@link TimedFlatMapCompletionStage} stage. The histograms are cumulative across all the
+ * streams using the stage instance.
+ */
+public class LatencyMetrics {
+
+    private final LatencyHistogram queueing = new LatencyHistogram();
+    private final LatencyHistogram completion = new LatencyHistogram();
+    private final LatencyHistogram endToEnd = new LatencyHistogram();
+
+    LatencyMetrics() {
+        // Created by the stage.
+    }
+
+    /**
+     * @return the time between the reception of an item by the stage and the invocation of the mapper
+     */
+    public LatencyHistogram getQueueing() {
+        return queueing;
+    }
+
+    /**
+     * @return the time between the invocation of the mapper and the completion of the returned
+     *         {@link java.util.concurrent.CompletionStage}, successful or not
+     */
+    public LatencyHistogram getCompletion() {
+        return completion;
+    }
+
+    /**
+     * @return the time between the reception of an item by the stage and the emission of the result downstream, it
+     *         includes the time waiting for downstream requests
+     */
+    public LatencyHistogram getEndToEnd() {
+        return endToEnd;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyMetrics{queueing=" + queueing + ", completion=" + completion + ", endToEnd=" + endToEnd + "}";
+    }
+}
@@ -0,0 +1,146 @@
+package io.smallrye.reactive.streams.extensions;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.reactivestreams.Processor;
+
+import io.smallrye.reactive.streams.operators.DeferredProcessor;
+
+/**
+ * A stage, provided by the engine, dropping items when the downstream cannot keep up with the upstream. Unlike the
+ * other stages, it does not propagate the back-pressure: the upstream is requested without bound, and the items are
+ * dropped according to the {@link Strategy}. The number of dropped items is available from {@link #getMetrics()}.
+ *
+ * <pre>
+ * LoadShedding shedding = LoadShedding.dropOldest(1000);
+ * ReactiveStreams.fromPublisher(sensor)
+ *         .via(shedding.processor())
+ *         .forEach(this::handle)
+ *         .run();
+ * // ...
+ * long dropped = shedding.getMetrics().getDropped();
+ * </pre>
+ */
+public final class LoadShedding implements Stage {
+
+    /**
+     * The strategies used to drop items.
+     */
+    public enum Strategy {
+        /**
+         * Drops the received items while the downstream has no outstanding requests.
+         */
+        DROP,
+        /**
+         * Buffers up to {@code bufferSize} items, and drops the oldest buffered item when the buffer is full.
+         */
+        DROP_OLDEST,
+        /**
+         * Emits the most recent item received during each period. While the downstream does not request, only the
+         * latest sample is kept.
+         */
+        SAMPLE,
+        /**
+         * Emits an item only if no other item has been received during the timeout. While the downstream does not
+         * request, only the latest of these items is kept.
+         */
+        DEBOUNCE
+    }
+
+    private final Strategy strategy;
+    private final int bufferSize;
+    private final Duration period;
+    private final SheddingMetrics metrics;
+
+    private LoadShedding(Strategy strategy, int bufferSize, Duration period) {
+        this.strategy = strategy;
+        this.bufferSize = bufferSize;
+        this.period = period;
+        this.metrics = new SheddingMetrics(strategy == Strategy.DROP || strategy == Strategy.DROP_OLDEST);
+    }
+
+    /**
+     * @return a stage dropping the items received while the downstream has no outstanding requests
+     */
+    public static LoadShedding drop() {
+        return new LoadShedding(Strategy.DROP, 0, Duration.ZERO);
+    }
+
+    /**
+     * @param bufferSize the size of the buffer, must be strictly positive
+     * @return a stage buffering up to {@code bufferSize} items and dropping the oldest one on overflow
+     */
+    public static LoadShedding dropOldest(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be strictly positive");
+        }
+        return new LoadShedding(Strategy.DROP_OLDEST, bufferSize, Duration.ZERO);
+    }
+
+    /**
+     * @return a stage only keeping the latest item while the downstream has no outstanding requests
+     */
+    public static LoadShedding latest() {
+        return dropOldest(1);
+    }
+
+    /**
+     * @param period the sampling period, must be strictly positive
+     * @return a stage emitting the most recent item received during each period
+     */
+    public static LoadShedding sample(Duration period) {
+        return new LoadShedding(Strategy.SAMPLE, 0, positive(period));
+    }
+
+    /**
+     * @param timeout the timeout, must be strictly positive
+     * @return a stage emitting an item only if no other item has been received during the timeout
+     */
+    public static LoadShedding debounce(Duration timeout) {
+        return new LoadShedding(Strategy.DEBOUNCE, 0, positive(timeout));
+    }
+
+    private static Duration positive(Duration duration) {
+        if (Objects.requireNonNull(duration).isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("The duration must be strictly positive");
+        }
+        return duration;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return the size of the buffer for the {@link Strategy#DROP_OLDEST} strategy, {@code 0} otherwise
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the period for the {@link Strategy#SAMPLE} and {@link Strategy#DEBOUNCE} strategies,
+     *         {@link Duration#ZERO} otherwise
+     */
+    public Duration getPeriod() {
+        return period;
+    }
+
+    public SheddingMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Creates a processor executing this stage. When the stream is run by this engine, the stage is applied in place,
+     * with the configuration of the engine, and the builder can be run several times. With another engine, the
+     * processor can only be used once.
+     *
+     * @param <T> the type of item
+     * @return the processor
+     */
+    public <T> Processor<T, T> processor() {
+        return DeferredProcessor.fromStage(this);
+    }
+}
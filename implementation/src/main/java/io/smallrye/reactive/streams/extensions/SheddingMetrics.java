@@ -0,0 +1,60 @@
+package io.smallrye.reactive.streams.extensions;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters maintained by a {@link LoadShedding} stage. The counters are cumulative across all the streams using the
+ * stage instance.
+ */
+public class SheddingMetrics {
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder emitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final boolean countsDrops;
+
+    /**
+     * @param countsDrops whether the stage reports the dropped items, or if they are computed from the received and
+     *        emitted items
+     */
+    SheddingMetrics(boolean countsDrops) {
+        this.countsDrops = countsDrops;
+    }
+
+    /**
+     * @return the number of items received from upstream
+     */
+    public long getReceived() {
+        return received.sum();
+    }
+
+    /**
+     * @return the number of items emitted downstream
+     */
+    public long getEmitted() {
+        return emitted.sum();
+    }
+
+    /**
+     * @return the number of dropped items. For the {@code sample} and {@code debounce} strategies, it is computed as
+     *         {@code received - emitted}, and so may include the item waiting for the end of the period.
+     */
+    public long getDropped() {
+        if (countsDrops) {
+            return dropped.sum();
+        }
+        return Math.max(0, getReceived() - getEmitted());
+    }
+
+    public void onReceived() {
+        received.increment();
+    }
+
+    public void onEmitted() {
+        emitted.increment();
+    }
+
+    public void onDropped() {
+        dropped.increment();
+    }
+}
@@ -0,0 +1,88 @@
+package io.smallrye.reactive.streams.extensions;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.reactivestreams.Processor;
+
+import io.smallrye.reactive.streams.operators.DeferredProcessor;
+
+/**
+ * A stage, provided by the engine, limiting the rate of the items using a token bucket. The bucket is refilled with
+ * {@code permits} tokens every {@code period}, and holds at most {@code burst} tokens. Each item consumes a token.
+ * <p>
+ * The upstream is back-pressured: items are only requested when tokens are available, so no items are buffered or
+ * dropped. Combine it with {@link LoadShedding} to drop the items of a producer that cannot be back-pressured.
+ *
+ * <pre>
+ * ReactiveStreams.fromPublisher(events)
+ *         .via(Throttle.of(100, Duration.ofSeconds(1)).processor())
+ *         .forEach(this::handle)
+ * </pre>
+ */
+public final class Throttle implements Stage {
+
+    private final long permits;
+    private final long burst;
+    private final Duration period;
+
+    private Throttle(long permits, long burst, Duration period) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("The number of permits must be strictly positive");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("The burst must be strictly positive");
+        }
+        if (Objects.requireNonNull(period).isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("The period must be strictly positive");
+        }
+        this.permits = permits;
+        this.burst = burst;
+        this.period = period;
+    }
+
+    /**
+     * Creates a throttle allowing {@code permits} items per {@code period}. The burst is equal to the number of
+     * permits.
+     *
+     * @param permits the number of items allowed per period, must be strictly positive
+     * @param period the period, must be strictly positive
+     * @return the stage
+     */
+    public static Throttle of(long permits, Duration period) {
+        return new Throttle(permits, permits, period);
+    }
+
+    /**
+     * @param burst the maximum number of tokens accumulated while the stream is idle, must be strictly positive
+     * @return a new stage with the same rate and the given burst
+     */
+    public Throttle withBurst(long burst) {
+        return new Throttle(permits, burst, period);
+    }
+
+    public long getPermits() {
+        return permits;
+    }
+
+    public long getBurst() {
+        return burst;
+    }
+
+    public Duration getPeriod() {
+        return period;
+    }
+
+    /**
+     * Creates a processor executing this stage. When the stream is run by this engine, the stage is applied in place,
+     * with the configuration of the engine, and the builder can be run several times. With another engine, the
+     * processor can only be used once.
+     *
+     * @param <T> the type of item
+     * @return the processor
+     */
+    public <T> Processor<T, T> processor() {
+        return DeferredProcessor.fromStage(this);
+    }
+}
@@ -0,0 +1,78 @@
+package io.smallrye.reactive.streams.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+/**
+ * Rewrites the graphs before their assembly, to remove the stages that have no effect and merge the adjacent stages
+ * that can be executed by a single operator. Graphs built by layered code often contain {@code skip(0)},
+ * {@code limit(Long.MAX_VALUE)} or consecutive {@code limit} stages, each of them would be materialized as a
+ * separate operator otherwise. The {@code limit} and {@code skip} stages are also pushed into the sources when
+ * possible.
+ * <p>
+ * The rules are applied until none of them fires. The applied rules are reported by the returned
+ * {@link OptimizedGraph}, and logged with the {@code FINE} level.
+ */
+public class GraphOptimizer {
+
+    private static final Logger LOGGER = Logger.getLogger(GraphOptimizer.class.getName());
+
+    private final List<RewriteRule> rules;
+
+    /**
+     * Creates an optimizer applying the {@link Rules#defaults() default rules}.
+     */
+    public GraphOptimizer() {
+        this(Rules.defaults());
+    }
+
+    /**
+     * Creates an optimizer applying the given rules.
+     *
+     * @param rules the rules, in order, must not be {@code null}
+     */
+    public GraphOptimizer(List<RewriteRule> rules) {
+        this.rules = new ArrayList<>(Objects.requireNonNull(rules, "The rules must not be `null`"));
+    }
+
+    /**
+     * Optimizes the given graph. The given graph is not modified.
+     *
+     * @param graph the graph, must not be {@code null}
+     * @return the optimized graph, containing the same stages if no rule applies
+     */
+    public OptimizedGraph optimize(Graph graph) {
+        Objects.requireNonNull(graph, "The graph must not be `null`");
+        List<Stage> stages = new ArrayList<>(graph.getStages());
+        List<String> applied = Collections.emptyList();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < stages.size() && !changed; i++) {
+                for (RewriteRule rule : rules) {
+                    if (rule.apply(stages, i)) {
+                        if (applied.isEmpty()) {
+                            applied = new ArrayList<>();
+                        }
+                        applied.add(rule.name());
+                        // Restart from the beginning, as the rewrite may enable rules on the previous stages.
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        if (!applied.isEmpty() && LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Graph rewritten by " + applied + ", " + graph.getStages().size() + " stages -> "
+                    + stages.size() + " stages");
+        }
+        return new OptimizedGraph(stages, applied);
+    }
+}
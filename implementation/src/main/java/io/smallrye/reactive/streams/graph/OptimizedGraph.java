@@ -0,0 +1,41 @@
+package io.smallrye.reactive.streams.graph;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+/**
+ * A {@link Graph} produced by the {@link GraphOptimizer}, reporting the rules that have been applied.
+ */
+public final class OptimizedGraph implements Graph {
+
+    private final Collection<Stage> stages;
+    private final List<String> appliedRules;
+
+    OptimizedGraph(Collection<Stage> stages, List<String> appliedRules) {
+        this.stages = Collections.unmodifiableCollection(stages);
+        this.appliedRules = Collections.unmodifiableList(appliedRules);
+    }
+
+    @Override
+    public Collection<Stage> getStages() {
+        return stages;
+    }
+
+    /**
+     * @return the names of the rules applied to the graph, in order, empty if the graph has not been modified
+     */
+    public List<String> getAppliedRules() {
+        return appliedRules;
+    }
+
+    /**
+     * @return whether the graph has been modified
+     */
+    public boolean isRewritten() {
+        return !appliedRules.isEmpty();
+    }
+}
@@ -0,0 +1,28 @@
+package io.smallrye.reactive.streams.graph;
+
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+/**
+ * A rule rewriting a sequence of stages into an equivalent, cheaper, sequence.
+ * <p>
+ * Rules must preserve the observable behavior of the graph: the items, the terminal signal, and the invocation of
+ * user callbacks and of user-provided publishers, processors and subscribers.
+ */
+public interface RewriteRule {
+
+    /**
+     * @return the name of the rule, reported when the rule fires
+     */
+    String name();
+
+    /**
+     * Tries to rewrite the stages starting at the given index.
+     *
+     * @param stages the mutable list of stages
+     * @param index the index of the stage to consider
+     * @return {@code true} if the list has been modified, {@code false} otherwise
+     */
+    boolean apply(List<Stage> stages, int index);
+}
@@ -0,0 +1,257 @@
+package io.smallrye.reactive.streams.graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+
+/**
+ * The built-in {@link RewriteRule rewrite rules}.
+ */
+public final class Rules {
+
+    /**
+     * Removes the {@code skip(0)} stages.
+     */
+    public static final RewriteRule ELIDE_SKIP_ZERO = rule("elide-skip-zero", (stages, index) -> {
+        Stage stage = stages.get(index);
+        if (stage instanceof Stage.Skip && ((Stage.Skip) stage).getSkip() == 0) {
+            stages.remove(index);
+            return true;
+        }
+        return false;
+    });
+
+    /**
+     * Removes the {@code limit(Long.MAX_VALUE)} stages. Such a stream cannot be longer than the limit in practice.
+     */
+    public static final RewriteRule ELIDE_UNBOUNDED_LIMIT = rule("elide-unbounded-limit", (stages, index) -> {
+        Stage stage = stages.get(index);
+        if (stage instanceof Stage.Limit && ((Stage.Limit) stage).getLimit() == Long.MAX_VALUE) {
+            stages.remove(index);
+            return true;
+        }
+        return false;
+    });
+
+    /**
+     * Replaces {@code limit(a).limit(b)} with {@code limit(min(a, b))}.
+     */
+    public static final RewriteRule MERGE_LIMITS = rule("merge-limits", (stages, index) -> {
+        if (index + 1 < stages.size() && stages.get(index) instanceof Stage.Limit
+                && stages.get(index + 1) instanceof Stage.Limit) {
+            long limit = Math.min(((Stage.Limit) stages.get(index)).getLimit(),
+                    ((Stage.Limit) stages.get(index + 1)).getLimit());
+            stages.remove(index + 1);
+            stages.set(index, limit(limit));
+            return true;
+        }
+        return false;
+    });
+
+    /**
+     * Replaces {@code skip(a).skip(b)} with {@code skip(a + b)}.
+     */
+    public static final RewriteRule MERGE_SKIPS = rule("merge-skips", (stages, index) -> {
+        if (index + 1 < stages.size() && stages.get(index) instanceof Stage.Skip
+                && stages.get(index + 1) instanceof Stage.Skip) {
+            long first = ((Stage.Skip) stages.get(index)).getSkip();
+            long second = ((Stage.Skip) stages.get(index + 1)).getSkip();
+            long skip = first + second < 0 ? Long.MAX_VALUE : first + second;
+            stages.remove(index + 1);
+            stages.set(index, (Stage.Skip) () -> skip);
+            return true;
+        }
+        return false;
+    });
+
+    /**
+     * Replaces {@code distinct().distinct()} with {@code distinct()}.
+     */
+    public static final RewriteRule MERGE_DISTINCTS = rule("merge-distincts", (stages, index) -> {
+        if (index + 1 < stages.size() && stages.get(index) instanceof Stage.Distinct
+                && stages.get(index + 1) instanceof Stage.Distinct) {
+            stages.remove(index + 1);
+            return true;
+        }
+        return false;
+    });
+
+    /**
+     * Short-circuits {@code limit(0)}: the stream is empty, so the stages between the source and the limit are never
+     * invoked and are removed when they are free of side effects on cancellation. If the source does not own any
+     * resource ({@code of}, {@code failed}, {@code fromCompletionStage}), the source and the limit are replaced with
+     * an empty stream. Otherwise the source is kept, so it is still subscribed and cancelled by the limit.
+     */
+    public static final RewriteRule SHORT_CIRCUIT_LIMIT_ZERO = rule("short-circuit-limit-zero", (stages, index) -> {
+        Stage stage = stages.get(index);
+        if (!(stage instanceof Stage.Limit) || ((Stage.Limit) stage).getLimit() != 0) {
+            return false;
+        }
+        int first = index;
+        while (first > 0 && isInertUntilFirstItem(stages.get(first - 1))) {
+            first--;
+        }
+        if (first > 0 && isInertSource(stages.get(first - 1))) {
+            stages.subList(first - 1, index + 1).clear();
+            stages.add(first - 1, (Stage.Of) Collections::emptyList);
+            return true;
+        }
+        if (first < index) {
+            stages.subList(first, index).clear();
+            return true;
+        }
+        return false;
+    });
+
+    /**
+     * Moves {@code limit} before the {@code map} and {@code peek} stages. These stages receive exactly the same items
+     * in both cases, but the limit gets closer to the source, where it can be pushed down.
+     */
+    public static final RewriteRule HOIST_LIMIT = rule("hoist-limit", (stages, index) -> {
+        if (index + 1 < stages.size() && (stages.get(index) instanceof Stage.Map
+                || stages.get(index) instanceof Stage.Peek) && stages.get(index + 1) instanceof Stage.Limit) {
+            stages.add(index, stages.remove(index + 1));
+            return true;
+        }
+        return false;
+    });
+
+    /**
+     * Pushes {@code skip} into an {@code of} source backed by a random access list: the skipped items are not
+     * iterated. The skipped items are still checked at optimization time: a {@code null} item fails the stream, so
+     * the rule does not apply if one is skipped.
+     */
+    public static final RewriteRule PUSH_SKIP_INTO_SOURCE = rule("push-skip-into-source", (stages, index) -> {
+        if (index + 1 < stages.size() && isRandomAccessSource(stages.get(index))
+                && stages.get(index + 1) instanceof Stage.Skip) {
+            List<?> list = (List<?>) ((Stage.Of) stages.get(index)).getElements();
+            long skip = ((Stage.Skip) stages.get(index + 1)).getSkip();
+            int skipped = (int) Math.min(skip, list.size());
+            for (int i = 0; i < skipped; i++) {
+                if (list.get(i) == null) {
+                    return false;
+                }
+            }
+            List<?> slice = SlicedList.skip(list, skip);
+            stages.remove(index + 1);
+            stages.set(index, (Stage.Of) () -> slice);
+            return true;
+        }
+        return false;
+    });
+
+    /**
+     * Pushes {@code limit} into the source. An {@code of} source backed by a random access list is sliced. A
+     * {@code fromPublisher} source is limited before the execution model is applied, so the requests sent to the
+     * publisher never exceed the limit, even when the execution model prefetches items.
+     */
+    public static final RewriteRule PUSH_LIMIT_INTO_SOURCE = rule("push-limit-into-source", (stages, index) -> {
+        if (index + 1 >= stages.size() || !(stages.get(index + 1) instanceof Stage.Limit)) {
+            return false;
+        }
+        long limit = ((Stage.Limit) stages.get(index + 1)).getLimit();
+        Stage source = stages.get(index);
+        if (isRandomAccessSource(source)) {
+            List<?> slice = SlicedList.limit((List<?>) ((Stage.Of) source).getElements(), limit);
+            stages.remove(index + 1);
+            stages.set(index, (Stage.Of) () -> slice);
+            return true;
+        }
+        if (source instanceof Stage.PublisherStage) {
+            Publisher<?> publisher = Objects.requireNonNull(((Stage.PublisherStage) source).getRsPublisher());
+            Publisher<?> limited = Flowable.fromPublisher(publisher).limit(limit);
+            stages.remove(index + 1);
+            stages.set(index, (Stage.PublisherStage) () -> limited);
+            return true;
+        }
+        return false;
+    });
+
+    private static final List<RewriteRule> DEFAULTS = Collections.unmodifiableList(Arrays.asList(
+            ELIDE_SKIP_ZERO, ELIDE_UNBOUNDED_LIMIT, MERGE_LIMITS, MERGE_SKIPS, MERGE_DISTINCTS,
+            SHORT_CIRCUIT_LIMIT_ZERO, HOIST_LIMIT, PUSH_SKIP_INTO_SOURCE, PUSH_LIMIT_INTO_SOURCE));
+
+    private Rules() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * @return the rules applied by default, in order
+     */
+    public static List<RewriteRule> defaults() {
+        return DEFAULTS;
+    }
+
+    static Stage.Limit limit(long limit) {
+        return () -> limit;
+    }
+
+    /**
+     * Checks whether the stage does not invoke any user code, nor subscribe to anything, when the stream is
+     * cancelled before the first item. The terminal callbacks ({@code onComplete}, {@code onError},
+     * {@code onErrorResume}...) are not: a synchronous source such as {@code empty} or {@code failed} still signals its
+     * termination after the cancellation, and the callbacks run.
+     */
+    private static boolean isInertUntilFirstItem(Stage stage) {
+        return stage instanceof Stage.Map
+                || stage instanceof Stage.Filter
+                || stage instanceof Stage.Peek
+                || stage instanceof Stage.Distinct
+                || stage instanceof Stage.Skip
+                || stage instanceof Stage.Limit
+                || stage instanceof Stage.TakeWhile
+                || stage instanceof Stage.DropWhile
+                || stage instanceof Stage.FlatMap
+                || stage instanceof Stage.FlatMapIterable
+                || stage instanceof Stage.FlatMapCompletionStage;
+    }
+
+    private static boolean isRandomAccessSource(Stage stage) {
+        if (stage instanceof Stage.Of) {
+            Iterable<?> elements = ((Stage.Of) stage).getElements();
+            return elements instanceof List && elements instanceof RandomAccess;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the source can be discarded without being subscribed.
+     */
+    private static boolean isInertSource(Stage stage) {
+        return stage instanceof Stage.Of
+                || stage instanceof Stage.Failed
+                || stage instanceof Stage.FromCompletionStage
+                || stage instanceof Stage.FromCompletionStageNullable;
+    }
+
+    private static RewriteRule rule(String name, Rewriter rewriter) {
+        return new RewriteRule() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public boolean apply(List<Stage> stages, int index) {
+                return rewriter.apply(stages, index);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Rewriter {
+        boolean apply(List<Stage> stages, int index);
+    }
+}
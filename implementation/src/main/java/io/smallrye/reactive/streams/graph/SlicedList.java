@@ -0,0 +1,66 @@
+package io.smallrye.reactive.streams.graph;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read-only view of a range of a {@link RandomAccess} list. Unlike {@link List#subList(int, int)}, the bounds are
+ * evaluated on each access, so the view follows the modifications of the backing list, as the stream would.
+ *
+ * @param <T> the type of item
+ */
+final class SlicedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> list;
+    private final long offset;
+    private final long limit;
+
+    private SlicedList(List<T> list, long offset, long limit) {
+        this.list = list;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a view skipping the first {@code skip} items of the given list.
+     */
+    static <T> SlicedList<T> skip(List<T> list, long skip) {
+        if (list instanceof SlicedList) {
+            SlicedList<T> slice = (SlicedList<T>) list;
+            long limit = slice.limit == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(0, slice.limit - skip);
+            return new SlicedList<>(slice.list, saturatedAdd(slice.offset, skip), limit);
+        }
+        return new SlicedList<>(list, skip, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a view containing at most the first {@code limit} items of the given list.
+     */
+    static <T> SlicedList<T> limit(List<T> list, long limit) {
+        if (list instanceof SlicedList) {
+            SlicedList<T> slice = (SlicedList<T>) list;
+            return new SlicedList<>(slice.list, slice.offset, Math.min(slice.limit, limit));
+        }
+        return new SlicedList<>(list, 0, limit);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return list.get((int) (offset + index));
+    }
+
+    @Override
+    public int size() {
+        long size = Math.min(list.size() - offset, limit);
+        return size <= 0 ? 0 : (int) size;
+    }
+}
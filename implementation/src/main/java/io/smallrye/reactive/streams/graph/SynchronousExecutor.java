@@ -0,0 +1,712 @@
+package io.smallrye.reactive.streams.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.reactivex.exceptions.CompositeException;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Executes the closed graphs made of an {@code of} source, synchronous processing stages and a {@code collect} or
+ * {@code findFirst} terminal stage as a loop on the caller thread, without materializing the {@code Flowable}
+ * pipeline. The returned {@link CompletionStage} is already completed.
+ * <p>
+ * The signals follow the semantic of the RxJava operators used by the engine: the same callbacks are invoked, in the
+ * same order, and the same failures are reported. This executor must only be used when no execution model is
+ * registered, as it does not apply it.
+ */
+public final class SynchronousExecutor {
+
+    private SynchronousExecutor() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Checks whether the given stages can be executed by this executor.
+     *
+     * @param stages the stages of a closed graph
+     * @return {@code true} if the graph can be executed synchronously
+     */
+    public static boolean supports(Collection<Stage> stages) {
+        int size = stages.size();
+        int index = 0;
+        for (Stage stage : stages) {
+            boolean supported;
+            if (index == 0) {
+                supported = stage instanceof Stage.Of;
+            } else if (index == size - 1) {
+                supported = stage instanceof Stage.Collect || stage instanceof Stage.FindFirst;
+            } else {
+                supported = isSupportedProcessor(stage);
+            }
+            if (!supported) {
+                return false;
+            }
+            index++;
+        }
+        return size >= 2;
+    }
+
+    private static boolean isSupportedProcessor(Stage stage) {
+        return stage instanceof Stage.Map
+                || stage instanceof Stage.Filter
+                || stage instanceof Stage.Peek
+                || stage instanceof Stage.Distinct
+                || stage instanceof Stage.Skip
+                || stage instanceof Stage.Limit
+                || stage instanceof Stage.TakeWhile
+                || stage instanceof Stage.DropWhile
+                || stage instanceof Stage.OnComplete
+                || stage instanceof Stage.OnError
+                || stage instanceof Stage.OnTerminate;
+    }
+
+    /**
+     * Executes the given stages, which must be {@link #supports(Collection) supported}.
+     *
+     * @param stages the stages
+     * @param <T> the type of result
+     * @return the completed completion stage
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletionStage<T> execute(Collection<Stage> stages) {
+        List<Stage> list = new ArrayList<>(stages);
+        Source source = new Source(
+                Objects.requireNonNull(((Stage.Of) list.get(0)).getElements()));
+        Node previous = source;
+        for (int i = 1; i < list.size() - 1; i++) {
+            Node node = create(list.get(i));
+            node.upstream = previous;
+            previous.downstream = node;
+            previous = node;
+        }
+        Stage last = list.get(list.size() - 1);
+        Terminal terminal = last instanceof Stage.FindFirst ? new FindFirst()
+                : new Collect((Collector<Object, Object, Object>) Objects
+                        .requireNonNull(((Stage.Collect) last).getCollector()));
+        terminal.upstream = previous;
+        previous.downstream = terminal;
+
+        if (terminal.prepare()) {
+            source.run();
+        }
+        return (CompletionStage<T>) terminal.future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Node create(Stage stage) {
+        if (stage instanceof Stage.Map) {
+            return new MapNode((Function<Object, Object>) Objects.requireNonNull(((Stage.Map) stage).getMapper()));
+        } else if (stage instanceof Stage.Filter) {
+            return new FilterNode(
+                    (Predicate<Object>) Objects.requireNonNull(((Stage.Filter) stage).getPredicate()));
+        } else if (stage instanceof Stage.Peek) {
+            return new PeekNode((Consumer<Object>) Objects.requireNonNull(((Stage.Peek) stage).getConsumer()));
+        } else if (stage instanceof Stage.Distinct) {
+            return new DistinctNode();
+        } else if (stage instanceof Stage.Skip) {
+            return new SkipNode(((Stage.Skip) stage).getSkip());
+        } else if (stage instanceof Stage.Limit) {
+            return new LimitNode(((Stage.Limit) stage).getLimit());
+        } else if (stage instanceof Stage.TakeWhile) {
+            return new TakeWhileNode(
+                    (Predicate<Object>) Objects.requireNonNull(((Stage.TakeWhile) stage).getPredicate()));
+        } else if (stage instanceof Stage.DropWhile) {
+            return new DropWhileNode(
+                    (Predicate<Object>) Objects.requireNonNull(((Stage.DropWhile) stage).getPredicate()));
+        } else if (stage instanceof Stage.OnComplete) {
+            return new OnCompleteNode(Objects.requireNonNull(((Stage.OnComplete) stage).getAction()));
+        } else if (stage instanceof Stage.OnError) {
+            return new OnErrorNode(Objects.requireNonNull(((Stage.OnError) stage).getConsumer()));
+        } else if (stage instanceof Stage.OnTerminate) {
+            return new OnTerminateNode(Objects.requireNonNull(((Stage.OnTerminate) stage).getAction()));
+        }
+        throw new IllegalArgumentException("Unsupported stage: " + stage);
+    }
+
+    /**
+     * A step of the pipeline. Items and terminal signals flow downstream, cancellation flows upstream.
+     */
+    private abstract static class Node {
+        Node upstream;
+        Node downstream;
+        boolean done;
+
+        void onSubscribe() {
+            downstream.onSubscribe();
+        }
+
+        void onNext(Object item) {
+            if (!done) {
+                next(item);
+            }
+        }
+
+        abstract void next(Object item);
+
+        void onError(Throwable failure) {
+            if (done) {
+                RxJavaPlugins.onError(failure);
+                return;
+            }
+            done = true;
+            downstream.onError(failure);
+        }
+
+        void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        void cancel() {
+            upstream.cancel();
+        }
+
+        /**
+         * Cancels the upstream and propagates the failure downstream.
+         */
+        void fail(Throwable failure) {
+            Exceptions.throwIfFatal(failure);
+            upstream.cancel();
+            onError(failure);
+        }
+    }
+
+    private static final class Source extends Node {
+        private final Iterable<?> elements;
+        private boolean cancelled;
+
+        Source(Iterable<?> elements) {
+            this.elements = elements;
+        }
+
+        void run() {
+            if (elements instanceof List && elements instanceof RandomAccess) {
+                runIndexed((List<?>) elements);
+                return;
+            }
+            Iterator<?> iterator;
+            boolean hasNext;
+            try {
+                iterator = elements.iterator();
+                hasNext = iterator.hasNext();
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                downstream.onSubscribe();
+                downstream.onError(e);
+                return;
+            }
+            downstream.onSubscribe();
+            if (!hasNext) {
+                // Like the RxJava sources, an empty source completes even if cancelled on subscription.
+                downstream.onComplete();
+                return;
+            }
+            while (!cancelled) {
+                if (!hasNext) {
+                    downstream.onComplete();
+                    return;
+                }
+                Object item;
+                try {
+                    item = Objects.requireNonNull(iterator.next(), "Iterator.next() returned a null value");
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onNext(item);
+                if (cancelled) {
+                    return;
+                }
+                try {
+                    hasNext = iterator.hasNext();
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    downstream.onError(e);
+                    return;
+                }
+            }
+        }
+
+        private void runIndexed(List<?> list) {
+            int size;
+            try {
+                size = list.size();
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                downstream.onSubscribe();
+                downstream.onError(e);
+                return;
+            }
+            downstream.onSubscribe();
+            if (size == 0) {
+                downstream.onComplete();
+                return;
+            }
+            for (int i = 0; i < size && !cancelled; i++) {
+                Object item;
+                try {
+                    item = Objects.requireNonNull(list.get(i), "The list contains a null item");
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    downstream.onError(e);
+                    return;
+                }
+                downstream.onNext(item);
+            }
+            if (!cancelled) {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        void next(Object item) {
+            throw new IllegalStateException("The source does not receive items");
+        }
+
+        @Override
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static final class MapNode extends Node {
+        private final Function<Object, Object> mapper;
+
+        MapNode(Function<Object, Object> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        void next(Object item) {
+            Object result;
+            try {
+                result = Objects.requireNonNull(mapper.apply(item), "The mapper function returned a null value.");
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            downstream.onNext(result);
+        }
+    }
+
+    private static final class FilterNode extends Node {
+        private final Predicate<Object> predicate;
+
+        FilterNode(Predicate<Object> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        void next(Object item) {
+            boolean accepted;
+            try {
+                accepted = predicate.test(item);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            if (accepted) {
+                downstream.onNext(item);
+            }
+        }
+    }
+
+    private static final class PeekNode extends Node {
+        private final Consumer<Object> consumer;
+
+        PeekNode(Consumer<Object> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        void next(Object item) {
+            try {
+                consumer.accept(item);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            downstream.onNext(item);
+        }
+    }
+
+    private static final class DistinctNode extends Node {
+        private final Set<Object> seen = new HashSet<>();
+
+        @Override
+        void next(Object item) {
+            boolean added;
+            try {
+                added = seen.add(item);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            if (added) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        void onError(Throwable failure) {
+            seen.clear();
+            super.onError(failure);
+        }
+
+        @Override
+        void onComplete() {
+            seen.clear();
+            super.onComplete();
+        }
+    }
+
+    private static final class SkipNode extends Node {
+        private long remaining;
+
+        SkipNode(long skip) {
+            this.remaining = skip;
+        }
+
+        @Override
+        void next(Object item) {
+            if (remaining > 0) {
+                remaining--;
+            } else {
+                downstream.onNext(item);
+            }
+        }
+    }
+
+    private static final class LimitNode extends Node {
+        private long remaining;
+
+        LimitNode(long limit) {
+            this.remaining = limit;
+        }
+
+        @Override
+        void onSubscribe() {
+            if (remaining == 0) {
+                done = true;
+                upstream.cancel();
+                downstream.onSubscribe();
+                downstream.onComplete();
+            } else {
+                downstream.onSubscribe();
+            }
+        }
+
+        @Override
+        void next(Object item) {
+            remaining--;
+            downstream.onNext(item);
+            if (remaining == 0 && !done) {
+                done = true;
+                upstream.cancel();
+                downstream.onComplete();
+            }
+        }
+    }
+
+    private static final class TakeWhileNode extends Node {
+        private final Predicate<Object> predicate;
+
+        TakeWhileNode(Predicate<Object> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        void next(Object item) {
+            boolean accepted;
+            try {
+                accepted = predicate.test(item);
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            if (accepted) {
+                downstream.onNext(item);
+            } else {
+                done = true;
+                upstream.cancel();
+                downstream.onComplete();
+            }
+        }
+    }
+
+    private static final class DropWhileNode extends Node {
+        private final Predicate<Object> predicate;
+        private boolean passing;
+
+        DropWhileNode(Predicate<Object> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        void next(Object item) {
+            if (!passing) {
+                boolean dropped;
+                try {
+                    dropped = predicate.test(item);
+                } catch (Throwable e) {
+                    fail(e);
+                    return;
+                }
+                if (dropped) {
+                    return;
+                }
+                passing = true;
+            }
+            downstream.onNext(item);
+        }
+    }
+
+    private static final class OnCompleteNode extends Node {
+        private final Runnable action;
+
+        OnCompleteNode(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        void next(Object item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        void onComplete() {
+            if (done) {
+                return;
+            }
+            try {
+                action.run();
+            } catch (Throwable e) {
+                fail(e);
+                return;
+            }
+            super.onComplete();
+        }
+    }
+
+    private static final class OnErrorNode extends Node {
+        private final Consumer<Throwable> consumer;
+
+        OnErrorNode(Consumer<Throwable> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        void next(Object item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        void onError(Throwable failure) {
+            if (done) {
+                RxJavaPlugins.onError(failure);
+                return;
+            }
+            done = true;
+            try {
+                consumer.accept(failure);
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                downstream.onError(new CompositeException(failure, e));
+                return;
+            }
+            downstream.onError(failure);
+        }
+    }
+
+    /**
+     * Mirrors {@code doOnError(action).doOnComplete(action).doOnCancel(action)}.
+     */
+    private static final class OnTerminateNode extends Node {
+        private final Runnable action;
+        private boolean cancelled;
+
+        OnTerminateNode(Runnable action) {
+            this.action = action;
+        }
+
+        @Override
+        void next(Object item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        void onError(Throwable failure) {
+            if (done) {
+                RxJavaPlugins.onError(failure);
+                return;
+            }
+            done = true;
+            try {
+                action.run();
+            } catch (Throwable e) {
+                Exceptions.throwIfFatal(e);
+                downstream.onError(new CompositeException(failure, e));
+                return;
+            }
+            downstream.onError(failure);
+        }
+
+        @Override
+        void onComplete() {
+            if (done) {
+                return;
+            }
+            try {
+                action.run();
+            } catch (Throwable e) {
+                // The action is not invoked again with the failure.
+                Exceptions.throwIfFatal(e);
+                done = true;
+                upstream.cancel();
+                downstream.onError(e);
+                return;
+            }
+            super.onComplete();
+        }
+
+        @Override
+        void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                try {
+                    action.run();
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    RxJavaPlugins.onError(e);
+                }
+            }
+            upstream.cancel();
+        }
+    }
+
+    private abstract static class Terminal extends Node {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        /**
+         * @return {@code false} if the stream must not be started
+         */
+        boolean prepare() {
+            return true;
+        }
+
+        @Override
+        void onSubscribe() {
+            // Nothing to do, the terminal stages request all the items.
+        }
+
+        @Override
+        void onError(Throwable failure) {
+            if (done) {
+                RxJavaPlugins.onError(failure);
+                return;
+            }
+            done = true;
+            future.completeExceptionally(failure);
+        }
+    }
+
+    private static final class FindFirst extends Terminal {
+        @Override
+        void next(Object item) {
+            done = true;
+            upstream.cancel();
+            future.complete(Optional.of(item));
+        }
+
+        @Override
+        void onComplete() {
+            if (!done) {
+                done = true;
+                future.complete(Optional.empty());
+            }
+        }
+    }
+
+    private static final class Collect extends Terminal {
+        private final Collector<Object, Object, Object> collector;
+        private Object intermediate;
+        private BiConsumer<Object, Object> accumulator;
+        private Function<Object, Object> finisher;
+
+        Collect(Collector<Object, Object, Object> collector) {
+            this.collector = collector;
+        }
+
+        @Override
+        boolean prepare() {
+            try {
+                Supplier<Object> supplier = collector.supplier();
+                intermediate = supplier.get();
+                accumulator = collector.accumulator();
+                finisher = collector.finisher();
+                return true;
+            } catch (Exception e) {
+                // The stream is subscribed and cancelled immediately.
+                upstream.cancel();
+                done = true;
+                future.completeExceptionally(e);
+                return false;
+            }
+        }
+
+        @Override
+        void next(Object item) {
+            try {
+                accumulator.accept(intermediate, item);
+            } catch (Exception e) {
+                upstream.cancel();
+                onError(e);
+            }
+        }
+
+        @Override
+        void onError(Throwable failure) {
+            intermediate = null;
+            super.onError(failure);
+        }
+
+        @Override
+        void onComplete() {
+            if (done) {
+                return;
+            }
+            Object result;
+            try {
+                result = finisher.apply(intermediate);
+            } catch (Exception e) {
+                onError(e);
+                return;
+            }
+            done = true;
+            intermediate = null;
+            future.complete(result);
+        }
+    }
+}
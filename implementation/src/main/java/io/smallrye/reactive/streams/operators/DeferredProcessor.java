@@ -0,0 +1,140 @@
+package io.smallrye.reactive.streams.operators;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.utils.ConnectableProcessor;
+import io.smallrye.reactive.streams.utils.WrappedProcessor;
+
+/**
+ * A processor created for each materialization of a stream.
+ * <p>
+ * The processor passed to {@code via} is a single instance: running twice a stream built from the same builder
+ * subscribes it twice, and processors such as the ones built by {@code Engine.buildProcessor} reject the second
+ * subscriber. When the stream is run by this engine, the processor stage calls {@link #create()} on each subscription
+ * instead, so each materialization gets its own processor, created on the subscribing thread. The other engines use
+ * this instance as a regular processor, delegating to a single processor created on first use.
+ * <p>
+ * A deferred processor created {@link #fromStage(Stage) from a stage} is not materialized as a processor by this
+ * engine: the stage is applied in place, like the other stages of the stream, and so uses the configuration of the
+ * engine running the stream.
+ *
+ * @param <I> the type of received items
+ * @param <O> the type of emitted items
+ */
+public class DeferredProcessor<I, O> implements Processor<I, O> {
+
+    private final Supplier<? extends Processor<I, O>> supplier;
+    private final Stage stage;
+    private volatile Processor<I, O> delegate;
+
+    /**
+     * Creates a new {@link DeferredProcessor}.
+     *
+     * @param supplier the supplier creating a new processor on each call, must not be {@code null}
+     */
+    public DeferredProcessor(Supplier<? extends Processor<I, O>> supplier) {
+        this(supplier, null);
+    }
+
+    private DeferredProcessor(Supplier<? extends Processor<I, O>> supplier, Stage stage) {
+        this.supplier = Objects.requireNonNull(supplier, "The supplier must not be `null`");
+        this.stage = stage;
+    }
+
+    /**
+     * Creates a {@link DeferredProcessor} executing a stage provided by the engine, such as the extension stages.
+     * Outside of this engine, the processor is built by a default {@link Engine}.
+     *
+     * @param stage the stage, must not be {@code null}
+     * @param <I> the type of received items
+     * @param <O> the type of emitted items
+     * @return the deferred processor
+     */
+    public static <I, O> DeferredProcessor<I, O> fromStage(Stage stage) {
+        Objects.requireNonNull(stage, "The stage must not be `null`");
+        return new DeferredProcessor<>(() -> new Engine().buildProcessor(() -> Collections.singletonList(stage)),
+                stage);
+    }
+
+    /**
+     * Creates a {@link DeferredProcessor} applying a {@link ProcessingStage} to the items it receives.
+     *
+     * @param supplier the supplier creating the stage of each materialization, must not be {@code null}
+     * @param <I> the type of received items
+     * @param <O> the type of emitted items
+     * @return the deferred processor
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <I, O> DeferredProcessor<I, O> fromProcessingStage(
+            Supplier<? extends ProcessingStage<I, O>> supplier) {
+        Objects.requireNonNull(supplier, "The supplier must not be `null`");
+        return new DeferredProcessor<>(() -> {
+            ConnectableProcessor<I> processor = new ConnectableProcessor<>();
+            Flowable<O> flowable = Objects.requireNonNull(supplier.get(), "The supplier must not return `null`")
+                    .apply(Flowable.fromPublisher(processor));
+            return (Processor<I, O>) new WrappedProcessor(processor, flowable);
+        });
+    }
+
+    /**
+     * @return the stage executed by this processor, {@code null} if it was created from a supplier
+     */
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * @return a new processor, never {@code null}
+     */
+    public Processor<I, O> create() {
+        return Objects.requireNonNull(supplier.get(), "The supplier must not return `null`");
+    }
+
+    private Processor<I, O> delegate() {
+        Processor<I, O> processor = delegate;
+        if (processor == null) {
+            synchronized (this) {
+                processor = delegate;
+                if (processor == null) {
+                    processor = create();
+                    delegate = processor;
+                }
+            }
+        }
+        return processor;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super O> subscriber) {
+        delegate().subscribe(subscriber);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        delegate().onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(I item) {
+        delegate().onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        delegate().onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        delegate().onComplete();
+    }
+}
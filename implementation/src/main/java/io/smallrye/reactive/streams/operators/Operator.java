@@ -7,12 +7,29 @@ import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 
 public class Operator<T extends Stage> implements Predicate<Stage> {
     private Class<T> clazz;
+    private boolean synchronous;
 
     Operator(Class<T> clazz) {
+        this(clazz, false);
+    }
+
+    Operator(Class<T> clazz, boolean synchronous) {
         this.clazz = Objects.requireNonNull(clazz);
+        this.synchronous = synchronous;
     }
 
     public boolean test(Stage s) {
         return clazz.isAssignableFrom(s.getClass());
     }
+
+    /**
+     * A synchronous operator emits its signals on the thread that delivered the upstream signals. The engine uses
+     * this characteristic to fuse consecutive synchronous stages: the execution model is not re-applied after
+     * them, as they cannot introduce a thread boundary.
+     *
+     * @return {@code true} if the operator is synchronous, {@code false} otherwise.
+     */
+    public boolean isSynchronous() {
+        return synchronous;
+    }
 }
@@ -0,0 +1,25 @@
+package io.smallrye.reactive.streams.operators;
+
+import java.util.List;
+
+/**
+ * SPI to register additional {@link Operator operators}, typically for custom
+ * {@link org.eclipse.microprofile.reactive.streams.operators.spi.Stage} types.
+ * <p>
+ * Implementations are discovered using the {@link java.util.ServiceLoader}: declare them in a
+ * {@code META-INF/services/io.smallrye.reactive.streams.operators.OperatorProvider} file. The provided operators are
+ * consulted after the built-in ones, so they cannot replace the operators of the stages defined by the
+ * specification.
+ * <p>
+ * Processor operators can be declared as synchronous (see {@link Operator#isSynchronous()}) to let the engine fuse them
+ * with the surrounding stages. Publisher and terminal operators are always placed by the engine according to the
+ * {@link io.smallrye.reactive.streams.spi.ExecutionModel}.
+ */
+public interface OperatorProvider {
+
+    /**
+     * @return the operators, must not be {@code null}
+     */
+    List<Operator<?>> getOperators();
+
+}
@@ -13,6 +13,19 @@ public class ProcessorOperator<T extends Stage> extends Operator<T> {
         this.factory = factory;
     }
 
+    /**
+     * Creates a new {@link ProcessorOperator}.
+     *
+     * @param clazz the stage class
+     * @param factory the factory creating the processing stage
+     * @param synchronous whether or not the created stages emit their signals on the thread delivering the upstream
+     *        signals, see {@link Operator#isSynchronous()}
+     */
+    public ProcessorOperator(Class<T> clazz, ProcessingStageFactory<T> factory, boolean synchronous) {
+        super(clazz, synchronous);
+        this.factory = factory;
+    }
+
     public <I, O> ProcessingStage<I, O> create(Engine engine, T stage) {
         return factory.create(engine, stage);
     }
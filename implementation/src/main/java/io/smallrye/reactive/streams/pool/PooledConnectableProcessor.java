@@ -0,0 +1,49 @@
+package io.smallrye.reactive.streams.pool;
+
+import io.smallrye.reactive.streams.utils.ConnectableProcessor;
+
+/**
+ * A {@link ConnectableProcessor} returned to its pool once the terminal signal has been delivered. It is only reachable
+ * by the application through a handle ({@link PooledProcessor} or {@link PooledSubscriber}) recording its generation,
+ * so the signals sent to a handle after the release are detected.
+ */
+final class PooledConnectableProcessor<T> extends ConnectableProcessor<T> {
+
+    private final ProcessorPool pool;
+
+    PooledConnectableProcessor(ProcessorPool pool) {
+        this.pool = pool;
+    }
+
+    ProcessorPool pool() {
+        return pool;
+    }
+
+    int currentGeneration() {
+        return generation();
+    }
+
+    @Override
+    protected void onTerminated() {
+        reset();
+        pool.release(this);
+    }
+
+    /**
+     * Checks that the processor has not been released since the handle has been created.
+     *
+     * @param generation the generation recorded by the handle
+     * @param signal the name of the received signal
+     * @throws IllegalStateException if the processor has been released
+     */
+    void check(int generation, String signal) {
+        if (generation() != generation) {
+            throw released(signal);
+        }
+    }
+
+    static IllegalStateException released(String signal) {
+        return new IllegalStateException("Invalid " + signal + " - the stream has terminated and its processor has"
+                + " been released to the pool");
+    }
+}
@@ -0,0 +1,63 @@
+package io.smallrye.reactive.streams.pool;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.smallrye.reactive.streams.utils.EmptySubscription;
+
+/**
+ * The processor returned by {@code buildProcessor} when pooling is enabled, in place of the
+ * {@link io.smallrye.reactive.streams.utils.WrappedProcessor}. It forwards to a pooled processor as long as this one
+ * has not been released.
+ */
+final class PooledProcessor<T> implements Processor<T, T> {
+
+    private final PooledConnectableProcessor<T> processor;
+    private final Publisher<T> publisher;
+    private final int generation;
+
+    PooledProcessor(PooledConnectableProcessor<T> processor, Publisher<T> publisher) {
+        this.processor = processor;
+        this.publisher = publisher;
+        this.generation = processor.currentGeneration();
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (processor.currentGeneration() != generation) {
+            subscriber.onSubscribe(new EmptySubscription());
+            subscriber.onError(PooledConnectableProcessor.released("subscribe"));
+            return;
+        }
+        publisher.subscribe(subscriber);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (processor.currentGeneration() != generation) {
+            subscription.cancel();
+            return;
+        }
+        processor.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(T item) {
+        processor.check(generation, "onNext");
+        processor.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        processor.check(generation, "onError");
+        processor.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        processor.check(generation, "onComplete");
+        processor.onComplete();
+    }
+}
@@ -0,0 +1,63 @@
+package io.smallrye.reactive.streams.pool;
+
+import java.util.concurrent.CompletionStage;
+
+import org.eclipse.microprofile.reactive.streams.operators.CompletionSubscriber;
+import org.eclipse.microprofile.reactive.streams.operators.spi.SubscriberWithCompletionStage;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * The subscriber returned by {@code buildSubscriber} when pooling is enabled, in place of the
+ * {@link io.smallrye.reactive.streams.utils.DefaultSubscriberWithCompletionStage}. It forwards to a pooled processor as
+ * long as this one has not been released, and is its own {@link CompletionSubscriber}.
+ */
+final class PooledSubscriber<T, R> implements SubscriberWithCompletionStage<T, R>, CompletionSubscriber<T, R> {
+
+    private final PooledConnectableProcessor<T> processor;
+    private final CompletionStage<R> result;
+    private final int generation;
+
+    PooledSubscriber(PooledConnectableProcessor<T> processor, CompletionStage<R> result) {
+        this.processor = processor;
+        this.result = result;
+        this.generation = processor.currentGeneration();
+    }
+
+    @Override
+    public CompletionStage<R> getCompletion() {
+        return result;
+    }
+
+    @Override
+    public Subscriber<T> getSubscriber() {
+        return this;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (processor.currentGeneration() != generation) {
+            subscription.cancel();
+            return;
+        }
+        processor.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(T item) {
+        processor.check(generation, "onNext");
+        processor.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        processor.check(generation, "onError");
+        processor.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        processor.check(generation, "onComplete");
+        processor.onComplete();
+    }
+}
@@ -0,0 +1,243 @@
+package io.smallrye.reactive.streams.pool;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.SubscriberWithCompletionStage;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Publisher;
+
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * Recycles the processors receiving the items of the graphs built with {@code buildSubscriber} and
+ * {@code buildProcessor}, for the applications building a graph per message. A processor is returned to the pool of
+ * the thread delivering the terminal signal of its stream, and reused by the next graph built on this thread. Each
+ * thread keeps at most {@code maxSizePerThread} processors, the others are left to the garbage collector, as are the
+ * processors of the cancelled streams.
+ * <p>
+ * The application never gets a pooled processor: {@code buildSubscriber} and {@code buildProcessor} return a handle
+ * forwarding to it, which fails with an {@link IllegalStateException} when a signal is received once the processor has
+ * been released (or cancels the subscription it receives).
+ * <p>
+ * The pooling is disabled by default. It can be installed globally, or for a named {@link Engine}, in which case it
+ * replaces the global one for the graphs built by this engine. It does not apply to the thread-confined streams, see
+ * {@link io.smallrye.reactive.streams.spi.ExecutionModel#isThreadConfined(Engine)}.
+ *
+ * <pre>
+ * ProcessorPool.builder()
+ *         .maxSizePerThread(64)
+ *         .install();
+ * </pre>
+ */
+public final class ProcessorPool implements AutoCloseable {
+
+    private static volatile ProcessorPool global;
+    private static final Map<String, ProcessorPool> NAMED = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int maxSizePerThread;
+    private final ThreadLocal<ArrayDeque<PooledConnectableProcessor<?>>> pools = ThreadLocal
+            .withInitial(ArrayDeque::new);
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private volatile boolean closed;
+
+    private ProcessorPool(Builder builder, String name) {
+        this.name = name;
+        this.maxSizePerThread = builder.maxSizePerThread;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the pool installed globally, empty if none
+     */
+    public static Optional<ProcessorPool> current() {
+        return Optional.ofNullable(global);
+    }
+
+    /**
+     * @param engineName the name of the engine, must not be {@code null}
+     * @return the pool installed for the given engine, empty if none
+     */
+    public static Optional<ProcessorPool> current(String engineName) {
+        return Optional.ofNullable(NAMED.get(Objects.requireNonNull(engineName)));
+    }
+
+    /**
+     * Looks up the pool applying to the graphs built by the given engine: the one installed for its name, or the
+     * global one.
+     *
+     * @param engine the engine, {@code null} to only consider the global one
+     * @return the pool, {@code null} if none applies and the processors are not recycled
+     */
+    public static ProcessorPool forEngine(Engine engine) {
+        if (engine != null && engine.getName() != null) {
+            ProcessorPool named = NAMED.get(engine.getName());
+            if (named != null) {
+                return named;
+            }
+        }
+        return global;
+    }
+
+    /**
+     * Takes a processor from the pool of the calling thread, or creates one if the pool is empty. Called by the
+     * engine, the processor must be wrapped with {@link #subscriber(Processor, CompletionStage)} or
+     * {@link #processor(Processor, Publisher)} before being handed to the application.
+     *
+     * @param <T> the type of item
+     * @return the processor
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Processor<T, T> acquire() {
+        PooledConnectableProcessor<T> processor = (PooledConnectableProcessor<T>) pools.get().poll();
+        if (processor == null) {
+            created.increment();
+            return new PooledConnectableProcessor<>(this);
+        }
+        reused.increment();
+        return processor;
+    }
+
+    /**
+     * Creates the handle returned by {@code buildSubscriber}.
+     *
+     * @param processor the processor, acquired from this pool
+     * @param result the completion stage of the graph
+     * @param <T> the type of item
+     * @param <R> the type of result
+     * @return the subscriber forwarding to the processor until it is released
+     */
+    public <T, R> SubscriberWithCompletionStage<T, R> subscriber(Processor<T, T> processor,
+            CompletionStage<R> result) {
+        return new PooledSubscriber<>(pooled(processor), result);
+    }
+
+    /**
+     * Creates the handle returned by {@code buildProcessor}.
+     *
+     * @param processor the processor, acquired from this pool
+     * @param publisher the publisher emitting the result of the graph
+     * @param <T> the type of item
+     * @return the processor forwarding to the given processor until it is released
+     */
+    public <T> Processor<T, T> processor(Processor<T, T> processor, Publisher<T> publisher) {
+        return new PooledProcessor<>(pooled(processor), publisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> PooledConnectableProcessor<T> pooled(Processor<T, T> processor) {
+        if (processor instanceof PooledConnectableProcessor) {
+            PooledConnectableProcessor<T> pooled = (PooledConnectableProcessor<T>) processor;
+            if (pooled.pool() == this) {
+                return pooled;
+            }
+        }
+        throw new IllegalArgumentException("The processor has not been acquired from this pool");
+    }
+
+    void release(PooledConnectableProcessor<?> processor) {
+        ArrayDeque<PooledConnectableProcessor<?>> pool = pools.get();
+        if (!closed && pool.size() < maxSizePerThread) {
+            pool.push(processor);
+        }
+    }
+
+    /**
+     * @return the maximum number of processors kept by each thread
+     */
+    public int getMaxSizePerThread() {
+        return maxSizePerThread;
+    }
+
+    /**
+     * @return the number of processors created because the pool of the calling thread was empty
+     */
+    public long getCreated() {
+        return created.sum();
+    }
+
+    /**
+     * @return the number of processors taken from a pool
+     */
+    public long getReused() {
+        return reused.sum();
+    }
+
+    /**
+     * Uninstalls this pool. The graphs built afterwards do not use it anymore, and the processors of the running
+     * streams are not recycled.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (name == null) {
+            synchronized (ProcessorPool.class) {
+                if (global == this) {
+                    global = null;
+                }
+            }
+        } else {
+            NAMED.remove(name, this);
+        }
+    }
+
+    public static class Builder {
+        private int maxSizePerThread = 32;
+
+        private Builder() {
+            // Use ProcessorPool.builder().
+        }
+
+        /**
+         * @param maxSizePerThread the maximum number of processors kept by each thread, must be strictly positive, 32
+         *        by default
+         * @return this builder
+         */
+        public Builder maxSizePerThread(int maxSizePerThread) {
+            if (maxSizePerThread <= 0) {
+                throw new IllegalArgumentException("The maximum size must be strictly positive");
+            }
+            this.maxSizePerThread = maxSizePerThread;
+            return this;
+        }
+
+        /**
+         * Creates the pool and installs it globally, replacing the previously installed one.
+         *
+         * @return the installed pool
+         */
+        public ProcessorPool install() {
+            ProcessorPool pool = new ProcessorPool(this, null);
+            synchronized (ProcessorPool.class) {
+                global = pool;
+            }
+            return pool;
+        }
+
+        /**
+         * Creates the pool and installs it for the engine with the given name, replacing the previously installed
+         * one.
+         *
+         * @param engineName the name of the engine, must not be {@code null}
+         * @return the installed pool
+         */
+        public ProcessorPool install(String engineName) {
+            ProcessorPool pool = new ProcessorPool(this, Objects.requireNonNull(engineName));
+            NAMED.put(engineName, pool);
+            return pool;
+        }
+    }
+}
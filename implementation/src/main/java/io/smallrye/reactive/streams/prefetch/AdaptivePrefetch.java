@@ -0,0 +1,314 @@
+package io.smallrye.reactive.streams.prefetch;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.boundary.AsyncBoundary;
+
+/**
+ * Sizes the requests made across the asynchronous boundaries from the observed consumer throughput, instead of the
+ * fixed prefetch of RxJava (128 items). The number of items requested but not yet consumed (the window) is adjusted
+ * while the stream runs:
+ * <ul>
+ * <li>when the consumer waits for items, the window doubles,</li>
+ * <li>otherwise, the window holds about {@code targetLatency} worth of items at the observed consumption rate,</li>
+ * <li>with a size estimator, the window never holds more than {@code maxBytes} (estimated),</li>
+ * <li>the window stays between {@code minPrefetch} and {@code maxPrefetch}.</li>
+ * </ul>
+ * <p>
+ * The adaptive prefetch is disabled by default. It can be installed globally, or for a named
+ * {@link Engine}, in which case it replaces the global one for the streams built by this engine. It applies to the
+ * {@link AsyncBoundary} used by the execution model (such as the Vert.x one) and to {@code flatMapIterable}.
+ *
+ * <pre>
+ * AdaptivePrefetch.builder()
+ *         .maxPrefetch(4096)
+ *         .maxBytes(8 * 1024 * 1024, (Buffer buffer) -&gt; buffer.length())
+ *         .install();
+ * </pre>
+ */
+public final class AdaptivePrefetch implements AutoCloseable {
+
+    private static volatile AdaptivePrefetch global;
+    private static final Map<String, AdaptivePrefetch> NAMED = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int minPrefetch;
+    private final int maxPrefetch;
+    private final int initialPrefetch;
+    private final Duration targetLatency;
+    private final long maxBytes;
+    private final ToLongFunction<Object> sizeEstimator;
+
+    private AdaptivePrefetch(Builder builder, String name) {
+        if (builder.minPrefetch > builder.maxPrefetch) {
+            throw new IllegalArgumentException("The minimum prefetch (" + builder.minPrefetch
+                    + ") must not be greater than the maximum prefetch (" + builder.maxPrefetch + ")");
+        }
+        this.name = name;
+        this.minPrefetch = builder.minPrefetch;
+        this.maxPrefetch = builder.maxPrefetch;
+        int initial = builder.initialPrefetch;
+        if (initial == 0) {
+            // The size of the items is unknown until some of them are received.
+            initial = builder.sizeEstimator == null ? Flowable.bufferSize() : builder.minPrefetch;
+        }
+        this.initialPrefetch = Math.max(minPrefetch, Math.min(maxPrefetch, initial));
+        this.targetLatency = builder.targetLatency;
+        this.maxBytes = builder.maxBytes;
+        this.sizeEstimator = builder.sizeEstimator;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the adaptive prefetch installed globally, empty if none
+     */
+    public static Optional<AdaptivePrefetch> current() {
+        return Optional.ofNullable(global);
+    }
+
+    /**
+     * @param engineName the name of the engine, must not be {@code null}
+     * @return the adaptive prefetch installed for the given engine, empty if none
+     */
+    public static Optional<AdaptivePrefetch> current(String engineName) {
+        return Optional.ofNullable(NAMED.get(Objects.requireNonNull(engineName)));
+    }
+
+    /**
+     * Looks up the adaptive prefetch applying to the streams built by the given engine: the one installed for its
+     * name, or the global one.
+     *
+     * @param engine the engine, {@code null} to only consider the global one
+     * @return the adaptive prefetch, {@code null} if none applies and the boundaries use a fixed prefetch
+     */
+    public static AdaptivePrefetch forEngine(Engine engine) {
+        if (engine != null && engine.getName() != null) {
+            AdaptivePrefetch named = NAMED.get(engine.getName());
+            if (named != null) {
+                return named;
+            }
+        }
+        return global;
+    }
+
+    /**
+     * Delivers the signals of the given flowable on the given scheduler, like {@link Flowable#observeOn(Scheduler)},
+     * with an adaptive prefetch.
+     *
+     * @param flowable the flowable
+     * @param scheduler the scheduler
+     * @param <T> the type of item
+     * @return the resulting flowable
+     */
+    public <T> Flowable<T> observeOn(Flowable<T> flowable, Scheduler scheduler) {
+        return AsyncBoundary.builder()
+                .scheduler(Objects.requireNonNull(scheduler))
+                .adaptivePrefetch(this)
+                .build()
+                .apply(flowable);
+    }
+
+    /**
+     * Prefetches the items of the given flowable with an adaptive prefetch, without changing the thread delivering
+     * them. Used in front of the operators consuming their upstream one item at a time, such as
+     * {@code concatMapIterable}.
+     *
+     * @param flowable the flowable
+     * @param <T> the type of item
+     * @return the resulting flowable
+     */
+    public <T> Flowable<T> prefetch(Flowable<T> flowable) {
+        return AsyncBoundary.builder().adaptivePrefetch(this).build().apply(flowable);
+    }
+
+    /**
+     * @return the minimum number of items requested but not yet consumed
+     */
+    public int getMinPrefetch() {
+        return minPrefetch;
+    }
+
+    /**
+     * @return the maximum number of items requested but not yet consumed
+     */
+    public int getMaxPrefetch() {
+        return maxPrefetch;
+    }
+
+    /**
+     * @return the number of items requested on subscription
+     */
+    public int getInitialPrefetch() {
+        return initialPrefetch;
+    }
+
+    /**
+     * @return the time it should take to the consumer to process the prefetched items
+     */
+    public Duration getTargetLatency() {
+        return targetLatency;
+    }
+
+    /**
+     * @return the maximum estimated size of the prefetched items, {@link Long#MAX_VALUE} if not limited
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the function estimating the size of an item, {@code null} if not limited
+     */
+    public ToLongFunction<Object> getSizeEstimator() {
+        return sizeEstimator;
+    }
+
+    /**
+     * Uninstalls this adaptive prefetch. The streams built afterwards use the fixed prefetch, the running streams are
+     * not affected.
+     */
+    @Override
+    public void close() {
+        if (name == null) {
+            synchronized (AdaptivePrefetch.class) {
+                if (global == this) {
+                    global = null;
+                }
+            }
+        } else {
+            NAMED.remove(name, this);
+        }
+    }
+
+    public static class Builder {
+        private int minPrefetch = 1;
+        private int maxPrefetch = 1024;
+        private int initialPrefetch;
+        private Duration targetLatency = Duration.ofMillis(1);
+        private long maxBytes = Long.MAX_VALUE;
+        private ToLongFunction<Object> sizeEstimator;
+
+        private Builder() {
+            // Use AdaptivePrefetch.builder().
+        }
+
+        /**
+         * @param minPrefetch the minimum number of items requested but not yet consumed, must be strictly positive,
+         *        1 by default
+         * @return this builder
+         */
+        public Builder minPrefetch(int minPrefetch) {
+            if (minPrefetch <= 0) {
+                throw new IllegalArgumentException("The minimum prefetch must be strictly positive");
+            }
+            this.minPrefetch = minPrefetch;
+            return this;
+        }
+
+        /**
+         * @param maxPrefetch the maximum number of items requested but not yet consumed, must be strictly positive,
+         *        1024 by default
+         * @return this builder
+         */
+        public Builder maxPrefetch(int maxPrefetch) {
+            if (maxPrefetch <= 0) {
+                throw new IllegalArgumentException("The maximum prefetch must be strictly positive");
+            }
+            this.maxPrefetch = maxPrefetch;
+            return this;
+        }
+
+        /**
+         * @param initialPrefetch the number of items requested on subscription, must be strictly positive, bounded
+         *        by the minimum and maximum prefetch. By default, the RxJava buffer size (128), or the minimum
+         *        prefetch when a size estimator is set.
+         * @return this builder
+         */
+        public Builder initialPrefetch(int initialPrefetch) {
+            if (initialPrefetch <= 0) {
+                throw new IllegalArgumentException("The initial prefetch must be strictly positive");
+            }
+            this.initialPrefetch = initialPrefetch;
+            return this;
+        }
+
+        /**
+         * @param targetLatency the time it should take to the consumer to process the prefetched items, must not be
+         *        {@code null}, and must be strictly positive, 1 millisecond by default
+         * @return this builder
+         */
+        public Builder targetLatency(Duration targetLatency) {
+            if (Objects.requireNonNull(targetLatency).isNegative() || targetLatency.isZero()) {
+                throw new IllegalArgumentException("The target latency must be strictly positive");
+            }
+            this.targetLatency = targetLatency;
+            return this;
+        }
+
+        /**
+         * @param maxBytes the maximum estimated size of the prefetched items, must be strictly positive
+         * @param estimator the function estimating the size of an item, must not be {@code null}. Only some of the
+         *        items are measured.
+         * @param <T> the type of item
+         * @return this builder
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Builder maxBytes(long maxBytes, ToLongFunction<? super T> estimator) {
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("The maximum size must be strictly positive");
+            }
+            this.maxBytes = maxBytes;
+            this.sizeEstimator = (ToLongFunction<Object>) Objects.requireNonNull(estimator);
+            return this;
+        }
+
+        /**
+         * Creates the adaptive prefetch without installing it, to be passed to an {@link AsyncBoundary}.
+         *
+         * @return the adaptive prefetch
+         */
+        public AdaptivePrefetch build() {
+            return new AdaptivePrefetch(this, null);
+        }
+
+        /**
+         * Creates the adaptive prefetch and installs it globally, replacing the previously installed one.
+         *
+         * @return the installed adaptive prefetch
+         */
+        public AdaptivePrefetch install() {
+            AdaptivePrefetch prefetch = new AdaptivePrefetch(this, null);
+            synchronized (AdaptivePrefetch.class) {
+                global = prefetch;
+            }
+            return prefetch;
+        }
+
+        /**
+         * Creates the adaptive prefetch and installs it for the engine with the given name, replacing the previously
+         * installed one.
+         *
+         * @param engineName the name of the engine, must not be {@code null}
+         * @return the installed adaptive prefetch
+         */
+        public AdaptivePrefetch install(String engineName) {
+            AdaptivePrefetch prefetch = new AdaptivePrefetch(this, Objects.requireNonNull(engineName));
+            NAMED.put(engineName, prefetch);
+            return prefetch;
+        }
+    }
+}
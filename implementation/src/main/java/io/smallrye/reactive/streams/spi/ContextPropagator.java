@@ -0,0 +1,35 @@
+package io.smallrye.reactive.streams.spi;
+
+/**
+ * Propagates a thread-bound context (MDC, tracing span, security identity...) across the thread boundaries introduced
+ * by the {@link ExecutionModel}.
+ * <p>
+ * Implementations are discovered using the {@link java.util.ServiceLoader} or the service index, and only used when an
+ * execution model is registered. When the execution model moves the signals of a stream to another thread, the
+ * context is captured once per subscription, on the subscribing thread, and installed around the delivery of the
+ * signals on the other side of the boundary. The stages do not need to capture the context themselves.
+ * <p>
+ * Implementations must be thread-safe and should not allocate in {@link #restore(Object)}, as it is called for each
+ * signal crossing a boundary.
+ *
+ * @param <C> the type of the captured context
+ */
+public interface ContextPropagator<C> {
+
+    /**
+     * Captures the context of the current thread.
+     *
+     * @return the captured context, may be {@code null}
+     */
+    C capture();
+
+    /**
+     * Installs the given context on the current thread. It is called with a captured context before delivering a
+     * signal, and then with the returned context once delivered.
+     *
+     * @param context the context to install, may be {@code null}
+     * @return the context of the current thread before the call, may be {@code null}
+     */
+    C restore(C context);
+
+}
@@ -3,8 +3,34 @@ package io.smallrye.reactive.streams.spi;
 import java.util.function.UnaryOperator;
 
 import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.Engine;
 
 @FunctionalInterface
 public interface ExecutionModel extends UnaryOperator<Flowable> {
 
+    /**
+     * Applies the model to a flowable assembled by the given engine. Models introducing thread boundaries can use the
+     * configuration of the engine, such as its {@link io.smallrye.reactive.streams.prefetch.AdaptivePrefetch}.
+     * Delegates to {@link #apply(Object)} by default.
+     *
+     * @param input the flowable
+     * @param engine the engine assembling the flowable, {@code null} if unknown
+     * @return the decorated flowable, or the given one
+     */
+    default Flowable<?> apply(Flowable<?> input, Engine engine) {
+        return apply(input);
+    }
+
+    /**
+     * Checks whether all the signals of the streams assembled by the given engine on the calling thread, including
+     * the requests and cancellations, happen on this thread. In this case, the engine uses thread-confined variants
+     * of its processors and subscribers, without atomic state. Returns {@code false} by default.
+     *
+     * @param engine the engine assembling the streams, {@code null} if unknown
+     * @return {@code true} if the streams are confined to the calling thread
+     */
+    default boolean isThreadConfined(Engine engine) {
+        return false;
+    }
+
 }
@@ -1,40 +1,103 @@
 package io.smallrye.reactive.streams.spi;
 
-import java.util.Iterator;
-import java.util.ServiceLoader;
+import java.util.Collections;
+import java.util.List;
 
 import io.reactivex.Flowable;
+import io.smallrye.reactive.index.ServiceIndex;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.utils.ContextPropagatingFlowable;
 
 public class Transformer {
 
     private final ExecutionModel model;
+    private final boolean custom;
+    private final List<ContextPropagator<Object>> propagators;
 
-    private static final Transformer INSTANCE;
-
-    static {
-        INSTANCE = new Transformer();
-    }
+    /**
+     * Created on first use and not in the static initializer, so a native image initializing this class at build time
+     * does not instantiate the execution model and the propagators of the application during the build.
+     */
+    private static volatile Transformer instance;
 
+    @SuppressWarnings("unchecked")
     private Transformer() {
-        ServiceLoader<ExecutionModel> loader = ServiceLoader.load(ExecutionModel.class);
-        Iterator<ExecutionModel> iterator = loader.iterator();
-        if (iterator.hasNext()) {
-            model = iterator.next();
+        List<ExecutionModel> models = ServiceIndex.load(ExecutionModel.class);
+        if (!models.isEmpty()) {
+            model = models.get(0);
+            custom = true;
+            propagators = (List<ContextPropagator<Object>>) (List<?>) ServiceIndex.load(ContextPropagator.class);
         } else {
             model = i -> i;
+            custom = false;
+            // Without execution model, the signals never cross a thread boundary introduced by the engine.
+            propagators = Collections.emptyList();
+        }
+    }
+
+    private static Transformer instance() {
+        Transformer transformer = instance;
+        if (transformer == null) {
+            synchronized (Transformer.class) {
+                transformer = instance;
+                if (transformer == null) {
+                    transformer = new Transformer();
+                    instance = transformer;
+                }
+            }
         }
+        return transformer;
     }
 
     /**
-     * Calls the model.
+     * Calls the model. If the model decorates the flowable and {@link ContextPropagator}s are registered, the
+     * decorated flowable delivers its signals with the context captured when subscribing.
      *
      * @param flowable the flowable
      * @param <T> the type of data
      * @return the decorated flowable if needed
      */
-    @SuppressWarnings("unchecked")
     public static <T> Flowable<T> apply(Flowable<T> flowable) {
-        return INSTANCE.model.apply(flowable);
+        return apply(flowable, null);
+    }
+
+    /**
+     * Calls the model for a flowable assembled by the given engine, see {@link #apply(Flowable)}.
+     *
+     * @param flowable the flowable
+     * @param engine the engine assembling the flowable, {@code null} if unknown
+     * @param <T> the type of data
+     * @return the decorated flowable if needed
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Flowable<T> apply(Flowable<T> flowable, Engine engine) {
+        Transformer transformer = instance();
+        Flowable<T> result = (Flowable<T>) transformer.model.apply(flowable, engine);
+        if (result == flowable || transformer.propagators.isEmpty()) {
+            // No thread boundary introduced, or nothing to propagate.
+            return result;
+        }
+        return new ContextPropagatingFlowable<>(result, transformer.propagators);
+    }
+
+    /**
+     * Checks whether the streams assembled by the given engine on the calling thread are confined to this thread, see
+     * {@link ExecutionModel#isThreadConfined(Engine)}.
+     *
+     * @param engine the engine assembling the streams, {@code null} if unknown
+     * @return {@code true} if the streams are confined to the calling thread, {@code false} without execution model
+     */
+    public static boolean isThreadConfined(Engine engine) {
+        Transformer transformer = instance();
+        return transformer.custom && transformer.model.isThreadConfined(engine);
+    }
+
+    /**
+     * @return {@code true} if an {@link ExecutionModel} has been registered, {@code false} if the signals are
+     *         delivered on the thread emitting them
+     */
+    public static boolean hasExecutionModel() {
+        return instance().custom;
     }
 
 }
@@ -0,0 +1,30 @@
+package io.smallrye.reactive.streams.stages;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.extensions.Batch;
+import io.smallrye.reactive.streams.operators.ProcessingStage;
+import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
+import io.smallrye.reactive.streams.utils.FlowableBatch;
+
+/**
+ * Implementation of the {@link Batch} stage.
+ */
+public class BatchStageFactory implements ProcessingStageFactory<Batch> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <I, O> ProcessingStage<I, O> create(Engine engine, Batch stage) {
+        Objects.requireNonNull(stage);
+        int maxItems = stage.getMaxItems();
+        long maxBytes = stage.getMaxBytes();
+        long latency = stage.getMaxLatency().toNanos();
+        return source -> (Flowable<O>) RxJavaPlugins.onAssembly(new FlowableBatch<>(source, maxItems, maxBytes,
+                stage.getSizeEstimator(), latency, TimeUnit.NANOSECONDS, Schedulers.computation()));
+    }
+}
@@ -1,20 +1,33 @@
 package io.smallrye.reactive.streams.stages;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.reactivestreams.Publisher;
 
 import io.reactivex.Flowable;
+import io.reactivex.functions.Action;
 import io.smallrye.reactive.streams.Engine;
 import io.smallrye.reactive.streams.operators.PublisherStage;
 import io.smallrye.reactive.streams.operators.PublisherStageFactory;
+import io.smallrye.reactive.streams.spi.Transformer;
 import io.smallrye.reactive.streams.utils.CancellablePublisher;
+import io.smallrye.reactive.streams.utils.ConfinedCancellablePublisher;
 
 /**
  * Implementation of the {@link Stage.Concat} stage. Because both streams can emits on different thread,
  * this operators takes care to called the user on a Vert.x context if the caller used one, otherwise it
  * uses the current thread.
+ * <p>
+ * Nested concatenations, such as {@code concat(concat(concat(a, b), c), d)}, are flattened into a single n-ary
+ * concatenation, so the items do not go through one operator per nesting level and the stack depth does not grow
+ * with the number of segments.
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
@@ -40,12 +53,53 @@ public class ConcatStageFactory implements PublisherStageFactory<Stage.Concat> {
             this.second = Objects.requireNonNull(g2);
         }
 
+        @SuppressWarnings("unchecked")
         @Override
         public Flowable<O> get() {
-            CancellablePublisher<O> cancellable = new CancellablePublisher<>(engine.buildPublisher(second));
-            return Flowable.concat(engine.buildPublisher(first), cancellable)
-                    .doOnCancel(cancellable::cancelIfNotSubscribed)
-                    .doOnTerminate(cancellable::cancelIfNotSubscribed);
+            List<Graph> segments = flatten(first, second);
+            Publisher<O>[] publishers = (Publisher<O>[]) new Publisher<?>[segments.size()];
+            List<Runnable> pending = new ArrayList<>(segments.size() - 1);
+            boolean confined = Transformer.isThreadConfined(engine);
+            publishers[0] = engine.buildInnerPublisher(segments.get(0));
+            for (int i = 1; i < publishers.length; i++) {
+                Publisher<O> segment = engine.buildInnerPublisher(segments.get(i));
+                if (confined) {
+                    ConfinedCancellablePublisher<O> cancellable = new ConfinedCancellablePublisher<>(segment);
+                    pending.add(cancellable::cancelIfNotSubscribed);
+                    publishers[i] = cancellable;
+                } else {
+                    CancellablePublisher<O> cancellable = new CancellablePublisher<>(segment);
+                    pending.add(cancellable::cancelIfNotSubscribed);
+                    publishers[i] = cancellable;
+                }
+            }
+            // The segments that have not been subscribed are cancelled on failure or cancellation.
+            Action cancelPending = () -> pending.forEach(Runnable::run);
+            return Flowable.concatArray(publishers)
+                    .doOnCancel(cancelPending)
+                    .doOnTerminate(cancelPending);
         }
     }
+
+    /**
+     * Collects the segments of the concatenation, in order, unwrapping the graphs only made of a concat stage.
+     */
+    static List<Graph> flatten(Graph first, Graph second) {
+        List<Graph> segments = new ArrayList<>();
+        Deque<Graph> stack = new ArrayDeque<>();
+        stack.push(second);
+        stack.push(first);
+        while (!stack.isEmpty()) {
+            Graph graph = stack.pop();
+            Collection<Stage> stages = graph.getStages();
+            Stage stage = stages.size() == 1 ? stages.iterator().next() : null;
+            if (stage instanceof Stage.Concat) {
+                stack.push(Objects.requireNonNull(((Stage.Concat) stage).getSecond()));
+                stack.push(Objects.requireNonNull(((Stage.Concat) stage).getFirst()));
+            } else {
+                segments.add(graph);
+            }
+        }
+        return segments;
+    }
 }
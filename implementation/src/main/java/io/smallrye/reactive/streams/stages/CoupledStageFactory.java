@@ -24,7 +24,7 @@ public class CoupledStageFactory implements ProcessingStageFactory<Stage.Coupled
         Graph source = Objects.requireNonNull(stage.getPublisher());
         Graph sink = Objects.requireNonNull(stage.getSubscriber());
 
-        Publisher<O> publisher = engine.buildPublisher(source);
+        Publisher<O> publisher = engine.buildInnerPublisher(source);
         SubscriberWithCompletionStage<I, ?> subscriber = engine.buildSubscriber(sink);
 
         return upstream -> Flowable.fromPublisher(
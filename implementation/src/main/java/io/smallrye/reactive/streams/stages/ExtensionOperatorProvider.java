@@ -0,0 +1,33 @@
+package io.smallrye.reactive.streams.stages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.smallrye.reactive.streams.extensions.Batch;
+import io.smallrye.reactive.streams.extensions.LoadShedding;
+import io.smallrye.reactive.streams.extensions.Throttle;
+import io.smallrye.reactive.streams.extensions.TimedFlatMapCompletionStage;
+import io.smallrye.reactive.streams.operators.Operator;
+import io.smallrye.reactive.streams.operators.OperatorProvider;
+import io.smallrye.reactive.streams.operators.ProcessorOperator;
+
+/**
+ * Registers the operators of the stages provided by the engine in addition to the ones from the specification (see
+ * the {@code io.smallrye.reactive.streams.extensions} package).
+ */
+public class ExtensionOperatorProvider implements OperatorProvider {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Operator<?>> getOperators() {
+        List<Operator<?>> operators = new ArrayList<>();
+        operators.add(new ProcessorOperator<>(Batch.class, new BatchStageFactory()));
+        operators.add(new ProcessorOperator<>(Throttle.class, new ThrottleStageFactory()));
+        operators.add(new ProcessorOperator<>(LoadShedding.class, new LoadSheddingStageFactory()));
+        // The stage is generic, its class literal is raw.
+        operators.add(new ProcessorOperator<>(
+                (Class<TimedFlatMapCompletionStage<?, ?>>) (Class<?>) TimedFlatMapCompletionStage.class,
+                new TimedFlatMapCompletionStageFactory()));
+        return operators;
+    }
+}
@@ -9,6 +9,7 @@ import io.reactivex.Flowable;
 import io.smallrye.reactive.streams.Engine;
 import io.smallrye.reactive.streams.operators.ProcessingStage;
 import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
+import io.smallrye.reactive.streams.prefetch.AdaptivePrefetch;
 import io.smallrye.reactive.streams.utils.Casts;
 
 /**
@@ -19,19 +20,25 @@ public class FlatMapIterableStageFactory implements ProcessingStageFactory<Stage
     @Override
     public <I, O> ProcessingStage<I, O> create(Engine engine, Stage.FlatMapIterable stage) {
         Function<I, Iterable<O>> mapper = Casts.cast(stage.getMapper());
-        return new FlatMapIterable<>(mapper);
+        return new FlatMapIterable<>(mapper, AdaptivePrefetch.forEngine(engine));
     }
 
     private static class FlatMapIterable<I, O> implements ProcessingStage<I, O> {
         private final Function<I, Iterable<O>> mapper;
+        private final AdaptivePrefetch prefetch;
 
-        private FlatMapIterable(Function<I, Iterable<O>> mapper) {
+        private FlatMapIterable(Function<I, Iterable<O>> mapper, AdaptivePrefetch prefetch) {
             this.mapper = Objects.requireNonNull(mapper);
+            this.prefetch = prefetch;
         }
 
         @Override
         public Flowable<O> apply(Flowable<I> source) {
-            return source.concatMapIterable(mapper::apply);
+            if (prefetch == null) {
+                return source.concatMapIterable(mapper::apply);
+            }
+            // The adaptive prefetch buffers the upstream items, they are passed one by one to concatMapIterable.
+            return prefetch.prefetch(source).concatMapIterable(mapper::apply, 1);
         }
     }
 
@@ -42,7 +42,7 @@ public class FlatMapStageFactory implements ProcessingStageFactory<Stage.FlatMap
                     .concatMap((I item) -> {
                         Graph graph = mapper.apply(item);
                         Flowable<O> publisher = Flowable.fromPublisher(
-                                Objects.requireNonNull(engine.buildPublisher(Objects.requireNonNull(graph))));
+                                Objects.requireNonNull(engine.buildInnerPublisher(Objects.requireNonNull(graph))));
 
                         return (Subscriber<? super O> delegate) -> {
                             // Required because RX FlatMap subscriber does not enforce the reactive stream spec.
@@ -1,16 +1,21 @@
 package io.smallrye.reactive.streams.stages;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 
 import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
 import io.smallrye.reactive.streams.Engine;
 import io.smallrye.reactive.streams.operators.PublisherStage;
 import io.smallrye.reactive.streams.operators.PublisherStageFactory;
+import io.smallrye.reactive.streams.utils.FlowableFromList;
 
 /**
- * Implementation of the {@link Stage.Of} stage.
+ * Implementation of the {@link Stage.Of} stage. Lists supporting random access (including the arrays passed to
+ * {@code ReactiveStreams.of}) are emitted using indexed access.
  *
  * @author <a href="http://escoffier.me">Clement Escoffier</a>
  */
@@ -20,6 +25,9 @@ public class FromIterableStageFactory implements PublisherStageFactory<Stage.Of>
     @Override
     public <O> PublisherStage<O> create(Engine engine, Stage.Of stage) {
         Iterable<O> elements = (Iterable<O>) Objects.requireNonNull(Objects.requireNonNull(stage).getElements());
+        if (elements instanceof List && elements instanceof RandomAccess) {
+            return () -> RxJavaPlugins.onAssembly(new FlowableFromList<>((List<O>) elements));
+        }
         return () -> Flowable.fromIterable(elements);
     }
 }
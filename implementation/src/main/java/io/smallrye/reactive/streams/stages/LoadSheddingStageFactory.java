@@ -0,0 +1,51 @@
+package io.smallrye.reactive.streams.stages;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.extensions.LoadShedding;
+import io.smallrye.reactive.streams.extensions.SheddingMetrics;
+import io.smallrye.reactive.streams.operators.ProcessingStage;
+import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
+
+/**
+ * Implementation of the {@link LoadShedding} stage.
+ */
+public class LoadSheddingStageFactory implements ProcessingStageFactory<LoadShedding> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <I, O> ProcessingStage<I, O> create(Engine engine, LoadShedding stage) {
+        Objects.requireNonNull(stage);
+        SheddingMetrics metrics = stage.getMetrics();
+        long period = stage.getPeriod().toNanos();
+        return source -> {
+            Flowable<I> flowable = source.doOnNext(i -> metrics.onReceived());
+            switch (stage.getStrategy()) {
+                case DROP:
+                    flowable = flowable.onBackpressureDrop(i -> metrics.onDropped());
+                    break;
+                case DROP_OLDEST:
+                    flowable = flowable.onBackpressureBuffer(stage.getBufferSize(), metrics::onDropped,
+                            BackpressureOverflowStrategy.DROP_OLDEST);
+                    break;
+                case SAMPLE:
+                    // The timer emits regardless of the demand: keep the latest sample until requested.
+                    flowable = flowable.sample(period, TimeUnit.NANOSECONDS, Schedulers.computation(), true)
+                            .onBackpressureLatest();
+                    break;
+                case DEBOUNCE:
+                    flowable = flowable.debounce(period, TimeUnit.NANOSECONDS, Schedulers.computation())
+                            .onBackpressureLatest();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown strategy: " + stage.getStrategy());
+            }
+            return (Flowable<O>) flowable.doOnNext(i -> metrics.onEmitted());
+        };
+    }
+}
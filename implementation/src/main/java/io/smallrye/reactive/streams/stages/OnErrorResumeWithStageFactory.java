@@ -30,7 +30,7 @@ public class OnErrorResumeWithStageFactory implements ProcessingStageFactory<Sta
                 new OnErrorResumeWith<>(source, (Throwable err) -> {
                     Graph graph = function.apply(err);
                     return Flowable.fromPublisher(
-                            Objects.requireNonNull(engine.buildPublisher(Objects.requireNonNull(graph))));
+                            Objects.requireNonNull(engine.buildInnerPublisher(Objects.requireNonNull(graph))));
                 }));
     }
 }
@@ -7,8 +7,11 @@ import org.reactivestreams.Processor;
 
 import io.reactivex.Flowable;
 import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.operators.DeferredProcessor;
+import io.smallrye.reactive.streams.operators.Operator;
 import io.smallrye.reactive.streams.operators.ProcessingStage;
 import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
+import io.smallrye.reactive.streams.operators.ProcessorOperator;
 import io.smallrye.reactive.streams.utils.Casts;
 
 /**
@@ -20,13 +23,29 @@ public class ProcessorStageFactory implements ProcessingStageFactory<Stage.Proce
 
     @Override
     public <I, O> ProcessingStage<I, O> create(Engine engine, Stage.ProcessorStage stage) {
-        Processor<I, O> processor = Casts.cast(Objects.requireNonNull(
+        Processor<I, O> rsProcessor = Casts.cast(Objects.requireNonNull(
                 Objects.requireNonNull(stage).getRsProcessor()));
+        if (rsProcessor instanceof DeferredProcessor && ((DeferredProcessor<?, ?>) rsProcessor).getStage() != null) {
+            // Applied in place, with the configuration of this engine.
+            return inPlace(engine, ((DeferredProcessor<?, ?>) rsProcessor).getStage());
+        }
 
         return source -> Flowable.defer(() -> {
+            // Deferred processors are created for each materialization.
+            Processor<I, O> processor = rsProcessor instanceof DeferredProcessor
+                    ? Casts.cast(((DeferredProcessor<?, ?>) rsProcessor).create())
+                    : rsProcessor;
             Flowable<O> flowable = Flowable.fromPublisher(processor);
             source.safeSubscribe(processor);
             return flowable;
         });
     }
+
+    private static <I, O, S extends Stage> ProcessingStage<I, O> inPlace(Engine engine, S stage) {
+        Operator<S> operator = Stages.lookup(stage);
+        if (!(operator instanceof ProcessorOperator)) {
+            throw new IllegalArgumentException("The stage " + stage + " is not a processor stage");
+        }
+        return ((ProcessorOperator<S>) operator).create(engine, stage);
+    }
 }
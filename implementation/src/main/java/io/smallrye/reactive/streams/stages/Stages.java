@@ -3,17 +3,21 @@ package io.smallrye.reactive.streams.stages;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.ServiceLoader;
 
 import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
 import org.eclipse.microprofile.reactive.streams.operators.spi.UnsupportedStageException;
 
 import io.smallrye.reactive.streams.operators.Operator;
+import io.smallrye.reactive.streams.operators.OperatorProvider;
 import io.smallrye.reactive.streams.operators.ProcessorOperator;
 import io.smallrye.reactive.streams.operators.PublisherOperator;
 import io.smallrye.reactive.streams.operators.TerminalOperator;
 
 /**
  * Allows looking for the {@link Operator} for a given {@link Stage}.
+ * <p>
+ * Additional operators can be registered using the {@link OperatorProvider} SPI.
  */
 public class Stages {
 
@@ -22,23 +26,23 @@ public class Stages {
     static {
         ALL = new ArrayList<>();
 
-        ALL.add(new ProcessorOperator<>(Stage.Distinct.class, new DistinctStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Filter.class, new FilterStageFactory()));
+        ALL.add(new ProcessorOperator<>(Stage.Distinct.class, new DistinctStageFactory(), true));
+        ALL.add(new ProcessorOperator<>(Stage.Filter.class, new FilterStageFactory(), true));
         ALL.add(new ProcessorOperator<>(Stage.FlatMap.class, new FlatMapStageFactory()));
         ALL.add(new ProcessorOperator<>(Stage.FlatMapCompletionStage.class, new FlatMapCompletionStageFactory()));
         ALL.add(new ProcessorOperator<>(Stage.FlatMapIterable.class, new FlatMapIterableStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Map.class, new MapStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Peek.class, new PeekStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.OnComplete.class, new OnCompleteStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.OnTerminate.class, new OnTerminateStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.OnError.class, new OnErrorStageFactory()));
+        ALL.add(new ProcessorOperator<>(Stage.Map.class, new MapStageFactory(), true));
+        ALL.add(new ProcessorOperator<>(Stage.Peek.class, new PeekStageFactory(), true));
+        ALL.add(new ProcessorOperator<>(Stage.OnComplete.class, new OnCompleteStageFactory(), true));
+        ALL.add(new ProcessorOperator<>(Stage.OnTerminate.class, new OnTerminateStageFactory(), true));
+        ALL.add(new ProcessorOperator<>(Stage.OnError.class, new OnErrorStageFactory(), true));
         ALL.add(new ProcessorOperator<>(Stage.OnErrorResume.class, new OnErrorResumeStageFactory()));
         ALL.add(new ProcessorOperator<>(Stage.OnErrorResumeWith.class, new OnErrorResumeWithStageFactory()));
         ALL.add(new ProcessorOperator<>(Stage.ProcessorStage.class, new ProcessorStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.TakeWhile.class, new TakeWhileStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.DropWhile.class, new DropWhileStageFactory()));
+        ALL.add(new ProcessorOperator<>(Stage.TakeWhile.class, new TakeWhileStageFactory(), true));
+        ALL.add(new ProcessorOperator<>(Stage.DropWhile.class, new DropWhileStageFactory(), true));
         ALL.add(new ProcessorOperator<>(Stage.Limit.class, new LimitStageFactory()));
-        ALL.add(new ProcessorOperator<>(Stage.Skip.class, new SkipStageFactory()));
+        ALL.add(new ProcessorOperator<>(Stage.Skip.class, new SkipStageFactory(), true));
         ALL.add(new ProcessorOperator<>(Stage.Coupled.class, new CoupledStageFactory()));
 
         ALL.add(new PublisherOperator<>(Stage.Concat.class, new ConcatStageFactory()));
@@ -55,13 +59,42 @@ public class Stages {
         ALL.add(new TerminalOperator<>(Stage.SubscriberStage.class, new SubscriberStageFactory()));
     }
 
+    /**
+     * The custom operators, consulted after the built-in ones. They are loaded on the first lookup and not in the
+     * static initializer, so a native image initializing this class at build time does not instantiate the
+     * providers of the application during the build.
+     */
+    private static volatile List<Operator> custom;
+
     @SuppressWarnings("unchecked")
     public static <T extends Stage> Operator<T> lookup(T stage) {
         Objects.requireNonNull(stage, "The stage must not be `null`");
-        return ALL.stream().filter(p -> p.test(stage)).findAny()
+        for (Operator operator : ALL) {
+            if (operator.test(stage)) {
+                return operator;
+            }
+        }
+        return custom().stream().filter(p -> p.test(stage)).findAny()
                 .orElseThrow(() -> new UnsupportedStageException(stage));
     }
 
+    private static List<Operator> custom() {
+        List<Operator> operators = custom;
+        if (operators == null) {
+            synchronized (Stages.class) {
+                operators = custom;
+                if (operators == null) {
+                    operators = new ArrayList<>();
+                    for (OperatorProvider provider : ServiceLoader.load(OperatorProvider.class)) {
+                        operators.addAll(provider.getOperators());
+                    }
+                    custom = operators;
+                }
+            }
+        }
+        return operators;
+    }
+
     private Stages() {
         // Avoid direct instantiation.
     }
@@ -10,6 +10,8 @@ import io.reactivex.Flowable;
 import io.smallrye.reactive.streams.Engine;
 import io.smallrye.reactive.streams.operators.TerminalStage;
 import io.smallrye.reactive.streams.operators.TerminalStageFactory;
+import io.smallrye.reactive.streams.spi.Transformer;
+import io.smallrye.reactive.streams.utils.ConfinedWrappedSubscriber;
 import io.smallrye.reactive.streams.utils.WrappedSubscriber;
 
 /**
@@ -24,19 +26,26 @@ public class SubscriberStageFactory implements TerminalStageFactory<Stage.Subscr
     public <I, O> TerminalStage<I, O> create(Engine engine, Stage.SubscriberStage stage) {
         Subscriber<I> subscriber = (Subscriber<I>) Objects.requireNonNull(stage).getRsSubscriber();
         Objects.requireNonNull(subscriber);
-        return (TerminalStage<I, O>) new SubscriberStage<>(subscriber);
+        return (TerminalStage<I, O>) new SubscriberStage<>(subscriber, Transformer.isThreadConfined(engine));
     }
 
     private static class SubscriberStage<I> implements TerminalStage<I, Void> {
 
         private final Subscriber<I> subscriber;
+        private final boolean confined;
 
-        SubscriberStage(Subscriber<I> subscriber) {
+        SubscriberStage(Subscriber<I> subscriber, boolean confined) {
             this.subscriber = subscriber;
+            this.confined = confined;
         }
 
         @Override
         public CompletionStage<Void> apply(Flowable<I> source) {
+            if (confined) {
+                ConfinedWrappedSubscriber<I> wrapped = new ConfinedWrappedSubscriber<>(subscriber);
+                source.safeSubscribe(wrapped);
+                return wrapped.future();
+            }
             WrappedSubscriber<I> wrapped = new WrappedSubscriber<>(subscriber);
             source.safeSubscribe(wrapped);
             return wrapped.future();
@@ -0,0 +1,28 @@
+package io.smallrye.reactive.streams.stages;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.extensions.Throttle;
+import io.smallrye.reactive.streams.operators.ProcessingStage;
+import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
+import io.smallrye.reactive.streams.utils.FlowableThrottle;
+
+/**
+ * Implementation of the {@link Throttle} stage.
+ */
+public class ThrottleStageFactory implements ProcessingStageFactory<Throttle> {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <I, O> ProcessingStage<I, O> create(Engine engine, Throttle stage) {
+        Objects.requireNonNull(stage);
+        long period = stage.getPeriod().toNanos();
+        return source -> (Flowable<O>) RxJavaPlugins.onAssembly(new FlowableThrottle<>(source, stage.getPermits(),
+                stage.getBurst(), period, TimeUnit.NANOSECONDS, Schedulers.computation()));
+    }
+}
@@ -0,0 +1,84 @@
+package io.smallrye.reactive.streams.stages;
+
+import static io.smallrye.reactive.streams.utils.CompletionStageToPublisher.fromCompletionStage;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.extensions.LatencyHistogram;
+import io.smallrye.reactive.streams.extensions.LatencyMetrics;
+import io.smallrye.reactive.streams.extensions.TimedFlatMapCompletionStage;
+import io.smallrye.reactive.streams.operators.ProcessingStage;
+import io.smallrye.reactive.streams.operators.ProcessingStageFactory;
+import io.smallrye.reactive.streams.utils.Casts;
+
+/**
+ * Implementation of the {@link TimedFlatMapCompletionStage} stage.
+ * <p>
+ * As for {@code flatMapCompletionStage}, the mapper is invoked for one item at a time. Each item is wrapped with its
+ * reception time, and waits in the buffer of {@code concatMap} until the stage returned for the previous item
+ * completes: this wait is the queueing time. The result is wrapped with the reception time of its item until it is
+ * emitted downstream.
+ */
+public class TimedFlatMapCompletionStageFactory implements ProcessingStageFactory<TimedFlatMapCompletionStage<?, ?>> {
+
+    /**
+     * The number of items requested ahead by {@code concatMap}, waiting while a stage is in flight.
+     */
+    private static final int PREFETCH = 2;
+
+    @Override
+    public <I, O> ProcessingStage<I, O> create(Engine engine, TimedFlatMapCompletionStage<?, ?> stage) {
+        Function<I, CompletionStage<O>> mapper = Casts.cast(Objects.requireNonNull(stage).getMapper());
+        LatencyMetrics metrics = stage.getMetrics();
+        LatencyHistogram queueing = metrics.getQueueing();
+        LatencyHistogram completion = metrics.getCompletion();
+        LatencyHistogram endToEnd = metrics.getEndToEnd();
+        return source -> source
+                .map((I item) -> {
+                    if (item == null) {
+                        // Throw an NPE to be compliant with the reactive stream spec.
+                        throw new NullPointerException();
+                    }
+                    return new Timed<>(item, System.nanoTime());
+                })
+                .concatMap((Timed<I> timed) -> {
+                    long invoked = System.nanoTime();
+                    queueing.record(invoked - timed.received);
+                    CompletionStage<O> result = mapper.apply(timed.value);
+                    if (result == null) {
+                        // Throw an NPE to be compliant with the reactive stream spec.
+                        throw new NullPointerException();
+                    }
+                    // Recorded on completion, as concatMap emits the result only once requested, and before the
+                    // result is emitted. whenComplete would wrap the failures into a CompletionException.
+                    CompletableFuture<O> recorded = new CompletableFuture<>();
+                    result.whenComplete((value, failure) -> {
+                        completion.record(System.nanoTime() - invoked);
+                        if (failure != null) {
+                            recorded.completeExceptionally(failure);
+                        } else {
+                            recorded.complete(value);
+                        }
+                    });
+                    return fromCompletionStage(recorded, false).map(value -> new Timed<>(value, timed.received));
+                }, PREFETCH)
+                .map(timed -> {
+                    endToEnd.record(System.nanoTime() - timed.received);
+                    return timed.value;
+                });
+    }
+
+    private static final class Timed<T> {
+        private final T value;
+        private final long received;
+
+        private Timed(T value, long received) {
+            this.value = value;
+            this.received = received;
+        }
+    }
+}
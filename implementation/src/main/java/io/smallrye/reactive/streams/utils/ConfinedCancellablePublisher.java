@@ -0,0 +1,47 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Thread-confined variant of {@link CancellablePublisher}, used when the
+ * {@link io.smallrye.reactive.streams.spi.ExecutionModel} guarantees that all the signals happen on the thread
+ * assembling the stream.
+ */
+public class ConfinedCancellablePublisher<T> implements Publisher<T> {
+    private final Publisher<T> source;
+    private final Thread owner;
+    private boolean subscribed;
+
+    public ConfinedCancellablePublisher(Publisher<T> delegate) {
+        this(delegate, Confinement.owner());
+    }
+
+    ConfinedCancellablePublisher(Publisher<T> delegate, Thread owner) {
+        this.source = delegate;
+        this.owner = owner;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Confinement.check(owner, "subscribe");
+        Objects.requireNonNull(subscriber);
+        if (!subscribed) {
+            subscribed = true;
+            source.subscribe(subscriber);
+        } else {
+            subscriber.onSubscribe(new EmptySubscription());
+            subscriber.onError(new IllegalStateException("Multicast not supported"));
+        }
+    }
+
+    public void cancelIfNotSubscribed() {
+        Confinement.check(owner, "cancel");
+        if (!subscribed) {
+            subscribed = true;
+            source.subscribe(new CancellationSubscriber<>());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.Objects;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Thread-confined variant of {@link ConnectableProcessor}, used when the
+ * {@link io.smallrye.reactive.streams.spi.ExecutionModel} guarantees that all the signals happen on the thread
+ * assembling the stream. It goes through the same states, stored in plain fields.
+ */
+public class ConfinedConnectableProcessor<T> implements Processor<T, T> {
+
+    private final Thread owner;
+    private Subscriber<? super T> subscriber;
+    private Subscription subscription;
+    private Throwable failure;
+    private State state = State.IDLE;
+
+    public ConfinedConnectableProcessor() {
+        this(Confinement.owner());
+    }
+
+    ConfinedConnectableProcessor(Thread owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Confinement.check(owner, "subscribe");
+        Objects.requireNonNull(subscriber);
+
+        // We do not support multicasting.
+        if (this.subscriber != null) {
+            subscriber.onSubscribe(new EmptySubscription());
+            subscriber.onError(new IllegalStateException("Multicasting not supported"));
+            return;
+        }
+        this.subscriber = subscriber;
+
+        switch (state) {
+            case IDLE:
+                state = State.HAS_SUBSCRIBER;
+                break;
+            case FAILED:
+                subscriber.onSubscribe(new EmptySubscription());
+                subscriber.onError(failure);
+                break;
+            case COMPLETE:
+                subscriber.onSubscribe(new EmptySubscription());
+                subscriber.onComplete();
+                break;
+            case HAS_SUBSCRIPTION:
+                manageSubscribeInTheHasSubscriptionState(subscriber);
+                break;
+            default:
+                throw new IllegalStateException("Illegal transition - subscribe happened in the "
+                        + state.name() + " state");
+        }
+    }
+
+    private void manageSubscribeInTheHasSubscriptionState(Subscriber<? super T> subscriber) {
+        // We already have a subscription, use it.
+        // However, we could complete of failed while the subscriber receives it.
+        subscriber.onSubscribe(new WrappedSubscription(subscription, this::cancelled));
+        if (state == State.HAS_SUBSCRIPTION) {
+            state = State.PROCESSING;
+        } else if (state == State.FAILED) {
+            subscriber.onError(failure);
+        } else if (state == State.COMPLETE) {
+            subscriber.onComplete();
+        } else {
+            throw new IllegalStateException("Illegal transition - subscribe called in the "
+                    + state.name() + " state");
+        }
+    }
+
+    private void cancelled() {
+        subscriber = new CancellationSubscriber<>();
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        Confinement.check(owner, "onSubscribe");
+        Objects.requireNonNull(subscription);
+        // We already have a subscription, cancel the received one.
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+
+        // Handle the transition: IDLE -> HAS_SUBSCRIPTION.
+        if (state == State.IDLE) {
+            state = State.HAS_SUBSCRIPTION;
+        } else {
+            state = State.PROCESSING;
+            subscriber.onSubscribe(new WrappedSubscription(subscription, this::cancelled));
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Confinement.check(owner, "onNext");
+        Objects.requireNonNull(item);
+        if (subscriber == null) {
+            throw new IllegalStateException("No subscriber - cannot handle onNext");
+        } else {
+            subscriber.onNext(item);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        Confinement.check(owner, "onComplete");
+        if (state == State.PROCESSING) {
+            subscriber.onComplete();
+            state = State.COMPLETE;
+        } else if (state == State.FAILED || state == State.COMPLETE || state == State.IDLE) {
+            throw new IllegalStateException("Invalid transition, cannot handle onComplete in " + state.name());
+        } else {
+            state = State.COMPLETE;
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Confinement.check(owner, "onError");
+        Objects.requireNonNull(throwable);
+        this.failure = throwable;
+        if (state == State.PROCESSING) {
+            subscriber.onError(throwable);
+            state = State.FAILED;
+        } else if (state == State.FAILED || state == State.COMPLETE || state == State.IDLE) {
+            throw new IllegalStateException("Invalid transition, cannot handle onError in " + state.name());
+        } else {
+            state = State.FAILED;
+        }
+    }
+
+    private enum State {
+        IDLE, // Start state
+        HAS_SUBSCRIBER, // When we get a subscriber
+        HAS_SUBSCRIPTION, // When we get a subscription
+        PROCESSING, // Processing started
+        FAILED, // Caught an error, final state
+        COMPLETE // Completed, final state
+    }
+
+}
@@ -0,0 +1,65 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.Objects;
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Thread-confined variant of {@link WrappedProcessor}, used when the
+ * {@link io.smallrye.reactive.streams.spi.ExecutionModel} guarantees that all the signals happen on the thread
+ * assembling the stream.
+ */
+public class ConfinedWrappedProcessor<T> implements Processor<T, T> {
+    private final Subscriber<T> subscriber;
+    private final Publisher<T> publisher;
+    private final Thread owner;
+    private boolean subscribed;
+
+    public ConfinedWrappedProcessor(Subscriber<T> subscriber, Publisher<T> publisher) {
+        this(subscriber, publisher, Confinement.owner());
+    }
+
+    ConfinedWrappedProcessor(Subscriber<T> subscriber, Publisher<T> publisher, Thread owner) {
+        this.subscriber = subscriber;
+        this.publisher = publisher;
+        this.owner = owner;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Confinement.check(owner, "subscribe");
+        publisher.subscribe(subscriber);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        Confinement.check(owner, "onSubscribe");
+        if (subscribed) {
+            subscription.cancel();
+        } else {
+            subscribed = true;
+            subscriber.onSubscribe(subscription);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Confinement.check(owner, "onNext");
+        subscriber.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Confinement.check(owner, "onError");
+        subscriber.onError(Objects.requireNonNull(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        Confinement.check(owner, "onComplete");
+        subscriber.onComplete();
+    }
+}
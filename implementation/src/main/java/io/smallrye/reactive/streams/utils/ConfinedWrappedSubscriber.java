@@ -0,0 +1,69 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Thread-confined variant of {@link WrappedSubscriber}, used when the
+ * {@link io.smallrye.reactive.streams.spi.ExecutionModel} guarantees that all the signals happen on the thread
+ * assembling the stream.
+ */
+public class ConfinedWrappedSubscriber<T> implements Subscriber<T> {
+
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private final Subscriber<T> source;
+    private final Thread owner;
+    private boolean subscribed;
+
+    public ConfinedWrappedSubscriber(Subscriber<T> delegate) {
+        this(delegate, Confinement.owner());
+    }
+
+    ConfinedWrappedSubscriber(Subscriber<T> delegate, Thread owner) {
+        this.source = delegate;
+        this.owner = owner;
+    }
+
+    public CompletionStage<Void> future() {
+        return future;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        Confinement.check(owner, "onSubscribe");
+        Objects.requireNonNull(subscription);
+        if (!subscribed) {
+            subscribed = true;
+            source.onSubscribe(new WrappedSubscription(subscription,
+                    () -> future.completeExceptionally(new CancellationException())));
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        Confinement.check(owner, "onNext");
+        source.onNext(Objects.requireNonNull(item));
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Confinement.check(owner, "onError");
+        future.completeExceptionally(Objects.requireNonNull(throwable));
+        source.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        Confinement.check(owner, "onComplete");
+        future.complete(null);
+        source.onComplete();
+    }
+
+}
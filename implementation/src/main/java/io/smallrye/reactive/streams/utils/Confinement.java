@@ -0,0 +1,37 @@
+package io.smallrye.reactive.streams.utils;
+
+/**
+ * The debug mode of the thread-confined processors and subscribers, enabled with the
+ * {@code smallrye.reactive.streams.confinement.debug} system property. In this mode, they record the thread creating
+ * them and fail with an {@link IllegalStateException} when a signal is received on another thread.
+ */
+final class Confinement {
+
+    static final String DEBUG_PROPERTY = "smallrye.reactive.streams.confinement.debug";
+
+    private static final boolean DEBUG = Boolean.getBoolean(DEBUG_PROPERTY);
+
+    private Confinement() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * @return the calling thread in debug mode, {@code null} otherwise
+     */
+    static Thread owner() {
+        return DEBUG ? Thread.currentThread() : null;
+    }
+
+    /**
+     * Checks that the calling thread is the owner.
+     *
+     * @param owner the thread the object is confined to, {@code null} to skip the check
+     * @param signal the name of the received signal
+     */
+    static void check(Thread owner, String signal) {
+        if (owner != null && owner != Thread.currentThread()) {
+            throw new IllegalStateException("Thread confinement violated - " + signal + " called from "
+                    + Thread.currentThread().getName() + ", the stream is confined to " + owner.getName());
+        }
+    }
+}
@@ -9,6 +9,9 @@ import org.reactivestreams.Subscription;
 
 /**
  * A processor forwarding to a subscriber. This is used to connect a "next to be" producer.
+ * <p>
+ * Subclasses can be notified when the terminal signal has been delivered, see {@link #onTerminated()}, and reset the
+ * processor to reuse it for another stream, see {@link #reset()}.
  */
 public class ConnectableProcessor<T> implements Processor<T, T> {
 
@@ -32,6 +35,10 @@ public class ConnectableProcessor<T> implements Processor<T, T> {
      * Current state.
      */
     private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
+    /**
+     * Incremented on reset, so the subscriptions handed to the subscribers of the previous streams are ignored.
+     */
+    private volatile int generation;
 
     @Override
     public void subscribe(Subscriber<? super T> subscriber) {
@@ -53,15 +60,19 @@ public class ConnectableProcessor<T> implements Processor<T, T> {
                 // We were not in the idle state, the behavior depends on our current state
                 // For failure and completed, we just creates an empty subscription and immediately
                 // report the error or completion
-                if (state.get() == State.FAILED) {
+                // The state is read once, as the upstream can move it to a terminal state concurrently.
+                State current = state.get();
+                if (current == State.FAILED) {
                     manageSubscribeInFailedState(subscriber);
-                } else if (state.get() == State.COMPLETE) {
+                    onTerminated();
+                } else if (current == State.COMPLETE) {
                     manageSubscribeInCompleteState(subscriber);
-                } else if (state.get() == State.HAS_SUBSCRIPTION) {
+                    onTerminated();
+                } else if (current == State.HAS_SUBSCRIPTION) {
                     manageSubscribeInTheHasSubscriptionState(subscriber);
                 } else {
                     throw new IllegalStateException("Illegal transition - subscribe happened in the "
-                            + state.get().name() + " state");
+                            + current.name() + " state");
                 }
             }
         }
@@ -70,17 +81,18 @@ public class ConnectableProcessor<T> implements Processor<T, T> {
     private void manageSubscribeInTheHasSubscriptionState(Subscriber<? super T> subscriber) {
         // We already have a subscription, use it.
         // However, we could complete of failed in the meantime.
-        subscriber.onSubscribe(
-                new WrappedSubscription(subscription.get(),
-                        () -> this.subscriber.set(new CancellationSubscriber<>())));
+        subscriber.onSubscribe(new WrappedSubscription(subscription.get(), cancellation()));
         if (!state.compareAndSet(State.HAS_SUBSCRIPTION, State.PROCESSING)) {
-            if (state.get() == State.FAILED) {
+            State current = state.get();
+            if (current == State.FAILED) {
                 subscriber.onError(failure.get());
-            } else if (state.get() == State.COMPLETE) {
+                onTerminated();
+            } else if (current == State.COMPLETE) {
                 subscriber.onComplete();
+                onTerminated();
             } else {
                 throw new IllegalStateException("Illegal transition - subscribe called in the "
-                        + state.get().name() + " state");
+                        + current.name() + " state");
             }
         }
     }
@@ -107,11 +119,19 @@ public class ConnectableProcessor<T> implements Processor<T, T> {
         // Handle the transition: IDLE -> HAS_SUBSCRIPTION.
         if (!state.compareAndSet(State.IDLE, State.HAS_SUBSCRIPTION)) {
             state.set(State.PROCESSING);
-            subscriber.get().onSubscribe(new WrappedSubscription(subscription,
-                    () -> subscriber.set(new CancellationSubscriber<>())));
+            subscriber.get().onSubscribe(new WrappedSubscription(subscription, cancellation()));
         }
     }
 
+    private Runnable cancellation() {
+        int current = generation;
+        return () -> {
+            if (generation == current) {
+                subscriber.set(new CancellationSubscriber<>());
+            }
+        };
+    }
+
     @Override
     public void onNext(T item) {
         Objects.requireNonNull(item);
@@ -125,27 +145,74 @@ public class ConnectableProcessor<T> implements Processor<T, T> {
 
     @Override
     public void onComplete() {
-        if (state.get() == State.PROCESSING) {
-            subscriber.get().onComplete();
-            state.set(State.COMPLETE);
-        } else if (state.get() == State.FAILED || state.get() == State.COMPLETE || state.get() == State.IDLE) {
-            throw new IllegalStateException("Invalid transition, cannot handle onComplete in " + state.get().name());
-        } else {
-            state.set(State.COMPLETE);
-        }
+        terminate(State.COMPLETE);
     }
 
     @Override
     public void onError(Throwable throwable) {
         Objects.requireNonNull(throwable);
         this.failure.set(throwable);
-        if (state.get() == State.PROCESSING) {
-            subscriber.get().onError(throwable);
-            state.set(State.FAILED);
-        } else if (state.get() == State.FAILED || state.get() == State.COMPLETE || state.get() == State.IDLE) {
-            throw new IllegalStateException("Invalid transition, cannot handle onError in " + state.get().name());
-        } else {
-            state.set(State.FAILED);
+        terminate(State.FAILED);
+    }
+
+    /**
+     * Moves to the given terminal state. Without subscriber yet, the terminal signal is delivered on subscription.
+     * The transition is a CAS, so a subscriber moving to the PROCESSING state concurrently either finds the terminal
+     * state, or the terminal signal is delivered to it here.
+     *
+     * @param terminal the terminal state, {@code COMPLETE} or {@code FAILED}
+     */
+    private void terminate(State terminal) {
+        for (;;) {
+            State current = state.get();
+            if (current == State.PROCESSING) {
+                if (terminal == State.FAILED) {
+                    subscriber.get().onError(failure.get());
+                } else {
+                    subscriber.get().onComplete();
+                }
+                state.set(terminal);
+                onTerminated();
+                return;
+            } else if (current == State.FAILED || current == State.COMPLETE || current == State.IDLE) {
+                throw new IllegalStateException("Invalid transition, cannot handle "
+                        + (terminal == State.FAILED ? "onError" : "onComplete") + " in " + current.name());
+            } else if (state.compareAndSet(current, terminal)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Called once the terminal signal has been delivered to the subscriber. Does nothing by default.
+     */
+    protected void onTerminated() {
+        // Do nothing by default.
+    }
+
+    /**
+     * @return the number of times the processor has been reset
+     */
+    protected int generation() {
+        return generation;
+    }
+
+    /**
+     * Resets the processor to its initial state, so it can be used for another stream. Must only be called once the
+     * terminal signal has been delivered. The subscriptions handed to the previous subscriber no longer affect the
+     * processor.
+     *
+     * @return the new generation of the processor
+     */
+    protected int reset() {
+        synchronized (this) {
+            int next = generation + 1;
+            generation = next;
+            subscriber.set(null);
+            subscription.set(null);
+            failure.set(null);
+            state.set(State.IDLE);
+            return next;
         }
     }
 
@@ -0,0 +1,134 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.smallrye.reactive.streams.spi.ContextPropagator;
+
+/**
+ * Delivers the signals of a publisher with the context captured when the subscriber subscribed.
+ * <p>
+ * The contexts are captured once per subscription, and stored with the subscriber. They are installed around the
+ * delivery of each signal, except the nested ones (a signal emitted while delivering another one), for which they are
+ * already installed. Delivering a signal does not allocate.
+ *
+ * @param <T> the type of item
+ */
+public class ContextPropagatingFlowable<T> extends Flowable<T> {
+
+    private final Publisher<T> source;
+    private final ContextPropagator<Object>[] propagators;
+
+    @SuppressWarnings("unchecked")
+    public ContextPropagatingFlowable(Publisher<T> source, List<ContextPropagator<Object>> propagators) {
+        this.source = Objects.requireNonNull(source);
+        this.propagators = propagators.toArray((ContextPropagator<Object>[]) new ContextPropagator<?>[0]);
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> subscriber) {
+        Object[] contexts = new Object[propagators.length];
+        for (int i = 0; i < propagators.length; i++) {
+            contexts[i] = propagators[i].capture();
+        }
+        source.subscribe(new ContextSubscriber<>(subscriber, propagators, contexts));
+    }
+
+    static final class ContextSubscriber<T> implements FlowableSubscriber<T>, Subscription {
+
+        private final Subscriber<? super T> downstream;
+        private final ContextPropagator<Object>[] propagators;
+        private final Object[] contexts;
+        private final Object[] previous;
+        /**
+         * Whether the contexts are installed. Only accessed by the thread delivering the signals, which are serialized.
+         */
+        private boolean installed;
+        private Subscription upstream;
+
+        ContextSubscriber(Subscriber<? super T> downstream, ContextPropagator<Object>[] propagators,
+                Object[] contexts) {
+            this.downstream = downstream;
+            this.propagators = propagators;
+            this.contexts = contexts;
+            this.previous = new Object[propagators.length];
+        }
+
+        private boolean install() {
+            if (installed) {
+                return false;
+            }
+            for (int i = 0; i < propagators.length; i++) {
+                previous[i] = propagators[i].restore(contexts[i]);
+            }
+            installed = true;
+            return true;
+        }
+
+        private void uninstall() {
+            for (int i = propagators.length - 1; i >= 0; i--) {
+                propagators[i].restore(previous[i]);
+                previous[i] = null;
+            }
+            installed = false;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            boolean owner = install();
+            try {
+                downstream.onNext(item);
+            } finally {
+                if (owner) {
+                    uninstall();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            boolean owner = install();
+            try {
+                downstream.onError(failure);
+            } finally {
+                if (owner) {
+                    uninstall();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            boolean owner = install();
+            try {
+                downstream.onComplete();
+            } finally {
+                if (owner) {
+                    uninstall();
+                }
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Groups the items from the upstream into batches. A batch is emitted when it reaches the maximum number of items,
+ * when its estimated size reaches the maximum size in bytes, or when the maximum latency has elapsed since the
+ * reception of its first item, whichever comes first. The pending batch is emitted on completion.
+ * <p>
+ * At most {@code maxItems} items are requested from upstream and not yet delivered downstream, so the memory used by
+ * this operator is bounded even if the downstream does not request batches. The batch lists are pre-sized from the
+ * size of the previous batch to avoid re-allocations while filling them.
+ *
+ * @param <T> the type of item
+ */
+public final class FlowableBatch<T> extends Flowable<List<T>> {
+
+    private final Publisher<T> source;
+    private final int maxItems;
+    private final long maxBytes;
+    private final ToLongFunction<? super T> estimator;
+    private final long maxLatency;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    /**
+     * Creates a new {@link FlowableBatch}.
+     *
+     * @param source the upstream
+     * @param maxItems the maximum number of items per batch, must be strictly positive
+     * @param maxBytes the maximum estimated size of a batch, {@link Long#MAX_VALUE} to disable
+     * @param estimator the size estimator, can be {@code null} if {@code maxBytes} is {@link Long#MAX_VALUE}
+     * @param maxLatency the maximum latency, {@code 0} to disable
+     * @param unit the time unit of {@code maxLatency}
+     * @param scheduler the scheduler used to emit the batches on timeout
+     */
+    public FlowableBatch(Publisher<T> source, int maxItems, long maxBytes, ToLongFunction<? super T> estimator,
+            long maxLatency, TimeUnit unit, Scheduler scheduler) {
+        this.source = Objects.requireNonNull(source);
+        if (maxItems <= 0) {
+            throw new IllegalArgumentException("The maximum number of items must be strictly positive");
+        }
+        if (maxBytes != Long.MAX_VALUE && estimator == null) {
+            throw new IllegalArgumentException("A size estimator is required to limit the size of the batches");
+        }
+        this.maxItems = maxItems;
+        this.maxBytes = maxBytes;
+        this.estimator = estimator;
+        this.maxLatency = maxLatency;
+        this.unit = Objects.requireNonNull(unit);
+        this.scheduler = Objects.requireNonNull(scheduler);
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super List<T>> s) {
+        Scheduler.Worker worker = maxLatency > 0 ? scheduler.createWorker() : null;
+        source.subscribe(new BatchSubscriber<>(s, this, worker));
+    }
+
+    static final class BatchSubscriber<T> extends AtomicInteger implements FlowableSubscriber<T>, Subscription {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Subscriber<? super List<T>> downstream;
+        private final transient FlowableBatch<T> parent;
+        private final transient Scheduler.Worker worker;
+        private final AtomicLong requested = new AtomicLong();
+
+        /**
+         * The closed batches waiting for downstream requests, guarded by {@code this}.
+         */
+        private final transient ArrayDeque<List<T>> ready = new ArrayDeque<>();
+
+        /**
+         * The batch being filled, guarded by {@code this}.
+         */
+        private transient List<T> current;
+        private long currentBytes;
+        private int lastBatchSize;
+        /**
+         * Identifies the batch being filled, so a late timer does not close the next batch.
+         */
+        private long generation;
+        private transient Disposable timer;
+
+        private transient Subscription upstream;
+        private volatile boolean done;
+        private transient Throwable failure;
+        private volatile boolean cancelled;
+
+        BatchSubscriber(Subscriber<? super List<T>> downstream, FlowableBatch<T> parent, Scheduler.Worker worker) {
+            this.downstream = downstream;
+            this.parent = parent;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.upstream, s)) {
+                this.upstream = s;
+                downstream.onSubscribe(this);
+                s.request(parent.maxItems);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            long bytes = parent.maxBytes != Long.MAX_VALUE ? parent.estimator.applyAsLong(item) : 0L;
+            synchronized (this) {
+                if (current == null) {
+                    current = new ArrayList<>(lastBatchSize == 0 ? 16 : lastBatchSize);
+                    if (worker != null) {
+                        long id = generation;
+                        timer = worker.schedule(() -> onTimeout(id), parent.maxLatency, parent.unit);
+                    }
+                }
+                current.add(item);
+                currentBytes += bytes;
+                if (current.size() >= parent.maxItems || currentBytes >= parent.maxBytes) {
+                    close();
+                }
+            }
+            drain();
+        }
+
+        private void onTimeout(long id) {
+            synchronized (this) {
+                if (id != generation || current == null) {
+                    return;
+                }
+                close();
+            }
+            drain();
+        }
+
+        /**
+         * Closes the current batch. Must be called while holding the lock.
+         */
+        private void close() {
+            ready.offer(current);
+            lastBatchSize = current.size();
+            current = null;
+            currentBytes = 0;
+            generation++;
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                RxJavaPlugins.onError(t);
+                return;
+            }
+            failure = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            synchronized (this) {
+                if (current != null) {
+                    close();
+                }
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Invalid request number, must be greater than 0"));
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                upstream.cancel();
+                dispose();
+            }
+        }
+
+        private void dispose() {
+            if (worker != null) {
+                worker.dispose();
+            }
+            synchronized (this) {
+                current = null;
+                ready.clear();
+            }
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long r = requested.get();
+                long e = 0L;
+                while (e != r) {
+                    if (cancelled) {
+                        return;
+                    }
+                    boolean d = done;
+                    if (d && failure != null) {
+                        dispose();
+                        downstream.onError(failure);
+                        return;
+                    }
+                    List<T> batch;
+                    synchronized (this) {
+                        batch = ready.poll();
+                    }
+                    if (batch == null) {
+                        if (d) {
+                            dispose();
+                            downstream.onComplete();
+                            return;
+                        }
+                        break;
+                    }
+                    downstream.onNext(batch);
+                    e++;
+                    if (!d) {
+                        // Replenish the items delivered downstream.
+                        upstream.request(batch.size());
+                    }
+                }
+
+                if (e == r) {
+                    if (cancelled) {
+                        return;
+                    }
+                    if (done) {
+                        boolean empty;
+                        synchronized (this) {
+                            empty = ready.isEmpty();
+                        }
+                        if (failure != null || empty) {
+                            dispose();
+                            if (failure != null) {
+                                downstream.onError(failure);
+                            } else {
+                                downstream.onComplete();
+                            }
+                            return;
+                        }
+                    }
+                }
+
+                if (e != 0L) {
+                    BackpressureHelper.produced(requested, e);
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
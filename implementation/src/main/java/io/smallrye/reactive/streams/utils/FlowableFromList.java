@@ -0,0 +1,203 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import org.reactivestreams.Subscriber;
+
+import io.reactivex.Flowable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.internal.subscriptions.BasicQueueSubscription;
+import io.reactivex.internal.subscriptions.EmptySubscription;
+import io.reactivex.internal.subscriptions.ScalarSubscription;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+
+/**
+ * Emits the items of a {@link RandomAccess} list using indexed access, instead of allocating an iterator and calling
+ * {@code hasNext} / {@code next} for each item. The size of the list is read when a subscriber subscribes: empty
+ * lists complete immediately, and single-item lists use a scalar subscription. The subscription supports the
+ * synchronous fusion mode, so fusion-capable downstream operators poll the items directly.
+ * <p>
+ * As with {@link Flowable#fromIterable(Iterable)}, a {@code null} item fails the stream with a
+ * {@link NullPointerException}.
+ *
+ * @param <T> the type of item
+ */
+public final class FlowableFromList<T> extends Flowable<T> {
+
+    private final List<T> list;
+
+    /**
+     * Creates a new {@link FlowableFromList}.
+     *
+     * @param list the list, must implement {@link RandomAccess}
+     */
+    public FlowableFromList(List<T> list) {
+        this.list = Objects.requireNonNull(list);
+        if (!(list instanceof RandomAccess)) {
+            throw new IllegalArgumentException("The list must support random access");
+        }
+    }
+
+    /**
+     * @return the list emitted by this publisher
+     */
+    public List<T> getList() {
+        return list;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        int size;
+        T single = null;
+        try {
+            size = list.size();
+            if (size == 1) {
+                single = list.get(0);
+            }
+        } catch (Throwable e) {
+            Exceptions.throwIfFatal(e);
+            EmptySubscription.error(e, s);
+            return;
+        }
+        if (size == 0) {
+            EmptySubscription.complete(s);
+        } else if (size == 1 && single != null) {
+            s.onSubscribe(new ScalarSubscription<>(s, single));
+        } else {
+            s.onSubscribe(new ListSubscription<>(s, list, size));
+        }
+    }
+
+    static final class ListSubscription<T> extends BasicQueueSubscription<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Subscriber<? super T> downstream;
+        private final transient List<T> list;
+        private final int size;
+
+        private int index;
+        private volatile boolean cancelled;
+
+        ListSubscription(Subscriber<? super T> downstream, List<T> list, int size) {
+            this.downstream = downstream;
+            this.list = list;
+            this.size = size;
+        }
+
+        @Override
+        public int requestFusion(int mode) {
+            return mode & SYNC;
+        }
+
+        @Override
+        public T poll() {
+            int i = index;
+            if (i == size) {
+                return null;
+            }
+            index = i + 1;
+            return Objects.requireNonNull(list.get(i), "The list contains a null item");
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return index == size;
+        }
+
+        @Override
+        public void clear() {
+            index = size;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n) && BackpressureHelper.add(this, n) == 0L) {
+                if (n == Long.MAX_VALUE) {
+                    fastPath();
+                } else {
+                    slowPath(n);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Emits all the items, the downstream requested an unbounded number of items.
+         */
+        private void fastPath() {
+            for (int i = index; i != size; i++) {
+                if (cancelled) {
+                    return;
+                }
+                T item;
+                try {
+                    item = list.get(i);
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    downstream.onError(e);
+                    return;
+                }
+                if (item == null) {
+                    downstream.onError(new NullPointerException("The list contains a null item"));
+                    return;
+                }
+                downstream.onNext(item);
+            }
+            if (!cancelled) {
+                downstream.onComplete();
+            }
+        }
+
+        private void slowPath(long r) {
+            long e = 0L;
+            int i = index;
+            for (;;) {
+                while (e != r && i != size) {
+                    if (cancelled) {
+                        return;
+                    }
+                    T item;
+                    try {
+                        item = list.get(i);
+                    } catch (Throwable ex) {
+                        Exceptions.throwIfFatal(ex);
+                        downstream.onError(ex);
+                        return;
+                    }
+                    if (item == null) {
+                        downstream.onError(new NullPointerException("The list contains a null item"));
+                        return;
+                    }
+                    downstream.onNext(item);
+                    e++;
+                    i++;
+                }
+
+                if (i == size) {
+                    if (!cancelled) {
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+
+                r = get();
+                if (e == r) {
+                    index = i;
+                    r = addAndGet(-e);
+                    if (r == 0L) {
+                        return;
+                    }
+                    e = 0L;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.Scheduler;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+
+/**
+ * Limits the rate of the items using a token bucket. The bucket holds at most {@code burst} tokens and is refilled
+ * with {@code permits} tokens every {@code period}. Each item requested from upstream consumes a token, so the
+ * upstream is back-pressured instead of having its items buffered: no more than
+ * {@code burst + permits * elapsed / period} items are requested.
+ *
+ * @param <T> the type of item
+ */
+public final class FlowableThrottle<T> extends Flowable<T> {
+
+    private final Publisher<T> source;
+    private final long permits;
+    private final long burst;
+    private final long period;
+    private final TimeUnit unit;
+    private final Scheduler scheduler;
+
+    public FlowableThrottle(Publisher<T> source, long permits, long burst, long period, TimeUnit unit,
+            Scheduler scheduler) {
+        this.source = Objects.requireNonNull(source);
+        if (permits <= 0 || burst <= 0 || period <= 0) {
+            throw new IllegalArgumentException("The permits, burst and period must be strictly positive");
+        }
+        this.permits = permits;
+        this.burst = burst;
+        this.period = period;
+        this.unit = Objects.requireNonNull(unit);
+        this.scheduler = Objects.requireNonNull(scheduler);
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> s) {
+        source.subscribe(new ThrottleSubscriber<>(s, this, scheduler.createWorker()));
+    }
+
+    static final class ThrottleSubscriber<T> implements FlowableSubscriber<T>, Subscription {
+
+        private final Subscriber<? super T> downstream;
+        private final FlowableThrottle<T> parent;
+        private final Scheduler.Worker worker;
+
+        private Subscription upstream;
+
+        /**
+         * The available tokens, guarded by {@code this}.
+         */
+        private long tokens;
+
+        /**
+         * The downstream requests not yet forwarded to upstream, guarded by {@code this}.
+         */
+        private long pending;
+
+        ThrottleSubscriber(Subscriber<? super T> downstream, FlowableThrottle<T> parent, Scheduler.Worker worker) {
+            this.downstream = downstream;
+            this.parent = parent;
+            this.worker = worker;
+            this.tokens = parent.burst;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.upstream, s)) {
+                this.upstream = s;
+                worker.schedulePeriodically(this::refill, parent.period, parent.period, parent.unit);
+                downstream.onSubscribe(this);
+            }
+        }
+
+        private void refill() {
+            synchronized (this) {
+                tokens = Math.min(parent.burst, tokens + parent.permits);
+            }
+            forward();
+        }
+
+        private void forward() {
+            long n;
+            synchronized (this) {
+                n = Math.min(tokens, pending);
+                tokens -= n;
+                pending -= n;
+            }
+            if (n > 0) {
+                upstream.request(n);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            worker.dispose();
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            worker.dispose();
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Invalid request number, must be greater than 0"));
+                return;
+            }
+            synchronized (this) {
+                pending = BackpressureHelper.addCap(pending, n);
+            }
+            forward();
+        }
+
+        @Override
+        public void cancel() {
+            worker.dispose();
+            upstream.cancel();
+        }
+    }
+}
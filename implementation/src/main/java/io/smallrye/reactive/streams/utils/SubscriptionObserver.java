@@ -89,12 +89,19 @@ class SubscriptionObserver<X> {
                 if (manageCompletionOrErrorFromBeforeSubscription(sub) || manageAlreadySubscribed(sub)) {
                     return;
                 }
-                if (downstream.get() == null) {
+                Subscriber<? super X> subscriber = downstream.get();
+                if (subscriber == null) {
                     sub.cancel();
+                    return;
                 }
-                // The subscription is set.
-                state.set(State.SUBSCRIBED);
-                injectSubscription(downstream.get(), sub);
+                // The subscription is passed before entering the SUBSCRIBED state, so the other observer cannot
+                // deliver a terminal signal before it. The downstream can cancel, or the upstream can terminate,
+                // while receiving it, in which case the state is already terminal.
+                injectSubscription(subscriber, sub);
+                state.compareAndSet(State.INIT, State.SUBSCRIBED);
+                // The other observer may have terminated after the check, while this one was not subscribed yet,
+                // and so its notification has been ignored.
+                manageCompletionOrErrorDuringSubscription();
             }
 
             @Override
@@ -104,17 +111,24 @@ class SubscriptionObserver<X> {
 
             @Override
             public synchronized void onError(Throwable t) {
-                state.set(State.FAILED);
-                apply(downstream, d -> d.onError(Objects.requireNonNull(t)));
+                // Set before the state, as the other observer reads it once it sees the FAILED state.
+                failure.set(Objects.requireNonNull(t));
+                // The other observer can complete or fail the downstream concurrently, the CAS delivers the
+                // terminal signal once.
+                if (state.compareAndSet(State.SUBSCRIBED, State.FAILED)
+                        || state.compareAndSet(State.INIT, State.FAILED)) {
+                    apply(downstream, d -> d.onError(t));
+                }
                 apply(subscription, Subscription::cancel);
-                failure.set(t);
                 apply(observer, obs -> obs.error(t));
             }
 
             @Override
             public synchronized void onComplete() {
-                state.set(State.COMPLETED);
-                apply(downstream, Subscriber::onComplete);
+                if (state.compareAndSet(State.SUBSCRIBED, State.COMPLETED)
+                        || state.compareAndSet(State.INIT, State.COMPLETED)) {
+                    apply(downstream, Subscriber::onComplete);
+                }
                 apply(subscription, Subscription::cancel);
                 apply(observer, SubscriptionObserver::complete);
             }
@@ -172,12 +186,26 @@ class SubscriptionObserver<X> {
         return false;
     }
 
+    private void manageCompletionOrErrorDuringSubscription() {
+        SubscriptionObserver<?> obs = observer.get();
+        if (obs != null) {
+            State current = obs.state.get();
+            if (current == State.FAILED) {
+                error(obs.failure());
+            } else if (current == State.COMPLETED) {
+                complete();
+            }
+        }
+    }
+
     /**
      * The observed streams has failed.
      *
      * @param failure the error.
      */
     public synchronized void error(Throwable failure) {
+        // Set before the state, as the other observer reads it once it sees the FAILED state.
+        this.failure.set(failure);
         if (state.compareAndSet(State.SUBSCRIBED, State.FAILED)) {
             apply(downstream, stream -> stream.onError(failure));
             apply(subscription, Subscription::cancel);
@@ -31,6 +31,11 @@ public class OnErrorResumeWithSubscriber<T> implements FlowableSubscriber<T> {
     public void onSubscribe(Subscription s) {
         if (!(s instanceof EmptySubscription)) {
             arbiter.setSubscription(s);
+            // The arbiter may miss a cancellation racing with the installation of the subscription: cancel it again.
+            // Cancelling twice is allowed by the Reactive Streams specification.
+            if (arbiter.isCancelled()) {
+                s.cancel();
+            }
         }
         // else the subscription has already been cancelled, and so we must not subscribe to
         // be compliant with Reactive Streams.
@@ -0,0 +1,229 @@
+package io.smallrye.reactive.streams.watchdog;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.watchdog.LeakedStream.Kind;
+
+/**
+ * Reports the streams that are garbage collected without having been subscribed, or without having terminated. The
+ * upstream of such streams has never been subscribed, nor cancelled, so the resources it holds (connections,
+ * registrations, buffers...) are never released. This is typically the case of a publisher or processor built and
+ * then dropped by the user code, or of a subscriber built by the engine and never subscribed to a publisher.
+ * <p>
+ * The detector is disabled by default. Once {@link Builder#install() installed}, one stream out of
+ * {@link Builder#samplingInterval(int) samplingInterval} built by the {@link io.smallrye.reactive.streams.Engine} is
+ * tracked using phantom references, and its assembly site (the stack trace of the thread building it) is recorded.
+ * The other streams are not instrumented. The garbage collected streams are reported when the next sampled stream is
+ * built, or when {@link #check()} is called. A stream can only be reported once it has been garbage collected, so
+ * the detection depends on the GC activity.
+ *
+ * <pre>
+ * LeakDetector.builder()
+ *         .samplingInterval(1) // Track every stream, in tests
+ *         .install();
+ * </pre>
+ */
+public final class LeakDetector implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(LeakDetector.class.getName());
+
+    private static volatile LeakDetector current;
+
+    private final int samplingInterval;
+    private final Consumer<LeakedStream> listener;
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    /**
+     * The trackers of the streams not resolved yet. Keeps the trackers reachable until their referent is collected.
+     */
+    private final Set<Tracker> trackers = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private LeakDetector(Builder builder) {
+        this.samplingInterval = builder.samplingInterval;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the installed detector, empty if the detection is disabled
+     */
+    public static Optional<LeakDetector> current() {
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Tracks the given flowable if a detector is installed and the stream is sampled. Called by the engine on the last
+     * flowable of each graph.
+     *
+     * @param flowable the flowable
+     * @param stages the stages of the graph
+     * @param <T> the type of item
+     * @return the given flowable if the stream is not tracked, a flowable tracking it otherwise
+     */
+    public static <T> Flowable<T> track(Flowable<T> flowable, Collection<Stage> stages) {
+        LeakDetector detector = current;
+        if (detector == null || !detector.sample()) {
+            return flowable;
+        }
+        detector.check();
+        return new LeakTrackingFlowable<>(flowable, stages, detector);
+    }
+
+    /**
+     * @return the number of tracked streams not subscribed or not terminated yet
+     */
+    public int getTrackedStreams() {
+        return trackers.size();
+    }
+
+    /**
+     * Reports the tracked streams garbage collected since the last check. The listener is called for each of them.
+     *
+     * @return the leaked streams, empty if none
+     */
+    public List<LeakedStream> check() {
+        List<LeakedStream> leaks = Collections.emptyList();
+        Tracker tracker;
+        while ((tracker = (Tracker) queue.poll()) != null) {
+            if (trackers.remove(tracker)) {
+                if (leaks.isEmpty()) {
+                    leaks = new ArrayList<>();
+                }
+                leaks.add(new LeakedStream(tracker.kind, StreamWatchdog.describe(tracker.stages),
+                        tracker.assemblySite));
+            }
+        }
+        for (LeakedStream leak : leaks) {
+            try {
+                listener.accept(leak);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "The leak listener failed", e);
+            }
+        }
+        return leaks;
+    }
+
+    /**
+     * Uninstalls the detector. The streams built afterwards are not tracked anymore, and the tracked streams are not
+     * reported anymore.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (LeakDetector.class) {
+            if (current == this) {
+                current = null;
+            }
+        }
+        trackers.clear();
+    }
+
+    private boolean sample() {
+        return samplingInterval == 1 || ThreadLocalRandom.current().nextInt(samplingInterval) == 0;
+    }
+
+    Tracker track(Object referent, Kind kind, Collection<Stage> stages, Throwable assemblySite) {
+        Tracker tracker = new Tracker(referent, queue, kind, stages, assemblySite);
+        if (!closed) {
+            trackers.add(tracker);
+        }
+        return tracker;
+    }
+
+    void resolve(Tracker tracker) {
+        if (trackers.remove(tracker)) {
+            tracker.clear();
+        }
+    }
+
+    private static void install(LeakDetector detector) {
+        LeakDetector previous;
+        synchronized (LeakDetector.class) {
+            previous = current;
+            current = detector;
+        }
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    static final class Tracker extends PhantomReference<Object> {
+        private final Kind kind;
+        private final Collection<Stage> stages;
+        private final Throwable assemblySite;
+
+        private Tracker(Object referent, ReferenceQueue<Object> queue, Kind kind, Collection<Stage> stages,
+                Throwable assemblySite) {
+            super(referent, queue);
+            this.kind = kind;
+            this.stages = stages;
+            this.assemblySite = assemblySite;
+        }
+    }
+
+    public static class Builder {
+        private int samplingInterval = 128;
+        private Consumer<LeakedStream> listener = leak -> LOGGER.log(Level.WARNING,
+                "Leaked stream detected: " + leak.getKind() + " " + leak.getStages(), leak.getAssemblySite());
+
+        private Builder() {
+            // Use LeakDetector.builder().
+        }
+
+        /**
+         * @param samplingInterval the detector tracks one stream out of {@code samplingInterval}, must be strictly
+         *        positive, 128 by default. Use {@code 1} to track every stream.
+         * @return this builder
+         */
+        public Builder samplingInterval(int samplingInterval) {
+            if (samplingInterval <= 0) {
+                throw new IllegalArgumentException("The sampling interval must be strictly positive");
+            }
+            this.samplingInterval = samplingInterval;
+            return this;
+        }
+
+        /**
+         * @param listener the listener called with each leaked stream, must not be {@code null}. By default, the
+         *        leaked streams are logged with the {@code WARNING} level, with their assembly site.
+         * @return this builder
+         */
+        public Builder listener(Consumer<LeakedStream> listener) {
+            this.listener = Objects.requireNonNull(listener);
+            return this;
+        }
+
+        /**
+         * Creates the detector and installs it, replacing the previously installed one.
+         *
+         * @return the installed detector
+         */
+        public LeakDetector install() {
+            LeakDetector detector = new LeakDetector(this);
+            LeakDetector.install(detector);
+            return detector;
+        }
+    }
+}
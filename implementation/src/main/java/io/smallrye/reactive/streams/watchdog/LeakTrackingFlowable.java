@@ -0,0 +1,92 @@
+package io.smallrye.reactive.streams.watchdog;
+
+import java.util.Collection;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.smallrye.reactive.streams.watchdog.LeakDetector.Tracker;
+import io.smallrye.reactive.streams.watchdog.LeakedStream.Kind;
+
+/**
+ * Tracks a sampled stream: the flowable itself until it is subscribed, and then each subscription until it terminates
+ * or is cancelled. The items are forwarded without any additional work.
+ */
+final class LeakTrackingFlowable<T> extends Flowable<T> {
+
+    private final Publisher<T> source;
+    private final Collection<Stage> stages;
+    private final LeakDetector detector;
+    private final Throwable assemblySite;
+    private final Tracker tracker;
+
+    LeakTrackingFlowable(Publisher<T> source, Collection<Stage> stages, LeakDetector detector) {
+        this.source = source;
+        this.stages = stages;
+        this.detector = detector;
+        this.assemblySite = new Throwable("Stream built here");
+        this.tracker = detector.track(this, Kind.NEVER_SUBSCRIBED, stages, assemblySite);
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> subscriber) {
+        detector.resolve(tracker);
+        source.subscribe(new LeakTrackingSubscriber<>(subscriber, stages, detector, assemblySite));
+    }
+
+    static final class LeakTrackingSubscriber<T> implements FlowableSubscriber<T>, Subscription {
+
+        private final Subscriber<? super T> downstream;
+        private final LeakDetector detector;
+        private final Tracker tracker;
+        private Subscription upstream;
+
+        LeakTrackingSubscriber(Subscriber<? super T> downstream, Collection<Stage> stages, LeakDetector detector,
+                Throwable assemblySite) {
+            this.downstream = downstream;
+            this.detector = detector;
+            this.tracker = detector.track(this, Kind.NEVER_TERMINATED, stages, assemblySite);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (SubscriptionHelper.validate(upstream, subscription)) {
+                this.upstream = subscription;
+                downstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            detector.resolve(tracker);
+            downstream.onError(failure);
+        }
+
+        @Override
+        public void onComplete() {
+            detector.resolve(tracker);
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            detector.resolve(tracker);
+            upstream.cancel();
+        }
+    }
+}
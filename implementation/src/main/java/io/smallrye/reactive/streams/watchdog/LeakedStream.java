@@ -0,0 +1,63 @@
+package io.smallrye.reactive.streams.watchdog;
+
+import java.util.List;
+
+/**
+ * A stream garbage collected without having been subscribed, or without having terminated, reported by the
+ * {@link LeakDetector}.
+ */
+public final class LeakedStream {
+
+    /**
+     * The kind of leak.
+     */
+    public enum Kind {
+        /**
+         * The publisher or processor built by the engine has been dropped without being subscribed. Its upstream has
+         * never been subscribed, nor cancelled.
+         */
+        NEVER_SUBSCRIBED,
+        /**
+         * The stream has been subscribed, and then dropped without completing, failing or being cancelled. For
+         * example, the subscriber built by the engine has never been subscribed to a publisher, or the upstream has
+         * dropped its subscriber.
+         */
+        NEVER_TERMINATED
+    }
+
+    private final Kind kind;
+    private final List<String> stages;
+    private final Throwable assemblySite;
+
+    LeakedStream(Kind kind, List<String> stages, Throwable assemblySite) {
+        this.kind = kind;
+        this.stages = stages;
+        this.assemblySite = assemblySite;
+    }
+
+    /**
+     * @return the kind of leak
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the names of the stages of the graph, in order, such as {@code [Of, Map, FlatMapCompletionStage]}
+     */
+    public List<String> getStages() {
+        return stages;
+    }
+
+    /**
+     * @return a throwable whose stack trace is the one of the thread that built the stream
+     */
+    public Throwable getAssemblySite() {
+        return assemblySite;
+    }
+
+    @Override
+    public String toString() {
+        return "LeakedStream{kind=" + kind + ", stages=" + stages + "}";
+    }
+}
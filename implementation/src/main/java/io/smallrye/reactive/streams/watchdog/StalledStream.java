@@ -0,0 +1,74 @@
+package io.smallrye.reactive.streams.watchdog;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A stream that has not emitted any signal for longer than the idle threshold of the {@link StreamWatchdog}.
+ * <p>
+ * The outstanding demand tells which side is stuck: {@code 0} means the subscriber has consumed all the requested
+ * items and does not request more, a positive value means the stream waits for the upstream (a publisher, or a
+ * {@link java.util.concurrent.CompletionStage} that never completes).
+ */
+public final class StalledStream {
+
+    private final List<String> stages;
+    private final long idleNanos;
+    private final long received;
+    private final long outstandingDemand;
+    private final boolean cancelled;
+
+    StalledStream(List<String> stages, long idleNanos, long received, long outstandingDemand, boolean cancelled) {
+        this.stages = stages;
+        this.idleNanos = idleNanos;
+        this.received = received;
+        this.outstandingDemand = outstandingDemand;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * @return the names of the stages of the graph, in order, such as {@code [Of, Map, FlatMapCompletionStage]}
+     */
+    public List<String> getStages() {
+        return stages;
+    }
+
+    /**
+     * @param unit the unit of the returned value
+     * @return the time elapsed since the last signal, or since the subscription if no signal has been emitted
+     */
+    public long getIdleTime(TimeUnit unit) {
+        return unit.convert(idleNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the number of items emitted by the stream
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    /**
+     * @return the number of items requested by the subscriber and not emitted yet, {@link Long#MAX_VALUE} if the
+     *         demand is unbounded
+     */
+    public long getOutstandingDemand() {
+        return outstandingDemand;
+    }
+
+    /**
+     * @return whether the watchdog has cancelled the stream
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return "StalledStream{stages=" + stages
+                + ", idle=" + getIdleTime(TimeUnit.MILLISECONDS) + "ms"
+                + ", received=" + received
+                + ", outstandingDemand=" + (outstandingDemand == Long.MAX_VALUE ? "unbounded" : outstandingDemand)
+                + ", cancelled=" + cancelled + "}";
+    }
+}
@@ -0,0 +1,303 @@
+package io.smallrye.reactive.streams.watchdog;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.watchdog.WatchedFlowable.WatchedSubscriber;
+
+/**
+ * Reports the streams that do not make progress: streams that have not emitted any signal for longer than the idle
+ * threshold, because the subscriber does not request items, or because the upstream never emits (a publisher, or a
+ * {@link java.util.concurrent.CompletionStage} that never completes). Such streams hold their resources until they
+ * are cancelled.
+ * <p>
+ * The watchdog is disabled by default. Once {@link Builder#install() installed}, the streams built by the
+ * {@link io.smallrye.reactive.streams.Engine} are tracked from their subscription until they terminate or are
+ * cancelled. The streams built before the installation are not tracked. The last stage before the subscriber counts
+ * the emitted items and the requests, with one uncontended CAS per signal, and the watchdog compares the counts
+ * between two checks, so the idle time is measured with the precision of the check period.
+ * <p>
+ * Each stalled stream is reported once to the listener, with the stages of its graph. The watchdog can also cancel
+ * it: the upstream is cancelled and the subscriber receives a {@link java.util.concurrent.TimeoutException}, on the
+ * watchdog thread, or once it returns from the item it is receiving, on the thread emitting the item.
+ *
+ * <pre>
+ * StreamWatchdog.builder()
+ *         .idleThreshold(Duration.ofMinutes(5))
+ *         .cancelStalled(true)
+ *         .install();
+ * </pre>
+ */
+public final class StreamWatchdog implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(StreamWatchdog.class.getName());
+
+    private static volatile StreamWatchdog current;
+
+    private final long idleThreshold;
+    private final boolean cancelStalled;
+    private final Consumer<StalledStream> listener;
+    private final Set<WatchedSubscriber<?>> streams = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService executor;
+    private volatile boolean closed;
+
+    private StreamWatchdog(Builder builder) {
+        this.idleThreshold = builder.idleThreshold.toNanos();
+        this.cancelStalled = builder.cancelStalled;
+        this.listener = builder.listener;
+        Duration period = builder.checkPeriod != null ? builder.checkPeriod : builder.idleThreshold.dividedBy(4);
+        if (period.isZero()) {
+            executor = null;
+        } else {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "smallrye-stream-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long nanos = Math.max(period.toNanos(), TimeUnit.MILLISECONDS.toNanos(1));
+            executor.scheduleWithFixedDelay(this::check, nanos, nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the installed watchdog, empty if the watchdog is disabled
+     */
+    public static Optional<StreamWatchdog> current() {
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Tracks the subscriptions to the given flowable if a watchdog is installed. Called by the engine on the last
+     * flowable of each graph.
+     *
+     * @param flowable the flowable
+     * @param stages the stages of the graph
+     * @param <T> the type of item
+     * @return the given flowable if the watchdog is disabled, a flowable tracking its subscriptions otherwise
+     */
+    public static <T> Flowable<T> watch(Flowable<T> flowable, Collection<Stage> stages) {
+        StreamWatchdog watchdog = current;
+        if (watchdog == null) {
+            return flowable;
+        }
+        return new WatchedFlowable<>(flowable, stages, watchdog);
+    }
+
+    /**
+     * @return the number of streams currently tracked
+     */
+    public int getActiveStreams() {
+        return streams.size();
+    }
+
+    /**
+     * Checks the tracked streams now, in addition to the periodic checks. The listener is called for each newly
+     * stalled stream.
+     *
+     * @return the streams detected as stalled by this check, empty if none
+     */
+    public List<StalledStream> check() {
+        List<StalledStream> stalled = Collections.emptyList();
+        List<Runnable> cancellations = Collections.emptyList();
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (WatchedSubscriber<?> stream : streams) {
+                long index = stream.get();
+                if (index == Long.MAX_VALUE) {
+                    streams.remove(stream);
+                } else if (index != stream.lastSeen) {
+                    stream.lastSeen = index;
+                    stream.lastProgress = now;
+                    stream.reported = false;
+                } else if (!stream.reported && now - stream.lastProgress >= idleThreshold) {
+                    stream.reported = true;
+                    List<String> stages = describe(stream.getStages());
+                    boolean cancelled = cancelStalled && stream.claim(index);
+                    if (cancelled) {
+                        streams.remove(stream);
+                        if (cancellations.isEmpty()) {
+                            cancellations = new ArrayList<>();
+                        }
+                        cancellations.add(() -> stream.stall(stages.toString()));
+                    }
+                    if (stalled.isEmpty()) {
+                        stalled = new ArrayList<>();
+                    }
+                    stalled.add(new StalledStream(stages, now - stream.lastProgress, index,
+                            stream.outstandingDemand(index), cancelled));
+                }
+            }
+        }
+        // The downstream subscribers are failed outside of the lock, as they may block or check the streams.
+        for (Runnable cancellation : cancellations) {
+            cancellation.run();
+        }
+        for (StalledStream stream : stalled) {
+            try {
+                listener.accept(stream);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "The stalled stream listener failed", e);
+            }
+        }
+        return stalled;
+    }
+
+    /**
+     * Stops the checks and uninstalls the watchdog. The streams subscribed afterwards are not tracked anymore.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (StreamWatchdog.class) {
+            if (current == this) {
+                current = null;
+            }
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        streams.clear();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void register(WatchedSubscriber<?> stream) {
+        if (!closed) {
+            // Written before the stream is added to the concurrent set, which publishes it to the checking thread.
+            stream.lastProgress = System.nanoTime();
+            streams.add(stream);
+        }
+    }
+
+    void unregister(WatchedSubscriber<?> stream) {
+        streams.remove(stream);
+    }
+
+    static List<String> describe(Collection<Stage> stages) {
+        List<String> names = new ArrayList<>(stages.size());
+        for (Stage stage : stages) {
+            names.add(describe(stage));
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * @return the name of the {@link Stage} sub-interface implemented by the stage, such as {@code Map}, or the
+     *         simple name of its class for the other stages
+     */
+    private static String describe(Stage stage) {
+        for (Class<?> clazz = stage.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            for (Class<?> itf : clazz.getInterfaces()) {
+                if (itf.getEnclosingClass() == Stage.class) {
+                    return itf.getSimpleName();
+                }
+            }
+        }
+        String name = stage.getClass().getSimpleName();
+        return name.isEmpty() ? stage.getClass().getName() : name;
+    }
+
+    private static void install(StreamWatchdog watchdog) {
+        StreamWatchdog previous;
+        synchronized (StreamWatchdog.class) {
+            previous = current;
+            current = watchdog;
+        }
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    public static class Builder {
+        private Duration idleThreshold = Duration.ofMinutes(1);
+        private Duration checkPeriod;
+        private boolean cancelStalled;
+        private Consumer<StalledStream> listener = stream -> LOGGER.warning("Stalled stream detected: " + stream);
+
+        private Builder() {
+            // Use StreamWatchdog.builder().
+        }
+
+        /**
+         * @param idleThreshold the time without signal after which a stream is stalled, must be strictly positive, 1
+         *        minute by default
+         * @return this builder
+         */
+        public Builder idleThreshold(Duration idleThreshold) {
+            if (Objects.requireNonNull(idleThreshold).isNegative() || idleThreshold.isZero()) {
+                throw new IllegalArgumentException("The idle threshold must be strictly positive");
+            }
+            this.idleThreshold = idleThreshold;
+            return this;
+        }
+
+        /**
+         * @param checkPeriod the delay between two checks, must not be negative, a quarter of the idle threshold by
+         *        default. {@link Duration#ZERO} disables the periodic checks, the streams are then only checked by
+         *        {@link StreamWatchdog#check()}.
+         * @return this builder
+         */
+        public Builder checkPeriod(Duration checkPeriod) {
+            if (Objects.requireNonNull(checkPeriod).isNegative()) {
+                throw new IllegalArgumentException("The check period must not be negative");
+            }
+            this.checkPeriod = checkPeriod;
+            return this;
+        }
+
+        /**
+         * @param cancelStalled whether the stalled streams are cancelled, {@code false} by default
+         * @return this builder
+         */
+        public Builder cancelStalled(boolean cancelStalled) {
+            this.cancelStalled = cancelStalled;
+            return this;
+        }
+
+        /**
+         * @param listener the listener called with each stalled stream, on the watchdog thread, must not be
+         *        {@code null}. By default, the stalled streams are logged with the {@code WARNING} level.
+         * @return this builder
+         */
+        public Builder listener(Consumer<StalledStream> listener) {
+            this.listener = Objects.requireNonNull(listener);
+            return this;
+        }
+
+        /**
+         * Creates the watchdog and installs it, replacing the previously installed one.
+         *
+         * @return the installed watchdog
+         */
+        public StreamWatchdog install() {
+            StreamWatchdog watchdog = new StreamWatchdog(this);
+            StreamWatchdog.install(watchdog);
+            return watchdog;
+        }
+    }
+}
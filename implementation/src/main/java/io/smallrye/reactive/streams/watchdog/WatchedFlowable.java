@@ -0,0 +1,158 @@
+package io.smallrye.reactive.streams.watchdog;
+
+import java.util.Collection;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.AtomicThrowable;
+import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.internal.util.HalfSerializer;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Registers each subscription to the watchdog until the stream terminates or is cancelled.
+ */
+final class WatchedFlowable<T> extends Flowable<T> {
+
+    private final Publisher<T> source;
+    private final Collection<Stage> stages;
+    private final StreamWatchdog watchdog;
+
+    WatchedFlowable(Publisher<T> source, Collection<Stage> stages, StreamWatchdog watchdog) {
+        this.source = source;
+        this.stages = stages;
+        this.watchdog = watchdog;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> subscriber) {
+        if (watchdog.isClosed()) {
+            source.subscribe(subscriber);
+        } else {
+            source.subscribe(new WatchedSubscriber<>(subscriber, stages, watchdog));
+        }
+    }
+
+    /**
+     * The value is the number of items emitted, or {@link Long#MAX_VALUE} once the stream is terminated. Each signal
+     * moves it with a single uncontended CAS: the watchdog uses it to detect the progress, and to win the race against
+     * the upstream when it cancels the stream. As the failure emitted by the watchdog can race with an item being
+     * emitted, the downstream signals are serialized with a {@link HalfSerializer}.
+     */
+    static final class WatchedSubscriber<T> extends AtomicLong implements FlowableSubscriber<T>, Subscription {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Subscriber<? super T> downstream;
+        private final Collection<Stage> stages;
+        private final StreamWatchdog watchdog;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicThrowable error = new AtomicThrowable();
+        private Subscription upstream;
+
+        // Only accessed by the watchdog, while checking the streams, once registered.
+        long lastSeen;
+        long lastProgress;
+        boolean reported;
+
+        WatchedSubscriber(Subscriber<? super T> downstream, Collection<Stage> stages, StreamWatchdog watchdog) {
+            this.downstream = downstream;
+            this.stages = stages;
+            this.watchdog = watchdog;
+        }
+
+        Collection<Stage> getStages() {
+            return stages;
+        }
+
+        long outstandingDemand(long received) {
+            long current = requested.get();
+            return current == Long.MAX_VALUE ? Long.MAX_VALUE : current - received;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (SubscriptionHelper.validate(upstream, subscription)) {
+                this.upstream = subscription;
+                watchdog.register(this);
+                downstream.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            long index = get();
+            if (index == Long.MAX_VALUE || !compareAndSet(index, index + 1)) {
+                return;
+            }
+            HalfSerializer.onNext(downstream, item, wip, error);
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            if (getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                watchdog.unregister(this);
+                HalfSerializer.onError(downstream, failure, wip, error);
+            } else {
+                RxJavaPlugins.onError(failure);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                watchdog.unregister(this);
+                HalfSerializer.onComplete(downstream, wip, error);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                upstream.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                watchdog.unregister(this);
+            }
+            upstream.cancel();
+        }
+
+        /**
+         * Terminates the stream on behalf of the watchdog, unless a signal has been emitted since the watchdog read
+         * {@code index}. The caller must then call {@link #stall(String)}.
+         *
+         * @param index the number of emitted items read by the watchdog
+         * @return whether the stream has been claimed
+         */
+        boolean claim(long index) {
+            return compareAndSet(index, Long.MAX_VALUE);
+        }
+
+        /**
+         * Cancels the upstream and fails the downstream with a {@link TimeoutException} once it has returned from
+         * the item being emitted, if any. Must only be called after a successful {@link #claim(long)}.
+         *
+         * @param description the description of the stream
+         */
+        void stall(String description) {
+            upstream.cancel();
+            HalfSerializer.onError(downstream, new TimeoutException("Stream cancelled by the watchdog: " + description),
+                    wip, error);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.smallrye.reactive.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import io.smallrye.reactive.streams.stages.ExtensionOperatorProvider;
+
+/**
+ * Checks that the native-image configuration shipped with the implementation is consistent with the code.
+ */
+public class NativeImageConfigTest {
+
+    private static final String ROOT = "META-INF/native-image/io.smallrye.reactive/smallrye-reactive-streams-operators/";
+
+    private static String read(String resource) throws IOException {
+        InputStream stream = NativeImageConfigTest.class.getClassLoader().getResourceAsStream(resource);
+        assertThat(stream).describedAs(resource).isNotNull();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        }
+    }
+
+    @Test
+    public void testThatServiceProvidersAreRegisteredForReflection() throws Exception {
+        String config = read(ROOT + "reflect-config.json");
+        for (Class<?> clazz : new Class<?>[] { Engine.class, ExtensionOperatorProvider.class }) {
+            assertThat(config).contains("\"" + clazz.getName() + "\"");
+            // The providers are instantiated using their public no-arg constructor.
+            assertThat(clazz.getConstructor()).isNotNull();
+        }
+    }
+
+    @Test
+    public void testThatServiceFilesAreIncluded() throws Exception {
+        String config = read(ROOT + "resource-config.json");
+        for (String service : new String[] { "io.smallrye.reactive.streams.operators.OperatorProvider",
+                "org.eclipse.microprofile.reactive.streams.operators.spi.ReactiveStreamsEngine" }) {
+            read("META-INF/services/" + service);
+            assertThat(config).contains(("META-INF/services/" + service).replace(".", "\\\\."));
+        }
+    }
+
+    @Test
+    public void testThatOnlyTheBuiltInOperatorsAreInitializedAtBuildTime() throws Exception {
+        Properties properties = new Properties();
+        properties.load(NativeImageConfigTest.class.getClassLoader()
+                .getResourceAsStream(ROOT + "native-image.properties"));
+        // The Transformer looks up the execution model and the propagators of the application, at runtime.
+        assertThat(properties.getProperty("Args"))
+                .contains("--initialize-at-build-time=")
+                .contains("io.smallrye.reactive.streams.stages")
+                .contains("io.smallrye.reactive.streams.operators")
+                .doesNotContain("io.smallrye.reactive.streams.spi");
+    }
+}
@@ -0,0 +1,47 @@
+package io.smallrye.reactive.streams;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark measuring the time to build and run the first stream of a JVM, run with
+ * {@code mvn verify -Pbenchmarks}. Each fork runs the stream once: the time includes the lookup of the engine, the
+ * initialization of the operators and the loading of the classes of the stream, but not the start of the JVM.
+ * <p>
+ * The {@link #main(String[])} method prints the same measure, to compare with a native image built from this class.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class TimeToFirstStreamBenchmark {
+
+    @Benchmark
+    public List<Integer> firstStream() throws InterruptedException, ExecutionException {
+        return ReactiveStreams.of(1, 2, 3)
+                .map(i -> i + 1)
+                .filter(i -> i > 2)
+                .toList()
+                .run()
+                .toCompletableFuture()
+                .get();
+    }
+
+    public static void main(String[] args) throws Exception {
+        long start = System.nanoTime();
+        List<Integer> result = new TimeToFirstStreamBenchmark().firstStream();
+        long elapsed = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        System.out.println("Time to first stream: " + elapsed + " us " + result);
+    }
+}
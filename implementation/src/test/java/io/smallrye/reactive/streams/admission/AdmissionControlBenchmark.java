@@ -0,0 +1,118 @@
+package io.smallrye.reactive.streams.admission;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH load test measuring the latency of streams calling a saturated backend, run with
+ * {@code mvn verify -Pbenchmarks}. {@value #CLIENTS} threads run a stream every {@value #THINK_MICROS} microseconds
+ * (plus the latency of the previous one), each stream calls a backend with {@value #BACKEND_THREADS} threads taking
+ * {@value #BACKEND_MICROS} microseconds per call, so the clients send more calls than the backend can handle.
+ * The {@code admission} parameter selects the {@link AdmissionControl} installed globally:
+ * <ul>
+ * <li>{@code NONE}: no admission control, as a reference: all the streams run concurrently and wait for the
+ * backend,</li>
+ * <li>{@code QUEUE}, {@code FAIL}, {@code SHED}: the policies, with {@value #MAX_CONCURRENT_STREAMS} concurrent streams
+ * and {@value #MAX_QUEUED_STREAMS} waiting streams.</li>
+ * </ul>
+ * The latency includes the rejected streams, which fail fast. The admitted and rejected streams are printed on tear
+ * down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(AdmissionControlBenchmark.CLIENTS)
+public class AdmissionControlBenchmark {
+
+    static final int CLIENTS = 64;
+    static final int BACKEND_THREADS = 8;
+    static final int BACKEND_MICROS = 250;
+    static final int MAX_CONCURRENT_STREAMS = 8;
+    static final int MAX_QUEUED_STREAMS = 16;
+    static final int THINK_MICROS = 1000;
+
+    @Param({ "NONE", "QUEUE", "FAIL", "SHED" })
+    public String admission;
+
+    private ExecutorService backend;
+    private AdmissionControl control;
+
+    /**
+     * The think time of the clients between two streams, not measured.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+        @Setup(Level.Invocation)
+        public void think() {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(THINK_MICROS));
+        }
+    }
+
+    @Setup
+    public void setup() {
+        backend = Executors.newFixedThreadPool(BACKEND_THREADS);
+        if (!admission.equals("NONE")) {
+            control = AdmissionControl.builder()
+                    .maxConcurrentStreams(MAX_CONCURRENT_STREAMS)
+                    .policy(AdmissionControl.Policy.valueOf(admission))
+                    .maxQueuedStreams(MAX_QUEUED_STREAMS)
+                    .install();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (control != null) {
+            System.out.println("Admission metrics: " + control.getMetrics());
+            control.close();
+        }
+        backend.shutdown();
+    }
+
+    @Benchmark
+    public List<Integer> stream(Client client) throws InterruptedException {
+        try {
+            return ReactiveStreams.of(1)
+                    .flatMapCompletionStage(i -> CompletableFuture.supplyAsync(() -> call(i), backend))
+                    .toList()
+                    .run()
+                    .toCompletableFuture()
+                    .get();
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof RejectedExecutionException)) {
+                throw new IllegalStateException(e.getCause());
+            }
+            return null;
+        }
+    }
+
+    private static Integer call(Integer item) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(BACKEND_MICROS));
+        return item;
+    }
+}
@@ -0,0 +1,222 @@
+package io.smallrye.reactive.streams.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * Checks the behavior of the {@link AdmissionControl} class.
+ */
+public class AdmissionControlTest {
+
+    @After
+    public void cleanup() {
+        AdmissionControl.current().ifPresent(AdmissionControl::close);
+        AdmissionControl.current("orders").ifPresent(AdmissionControl::close);
+    }
+
+    private TestSubscriber<Integer> subscribe(CompletionStage<Integer> stage) {
+        return Flowable.fromPublisher(ReactiveStreams.fromCompletionStage(stage).buildRs()).test();
+    }
+
+    private TestSubscriber<Integer> subscribe(CompletionStage<Integer> stage, Engine engine) {
+        return Flowable.fromPublisher(ReactiveStreams.fromCompletionStage(stage).buildRs(engine)).test();
+    }
+
+    @Test
+    public void testThatStreamsWaitForAPermit() {
+        AdmissionControl control = AdmissionControl.builder().maxConcurrentStreams(2).install();
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        TestSubscriber<Integer> s1 = subscribe(first);
+        TestSubscriber<Integer> s2 = subscribe(new CompletableFuture<>());
+        TestSubscriber<Integer> s3 = subscribe(CompletableFuture.completedFuture(3));
+        assertThat(control.getMetrics().getActive()).isEqualTo(2);
+        assertThat(control.getMetrics().getQueued()).isEqualTo(1);
+        s3.assertEmpty();
+
+        first.complete(1);
+        s1.assertResult(1);
+        s3.assertResult(3);
+        assertThat(control.getMetrics().getActive()).isEqualTo(1);
+        assertThat(control.getMetrics().getQueued()).isEqualTo(0);
+
+        s2.cancel();
+        assertThat(control.getMetrics().getActive()).isEqualTo(0);
+        assertThat(control.getMetrics().getAdmitted()).isEqualTo(3);
+        assertThat(control.getMetrics().getRejected()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatTheQueueIsBounded() {
+        AdmissionControl control = AdmissionControl.builder().maxConcurrentStreams(1).maxQueuedStreams(1).install();
+        TestSubscriber<Integer> s1 = subscribe(new CompletableFuture<>());
+        TestSubscriber<Integer> s2 = subscribe(CompletableFuture.completedFuture(2));
+        TestSubscriber<Integer> s3 = subscribe(CompletableFuture.completedFuture(3));
+        s3.assertError(RejectedExecutionException.class);
+        assertThat(control.getMetrics().getRejected()).isEqualTo(1);
+
+        s1.cancel();
+        s2.assertResult(2);
+    }
+
+    @Test
+    public void testThatTheFailPolicyRejectsImmediately() {
+        AdmissionControl control = AdmissionControl.builder()
+                .maxConcurrentStreams(1)
+                .policy(AdmissionControl.Policy.FAIL)
+                .install();
+        TestSubscriber<Integer> s1 = subscribe(new CompletableFuture<>());
+        subscribe(CompletableFuture.completedFuture(2)).assertError(RejectedExecutionException.class);
+        assertThat(control.getMetrics().getRejected()).isEqualTo(1);
+        assertThat(control.getMetrics().getQueued()).isEqualTo(0);
+
+        s1.cancel();
+        assertThat(control.getMetrics().getActive()).isEqualTo(0);
+        subscribe(CompletableFuture.completedFuture(3)).assertResult(3);
+    }
+
+    @Test
+    public void testThatTheShedPolicyRejectsTheOldestWaitingStream() {
+        AdmissionControl control = AdmissionControl.builder()
+                .maxConcurrentStreams(1)
+                .policy(AdmissionControl.Policy.SHED)
+                .maxQueuedStreams(1)
+                .install();
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        TestSubscriber<Integer> s1 = subscribe(first);
+        TestSubscriber<Integer> s2 = subscribe(CompletableFuture.completedFuture(2));
+        TestSubscriber<Integer> s3 = subscribe(CompletableFuture.completedFuture(3));
+        s2.assertError(RejectedExecutionException.class);
+        s3.assertEmpty();
+
+        first.complete(1);
+        s1.assertResult(1);
+        s3.assertResult(3);
+        assertThat(control.getMetrics().getShed()).isEqualTo(1);
+        assertThat(control.getMetrics().getRejected()).isEqualTo(1);
+        assertThat(control.getMetrics().getActive()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatCancellingAWaitingStreamLeavesTheQueue() {
+        AdmissionControl control = AdmissionControl.builder().maxConcurrentStreams(1).install();
+        TestSubscriber<Integer> s1 = subscribe(new CompletableFuture<>());
+        TestSubscriber<Integer> s2 = subscribe(CompletableFuture.completedFuture(2));
+        assertThat(control.getMetrics().getQueued()).isEqualTo(1);
+
+        s2.cancel();
+        assertThat(control.getMetrics().getQueued()).isEqualTo(0);
+        s1.cancel();
+        assertThat(control.getMetrics().getActive()).isEqualTo(0);
+        assertThat(control.getMetrics().getAdmitted()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatInnerStreamsRunUnderThePermitOfTheOuterStream()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        AdmissionControl control = AdmissionControl.builder()
+                .maxConcurrentStreams(1)
+                .policy(AdmissionControl.Policy.FAIL)
+                .install();
+        List<Integer> list = ReactiveStreams.concat(
+                ReactiveStreams.fromPublisher(Flowable.just(1, 2)).flatMap(i -> ReactiveStreams.of(i, i)),
+                ReactiveStreams.of(3))
+                .toList().run().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(list).containsExactly(1, 1, 2, 2, 3);
+        assertThat(control.getMetrics().getAdmitted()).isEqualTo(1);
+        assertThat(control.getMetrics().getRejected()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatNamedEnginesAreAlsoSubjectToTheGlobalControl() {
+        AdmissionControl named = AdmissionControl.builder()
+                .maxConcurrentStreams(1)
+                .policy(AdmissionControl.Policy.FAIL)
+                .install("orders");
+        Engine orders = new Engine("orders");
+        assertThat(orders.getName()).isEqualTo("orders");
+        TestSubscriber<Integer> s1 = subscribe(new CompletableFuture<>(), orders);
+        subscribe(new CompletableFuture<>(), orders).assertError(RejectedExecutionException.class);
+        // The other engines are not affected.
+        TestSubscriber<Integer> s2 = subscribe(new CompletableFuture<>());
+        s2.assertNoErrors();
+        s1.cancel();
+
+        AdmissionControl global = AdmissionControl.builder()
+                .maxConcurrentStreams(1)
+                .policy(AdmissionControl.Policy.FAIL)
+                .install();
+        TestSubscriber<Integer> s3 = subscribe(new CompletableFuture<>());
+        // Admitted by the named control, rejected by the global one: the permit of the named control is released.
+        subscribe(new CompletableFuture<>(), orders).assertError(RejectedExecutionException.class);
+        assertThat(named.getMetrics().getActive()).isEqualTo(0);
+        assertThat(global.getMetrics().getActive()).isEqualTo(1);
+        s2.cancel();
+        s3.cancel();
+
+        named.close();
+        global.close();
+        assertThat(AdmissionControl.current()).isEmpty();
+        assertThat(AdmissionControl.current("orders")).isEmpty();
+    }
+
+    @Test
+    public void testThatStreamsCompletingOnSubscriptionDoNotAdmitTheNextOnesRecursively() {
+        AdmissionControl control = AdmissionControl.builder().maxConcurrentStreams(1).install();
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        subscribe(first);
+        List<TestSubscriber<Integer>> subscribers = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            subscribers.add(subscribe(CompletableFuture.completedFuture(i)));
+        }
+        first.complete(0);
+        subscribers.forEach(TestSubscriber::assertComplete);
+        assertThat(control.getMetrics().getActive()).isEqualTo(0);
+        assertThat(control.getMetrics().getQueued()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatTheNumberOfConcurrentStreamsIsCappedUnderLoad() {
+        AdmissionControl control = AdmissionControl.builder().maxConcurrentStreams(8).install();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+        List<CompletableFuture<List<Integer>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                results.add(ReactiveStreams.of(i)
+                        .flatMapCompletionStage(item -> {
+                            max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            return CompletableFuture.supplyAsync(() -> item, executor);
+                        })
+                        .onTerminate(running::decrementAndGet)
+                        .toList().run().toCompletableFuture());
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(max.get()).isLessThanOrEqualTo(8);
+        assertThat(control.getMetrics().getAdmitted()).isEqualTo(1000);
+        assertThat(control.getMetrics().getActive()).isEqualTo(0);
+        assertThat(control.getMetrics().getQueued()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,108 @@
+package io.smallrye.reactive.streams.boundary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.prefetch.AdaptivePrefetch;
+
+/**
+ * JMH benchmarks measuring the time to move {@link #count} items across a thread boundary, from producer threads to a
+ * consumer thread, run with {@code mvn verify -Pbenchmarks}. The {@code boundary} parameter selects the operator:
+ * <ul>
+ * <li>{@code OBSERVE_ON}: the RxJava {@code observeOn} and {@code merge} operators, as a reference,</li>
+ * <li>{@code SPSC_ARRAY}, {@code SPSC_CHUNKED}, {@code MPSC_LINKED}: the {@link AsyncBoundary} with the given
+ * queue and the fixed prefetch. The single-producer queues are not used for {@code merge},</li>
+ * <li>{@code ADAPTIVE}: the {@link AsyncBoundary} with an {@link AdaptivePrefetch}, and the queue chosen from the
+ * topology.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class AsyncBoundaryBenchmark {
+
+    private static final int PRODUCERS = 4;
+
+    @Param({ "OBSERVE_ON", "SPSC_ARRAY", "SPSC_CHUNKED", "MPSC_LINKED", "ADAPTIVE" })
+    public String boundary;
+
+    @Param({ "1000", "1000000" })
+    public int count;
+
+    private ExecutorService consumerExecutor;
+    private ExecutorService producerExecutor;
+    private Scheduler consumer;
+    private Scheduler producer;
+    private AsyncBoundary asyncBoundary;
+
+    @Setup
+    public void setup() {
+        consumerExecutor = Executors.newSingleThreadExecutor();
+        producerExecutor = Executors.newFixedThreadPool(PRODUCERS);
+        consumer = Schedulers.from(consumerExecutor);
+        producer = Schedulers.from(producerExecutor);
+        AsyncBoundary.Builder builder = AsyncBoundary.builder().scheduler(consumer);
+        if (boundary.equals("ADAPTIVE")) {
+            builder.adaptivePrefetch(AdaptivePrefetch.builder().maxPrefetch(4096).build());
+        } else if (!boundary.equals("OBSERVE_ON")) {
+            builder.queue(QueueType.valueOf(boundary));
+        }
+        asyncBoundary = builder.build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        consumerExecutor.shutdown();
+        producerExecutor.shutdown();
+    }
+
+    @Benchmark
+    public void pair(Blackhole blackhole) {
+        Flowable<Integer> source = Flowable.range(0, count).subscribeOn(producer);
+        Flowable<Integer> result = boundary.equals("OBSERVE_ON")
+                ? source.observeOn(consumer)
+                : asyncBoundary.apply(source);
+        result.blockingSubscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void merge(Blackhole blackhole) {
+        List<Flowable<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < PRODUCERS; i++) {
+            sources.add(Flowable.range(0, count / PRODUCERS).subscribeOn(producer));
+        }
+        Flowable<Integer> result;
+        if (boundary.equals("OBSERVE_ON")) {
+            result = Flowable.merge(sources).observeOn(consumer);
+        } else if (asyncBoundary.getQueueType() == null || asyncBoundary.getQueueType().supportsMultipleProducers()) {
+            result = asyncBoundary.merge(sources);
+        } else {
+            // Not supported by the single-producer queues.
+            return;
+        }
+        result.blockingSubscribe(blackhole::consume);
+    }
+}
@@ -0,0 +1,144 @@
+package io.smallrye.reactive.streams.boundary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.subscriptions.EmptySubscription;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link AsyncBoundary} class and of the queues.
+ */
+public class AsyncBoundaryTest {
+
+    private static final List<Integer> EXPECTED = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+
+    @Test
+    public void testThatTheItemsCrossTheBoundaryInOrderWithEachQueue() {
+        for (QueueType type : QueueType.values()) {
+            AsyncBoundary boundary = AsyncBoundary.builder()
+                    .scheduler(Schedulers.single())
+                    .prefetch(16)
+                    .queue(type)
+                    .build();
+            List<String> threads = new CopyOnWriteArrayList<>();
+            boundary.apply(Flowable.range(0, 100000).subscribeOn(Schedulers.computation()))
+                    .doOnNext(i -> threads.add(Thread.currentThread().getName()))
+                    .test()
+                    .awaitDone(5, TimeUnit.SECONDS)
+                    .assertValueSequence(EXPECTED)
+                    .assertComplete();
+            assertThat(threads).allMatch(name -> name.startsWith("RxSingleScheduler"));
+        }
+    }
+
+    @Test
+    public void testThatTheQueueIsChosenFromTheTopology() {
+        assertThat(QueueType.select(false, false)).isEqualTo(QueueType.SPSC_ARRAY);
+        assertThat(QueueType.select(false, true)).isEqualTo(QueueType.SPSC_CHUNKED);
+        assertThat(QueueType.select(true, false)).isEqualTo(QueueType.MPSC_LINKED);
+        assertThat(AsyncBoundary.builder().build().createQueue(false)).isInstanceOf(PaddedSpscArrayQueue.class);
+    }
+
+    @Test
+    public void testThePaddedArrayQueue() {
+        SimplePlainQueue<Integer> queue = QueueType.SPSC_ARRAY.create(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(queue.offer(i)).isTrue();
+        }
+        assertThat(queue.offer(4)).isFalse();
+        assertThat(queue.poll()).isEqualTo(0);
+        assertThat(queue.offer(4)).isTrue();
+        assertThat(queue.isEmpty()).isFalse();
+        assertThat(Arrays.asList(queue.poll(), queue.poll(), queue.poll(), queue.poll())).containsExactly(1, 2, 3, 4);
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testThatOverflowingTheQueueFails() {
+        AsyncBoundary boundary = AsyncBoundary.builder().prefetch(2).build();
+        Flowable<Integer> misbehaving = Flowable.unsafeCreate(subscriber -> {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            for (int i = 0; i < 10; i++) {
+                subscriber.onNext(i);
+            }
+        });
+        boundary.apply(misbehaving).test(0).assertError(MissingBackpressureException.class);
+    }
+
+    @Test
+    public void testThatMergedSourcesKeepTheirOrder() {
+        AsyncBoundary boundary = AsyncBoundary.builder().scheduler(Schedulers.single()).prefetch(8).build();
+        List<Flowable<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            sources.add(Flowable.range(i * 1000000, 50000).subscribeOn(Schedulers.computation()));
+        }
+        TestSubscriber<Integer> subscriber = boundary.merge(sources).test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(200000)
+                .assertComplete();
+        int[] last = { -1, -1, -1, -1 };
+        for (int item : subscriber.values()) {
+            int source = item / 1000000;
+            assertThat(item).isGreaterThan(last[source]);
+            last[source] = item;
+        }
+    }
+
+    @Test
+    public void testThatMergeRespectsTheDownstreamRequests() throws InterruptedException {
+        AsyncBoundary boundary = AsyncBoundary.builder().scheduler(Schedulers.single()).prefetch(8).build();
+        TestSubscriber<Integer> subscriber = boundary.merge(Arrays.asList(Flowable.range(0, 100),
+                Flowable.range(100, 100))).test(10);
+        Thread.sleep(100);
+        subscriber.assertValueCount(10).assertNotComplete();
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.awaitDone(5, TimeUnit.SECONDS).assertValueCount(200).assertComplete();
+
+        boundary.merge(Collections.<Flowable<Integer>> emptyList()).test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertResult();
+    }
+
+    @Test
+    public void testThatMergeCancelsTheOtherSourcesOnFailure() {
+        AtomicInteger cancellations = new AtomicInteger();
+        AsyncBoundary boundary = AsyncBoundary.builder().scheduler(Schedulers.single()).build();
+        boundary.merge(Arrays.asList(Flowable.<Integer> never().doOnCancel(cancellations::incrementAndGet),
+                Flowable.<Integer> error(new Exception("boom"))))
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertErrorMessage("boom");
+        assertThat(cancellations).hasValue(1);
+
+        TestSubscriber<Integer> subscriber = boundary.merge(Arrays.asList(
+                Flowable.<Integer> never().doOnCancel(cancellations::incrementAndGet),
+                Flowable.<Integer> never().doOnCancel(cancellations::incrementAndGet))).test();
+        subscriber.cancel();
+        assertThat(cancellations).hasValue(3);
+    }
+
+    @Test
+    public void testThatSingleProducerQueuesCannotMerge() {
+        AsyncBoundary boundary = AsyncBoundary.builder().queue(QueueType.SPSC_ARRAY).build();
+        assertThatThrownBy(() -> boundary.merge(Collections.<Flowable<Integer>> emptyList()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
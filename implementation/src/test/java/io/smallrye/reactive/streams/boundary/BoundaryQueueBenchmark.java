@@ -0,0 +1,87 @@
+package io.smallrye.reactive.streams.boundary;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+
+/**
+ * JMH benchmarks measuring the {@link QueueType}s with a producer thread and a consumer thread, run with
+ * {@code mvn verify -Pbenchmarks}. The score of {@code offer} and {@code poll} are the number of calls, successful or
+ * not: compare the sum of the two. The producer stops offering when {@link #MAX_IN_FLIGHT} items are in the queue, so
+ * the unbounded queues do not grow until the heap is exhausted.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class BoundaryQueueBenchmark {
+
+    private static final AtomicLongFieldUpdater<BoundaryQueueBenchmark> CONSUMED = AtomicLongFieldUpdater
+            .newUpdater(BoundaryQueueBenchmark.class, "consumed");
+
+    private static final int MAX_IN_FLIGHT = 1024;
+
+    private static final Integer ITEM = 1;
+
+    @Param({ "SPSC_ARRAY", "SPSC_CHUNKED", "MPSC_LINKED" })
+    public QueueType queueType;
+
+    private SimplePlainQueue<Integer> queue;
+
+    /**
+     * Only written by the producer.
+     */
+    private long produced;
+
+    /**
+     * Only written by the consumer.
+     */
+    private volatile long consumed;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        queue = queueType.create(MAX_IN_FLIGHT);
+        produced = 0;
+        consumed = 0;
+    }
+
+    @Benchmark
+    @Group("pair")
+    @GroupThreads(1)
+    public boolean offer() {
+        if (produced - consumed < MAX_IN_FLIGHT && queue.offer(ITEM)) {
+            produced++;
+            return true;
+        }
+        return false;
+    }
+
+    @Benchmark
+    @Group("pair")
+    @GroupThreads(1)
+    public Integer poll() {
+        Integer item = queue.poll();
+        if (item != null) {
+            CONSUMED.lazySet(this, consumed + 1);
+        }
+        return item;
+    }
+}
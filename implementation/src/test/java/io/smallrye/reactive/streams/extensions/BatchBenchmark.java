@@ -0,0 +1,88 @@
+package io.smallrye.reactive.streams.extensions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmark measuring the time to deliver {@link #count} items to a sink with a fixed cost per call, such as a
+ * database insert, run with {@code mvn verify -Pbenchmarks}. The {@code delivery} parameter selects how the items are
+ * delivered:
+ * <ul>
+ * <li>{@code ELEMENT}: one call per item, as a reference ({@link #maxItems} is ignored),</li>
+ * <li>{@code BATCH}: one call per list of at most {@link #maxItems} items, built by the {@link Batch} stage.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+    /**
+     * The cost of a call to the sink, in {@link Blackhole#consumeCPU(long)} tokens.
+     */
+    private static final long CALL_TOKENS = 1000;
+
+    /**
+     * The cost of an item in a call to the sink, in {@link Blackhole#consumeCPU(long)} tokens.
+     */
+    private static final long ITEM_TOKENS = 10;
+
+    @Param({ "ELEMENT", "BATCH" })
+    public String delivery;
+
+    @Param({ "16", "128" })
+    public int maxItems;
+
+    @Param({ "10000" })
+    public int count;
+
+    private List<Integer> items;
+    private Batch batch;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(i);
+        }
+        batch = Batch.builder().maxItems(maxItems).build();
+    }
+
+    @Benchmark
+    public void deliver(Blackhole blackhole) throws ExecutionException, InterruptedException {
+        if (delivery.equals("BATCH")) {
+            ReactiveStreams.fromIterable(items)
+                    .via(batch.<Integer> processor())
+                    .forEach(list -> insert(blackhole, list.size()))
+                    .run().toCompletableFuture().get();
+        } else {
+            ReactiveStreams.fromIterable(items)
+                    .forEach(item -> insert(blackhole, 1))
+                    .run().toCompletableFuture().get();
+        }
+    }
+
+    private static void insert(Blackhole blackhole, int size) {
+        Blackhole.consumeCPU(CALL_TOKENS + ITEM_TOKENS * size);
+        blackhole.consume(size);
+    }
+}
@@ -0,0 +1,81 @@
+package io.smallrye.reactive.streams.extensions;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks measuring the overhead of the latency recording, run with {@code mvn verify -Pbenchmarks}:
+ * <ul>
+ * <li>{@code record} and {@code recordContended}: recording a value in a {@link LatencyHistogram}, from one thread and
+ * from 4 threads sharing the histogram,</li>
+ * <li>{@code flatMapCompletionStage} and {@code timedFlatMapCompletionStage}: moving {@link #count} items through a
+ * {@code flatMapCompletionStage} stage or a {@link TimedFlatMapCompletionStage}, with completed stages, so the
+ * difference is the cost of the timestamps, of the wrappers and of the 3 recordings per item.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatencyHistogramBenchmark {
+
+    @Param({ "1000" })
+    public int count;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private List<Integer> items;
+    private long value;
+
+    @Setup
+    public void setup() {
+        items = IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void record() {
+        // Spread the values over several buckets, as real latencies do.
+        histogram.record(value++ & 0xFFFFF);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        histogram.record(System.nanoTime() & 0xFFFFF);
+    }
+
+    @Benchmark
+    public void flatMapCompletionStage(Blackhole blackhole) {
+        ReactiveStreams.fromIterable(items)
+                .flatMapCompletionStage(CompletableFuture::completedFuture)
+                .forEach(blackhole::consume)
+                .run();
+    }
+
+    @Benchmark
+    public void timedFlatMapCompletionStage(Blackhole blackhole) {
+        ReactiveStreams.fromIterable(items)
+                .via(TimedFlatMapCompletionStage.<Integer, Integer> of(CompletableFuture::completedFuture).processor())
+                .forEach(blackhole::consume)
+                .run();
+    }
+}
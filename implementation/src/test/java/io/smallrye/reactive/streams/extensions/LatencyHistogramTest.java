@@ -0,0 +1,94 @@
+package io.smallrye.reactive.streams.extensions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Checks the behavior of the {@link LatencyHistogram} class.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMax()).isZero();
+        assertThat(histogram.getMean()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    public void testThatSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(99);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100);
+        assertThat(histogram.getValueAtPercentile(0)).isEqualTo(1);
+        assertThat(histogram.getMean()).isEqualTo(50.5);
+    }
+
+    @Test
+    public void testRelativeError() {
+        for (long value = 1; value < LatencyHistogram.HIGHEST_TRACKABLE_VALUE; value = value * 3 + 7) {
+            LatencyHistogram single = new LatencyHistogram();
+            single.record(value);
+            single.record(LatencyHistogram.HIGHEST_TRACKABLE_VALUE);
+            long p50 = single.getValueAtPercentile(50);
+            assertThat(p50).isGreaterThanOrEqualTo(value).isLessThanOrEqualTo(value + value / 64);
+        }
+    }
+
+    @Test
+    public void testThatBucketsAreContiguous() {
+        for (int index = 0; index < LatencyHistogram.index(LatencyHistogram.HIGHEST_TRACKABLE_VALUE); index++) {
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertThat(LatencyHistogram.index(highest)).isEqualTo(index);
+            assertThat(LatencyHistogram.index(highest + 1)).isEqualTo(index + 1);
+        }
+    }
+
+    @Test
+    public void testThatHugeAndNegativeValuesAreRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertThat(histogram.getCount()).isEqualTo(2);
+        assertThat(histogram.getValueAtPercentile(50)).isZero();
+        assertThat(histogram.getMax()).isEqualTo(Long.MAX_VALUE);
+        assertThat(histogram.getValueAtPercentile(100)).isGreaterThanOrEqualTo(LatencyHistogram.HIGHEST_TRACKABLE_VALUE);
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i % 1000);
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(histogram.getCount()).isEqualTo(400_000);
+        assertThat(histogram.getMax()).isEqualTo(999);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new LatencyHistogram().getValueAtPercentile(101);
+    }
+}
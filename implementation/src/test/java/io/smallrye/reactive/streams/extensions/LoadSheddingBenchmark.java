@@ -0,0 +1,110 @@
+package io.smallrye.reactive.streams.extensions;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * JMH benchmark measuring the latency of a stream whose producer is faster than its consumer, run with
+ * {@code mvn verify -Pbenchmarks}. The producer emits its timestamp every 100 microseconds, the consumer processes an
+ * item in about 250 microseconds. Each operation measures the time until the consumer processes an item produced
+ * after the start of the operation. The {@code overload} parameter selects the stage handling the overload:
+ * <ul>
+ * <li>{@code BUFFER}: an unbounded buffer, as a reference: the latency grows with the queue,</li>
+ * <li>{@code DROP}, {@code DROP_OLDEST}, {@code LATEST}: the {@link LoadShedding} strategies,</li>
+ * <li>{@code THROTTLE}: a {@link Throttle} below the capacity of the consumer, with a producer creating the items when
+ * they are requested.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadSheddingBenchmark {
+
+    private static final long PRODUCER_PERIOD_MICROS = 100;
+    private static final long CONSUMER_COST_MICROS = 250;
+
+    @Param({ "BUFFER", "DROP", "DROP_OLDEST", "LATEST", "THROTTLE" })
+    public String overload;
+
+    private volatile long consumed;
+    private Disposable disposable;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        consumed = 0;
+        Flowable<Long> ticks = Flowable.interval(PRODUCER_PERIOD_MICROS, TimeUnit.MICROSECONDS)
+                .map(x -> System.nanoTime());
+        Publisher<Long> stream;
+        switch (overload) {
+            case "BUFFER":
+                stream = ticks.onBackpressureBuffer();
+                break;
+            case "DROP":
+                stream = shed(ticks, LoadShedding.drop());
+                break;
+            case "DROP_OLDEST":
+                stream = shed(ticks, LoadShedding.dropOldest(16));
+                break;
+            case "LATEST":
+                stream = shed(ticks, LoadShedding.latest());
+                break;
+            case "THROTTLE":
+                // 2000 items per second, the consumer handles about 4000.
+                stream = ReactiveStreams.fromPublisher(Flowable.<Long> generate(e -> e.onNext(System.nanoTime())))
+                        .via(Throttle.of(2, Duration.ofMillis(1)).<Long> processor())
+                        .buildRs();
+                break;
+            default:
+                throw new IllegalArgumentException(overload);
+        }
+        disposable = Flowable.fromPublisher(stream)
+                .observeOn(Schedulers.single(), false, 1)
+                .subscribe(timestamp -> {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(CONSUMER_COST_MICROS));
+                    consumed = timestamp;
+                });
+    }
+
+    private static Publisher<Long> shed(Flowable<Long> ticks, LoadShedding shedding) {
+        return ReactiveStreams.fromPublisher(ticks).via(shedding.<Long> processor()).buildRs();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        disposable.dispose();
+    }
+
+    @Benchmark
+    public long latency() {
+        long start = System.nanoTime();
+        long timestamp;
+        while ((timestamp = consumed) < start) {
+            LockSupport.parkNanos(10_000);
+        }
+        return timestamp;
+    }
+}
@@ -0,0 +1,304 @@
+package io.smallrye.reactive.streams.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Checks the behavior of the {@link GraphOptimizer} class. The equivalence of the optimized graphs is also verified
+ * by the TCK, as the engine optimizes all the graphs.
+ */
+public class GraphOptimizerTest {
+
+    private final GraphOptimizer optimizer = new GraphOptimizer();
+
+    private static Graph graph(Stage... stages) {
+        return () -> Arrays.asList(stages);
+    }
+
+    /**
+     * Creates an {@code of} stage that is not backed by a random access list, so it is not sliced.
+     */
+    private static Stage of(Integer... items) {
+        return (Stage.Of) () -> Collections.unmodifiableCollection(Arrays.asList(items));
+    }
+
+    private static Stage list(Integer... items) {
+        return (Stage.Of) () -> Arrays.asList(items);
+    }
+
+    private static List<Object> elements(Stage stage) {
+        List<Object> list = new ArrayList<>();
+        ((Stage.Of) stage).getElements().forEach(list::add);
+        return list;
+    }
+
+    private static Stage limit(long limit) {
+        return (Stage.Limit) () -> limit;
+    }
+
+    private static Stage skip(long skip) {
+        return (Stage.Skip) () -> skip;
+    }
+
+    private static Stage map() {
+        return (Stage.Map) () -> Function.identity();
+    }
+
+    private static Stage distinct() {
+        return new Stage.Distinct() {
+        };
+    }
+
+    @Test
+    public void testThatGraphWithoutRedundantStagesIsUnchanged() {
+        Stage source = of(1, 2, 3);
+        Stage limit = limit(2);
+        Stage map = map();
+        OptimizedGraph result = optimizer.optimize(graph(source, limit, map));
+        assertThat(result.isRewritten()).isFalse();
+        assertThat(result.getAppliedRules()).isEmpty();
+        assertThat(result.getStages()).containsExactly(source, limit, map);
+    }
+
+    @Test
+    public void testThatNoOpStagesAreRemoved() {
+        Stage source = of(1, 2, 3);
+        Stage map = map();
+        OptimizedGraph result = optimizer.optimize(graph(source, skip(0), map, limit(Long.MAX_VALUE)));
+        // The unbounded limit is hoisted above the map before being removed.
+        assertThat(result.getAppliedRules()).containsExactly("elide-skip-zero", "hoist-limit",
+                "elide-unbounded-limit");
+        assertThat(result.getStages()).containsExactly(source, map);
+    }
+
+    @Test
+    public void testThatAdjacentLimitsAndSkipsAreMerged() {
+        OptimizedGraph result = optimizer.optimize(graph(of(1), limit(10), limit(3), limit(5), skip(1), skip(2)));
+        assertThat(result.getAppliedRules()).containsExactly("merge-limits", "merge-limits", "merge-skips");
+        List<Stage> stages = new ArrayList<>(result.getStages());
+        assertThat(stages).hasSize(3);
+        assertThat(((Stage.Limit) stages.get(1)).getLimit()).isEqualTo(3);
+        assertThat(((Stage.Skip) stages.get(2)).getSkip()).isEqualTo(3);
+    }
+
+    @Test
+    public void testThatMergedSkipDoesNotOverflow() {
+        OptimizedGraph result = optimizer.optimize(graph(of(1), skip(Long.MAX_VALUE), skip(10)));
+        List<Stage> stages = new ArrayList<>(result.getStages());
+        assertThat(((Stage.Skip) stages.get(1)).getSkip()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testThatElidingEnablesMerging() {
+        OptimizedGraph result = optimizer.optimize(graph(of(1), limit(3), skip(0), limit(2)));
+        assertThat(result.getAppliedRules()).containsExactly("elide-skip-zero", "merge-limits");
+        List<Stage> stages = new ArrayList<>(result.getStages());
+        assertThat(stages).hasSize(2);
+        assertThat(((Stage.Limit) stages.get(1)).getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatConsecutiveDistinctsAreMerged() {
+        Stage distinct = distinct();
+        OptimizedGraph result = optimizer.optimize(graph(of(1), distinct, distinct(), distinct()));
+        assertThat(result.getAppliedRules()).containsExactly("merge-distincts", "merge-distincts");
+        assertThat(result.getStages()).hasSize(2).endsWith(distinct);
+    }
+
+    @Test
+    public void testThatLimitZeroReplacesInertSource() {
+        Stage map = map();
+        OptimizedGraph result = optimizer.optimize(graph(of(1, 2), map(), skip(1), limit(0), map));
+        assertThat(result.getAppliedRules()).containsExactly("short-circuit-limit-zero");
+        List<Stage> stages = new ArrayList<>(result.getStages());
+        assertThat(stages).hasSize(2);
+        assertThat(((Stage.Of) stages.get(0)).getElements()).isEmpty();
+        assertThat(stages.get(1)).isSameAs(map);
+    }
+
+    @Test
+    public void testThatLimitZeroKeepsPublisherSource() {
+        Stage source = (Stage.PublisherStage) () -> Flowable.just(1);
+        Stage map = map();
+        OptimizedGraph result = optimizer.optimize(graph(source, map, limit(0)));
+        assertThat(result.getAppliedRules()).containsExactly("hoist-limit", "push-limit-into-source");
+        List<Stage> stages = new ArrayList<>(result.getStages());
+        // The limit is hoisted above the map, so the map is kept but never invoked.
+        assertThat(stages).hasSize(2);
+        assertThat(stages.get(0)).isInstanceOf(Stage.PublisherStage.class);
+        assertThat(stages.get(1)).isSameAs(map);
+    }
+
+    @Test
+    public void testThatLimitIsHoistedAboveMapAndPeek() {
+        Stage peek = (Stage.Peek) () -> x -> {
+        };
+        Stage map = map();
+        Stage source = of(1, 2, 3);
+        OptimizedGraph result = optimizer.optimize(graph(source, map, peek, limit(2)));
+        assertThat(result.getAppliedRules()).containsExactly("hoist-limit", "hoist-limit");
+        List<Stage> stages = new ArrayList<>(result.getStages());
+        assertThat(stages.get(0)).isSameAs(source);
+        assertThat(stages.get(1)).isInstanceOf(Stage.Limit.class);
+        assertThat(stages.subList(2, 4)).containsExactly(map, peek);
+    }
+
+    @Test
+    public void testThatSkipAndLimitArePushedIntoRandomAccessSources() {
+        OptimizedGraph result = optimizer.optimize(graph(list(1, 2, 3, 4, 5, 6), skip(1), limit(4), skip(2), map()));
+        assertThat(result.getAppliedRules())
+                .containsExactly("push-skip-into-source", "push-limit-into-source", "push-skip-into-source");
+        List<Stage> stages = new ArrayList<>(result.getStages());
+        assertThat(stages).hasSize(2);
+        assertThat(elements(stages.get(0))).containsExactly(4, 5);
+        assertThat(((Stage.Of) stages.get(0)).getElements()).isInstanceOf(RandomAccess.class);
+    }
+
+    @Test
+    public void testThatSlicesFollowTheBackingList() {
+        List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3));
+        OptimizedGraph result = optimizer.optimize(graph((Stage.Of) () -> list, skip(1), limit(3)));
+        Stage source = result.getStages().iterator().next();
+        assertThat(elements(source)).containsExactly(2, 3);
+        list.add(4);
+        list.add(5);
+        assertThat(elements(source)).containsExactly(2, 3, 4);
+        list.clear();
+        assertThat(elements(source)).isEmpty();
+    }
+
+    @Test
+    public void testThatSkipIsNotPushedOverNullItems() {
+        Stage source = list(null, 2, 3, 0, 2);
+        Stage skip = skip(2);
+        OptimizedGraph result = optimizer.optimize(graph(source, skip));
+        assertThat(result.getStages()).containsExactly(source, skip);
+
+        CompletionStage<List<Integer>> stage = ReactiveStreams.fromIterable(Arrays.asList(null, 2, 3, 0, 2))
+                .skip(2)
+                .toList().run();
+        assertThat(stage.toCompletableFuture().handle((r, e) -> e).join())
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void testThatSkipIsNotPushedIntoIterableSources() {
+        Stage source = of(1, 2, 3);
+        Stage skip = skip(1);
+        OptimizedGraph result = optimizer.optimize(graph(source, skip));
+        assertThat(result.getStages()).containsExactly(source, skip);
+    }
+
+    @Test
+    public void testThatLimitBoundsTheRequestsToThePublisher() throws ExecutionException, InterruptedException {
+        List<Long> requests = new ArrayList<>();
+        Flowable<Integer> publisher = Flowable.range(0, 1000).doOnRequest(requests::add);
+        List<Integer> list = Flowable.fromPublisher(ReactiveStreams.fromPublisher(publisher)
+                .map(i -> i + 1)
+                .limit(4)
+                .buildRs())
+                .observeOn(Schedulers.computation())
+                .toList()
+                .blockingGet();
+        assertThat(list).containsExactly(1, 2, 3, 4);
+        assertThat(requests.stream().mapToLong(Long::longValue).sum()).isEqualTo(4);
+
+        assertThat(ReactiveStreams.fromIterable(IntStream.range(0, 1000).boxed().collect(Collectors.toList()))
+                .skip(990).limit(5).skip(1)
+                .toList().run().toCompletableFuture().get()).containsExactly(991, 992, 993, 994);
+    }
+
+    @Test
+    public void testThatLimitZeroKeepsStagesObservingCancellation() {
+        Stage onTerminate = (Stage.OnTerminate) () -> () -> {
+        };
+        Stage source = of(1);
+        Stage limit = limit(0);
+        OptimizedGraph result = optimizer.optimize(graph(source, onTerminate, limit));
+        assertThat(result.isRewritten()).isFalse();
+        assertThat(result.getStages()).containsExactly(source, onTerminate, limit);
+    }
+
+    @Test
+    public void testThatLimitZeroKeepsTerminalCallbacks() throws ExecutionException, InterruptedException {
+        Stage onComplete = (Stage.OnComplete) () -> () -> {
+        };
+        Stage source = of();
+        Stage limit = limit(0);
+        OptimizedGraph result = optimizer.optimize(graph(source, onComplete, limit));
+        assertThat(result.getStages()).containsExactly(source, onComplete, limit);
+
+        AtomicBoolean completed = new AtomicBoolean();
+        assertThat(ReactiveStreams.empty()
+                .onComplete(() -> completed.set(true))
+                .limit(0)
+                .toList().run().toCompletableFuture().get()).isEmpty();
+        assertThat(completed).isTrue();
+
+        AtomicBoolean failed = new AtomicBoolean();
+        assertThat(ReactiveStreams.failed(new Exception("boom"))
+                .onError(e -> failed.set(true))
+                .limit(0)
+                .toList().run().toCompletableFuture().get()).isEmpty();
+        assertThat(failed).isTrue();
+    }
+
+    @Test
+    public void testWithCustomRules() {
+        OptimizedGraph result = new GraphOptimizer(Collections.singletonList(Rules.MERGE_LIMITS))
+                .optimize(graph(of(1), skip(0), limit(2), limit(1)));
+        assertThat(result.getAppliedRules()).containsExactly("merge-limits");
+        assertThat(result.getStages()).hasSize(3);
+    }
+
+    @Test
+    public void testThatOptimizedStreamsAreEquivalent() throws ExecutionException, InterruptedException {
+        assertThat(ReactiveStreams.of(1, 2, 3, 4, 5, 6, 5, 4)
+                .skip(0).skip(1).skip(1)
+                .limit(Long.MAX_VALUE).limit(5).limit(4)
+                .distinct().distinct()
+                .toList().run().toCompletableFuture().get()).containsExactly(3, 4, 5, 6);
+
+        AtomicBoolean completed = new AtomicBoolean();
+        assertThat(ReactiveStreams.of(1, 2, 3)
+                .map(i -> i * 2)
+                .limit(0)
+                .onComplete(() -> completed.set(true))
+                .toList().run().toCompletableFuture().get()).isEmpty();
+        assertThat(completed).isTrue();
+    }
+
+    @Test
+    public void testThatLimitZeroStillCancelsThePublisher() throws ExecutionException, InterruptedException {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        assertThat(ReactiveStreams.fromPublisher(Flowable.just(1, 2).doOnCancel(() -> cancelled.set(true)))
+                .map(i -> i * 2)
+                .limit(0)
+                .toList().run().toCompletableFuture().get()).isEmpty();
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testWithoutGraph() {
+        optimizer.optimize(null);
+    }
+}
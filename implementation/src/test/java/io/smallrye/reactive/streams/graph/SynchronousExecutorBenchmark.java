@@ -0,0 +1,69 @@
+package io.smallrye.reactive.streams.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark measuring the time to build and run a {@code map}, {@code filter}, {@code toList} stream of
+ * {@link #count} items, run with {@code mvn verify -Pbenchmarks}. The {@code execution} parameter selects how the
+ * stream is executed:
+ * <ul>
+ * <li>{@code LOOP}: the stream is created with {@code fromIterable}, and executed by the {@link SynchronousExecutor},</li>
+ * <li>{@code FLOWABLE}: the same list publisher is wrapped with {@code fromPublisher}, which the
+ * {@link SynchronousExecutor} does not support, so the stream is executed as a {@code Flowable} pipeline.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SynchronousExecutorBenchmark {
+
+    @Param({ "LOOP", "FLOWABLE" })
+    public String execution;
+
+    @Param({ "10", "100000" })
+    public int count;
+
+    private List<Integer> items;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(i);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> mapFilterToList() throws ExecutionException, InterruptedException {
+        PublisherBuilder<Integer> source = execution.equals("LOOP")
+                ? ReactiveStreams.fromIterable(items)
+                : ReactiveStreams.fromPublisher(ReactiveStreams.fromIterable(items).buildRs());
+        return source
+                .map(i -> i + 1)
+                .filter(i -> i % 2 == 0)
+                .toList()
+                .run()
+                .toCompletableFuture()
+                .get();
+    }
+}
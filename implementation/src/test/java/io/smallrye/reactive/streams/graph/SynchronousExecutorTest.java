@@ -0,0 +1,168 @@
+package io.smallrye.reactive.streams.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.reactive.streams.operators.CompletionRunner;
+import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+
+/**
+ * Checks that the {@link SynchronousExecutor} produces the same results, and invokes the same callbacks in the same
+ * order, as the flowable-based execution. The reference execution inserts a {@code flatMapIterable} stage, which is
+ * not supported by the synchronous executor.
+ */
+public class SynchronousExecutorTest {
+
+    private final List<String> events = new ArrayList<>();
+
+    private static Graph graph(Stage... stages) {
+        return () -> Arrays.asList(stages);
+    }
+
+    private <T> ProcessorBuilder<T, T> probes(String name) {
+        return ReactiveStreams.<T> builder()
+                .peek(i -> events.add(name + ":next:" + i))
+                .onComplete(() -> events.add(name + ":complete"))
+                .onError(e -> events.add(name + ":error:" + e.getMessage()))
+                .onTerminate(() -> events.add(name + ":terminate"));
+    }
+
+    private <R> void verify(List<Integer> items, Function<PublisherBuilder<Integer>, CompletionRunner<R>> pipeline) {
+        events.clear();
+        Object reference = outcome(pipeline.apply(ReactiveStreams.fromIterable(items)
+                .flatMapIterable(Collections::singletonList)).run());
+        List<String> referenceEvents = new ArrayList<>(events);
+
+        events.clear();
+        CompletionStage<R> stage = pipeline.apply(ReactiveStreams.fromIterable(items)).run();
+        assertThat(stage.toCompletableFuture()).isDone();
+        assertThat(outcome(stage)).isEqualTo(reference);
+        assertThat(events).isEqualTo(referenceEvents);
+    }
+
+    private static Object outcome(CompletionStage<?> stage) {
+        CompletableFuture<?> future = stage.toCompletableFuture();
+        assertThat(future).isDone();
+        return future.handle((res, err) -> err != null ? err.getClass() + ":" + err.getMessage() : res).join();
+    }
+
+    @Test
+    public void testSupportedGraphs() {
+        Stage of = (Stage.Of) () -> Arrays.asList(1, 2);
+        Stage map = (Stage.Map) () -> Function.identity();
+        Stage findFirst = new Stage.FindFirst() {
+        };
+        Stage flatMapIterable = (Stage.FlatMapIterable) () -> Collections::singletonList;
+        Stage publisher = (Stage.PublisherStage) () -> ReactiveStreams.empty().buildRs();
+
+        assertThat(SynchronousExecutor.supports(graph(of, map, findFirst).getStages())).isTrue();
+        assertThat(SynchronousExecutor.supports(graph(of, findFirst).getStages())).isTrue();
+        assertThat(SynchronousExecutor.supports(graph(of, flatMapIterable, findFirst).getStages())).isFalse();
+        assertThat(SynchronousExecutor.supports(graph(publisher, map, findFirst).getStages())).isFalse();
+        assertThat(SynchronousExecutor.supports(graph(of, map).getStages())).isFalse();
+    }
+
+    @Test
+    public void testCollect() {
+        verify(Arrays.asList(1, 2, 3, 4), p -> p.via(probes("a")).map(i -> i * 2).filter(i -> i > 2)
+                .via(probes("b")).toList());
+        verify(Collections.emptyList(), p -> p.via(probes("a")).toList());
+        verify(Arrays.asList(1, 1, 2, 3, 2, 4), p -> p.distinct().skip(1).via(probes("a")).toList());
+        verify(Arrays.asList(1, 2, 3, 1), p -> p.via(probes("a")).dropWhile(i -> i < 2).via(probes("b")).toList());
+    }
+
+    @Test
+    public void testCancellationByDownstream() {
+        verify(Arrays.asList(1, 2, 3, 4), p -> p.via(probes("a")).limit(2).via(probes("b")).toList());
+        verify(Arrays.asList(1, 2, 3), p -> p.via(probes("a")).takeWhile(i -> i < 2).via(probes("b")).toList());
+        verify(Arrays.asList(1, 2, 3), p -> p.via(probes("a")).findFirst());
+        verify(Collections.emptyList(), p -> p.via(probes("a")).findFirst());
+        verify(Arrays.asList(1, 2, 3), p -> p.via(probes("a")).limit(1).via(probes("b")).findFirst());
+    }
+
+    @Test
+    public void testEmptySourceCompletesWhenCancelledOnSubscription() {
+        List<Integer> empty = Collections.emptyList();
+        for (Iterable<Integer> items : Arrays.<Iterable<Integer>> asList(empty, new ArrayDeque<>())) {
+            events.clear();
+            Object reference = outcome(ReactiveStreams.fromPublisher(Flowable.fromIterable(items))
+                    .via(probes("a")).limit(0).toList().run());
+            List<String> referenceEvents = new ArrayList<>(events);
+            assertThat(referenceEvents).contains("a:complete");
+
+            events.clear();
+            CompletionStage<List<Integer>> stage = ReactiveStreams.fromIterable(items)
+                    .via(probes("a")).limit(0).toList().run();
+            assertThat(outcome(stage)).isEqualTo(reference);
+            assertThat(events).isEqualTo(referenceEvents);
+        }
+    }
+
+    @Test
+    public void testFailures() {
+        List<Integer> items = Arrays.asList(1, 2, 3);
+        verify(items, p -> p.via(probes("a")).map(i -> {
+            if (i == 2) {
+                throw new IllegalStateException("boom");
+            }
+            return i;
+        }).via(probes("b")).toList());
+        verify(items, p -> p.via(probes("a")).map(i -> (Integer) null).via(probes("b")).toList());
+        verify(items, p -> p.via(probes("a")).peek(i -> {
+            throw new IllegalStateException("peek");
+        }).via(probes("b")).toList());
+        verify(items, p -> p.via(probes("a")).onComplete(() -> {
+            throw new IllegalStateException("complete");
+        }).via(probes("b")).toList());
+        verify(items, p -> p.via(probes("a")).onTerminate(() -> {
+            throw new IllegalStateException("terminate");
+        }).via(probes("b")).toList());
+        verify(items, p -> p.map(i -> {
+            throw new IllegalStateException("map");
+        }).onError(e -> {
+            throw new IllegalStateException("error");
+        }).via(probes("b")).toList());
+    }
+
+    @Test
+    public void testCollectorFailures() {
+        List<Integer> items = Arrays.asList(1, 2);
+        verify(items, p -> p.via(probes("a")).collect(() -> {
+            throw new IllegalStateException("supplier");
+        }, (acc, i) -> {
+        }));
+        verify(items, p -> p.via(probes("a")).collect(ArrayList::new, (acc, i) -> {
+            throw new IllegalStateException("accumulator");
+        }));
+        verify(items, p -> p.via(probes("a")).collect(Collectors.collectingAndThen(Collectors.toList(), l -> {
+            throw new IllegalStateException("finisher");
+        })));
+    }
+
+    @Test
+    public void testNullElement() {
+        CompletionStage<Optional<Integer>> stage = ReactiveStreams.fromIterable(Arrays.asList(1, null))
+                .skip(1)
+                .findFirst()
+                .run();
+        assertThat(stage.toCompletableFuture()).isCompletedExceptionally();
+        assertThat(outcome(stage).toString()).contains(NullPointerException.class.getName());
+    }
+}
@@ -0,0 +1,49 @@
+package io.smallrye.reactive.streams.operators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Graph;
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+import org.junit.Test;
+
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.stages.Stages;
+
+/**
+ * Checks that the operators registered using the {@link OperatorProvider} SPI are used by the {@link Engine}.
+ */
+public class OperatorProviderTest {
+
+    @Test
+    public void testLookup() {
+        RepeatOperatorProvider.Repeat stage = () -> 2;
+        Operator<RepeatOperatorProvider.Repeat> operator = Stages.lookup(stage);
+        assertThat(operator).isInstanceOf(ProcessorOperator.class);
+        assertThat(operator.isSynchronous()).isTrue();
+    }
+
+    @Test
+    public void testThatBuiltInOperatorsAreStillUsed() {
+        Stage.Map map = () -> i -> i;
+        assertThat(Stages.lookup(map)).isInstanceOf(ProcessorOperator.class);
+    }
+
+    @Test
+    public void testCustomStageInAGraph() throws ExecutionException, InterruptedException {
+        List<Stage> stages = new ArrayList<>();
+        stages.add((Stage.Of) () -> Arrays.asList(1, 2, 3));
+        stages.add((RepeatOperatorProvider.Repeat) () -> 2);
+        stages.add((Stage.Map) () -> i -> (int) i * 10);
+        stages.add((Stage.Collect) Collectors::toList);
+        Graph graph = () -> stages;
+
+        List<Integer> list = new Engine().<List<Integer>> buildCompletion(graph).toCompletableFuture().get();
+        assertThat(list).containsExactly(10, 10, 20, 20, 30, 30);
+    }
+}
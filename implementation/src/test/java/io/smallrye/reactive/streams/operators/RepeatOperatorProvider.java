@@ -0,0 +1,36 @@
+package io.smallrye.reactive.streams.operators;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.microprofile.reactive.streams.operators.spi.Stage;
+
+import io.reactivex.Flowable;
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * A {@link OperatorProvider} registering a custom stage repeating each item.
+ */
+public class RepeatOperatorProvider implements OperatorProvider {
+
+    @Override
+    public List<Operator<?>> getOperators() {
+        return Collections.singletonList(new ProcessorOperator<>(Repeat.class, new RepeatStageFactory(), true));
+    }
+
+    /**
+     * A custom stage, not defined by the specification.
+     */
+    public interface Repeat extends Stage {
+        int getTimes();
+    }
+
+    private static class RepeatStageFactory implements ProcessingStageFactory<Repeat> {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <I, O> ProcessingStage<I, O> create(Engine engine, Repeat stage) {
+            int times = stage.getTimes();
+            return source -> (Flowable<O>) source.concatMapIterable(item -> Collections.nCopies(times, item));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.smallrye.reactive.streams.pool;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.CompletionSubscriber;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Processor;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.DefaultSubscriber;
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * JMH benchmarks building and running a subscriber graph or a processor graph per message, from 4 threads, with or
+ * without {@link ProcessorPool}. Run with {@code mvn verify -Pbenchmarks}: the GC profiler reports the allocated bytes
+ * per message ({@code gc.alloc.rate.norm}) and the collections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms256m", "-Xmx256m" })
+@Threads(4)
+public class ProcessorPoolBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean pooled;
+
+    private final Engine engine = new Engine();
+    private final Flowable<Integer> message = Flowable.just(1);
+    private ProcessorPool pool;
+
+    @Setup
+    public void setup() {
+        if (pooled) {
+            pool = ProcessorPool.builder().install();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Benchmark
+    public void subscriber(Blackhole blackhole) {
+        CompletionSubscriber<Integer, List<Integer>> subscriber = ReactiveStreams.<Integer> builder()
+                .map(i -> i + 1)
+                .toList()
+                .build(engine);
+        message.subscribe(subscriber);
+        blackhole.consume(subscriber.getCompletion());
+    }
+
+    @Benchmark
+    public void processor(Blackhole blackhole) {
+        Processor<Integer, Integer> processor = ReactiveStreams.<Integer> builder()
+                .map(i -> i + 1)
+                .buildRs(engine);
+        processor.subscribe(new DefaultSubscriber<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                blackhole.consume(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                blackhole.consume(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                blackhole.consume(true);
+            }
+        });
+        message.subscribe(processor);
+    }
+}
@@ -0,0 +1,136 @@
+package io.smallrye.reactive.streams.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.microprofile.reactive.streams.operators.CompletionSubscriber;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Test;
+import org.reactivestreams.Processor;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * Checks the behavior of the {@link ProcessorPool} class.
+ */
+public class ProcessorPoolTest {
+
+    private final Engine engine = new Engine();
+
+    @After
+    public void cleanup() {
+        ProcessorPool.current().ifPresent(ProcessorPool::close);
+        ProcessorPool.current("pooled").ifPresent(ProcessorPool::close);
+    }
+
+    @Test
+    public void testThatTheProcessorsOfTheSubscribersAreRecycled() throws InterruptedException, ExecutionException,
+            TimeoutException {
+        ProcessorPool pool = ProcessorPool.builder().install();
+        for (int i = 0; i < 10; i++) {
+            int offset = i;
+            CompletionSubscriber<Integer, List<Integer>> subscriber = ReactiveStreams.<Integer> builder()
+                    .map(x -> x + offset)
+                    .toList()
+                    .build(engine);
+            Flowable.range(0, 3).subscribe(subscriber);
+            assertThat(subscriber.getCompletion().toCompletableFuture().get(5, TimeUnit.SECONDS))
+                    .containsExactly(offset, offset + 1, offset + 2);
+        }
+        assertThat(pool.getCreated()).isEqualTo(1);
+        assertThat(pool.getReused()).isEqualTo(9);
+    }
+
+    @Test
+    public void testThatTheProcessorsOfTheProcessorsAreRecycled() {
+        ProcessorPool pool = ProcessorPool.builder().install();
+        for (int i = 0; i < 10; i++) {
+            Processor<Integer, Integer> processor = ReactiveStreams.<Integer> builder().map(x -> x * 2).buildRs(engine);
+            TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+            processor.subscribe(subscriber);
+            Flowable.range(1, 3).subscribe(processor);
+            subscriber.assertResult(2, 4, 6);
+        }
+        // Subscribed once the upstream has completed.
+        Processor<Integer, Integer> processor = ReactiveStreams.<Integer> builder().buildRs(engine);
+        Flowable.range(1, 2).subscribe(processor);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.assertResult(1, 2);
+        assertThat(pool.getCreated()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatReleasedProcessorsCannotBeUsed() {
+        ProcessorPool.builder().install();
+        CompletionSubscriber<Integer, List<Integer>> subscriber = ReactiveStreams.<Integer> builder()
+                .toList()
+                .build(engine);
+        Flowable.just(1).subscribe(subscriber);
+        assertThatThrownBy(() -> subscriber.onNext(2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("released");
+
+        Processor<Integer, Integer> processor = ReactiveStreams.<Integer> builder().buildRs(engine);
+        TestSubscriber<Integer> first = new TestSubscriber<>();
+        processor.subscribe(first);
+        Flowable.just(1).subscribe(processor);
+        first.assertResult(1);
+        TestSubscriber<Integer> late = new TestSubscriber<>();
+        processor.subscribe(late);
+        late.assertError(IllegalStateException.class);
+
+        // The cancellation of a terminated stream does not affect the stream reusing its processor.
+        Processor<Integer, Integer> next = ReactiveStreams.<Integer> builder().buildRs(engine);
+        TestSubscriber<Integer> second = new TestSubscriber<>(0);
+        next.subscribe(second);
+        Flowable.range(1, 3).subscribe(next);
+        first.cancel();
+        second.request(3);
+        second.assertResult(1, 2, 3);
+    }
+
+    @Test
+    public void testThatTheFailuresAreDeliveredAndThePoolIsBounded() {
+        ProcessorPool pool = ProcessorPool.builder().maxSizePerThread(1).install();
+        CompletionSubscriber<Integer, List<Integer>> failing = ReactiveStreams.<Integer> builder()
+                .toList()
+                .build(engine);
+        Flowable.<Integer> error(new Exception("boom")).subscribe(failing);
+        assertThat(failing.getCompletion().toCompletableFuture()).isCompletedExceptionally();
+
+        List<CompletionSubscriber<Integer, List<Integer>>> subscribers = Arrays.asList(
+                ReactiveStreams.<Integer> builder().toList().build(engine),
+                ReactiveStreams.<Integer> builder().toList().build(engine));
+        subscribers.forEach(subscriber -> Flowable.just(1).subscribe(subscriber));
+        ReactiveStreams.<Integer> builder().toList().build(engine);
+        ReactiveStreams.<Integer> builder().toList().build(engine);
+        // The two subscribers use the released processor and a new one, only one of them is kept once released.
+        assertThat(pool.getCreated()).isEqualTo(3);
+        assertThat(pool.getReused()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatNamedEnginesUseTheirOwnPool() {
+        ProcessorPool global = ProcessorPool.builder().install();
+        ProcessorPool named = ProcessorPool.builder().install("pooled");
+        assertThat(ProcessorPool.forEngine(new Engine())).isSameAs(global);
+        assertThat(ProcessorPool.forEngine(new Engine("pooled"))).isSameAs(named);
+        assertThatThrownBy(() -> global.subscriber(named.acquire(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        named.close();
+        global.close();
+        assertThat(ProcessorPool.forEngine(new Engine("pooled"))).isNull();
+        assertThatThrownBy(() -> ProcessorPool.builder().maxSizePerThread(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,134 @@
+package io.smallrye.reactive.streams.prefetch;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.boundary.AsyncBoundary;
+
+/**
+ * JMH benchmark comparing the fixed prefetch of the {@link AsyncBoundary} (128 items) with an {@link AdaptivePrefetch}
+ * bounded to 1 MB, run with {@code mvn verify -Pbenchmarks}. {@link #count} items of {@link #size} bytes are produced
+ * on a thread and consumed on another one, which spends {@link #work} JMH tokens per item.
+ * <p>
+ * The throughput is the average time per operation. The memory footprint is reported by the {@code peakInFlightItems}
+ * and {@code peakInFlightBytes} counters, the highest number of items emitted into the boundary and not yet consumed,
+ * and by the allocation rate of the {@code gc} profiler enabled by the {@code benchmarks} profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class AdaptivePrefetchBenchmark {
+
+    private static final long MAX_BYTES = 1024 * 1024;
+
+    @Param({ "FIXED", "ADAPTIVE" })
+    public String prefetch;
+
+    @Param({ "64", "65536" })
+    public int size;
+
+    @Param({ "0", "100" })
+    public int work;
+
+    @Param({ "10000" })
+    public int count;
+
+    private ExecutorService consumerExecutor;
+    private ExecutorService producerExecutor;
+    private Scheduler consumer;
+    private Scheduler producer;
+    private AsyncBoundary boundary;
+    private AdaptivePrefetch adaptive;
+
+    @Setup
+    public void setup() {
+        consumerExecutor = Executors.newSingleThreadExecutor();
+        producerExecutor = Executors.newSingleThreadExecutor();
+        consumer = Schedulers.from(consumerExecutor);
+        producer = Schedulers.from(producerExecutor);
+        AsyncBoundary.Builder builder = AsyncBoundary.builder().scheduler(consumer);
+        if (prefetch.equals("ADAPTIVE")) {
+            adaptive = AdaptivePrefetch.builder()
+                    .maxPrefetch(4096)
+                    .maxBytes(MAX_BYTES, (byte[] item) -> item.length)
+                    .build();
+            builder.adaptivePrefetch(adaptive);
+        }
+        boundary = builder.build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (adaptive != null) {
+            adaptive.close();
+        }
+        consumerExecutor.shutdown();
+        producerExecutor.shutdown();
+    }
+
+    @Benchmark
+    public void boundary(Blackhole blackhole, Footprint footprint) {
+        AtomicLong emitted = new AtomicLong();
+        long[] consumed = new long[1];
+        Flowable<byte[]> source = Flowable.range(0, count)
+                .map(i -> new byte[size])
+                .doOnNext(item -> emitted.incrementAndGet())
+                .subscribeOn(producer);
+        // Consumed on the consumer thread, so the demand crossing the boundary follows the consumer.
+        boundary.apply(source)
+                .doOnNext(item -> {
+                    footprint.inFlight(emitted.get() - consumed[0]++, size);
+                    Blackhole.consumeCPU(work);
+                    blackhole.consume(item);
+                })
+                .ignoreElements()
+                .blockingAwait();
+    }
+
+    /**
+     * The peak number of items in flight, reset on each iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long peakInFlightItems;
+        public long peakInFlightBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakInFlightItems = 0;
+            peakInFlightBytes = 0;
+        }
+
+        void inFlight(long items, int size) {
+            if (items > peakInFlightItems) {
+                peakInFlightItems = items;
+                peakInFlightBytes = items * size;
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.smallrye.reactive.streams.prefetch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.Engine;
+
+/**
+ * Checks the behavior of the {@link AdaptivePrefetch} class.
+ */
+public class AdaptivePrefetchTest {
+
+    @After
+    public void cleanup() {
+        AdaptivePrefetch.current().ifPresent(AdaptivePrefetch::close);
+        AdaptivePrefetch.current("big").ifPresent(AdaptivePrefetch::close);
+    }
+
+    @Test
+    public void testThatItemsAreDeliveredInOrderOnTheScheduler() {
+        AdaptivePrefetch prefetch = AdaptivePrefetch.builder().install();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        TestSubscriber<Integer> subscriber = prefetch.observeOn(Flowable.range(0, 10000), Schedulers.single())
+                .doOnNext(i -> threads.add(Thread.currentThread().getName()))
+                .test();
+        subscriber.awaitDone(5, TimeUnit.SECONDS)
+                .assertValueSequence(IntStream.range(0, 10000).boxed().collect(Collectors.toList()))
+                .assertComplete();
+        assertThat(threads).allMatch(name -> name.startsWith("RxSingleScheduler"));
+    }
+
+    @Test
+    public void testThatTheDownstreamRequestsAreRespected() throws InterruptedException {
+        AdaptivePrefetch prefetch = AdaptivePrefetch.builder().install();
+        TestSubscriber<Integer> subscriber = prefetch.observeOn(Flowable.range(0, 100), Schedulers.single()).test(5);
+        Thread.sleep(100);
+        subscriber.assertValues(0, 1, 2, 3, 4).assertNotComplete();
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.awaitDone(5, TimeUnit.SECONDS).assertValueCount(100).assertComplete();
+    }
+
+    @Test
+    public void testThatFailuresArePropagated() {
+        AdaptivePrefetch prefetch = AdaptivePrefetch.builder().install();
+        prefetch.observeOn(Flowable.range(0, 10).concatWith(Flowable.error(new Exception("boom"))), Schedulers.single())
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertErrorMessage("boom");
+        prefetch.prefetch(Flowable.error(new Exception("boom"))).test().assertErrorMessage("boom");
+    }
+
+    @Test
+    public void testThatTheWindowGrowsForFastConsumers() {
+        AdaptivePrefetch prefetch = AdaptivePrefetch.builder().maxPrefetch(4096).install();
+        AtomicLong largest = new AtomicLong();
+        prefetch.observeOn(Flowable.range(0, 1000000).doOnRequest(n -> largest.accumulateAndGet(n, Math::max)),
+                Schedulers.computation())
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(1000000);
+        assertThat(largest.get()).isGreaterThan(Flowable.bufferSize()).isLessThanOrEqualTo(4096);
+    }
+
+    @Test
+    public void testThatTheWindowIsBoundedByTheEstimatedSize() {
+        AdaptivePrefetch prefetch = AdaptivePrefetch.builder()
+                .maxBytes(256 * 1024, (byte[] bytes) -> bytes.length)
+                .install();
+        assertThat(prefetch.getInitialPrefetch()).isEqualTo(1);
+        AtomicLong requested = new AtomicLong();
+        AtomicLong consumed = new AtomicLong();
+        AtomicLong inFlight = new AtomicLong();
+        prefetch.observeOn(Flowable.range(0, 200).map(i -> new byte[64 * 1024]).doOnRequest(requested::addAndGet),
+                Schedulers.computation())
+                .doOnNext(bytes -> inFlight.accumulateAndGet(requested.get() - consumed.getAndIncrement(), Math::max))
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertValueCount(200);
+        // 4 items of 64 KB at most.
+        assertThat(inFlight.get()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    public void testThatNamedEnginesUseTheirOwnConfiguration() throws InterruptedException, ExecutionException,
+            TimeoutException {
+        assertThat(AdaptivePrefetch.forEngine(new Engine())).isNull();
+        AdaptivePrefetch global = AdaptivePrefetch.builder().install();
+        AdaptivePrefetch big = AdaptivePrefetch.builder().maxPrefetch(16).install("big");
+        assertThat(AdaptivePrefetch.forEngine(new Engine())).isSameAs(global);
+        assertThat(AdaptivePrefetch.forEngine(new Engine("big"))).isSameAs(big);
+        assertThat(AdaptivePrefetch.forEngine(new Engine("other"))).isSameAs(global);
+        assertThat(AdaptivePrefetch.current("big")).contains(big);
+
+        List<Integer> list = ReactiveStreams.of(1, 2, 3)
+                .flatMapIterable(i -> Arrays.asList(i, i))
+                .toList()
+                .run(new Engine("big"))
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+        assertThat(list).containsExactly(1, 1, 2, 2, 3, 3);
+
+        big.close();
+        assertThat(AdaptivePrefetch.forEngine(new Engine("big"))).isSameAs(global);
+        global.close();
+        assertThat(AdaptivePrefetch.current()).isEmpty();
+    }
+
+    @Test
+    public void testThatInvalidConfigurationsAreRejected() {
+        assertThatThrownBy(() -> AdaptivePrefetch.builder().minPrefetch(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdaptivePrefetch.builder().minPrefetch(64).maxPrefetch(32).install())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdaptivePrefetch.builder().targetLatency(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
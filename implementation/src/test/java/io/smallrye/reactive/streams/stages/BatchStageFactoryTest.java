@@ -0,0 +1,102 @@
+package io.smallrye.reactive.streams.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.extensions.Batch;
+
+/**
+ * Checks the behavior of the {@link BatchStageFactory} class.
+ */
+public class BatchStageFactoryTest extends StageTestBase {
+
+    private final BatchStageFactory factory = new BatchStageFactory();
+
+    @Test
+    public void testBatchingBySize() throws ExecutionException, InterruptedException {
+        Flowable<Integer> flowable = Flowable.fromArray(1, 2, 3, 4, 5, 6, 7)
+                .subscribeOn(Schedulers.computation());
+        List<List<Integer>> list = ReactiveStreams.fromPublisher(flowable)
+                .via(Batch.builder().maxItems(3).build().<Integer> processor())
+                .toList().run().toCompletableFuture().get();
+        assertThat(list).hasSize(3);
+        assertThat(list.get(0)).containsExactly(1, 2, 3);
+        assertThat(list.get(1)).containsExactly(4, 5, 6);
+        assertThat(list.get(2)).containsExactly(7);
+    }
+
+    @Test
+    public void testBatchingByBytes() throws ExecutionException, InterruptedException {
+        List<List<String>> list = ReactiveStreams.of("aa", "bbb", "c", "dddd", "e")
+                .via(Batch.builder().maxBytes(4, String::length).build().<String> processor())
+                .toList().run().toCompletableFuture().get();
+        assertThat(list).hasSize(3);
+        assertThat(list.get(0)).containsExactly("aa", "bbb");
+        assertThat(list.get(1)).containsExactly("c", "dddd");
+        assertThat(list.get(2)).containsExactly("e");
+    }
+
+    @Test
+    public void testBatchingByLatency() throws ExecutionException, InterruptedException {
+        Flowable<Long> flowable = Flowable.interval(10, TimeUnit.MILLISECONDS).take(20);
+        List<List<Long>> list = ReactiveStreams.fromPublisher(flowable)
+                .via(Batch.builder().maxItems(1000).maxLatency(Duration.ofMillis(50)).build().<Long> processor())
+                .toList().run().toCompletableFuture().get();
+        assertThat(list.size()).isGreaterThan(1);
+        assertThat(list.stream().mapToInt(List::size).sum()).isEqualTo(20);
+    }
+
+    @Test
+    public void testWithInfiniteStream() throws ExecutionException, InterruptedException {
+        List<List<Integer>> list = infiniteStream()
+                .via(Batch.builder().maxItems(4).build().<Integer> processor())
+                .limit(2)
+                .toList().run().toCompletableFuture().get();
+        assertThat(list).hasSize(2);
+        assertThat(list.get(1)).containsExactly(5, 6, 7, 8);
+    }
+
+    @Test
+    public void testThatTheBuilderCanBeRunSeveralTimes() throws ExecutionException, InterruptedException {
+        ProcessorBuilder<Integer, List<Integer>> batching = ReactiveStreams.<Integer> builder()
+                .via(Batch.builder().maxItems(2).build().<Integer> processor());
+        for (int i = 0; i < 2; i++) {
+            List<List<Integer>> list = ReactiveStreams.of(1, 2, 3)
+                    .via(batching)
+                    .toList().run().toCompletableFuture().get();
+            assertThat(list).hasSize(2);
+            assertThat(list.get(0)).containsExactly(1, 2);
+            assertThat(list.get(1)).containsExactly(3);
+        }
+    }
+
+    @Test
+    public void testFailurePropagation() {
+        Throwable failure = ReactiveStreams.<Integer> failed(new Exception("boom"))
+                .via(Batch.builder().build().<Integer> processor())
+                .toList().run().toCompletableFuture()
+                .handle((list, err) -> err)
+                .join();
+        assertThat(failure).hasMessage("boom");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxItems() {
+        Batch.builder().maxItems(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void createWithoutStage() {
+        factory.create(null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package io.smallrye.reactive.streams.stages;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark measuring the time to build and run a stream concatenating {@link #segments} single-item streams with
+ * {@code ReactiveStreams.concat}, folded to the left, run with {@code mvn verify -Pbenchmarks}. The {@code concat}
+ * parameter selects how the stream is assembled:
+ * <ul>
+ * <li>{@code N_ARY}: the nested concatenations are flattened into a single concat by the engine,</li>
+ * <li>{@code NESTED}: each concatenation is followed by an identity {@code map}, which prevents the flattening, so each
+ * level adds a concat operator, as a reference.</li>
+ * </ul>
+ * The benchmark runs with a 4MB stack, as the nested streams recurse on each level.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss4m")
+public class ConcatBenchmark {
+
+    @Param({ "N_ARY", "NESTED" })
+    public String concat;
+
+    @Param({ "10", "100", "1000" })
+    public int segments;
+
+    private PublisherBuilder<Integer> stream;
+
+    @Setup
+    public void setup() {
+        boolean nested = concat.equals("NESTED");
+        stream = ReactiveStreams.of(0);
+        for (int i = 1; i < segments; i++) {
+            stream = ReactiveStreams.concat(stream, ReactiveStreams.of(i));
+            if (nested) {
+                stream = stream.map(item -> item);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Integer> concat() throws ExecutionException, InterruptedException {
+        return stream.toList().run().toCompletableFuture().get();
+    }
+}
@@ -3,12 +3,14 @@ package io.smallrye.reactive.streams.stages;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
@@ -88,4 +90,68 @@ public class ConcatStageFactoryTest extends StageTestBase {
         assertThat(threads).hasSize(2);
     }
 
+    @Test
+    public void testThatNestedConcatenationsAreFlattened() {
+        Graph a = () -> Collections.singletonList((Stage.Of) () -> Arrays.asList(1, 2));
+        Graph b = () -> Collections.singletonList((Stage.Of) () -> Collections.singletonList(3));
+        Graph c = () -> Collections.singletonList((Stage.Of) () -> Collections.singletonList(4));
+        Graph d = () -> Arrays.asList((Stage.Of) () -> Collections.singletonList(5), (Stage.Map) () -> i -> i);
+        Graph ab = () -> Collections.singletonList(concat(a, b));
+        Graph cd = () -> Collections.singletonList(concat(c, d));
+        assertThat(ConcatStageFactory.flatten(ab, cd)).containsExactly(a, b, c, d);
+    }
+
+    @Test
+    public void testWithManySegments() throws ExecutionException, InterruptedException {
+        PublisherBuilder<Integer> builder = ReactiveStreams.of(0);
+        for (int i = 1; i < 10000; i++) {
+            builder = ReactiveStreams.concat(builder, ReactiveStreams.of(i));
+        }
+        List<Integer> list = builder.toList().run().toCompletableFuture().get();
+        assertThat(list).hasSize(10000).isSorted().endsWith(9999);
+    }
+
+    @Test
+    public void testThatPendingSegmentsAreCancelled() throws ExecutionException, InterruptedException {
+        AtomicInteger subscribed = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        PublisherBuilder<Integer> builder = ReactiveStreams.of(1, 2);
+        for (int i = 0; i < 5; i++) {
+            builder = ReactiveStreams.concat(builder, ReactiveStreams.fromPublisher(Flowable.just(3)
+                    .doOnSubscribe(s -> subscribed.incrementAndGet())
+                    .doOnCancel(cancelled::incrementAndGet)));
+        }
+        List<Integer> list = builder.limit(1).toList().run().toCompletableFuture().get();
+        assertThat(list).containsExactly(1);
+        assertThat(subscribed).hasValue(5);
+        assertThat(cancelled).hasValue(5);
+
+        subscribed.set(0);
+        List<Integer> all = new ArrayList<>();
+        builder = ReactiveStreams.failed(new Exception("boom"));
+        for (int i = 0; i < 3; i++) {
+            builder = ReactiveStreams.concat(builder, ReactiveStreams.fromPublisher(Flowable.just(3)
+                    .doOnSubscribe(s -> subscribed.incrementAndGet())
+                    .doOnNext(all::add)));
+        }
+        Throwable failure = builder.toList().run().toCompletableFuture().handle((l, e) -> e).get();
+        assertThat(failure).hasMessage("boom");
+        assertThat(subscribed).hasValue(3);
+        assertThat(all).isEmpty();
+    }
+
+    private static Stage.Concat concat(Graph first, Graph second) {
+        return new Stage.Concat() {
+            @Override
+            public Graph getFirst() {
+                return first;
+            }
+
+            @Override
+            public Graph getSecond() {
+                return second;
+            }
+        };
+    }
+
 }
@@ -0,0 +1,68 @@
+package io.smallrye.reactive.streams.stages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.Flowable;
+
+/**
+ * JMH benchmark measuring the time to emit {@link #count} items from a stream created with {@code fromIterable}, run
+ * with {@code mvn verify -Pbenchmarks}. The {@code publisher} benchmark subscribes to the {@code Flowable} pipeline,
+ * the {@code loop} benchmark runs the stream with {@code forEach}, executed by the synchronous executor. The
+ * {@code emission} parameter selects the iterable:
+ * <ul>
+ * <li>{@code INDEXED}: an {@link ArrayList}, emitted using indexed access,</li>
+ * <li>{@code ITERATOR}: an {@link Iterable} returning the iterator of the same list, as a reference.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FromIterableBenchmark {
+
+    @Param({ "INDEXED", "ITERATOR" })
+    public String emission;
+
+    @Param({ "1", "10", "100000" })
+    public int count;
+
+    private Iterable<Integer> items;
+
+    @Setup
+    public void setup() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+        items = emission.equals("INDEXED") ? list : list::iterator;
+    }
+
+    @Benchmark
+    public void publisher(Blackhole blackhole) {
+        Flowable.fromPublisher(ReactiveStreams.fromIterable(items).buildRs()).subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void loop(Blackhole blackhole) throws ExecutionException, InterruptedException {
+        ReactiveStreams.fromIterable(items).forEach(blackhole::consume).run().toCompletableFuture().get();
+    }
+}
@@ -2,13 +2,24 @@ package io.smallrye.reactive.streams.stages;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
 import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.utils.FlowableFromList;
 
 /**
  * Checks the behavior of the {@link FromIterableStageFactory} class.
@@ -31,6 +42,59 @@ public class FromIterableStageFactoryTest extends StageTestBase {
         assertThat(empty).isEmpty();
     }
 
+    @Test
+    public void testThatRandomAccessListsUseIndexedAccess() {
+        List<Integer> list = Arrays.asList(1, 2, 3);
+        Publisher<Integer> publisher = factory.<Integer> create(null, () -> list).get();
+        assertThat(publisher).isInstanceOf(FlowableFromList.class);
+
+        Publisher<Integer> linked = factory.<Integer> create(null, () -> new LinkedList<>(list)).get();
+        assertThat(linked).isNotInstanceOf(FlowableFromList.class);
+    }
+
+    @Test
+    public void testBoundedRequests() {
+        List<Integer> list = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        TestSubscriber<Integer> subscriber = new FlowableFromList<>(list).test(10);
+        subscriber.assertValueCount(10).assertNotComplete();
+        subscriber.requestMore(85);
+        subscriber.assertValueCount(95).assertNotComplete();
+        subscriber.requestMore(10);
+        subscriber.assertValueCount(100).assertComplete();
+        assertThat(subscriber.values()).isEqualTo(list);
+    }
+
+    @Test
+    public void testWithAsynchronousFusedDownstream() {
+        List<Integer> list = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+        List<Integer> result = new FlowableFromList<>(list)
+                .observeOn(Schedulers.computation())
+                .toList()
+                .blockingGet();
+        assertThat(result).isEqualTo(list);
+    }
+
+    @Test
+    public void testThatTheListIsReadOnSubscription() {
+        List<Integer> list = new ArrayList<>();
+        Flowable<Integer> flowable = new FlowableFromList<>(list);
+        flowable.test().assertNoValues().assertComplete();
+        list.add(1);
+        flowable.test().assertValues(1).assertComplete();
+        list.add(2);
+        flowable.test().assertValues(1, 2).assertComplete();
+    }
+
+    @Test
+    public void testWithNullItems() {
+        new FlowableFromList<>(Arrays.asList(1, null, 3)).test()
+                .assertValues(1).assertError(NullPointerException.class);
+        new FlowableFromList<>(Arrays.asList(1, null, 3)).test(1)
+                .assertValues(1).assertNoErrors().requestMore(1).assertError(NullPointerException.class);
+        new FlowableFromList<>(Collections.singletonList(null)).test()
+                .assertNoValues().assertError(NullPointerException.class);
+    }
+
     @Test(expected = NullPointerException.class)
     public void createWithoutStage() {
         factory.create(null, null);
@@ -0,0 +1,171 @@
+package io.smallrye.reactive.streams.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.extensions.LoadShedding;
+import io.smallrye.reactive.streams.extensions.SheddingMetrics;
+
+/**
+ * Checks the behavior of the {@link LoadSheddingStageFactory} class.
+ */
+public class LoadSheddingStageFactoryTest extends StageTestBase {
+
+    private static final int COUNT = 300;
+
+    private final LoadSheddingStageFactory factory = new LoadSheddingStageFactory();
+
+    /**
+     * Runs a producer emitting an item every millisecond with a consumer taking 5 ms per item.
+     */
+    private List<Long> runWithSlowConsumer(LoadShedding stage) {
+        Flowable<Long> fast = Flowable.interval(1, TimeUnit.MILLISECONDS).onBackpressureBuffer().take(COUNT);
+        return Flowable.fromPublisher(ReactiveStreams.fromPublisher(fast).via(stage.<Long> processor()).buildRs())
+                .observeOn(Schedulers.single(), false, 1)
+                .doOnNext(i -> Thread.sleep(5))
+                .toList()
+                .blockingGet();
+    }
+
+    @Test
+    public void testDrop() {
+        LoadShedding stage = LoadShedding.drop();
+        List<Long> list = runWithSlowConsumer(stage);
+        SheddingMetrics metrics = stage.getMetrics();
+        assertThat(list).isSorted().hasSize((int) metrics.getEmitted());
+        assertThat(metrics.getReceived()).isEqualTo(COUNT);
+        assertThat(metrics.getDropped()).isPositive();
+        assertThat(metrics.getEmitted() + metrics.getDropped()).isEqualTo(COUNT);
+    }
+
+    @Test
+    public void testDropOldest() {
+        LoadShedding stage = LoadShedding.dropOldest(5);
+        List<Long> list = runWithSlowConsumer(stage);
+        SheddingMetrics metrics = stage.getMetrics();
+        assertThat(list).isSorted().endsWith((long) COUNT - 1);
+        assertThat(metrics.getReceived()).isEqualTo(COUNT);
+        assertThat(metrics.getDropped()).isPositive();
+        assertThat(metrics.getEmitted() + metrics.getDropped()).isEqualTo(COUNT);
+    }
+
+    @Test
+    public void testLatest() {
+        LoadShedding stage = LoadShedding.latest();
+        assertThat(stage.getStrategy()).isEqualTo(LoadShedding.Strategy.DROP_OLDEST);
+        assertThat(stage.getBufferSize()).isEqualTo(1);
+        List<Long> list = runWithSlowConsumer(stage);
+        // The last item is never dropped.
+        assertThat(list).isSorted().endsWith((long) COUNT - 1);
+        assertThat(stage.getMetrics().getDropped()).isPositive();
+    }
+
+    @Test
+    public void testSample() throws ExecutionException, InterruptedException {
+        LoadShedding stage = LoadShedding.sample(Duration.ofMillis(50));
+        Flowable<Long> fast = Flowable.interval(1, TimeUnit.MILLISECONDS).onBackpressureBuffer().take(COUNT);
+        List<Long> list = ReactiveStreams.fromPublisher(fast)
+                .via(stage.<Long> processor())
+                .toList().run().toCompletableFuture().get();
+        assertThat(list).isSorted().endsWith((long) COUNT - 1);
+        assertThat(list.size()).isLessThan(COUNT);
+        assertThat(stage.getMetrics().getReceived()).isEqualTo(COUNT);
+        assertThat(stage.getMetrics().getDropped()).isEqualTo(COUNT - list.size());
+    }
+
+    @Test
+    public void testDebounce() throws ExecutionException, InterruptedException {
+        LoadShedding stage = LoadShedding.debounce(Duration.ofMillis(50));
+        Flowable<Long> fast = Flowable.interval(1, TimeUnit.MILLISECONDS).onBackpressureBuffer().take(COUNT);
+        List<Long> list = ReactiveStreams.fromPublisher(fast)
+                .via(stage.<Long> processor())
+                .toList().run().toCompletableFuture().get();
+        assertThat(list).containsExactly((long) COUNT - 1);
+        assertThat(stage.getMetrics().getDropped()).isEqualTo(COUNT - 1);
+    }
+
+    @Test
+    public void testSampleWithoutDemand() {
+        LoadShedding stage = LoadShedding.sample(Duration.ofMillis(15));
+        List<Long> list = runWithoutDemand(stage);
+        assertThat(list.size()).isLessThan(20);
+        assertThat(stage.getMetrics().getDropped()).isEqualTo(20 - list.size());
+    }
+
+    @Test
+    public void testDebounceWithoutDemand() {
+        LoadShedding stage = LoadShedding.debounce(Duration.ofMillis(2));
+        List<Long> list = runWithoutDemand(stage);
+        assertThat(list.size()).isLessThan(20);
+        assertThat(stage.getMetrics().getDropped()).isEqualTo(20 - list.size());
+    }
+
+    /**
+     * Runs a producer emitting an item every 10 ms with a subscriber requesting nothing for 5 items, then a single
+     * item, then everything.
+     */
+    private List<Long> runWithoutDemand(LoadShedding stage) {
+        Flowable<Long> source = Flowable.interval(10, TimeUnit.MILLISECONDS).onBackpressureBuffer().take(20);
+        TestSubscriber<Long> subscriber = factory.<Long, Long> create(null, stage).apply(source).test(0);
+
+        await().until(() -> stage.getMetrics().getReceived() >= 5);
+        subscriber.assertNoErrors().assertNoValues();
+
+        subscriber.request(1);
+        await().until(() -> subscriber.valueCount() == 1);
+        subscriber.assertNoErrors();
+
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.awaitTerminalEvent();
+        subscriber.assertComplete().assertNoErrors();
+        assertThat(subscriber.values()).isSorted().endsWith(19L);
+        assertThat(stage.getMetrics().getReceived()).isEqualTo(20);
+        return subscriber.values();
+    }
+
+    @Test
+    public void testWithoutPressure() throws ExecutionException, InterruptedException {
+        LoadShedding stage = LoadShedding.drop();
+        List<Integer> list = ReactiveStreams.of(1, 2, 3)
+                .via(stage.<Integer> processor())
+                .toList().run().toCompletableFuture().get();
+        assertThat(list).containsExactly(1, 2, 3);
+        assertThat(stage.getMetrics().getDropped()).isZero();
+    }
+
+    @Test
+    public void testFailurePropagation() {
+        Throwable failure = ReactiveStreams.<Integer> failed(new Exception("boom"))
+                .via(LoadShedding.dropOldest(10).<Integer> processor())
+                .toList().run().toCompletableFuture()
+                .handle((list, err) -> err)
+                .join();
+        assertThat(failure).hasMessage("boom");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBufferSize() {
+        LoadShedding.dropOldest(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPeriod() {
+        LoadShedding.sample(Duration.ofMillis(-1));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void createWithoutStage() {
+        factory.create(null, null);
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
 import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
@@ -13,6 +14,7 @@ import org.reactivestreams.Processor;
 
 import io.reactivex.Flowable;
 import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.operators.DeferredProcessor;
 
 /**
  * Checks the behavior of the {@link ProcessorStageFactory}.
@@ -53,6 +55,23 @@ public class ProcessorStageFactoryTest extends StageTestBase {
         assertThat(list).containsExactly("1", "1", "2", "2", "3", "3");
     }
 
+    @Test
+    public void createWithDeferredProcessor() throws ExecutionException, InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        ProcessorBuilder<Integer, String> builder = ReactiveStreams.<Integer> builder()
+                .via(new DeferredProcessor<>(() -> {
+                    created.incrementAndGet();
+                    return asStringProcessor();
+                }));
+
+        // A processor is created for each run, so the builder can be reused.
+        for (int run = 1; run <= 2; run++) {
+            List<String> list = ReactiveStreams.of(1, 2, 3).via(builder).toList().run().toCompletableFuture().get();
+            assertThat(list).containsExactly("1", "2", "3");
+            assertThat(created).hasValue(run);
+        }
+    }
+
     private ProcessorBuilder<Integer, Integer> duplicateProcessorBuilder() {
         return ReactiveStreams.<Integer> builder().flatMapIterable(i -> Arrays.asList(i, i));
     }
@@ -0,0 +1,84 @@
+package io.smallrye.reactive.streams.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.Test;
+
+import io.smallrye.reactive.streams.extensions.Throttle;
+
+/**
+ * Checks the behavior of the {@link ThrottleStageFactory} class.
+ */
+public class ThrottleStageFactoryTest extends StageTestBase {
+
+    private final ThrottleStageFactory factory = new ThrottleStageFactory();
+
+    @Test
+    public void testThatItemsAreRateLimited() throws ExecutionException, InterruptedException {
+        long begin = System.nanoTime();
+        List<Integer> list = ReactiveStreams.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+                .via(Throttle.of(3, Duration.ofMillis(100)).<Integer> processor())
+                .toList().run().toCompletableFuture().get();
+        long elapsed = Duration.ofNanos(System.nanoTime() - begin).toMillis();
+        assertThat(list).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        // 3 items immediately, then 3 items per refill: at least 3 refills are needed.
+        assertThat(elapsed).isGreaterThanOrEqualTo(250);
+    }
+
+    @Test
+    public void testWithInfiniteStream() throws ExecutionException, InterruptedException {
+        List<Integer> list = infiniteStream()
+                .via(Throttle.of(5, Duration.ofMillis(10)).<Integer> processor())
+                .limit(12)
+                .toList().run().toCompletableFuture().get();
+        assertThat(list).hasSize(12).startsWith(1, 2, 3).endsWith(12);
+    }
+
+    @Test
+    public void testThatTheBuilderCanBeRunSeveralTimes() throws ExecutionException, InterruptedException {
+        ProcessorBuilder<Integer, Integer> throttling = ReactiveStreams.<Integer> builder()
+                .via(Throttle.of(5, Duration.ofMillis(10)).<Integer> processor());
+        for (int i = 0; i < 2; i++) {
+            List<Integer> list = ReactiveStreams.of(1, 2, 3)
+                    .via(throttling)
+                    .toList().run().toCompletableFuture().get();
+            assertThat(list).containsExactly(1, 2, 3);
+        }
+    }
+
+    @Test
+    public void testFailurePropagation() {
+        Throwable failure = ReactiveStreams.<Integer> failed(new Exception("boom"))
+                .via(Throttle.of(1, Duration.ofMillis(10)).<Integer> processor())
+                .toList().run().toCompletableFuture()
+                .handle((list, err) -> err)
+                .join();
+        assertThat(failure).hasMessage("boom");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPermits() {
+        Throttle.of(0, Duration.ofSeconds(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBurst() {
+        Throttle.of(1, Duration.ofSeconds(1)).withBurst(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPeriod() {
+        Throttle.of(1, Duration.ZERO);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void createWithoutStage() {
+        factory.create(null, null);
+    }
+}
@@ -0,0 +1,133 @@
+package io.smallrye.reactive.streams.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.extensions.LatencyMetrics;
+import io.smallrye.reactive.streams.extensions.TimedFlatMapCompletionStage;
+
+/**
+ * Checks the behavior of the {@link TimedFlatMapCompletionStageFactory} class.
+ */
+public class TimedFlatMapCompletionStageFactoryTest extends StageTestBase {
+
+    private final TimedFlatMapCompletionStageFactory factory = new TimedFlatMapCompletionStageFactory();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void cleanup() {
+        executor.shutdown();
+    }
+
+    private CompletionStage<String> delayed(int i) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        executor.schedule(() -> future.complete(Integer.toString(i)), 20, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @Test
+    public void testThatLatenciesAreRecorded() throws ExecutionException, InterruptedException {
+        TimedFlatMapCompletionStage<Integer, String> stage = TimedFlatMapCompletionStage.of(this::delayed);
+        List<String> list = ReactiveStreams.of(1, 2, 3, 4, 5)
+                .via(stage.processor())
+                .toList().run().toCompletableFuture().get();
+        assertThat(list).containsExactly("1", "2", "3", "4", "5");
+
+        LatencyMetrics metrics = stage.getMetrics();
+        assertThat(metrics.getQueueing().getCount()).isEqualTo(5);
+        assertThat(metrics.getCompletion().getCount()).isEqualTo(5);
+        assertThat(metrics.getEndToEnd().getCount()).isEqualTo(5);
+        assertThat(metrics.getCompletion().getValueAtPercentile(50, TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(19);
+        // The items received while a stage is in flight wait for its completion.
+        assertThat(metrics.getQueueing().getValueAtPercentile(100, TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(19);
+        assertThat(metrics.getEndToEnd().getValueAtPercentile(100))
+                .isGreaterThanOrEqualTo(metrics.getCompletion().getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testThatTheBuilderCanBeRunSeveralTimes() throws ExecutionException, InterruptedException {
+        TimedFlatMapCompletionStage<Integer, Integer> stage = TimedFlatMapCompletionStage
+                .of(CompletableFuture::completedFuture);
+        ProcessorBuilder<Integer, Integer> timed = ReactiveStreams.<Integer> builder().via(stage.processor());
+        for (int i = 0; i < 2; i++) {
+            List<Integer> list = ReactiveStreams.of(1, 2, 3).via(timed).toList().run().toCompletableFuture().get();
+            assertThat(list).containsExactly(1, 2, 3);
+        }
+        // The runs share the metrics of the stage.
+        assertThat(stage.getMetrics().getEndToEnd().getCount()).isEqualTo(6);
+    }
+
+    @Test
+    public void testThatEndToEndLatencyIncludesTheWaitForRequests() throws InterruptedException {
+        TimedFlatMapCompletionStage<Integer, Integer> stage = TimedFlatMapCompletionStage
+                .of(CompletableFuture::completedFuture);
+        TestSubscriber<Integer> subscriber = Flowable.fromPublisher(
+                ReactiveStreams.of(1).via(stage.processor()).buildRs()).test(0);
+        Thread.sleep(50);
+        subscriber.request(1);
+        subscriber.assertResult(1);
+
+        LatencyMetrics metrics = stage.getMetrics();
+        assertThat(metrics.getCompletion().getValueAtPercentile(100, TimeUnit.MILLISECONDS)).isLessThan(50);
+        assertThat(metrics.getEndToEnd().getValueAtPercentile(100, TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(49);
+    }
+
+    @Test
+    public void testThatFailedStagesAreRecorded() {
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new Exception("boom"));
+        TimedFlatMapCompletionStage<Integer, String> stage = TimedFlatMapCompletionStage.of(i -> failed);
+        Throwable failure = ReactiveStreams.of(1, 2)
+                .via(stage.processor())
+                .toList().run().toCompletableFuture()
+                .handle((list, err) -> err)
+                .join();
+        assertThat(failure).hasMessage("boom");
+        assertThat(stage.getMetrics().getCompletion().getCount()).isEqualTo(1);
+        assertThat(stage.getMetrics().getEndToEnd().getCount()).isZero();
+    }
+
+    @Test
+    public void testThatMetricsAreSharedByTheStreamsUsingTheStage() throws ExecutionException, InterruptedException {
+        TimedFlatMapCompletionStage<Integer, Integer> stage = TimedFlatMapCompletionStage
+                .of(CompletableFuture::completedFuture);
+        ReactiveStreams.of(1, 2, 3).via(stage.processor()).toList().run().toCompletableFuture().get();
+        ReactiveStreams.of(4, 5).via(stage.processor()).toList().run().toCompletableFuture().get();
+        assertThat(stage.getMetrics().getEndToEnd().getCount()).isEqualTo(5);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testThatTheMapperCannotReturnNull() throws Throwable {
+        try {
+            ReactiveStreams.of(1)
+                    .via(TimedFlatMapCompletionStage.<Integer, String> of(i -> null).processor())
+                    .toList().run().toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void createWithoutStage() {
+        factory.create(null, null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void createWithoutMapper() {
+        TimedFlatMapCompletionStage.of(null);
+    }
+}
@@ -0,0 +1,89 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the thread-confined variants of the processors and subscribers.
+ */
+public class ConfinedProcessorTest {
+
+    @Test
+    public void testThatTheProcessorForwardsTheItemsWhenSubscribedFirst() {
+        ConfinedConnectableProcessor<Integer> processor = new ConfinedConnectableProcessor<>();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        Flowable.range(0, 5).subscribe(processor);
+        subscriber.assertResult(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    public void testThatTheProcessorForwardsTheItemsWhenConnectedFirst() {
+        ConfinedConnectableProcessor<Integer> processor = new ConfinedConnectableProcessor<>();
+        Flowable.range(0, 5).subscribe(processor);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        processor.subscribe(subscriber);
+        subscriber.assertResult(0, 1, 2, 3, 4);
+
+        ConfinedConnectableProcessor<Integer> failed = new ConfinedConnectableProcessor<>();
+        Flowable.<Integer> error(new Exception("boom")).subscribe(failed);
+        TestSubscriber<Integer> late = new TestSubscriber<>();
+        failed.subscribe(late);
+        late.assertErrorMessage("boom");
+    }
+
+    @Test
+    public void testThatTheProcessorRejectsASecondSubscriber() {
+        ConfinedConnectableProcessor<Integer> processor = new ConfinedConnectableProcessor<>();
+        processor.subscribe(new TestSubscriber<>());
+        TestSubscriber<Integer> second = new TestSubscriber<>();
+        processor.subscribe(second);
+        second.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void testThatTheSegmentIsCancelledIfNotSubscribed() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ConfinedCancellablePublisher<Integer> publisher = new ConfinedCancellablePublisher<>(
+                Flowable.<Integer> never().doOnCancel(() -> cancelled.set(true)));
+        publisher.cancelIfNotSubscribed();
+        assertThat(cancelled).isTrue();
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        publisher.subscribe(subscriber);
+        subscriber.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void testThatTheSubscriberCompletesItsFuture() {
+        TestSubscriber<Integer> delegate = new TestSubscriber<>();
+        ConfinedWrappedSubscriber<Integer> subscriber = new ConfinedWrappedSubscriber<>(delegate);
+        Flowable.range(0, 3).subscribe(subscriber);
+        delegate.assertResult(0, 1, 2);
+        assertThat(subscriber.future().toCompletableFuture()).isCompleted();
+    }
+
+    @Test
+    public void testThatTheDebugModeDetectsSignalsFromOtherThreads() {
+        Thread other = new Thread(() -> {
+        });
+        ConfinedConnectableProcessor<Integer> processor = new ConfinedConnectableProcessor<>(other);
+        assertThatThrownBy(() -> processor.subscribe(new TestSubscriber<>()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("confined");
+        ConfinedWrappedProcessor<Integer> wrapped = new ConfinedWrappedProcessor<>(processor, processor, other);
+        assertThatThrownBy(wrapped::onComplete).isInstanceOf(IllegalStateException.class);
+
+        ConfinedConnectableProcessor<Integer> owned = new ConfinedConnectableProcessor<>(Thread.currentThread());
+        TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        owned.subscribe(subscriber);
+        Flowable.just(1).subscribe(owned);
+        subscriber.assertResult(1);
+    }
+}
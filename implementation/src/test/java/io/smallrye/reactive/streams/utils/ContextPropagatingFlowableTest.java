@@ -0,0 +1,144 @@
+package io.smallrye.reactive.streams.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.DefaultSubscriber;
+import io.reactivex.subscribers.TestSubscriber;
+import io.smallrye.reactive.streams.spi.ContextPropagator;
+
+public class ContextPropagatingFlowableTest {
+
+    private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+
+    private final AtomicInteger captures = new AtomicInteger();
+    private final AtomicInteger restores = new AtomicInteger();
+
+    private final ContextPropagator<Object> propagator = new ContextPropagator<Object>() {
+        @Override
+        public Object capture() {
+            captures.incrementAndGet();
+            return CONTEXT.get();
+        }
+
+        @Override
+        public Object restore(Object context) {
+            restores.incrementAndGet();
+            String previous = CONTEXT.get();
+            CONTEXT.set((String) context);
+            return previous;
+        }
+    };
+
+    private final List<ContextPropagator<Object>> propagators = Collections.singletonList(propagator);
+
+    @After
+    public void cleanup() {
+        CONTEXT.remove();
+    }
+
+    @Test
+    public void testThatTheContextIsRestoredOnTheOtherSideOfTheBoundary() {
+        List<String> seen = new CopyOnWriteArrayList<>();
+        Flowable<Integer> hop = Flowable.range(0, 100).observeOn(Schedulers.single());
+        CONTEXT.set("request-1");
+        TestSubscriber<Integer> subscriber = new ContextPropagatingFlowable<>(hop, propagators)
+                .doOnNext(i -> seen.add(CONTEXT.get()))
+                .test();
+        CONTEXT.remove();
+
+        subscriber.awaitDone(5, TimeUnit.SECONDS).assertValueCount(100).assertComplete();
+        assertThat(seen).hasSize(100).containsOnly("request-1");
+        // Captured once, installed and uninstalled for each signal.
+        assertThat(captures).hasValue(1);
+        assertThat(restores).hasValue(2 * 101);
+        // The thread of the scheduler does not keep the context.
+        assertThat(Flowable.fromCallable(() -> String.valueOf(CONTEXT.get())).subscribeOn(Schedulers.single())
+                .blockingFirst()).isEqualTo("null");
+    }
+
+    @Test
+    public void testThatEachSubscriptionCapturesItsContext() {
+        Flowable<String> flowable = new ContextPropagatingFlowable<>(
+                Flowable.just("a").observeOn(Schedulers.computation()), propagators)
+                        .map(s -> s + CONTEXT.get());
+        CONTEXT.set("1");
+        TestSubscriber<String> first = flowable.test();
+        CONTEXT.set("2");
+        TestSubscriber<String> second = flowable.test();
+        first.awaitDone(5, TimeUnit.SECONDS).assertResult("a1");
+        second.awaitDone(5, TimeUnit.SECONDS).assertResult("a2");
+    }
+
+    @Test
+    public void testThatTheContextIsRestoredOnFailure() {
+        List<String> seen = new CopyOnWriteArrayList<>();
+        CONTEXT.set("request-2");
+        TestSubscriber<Object> subscriber = new ContextPropagatingFlowable<>(
+                Flowable.error(new Exception("boom")).observeOn(Schedulers.single()), propagators)
+                        .doOnError(e -> seen.add(CONTEXT.get()))
+                        .test();
+        subscriber.awaitDone(5, TimeUnit.SECONDS).assertErrorMessage("boom");
+        assertThat(seen).containsExactly("request-2");
+    }
+
+    @Test
+    public void testThatNestedSignalsDoNotRestoreTheContextAgain() {
+        // Emits an item synchronously on each request, so requesting from onNext delivers the next item recursively.
+        AtomicInteger counter = new AtomicInteger();
+        Publisher<Integer> recursive = subscriber -> subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                if (counter.get() < 10) {
+                    subscriber.onNext(counter.getAndIncrement());
+                }
+            }
+
+            @Override
+            public void cancel() {
+                // Ignored.
+            }
+        });
+        List<String> seen = new CopyOnWriteArrayList<>();
+        CONTEXT.set("request-3");
+        new ContextPropagatingFlowable<>(recursive, propagators).subscribe(new DefaultSubscriber<Integer>() {
+            @Override
+            protected void onStart() {
+                CONTEXT.remove();
+                request(1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                seen.add(CONTEXT.get());
+                request(1);
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                // Not emitted.
+            }
+
+            @Override
+            public void onComplete() {
+                // Not emitted.
+            }
+        });
+        assertThat(seen).hasSize(10).containsOnly("request-3");
+        // The first item installs the context, the other ones are nested in its delivery.
+        assertThat(restores).hasValue(2);
+        assertThat(CONTEXT.get()).isNull();
+    }
+}
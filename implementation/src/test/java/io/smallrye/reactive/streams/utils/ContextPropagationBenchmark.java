@@ -0,0 +1,136 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import io.smallrye.reactive.streams.spi.ContextPropagator;
+
+/**
+ * JMH benchmark measuring the time to move {@link #count} items across a thread boundary followed by {@link #stages}
+ * {@code map} stages, with a thread-local context, run with {@code mvn verify -Pbenchmarks}. The {@code propagation}
+ * parameter selects how the context reaches the stages:
+ * <ul>
+ * <li>{@code NONE}: the context is not propagated, as a reference,</li>
+ * <li>{@code PER_ELEMENT}: the context is captured with each item before the boundary, and each stage installs and
+ * restores it around its function, the workaround used without propagation support,</li>
+ * <li>{@code PER_SUBSCRIPTION}: the context is captured once per subscription and installed around each signal
+ * delivered after the boundary, by the {@link ContextPropagatingFlowable} the engine wraps the boundaries with.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextPropagationBenchmark {
+
+    private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+
+    @Param({ "NONE", "PER_ELEMENT", "PER_SUBSCRIPTION" })
+    public String propagation;
+
+    @Param({ "1", "8" })
+    public int stages;
+
+    @Param({ "10000" })
+    public int count;
+
+    private ExecutorService executor;
+    private Scheduler scheduler;
+    private List<ContextPropagator<Object>> propagators;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        executor = Executors.newSingleThreadExecutor();
+        scheduler = Schedulers.from(executor);
+        ContextPropagator<?> propagator = new ThreadLocalPropagator();
+        propagators = Collections.singletonList((ContextPropagator<Object>) propagator);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public void pipeline(Blackhole blackhole) {
+        CONTEXT.set("request-id");
+        Flowable<Integer> source = Flowable.range(0, count);
+        Flowable<Integer> result;
+        if (propagation.equals("PER_ELEMENT")) {
+            Flowable<Contextual> items = source.map(i -> new Contextual(i, CONTEXT.get())).observeOn(scheduler);
+            for (int i = 0; i < stages; i++) {
+                items = items.map(item -> {
+                    String previous = CONTEXT.get();
+                    CONTEXT.set(item.context);
+                    try {
+                        return new Contextual(increment(item.value), item.context);
+                    } finally {
+                        CONTEXT.set(previous);
+                    }
+                });
+            }
+            result = items.map(item -> item.value);
+        } else {
+            result = source.observeOn(scheduler);
+            if (propagation.equals("PER_SUBSCRIPTION")) {
+                result = new ContextPropagatingFlowable<>(result, propagators);
+            }
+            for (int i = 0; i < stages; i++) {
+                result = result.map(ContextPropagationBenchmark::increment);
+            }
+        }
+        result.blockingSubscribe(blackhole::consume);
+    }
+
+    private static Integer increment(Integer value) {
+        // Reads the context, as a logger or a tracer would.
+        return CONTEXT.get() == null ? value : value + 1;
+    }
+
+    private static class Contextual {
+        private final Integer value;
+        private final String context;
+
+        Contextual(Integer value, String context) {
+            this.value = value;
+            this.context = context;
+        }
+    }
+
+    private static class ThreadLocalPropagator implements ContextPropagator<String> {
+        @Override
+        public String capture() {
+            return CONTEXT.get();
+        }
+
+        @Override
+        public String restore(String context) {
+            String previous = CONTEXT.get();
+            CONTEXT.set(context);
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * JMH benchmark measuring the time to connect a processor graph and to push {@link #count} items through it, on a
+ * single thread, with the atomic processors and subscribers of the engine or with their thread-confined variants.
+ * Run with {@code mvn verify -Pbenchmarks}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThreadConfinementBenchmark {
+
+    private static final Subscription SUBSCRIPTION = new Subscription() {
+        @Override
+        public void request(long n) {
+            // Ignored, the benchmark emits without checking the requests.
+        }
+
+        @Override
+        public void cancel() {
+            // Ignored.
+        }
+    };
+
+    @Param({ "false", "true" })
+    public boolean confined;
+
+    @Param({ "1", "100" })
+    public int count;
+
+    private Integer[] items;
+
+    @Setup
+    public void setup() {
+        items = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+    }
+
+    @Benchmark
+    public void processor(Blackhole blackhole) {
+        Processor<Integer, Integer> connectable = confined ? new ConfinedConnectableProcessor<>()
+                : new ConnectableProcessor<>();
+        Processor<Integer, Integer> processor = confined ? new ConfinedWrappedProcessor<>(connectable, connectable)
+                : new WrappedProcessor<>(connectable, connectable);
+        Subscriber<Integer> sink = new BlackholeSubscriber(blackhole);
+        processor.subscribe(confined ? new ConfinedWrappedSubscriber<>(sink) : new WrappedSubscriber<>(sink));
+        processor.onSubscribe(SUBSCRIPTION);
+        for (Integer item : items) {
+            processor.onNext(item);
+        }
+        processor.onComplete();
+    }
+
+    private static class BlackholeSubscriber implements Subscriber<Integer> {
+        private final Blackhole blackhole;
+
+        BlackholeSubscriber(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            blackhole.consume(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            blackhole.consume(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            blackhole.consume(true);
+        }
+    }
+}
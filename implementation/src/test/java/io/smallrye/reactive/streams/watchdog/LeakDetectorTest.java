@@ -0,0 +1,107 @@
+package io.smallrye.reactive.streams.watchdog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.microprofile.reactive.streams.operators.CompletionSubscriber;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link LeakDetector} class.
+ */
+public class LeakDetectorTest {
+
+    private final List<LeakedStream> reported = new CopyOnWriteArrayList<>();
+    private LeakDetector detector;
+
+    @Before
+    public void install() {
+        detector = LeakDetector.builder().samplingInterval(1).listener(reported::add).install();
+    }
+
+    @After
+    public void cleanup() {
+        detector.close();
+    }
+
+    private void awaitLeaks(int count) {
+        await().until(() -> {
+            System.gc();
+            detector.check();
+            return reported.size() >= count;
+        });
+    }
+
+    private void buildAndDropPublisher() {
+        ReactiveStreams.of(1, 2).map(i -> i + 1).buildRs();
+    }
+
+    private CompletionStage<List<Integer>> buildAndDropSubscriber() {
+        CompletionSubscriber<Integer, List<Integer>> subscriber = ReactiveStreams.<Integer> builder()
+                .map(i -> i + 1)
+                .toList()
+                .build();
+        return subscriber.getCompletion();
+    }
+
+    @Test
+    public void testThatTheDetectorCanBeDisabled() {
+        detector.close();
+        assertThat(LeakDetector.current()).isEmpty();
+        Flowable<Integer> flowable = Flowable.just(1);
+        assertThat(LeakDetector.track(flowable, null)).isSameAs(flowable);
+    }
+
+    @Test
+    public void testThatNeverSubscribedPublishersAreReported() {
+        buildAndDropPublisher();
+        assertThat(detector.getTrackedStreams()).isEqualTo(1);
+
+        awaitLeaks(1);
+        LeakedStream leak = reported.get(0);
+        assertThat(leak.getKind()).isEqualTo(LeakedStream.Kind.NEVER_SUBSCRIBED);
+        assertThat(leak.getStages()).containsExactly("Of", "Map");
+        assertThat(Arrays.stream(leak.getAssemblySite().getStackTrace()))
+                .anyMatch(element -> element.getMethodName().equals("buildAndDropPublisher"));
+        assertThat(detector.getTrackedStreams()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatNeverSubscribedSubscribersAreReported() {
+        CompletionStage<List<Integer>> completion = buildAndDropSubscriber();
+
+        awaitLeaks(1);
+        assertThat(reported).hasSize(1);
+        assertThat(reported.get(0).getKind()).isEqualTo(LeakedStream.Kind.NEVER_TERMINATED);
+        assertThat(reported.get(0).getStages()).containsExactly("Map", "Collect");
+        assertThat(completion.toCompletableFuture()).isNotDone();
+    }
+
+    @Test
+    public void testThatTerminatedAndCancelledStreamsAreNotReported() throws InterruptedException {
+        Flowable.fromPublisher(ReactiveStreams.of(1, 2).buildRs()).test().assertResult(1, 2);
+        TestSubscriber<Integer> subscriber = Flowable.fromPublisher(
+                ReactiveStreams.fromCompletionStage(new CompletableFuture<Integer>()).buildRs()).test();
+        subscriber.cancel();
+        assertThat(detector.getTrackedStreams()).isEqualTo(0);
+
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(detector.check()).isEmpty();
+        assertThat(reported).isEmpty();
+    }
+}
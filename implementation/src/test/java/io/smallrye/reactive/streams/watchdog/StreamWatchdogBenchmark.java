@@ -0,0 +1,70 @@
+package io.smallrye.reactive.streams.watchdog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.Flowable;
+
+/**
+ * JMH benchmark measuring the overhead of the {@link StreamWatchdog} on a stream of {@link #count} items, run with
+ * {@code mvn verify -Pbenchmarks}. When {@link #watched} is {@code true}, the watchdog is installed and the stream is
+ * registered on subscription, and each signal goes through the compare-and-set and the serialization of the
+ * watched subscriber.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamWatchdogBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean watched;
+
+    @Param({ "1", "1000" })
+    public int count;
+
+    private List<Integer> items;
+    private StreamWatchdog watchdog;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(i);
+        }
+        if (watched) {
+            watchdog = StreamWatchdog.builder().install();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (watchdog != null) {
+            watchdog.close();
+        }
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        Flowable.fromPublisher(ReactiveStreams.fromIterable(items).map(i -> i + 1).buildRs())
+                .subscribe(blackhole::consume);
+    }
+}
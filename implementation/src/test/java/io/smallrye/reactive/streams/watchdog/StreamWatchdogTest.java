@@ -0,0 +1,190 @@
+package io.smallrye.reactive.streams.watchdog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Checks the behavior of the {@link StreamWatchdog} class.
+ */
+public class StreamWatchdogTest {
+
+    private final List<StalledStream> reported = new CopyOnWriteArrayList<>();
+
+    @After
+    public void cleanup() {
+        StreamWatchdog.current().ifPresent(StreamWatchdog::close);
+    }
+
+    private StreamWatchdog install(boolean cancel) {
+        // Large enough for the first check of a cold JVM to happen before the threshold.
+        return StreamWatchdog.builder()
+                .idleThreshold(Duration.ofMillis(200))
+                .checkPeriod(Duration.ZERO)
+                .cancelStalled(cancel)
+                .listener(reported::add)
+                .install();
+    }
+
+    @Test
+    public void testThatTheWatchdogIsDisabledByDefault() {
+        assertThat(StreamWatchdog.current()).isEmpty();
+        Flowable<Integer> flowable = Flowable.just(1);
+        assertThat(StreamWatchdog.watch(flowable, null)).isSameAs(flowable);
+    }
+
+    @Test
+    public void testThatAStreamWaitingForTheUpstreamIsReported() throws InterruptedException {
+        StreamWatchdog watchdog = install(false);
+        CompletionStage<List<String>> result = ReactiveStreams.fromCompletionStage(new CompletableFuture<Integer>())
+                .map(i -> Integer.toString(i))
+                .toList().run();
+        assertThat(watchdog.getActiveStreams()).isEqualTo(1);
+        assertThat(watchdog.check()).isEmpty();
+
+        Thread.sleep(300);
+        List<StalledStream> stalled = watchdog.check();
+        assertThat(stalled).hasSize(1);
+        assertThat(reported).isEqualTo(stalled);
+        StalledStream stream = stalled.get(0);
+        assertThat(stream.getStages()).containsExactly("FromCompletionStage", "Map", "Collect");
+        assertThat(stream.getIdleTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(200);
+        assertThat(stream.getReceived()).isEqualTo(0);
+        assertThat(stream.getOutstandingDemand()).isEqualTo(Long.MAX_VALUE);
+        assertThat(stream.isCancelled()).isFalse();
+        assertThat(result.toCompletableFuture()).isNotDone();
+
+        // Reported once.
+        Thread.sleep(300);
+        assertThat(watchdog.check()).isEmpty();
+        assertThat(watchdog.getActiveStreams()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatAStreamWithoutDemandIsReported() throws InterruptedException {
+        StreamWatchdog watchdog = install(false);
+        Publisher<Integer> publisher = ReactiveStreams.of(1, 2, 3).map(i -> i + 1).buildRs();
+        TestSubscriber<Integer> subscriber = Flowable.fromPublisher(publisher).test(0);
+        subscriber.request(2);
+        subscriber.assertValues(2, 3);
+
+        watchdog.check();
+        Thread.sleep(300);
+        List<StalledStream> stalled = watchdog.check();
+        assertThat(stalled).hasSize(1);
+        assertThat(stalled.get(0).getStages()).containsExactly("Of", "Map");
+        assertThat(stalled.get(0).getReceived()).isEqualTo(2);
+        assertThat(stalled.get(0).getOutstandingDemand()).isEqualTo(0);
+
+        subscriber.request(1);
+        subscriber.assertResult(2, 3, 4);
+        watchdog.check();
+        assertThat(watchdog.getActiveStreams()).isEqualTo(0);
+    }
+
+    @Test
+    public void testThatProgressingStreamsAreNotReported() throws InterruptedException {
+        StreamWatchdog watchdog = install(false);
+        TestSubscriber<Integer> subscriber = Flowable.fromPublisher(
+                ReactiveStreams.of(1, 2, 3).buildRs()).test(0);
+        for (int i = 0; i < 3; i++) {
+            subscriber.request(1);
+            Thread.sleep(300);
+            assertThat(watchdog.check()).isEmpty();
+        }
+        subscriber.assertResult(1, 2, 3);
+        assertThat(watchdog.getActiveStreams()).isEqualTo(0);
+        assertThat(reported).isEmpty();
+    }
+
+    @Test
+    public void testThatStalledStreamsCanBeCancelled() throws InterruptedException {
+        StreamWatchdog watchdog = install(true);
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletionStage<List<Integer>> result = ReactiveStreams.fromCompletionStage(future).toList().run();
+
+        Thread.sleep(300);
+        List<StalledStream> stalled = watchdog.check();
+        assertThat(stalled).hasSize(1);
+        assertThat(stalled.get(0).isCancelled()).isTrue();
+        assertThat(watchdog.getActiveStreams()).isEqualTo(0);
+        Throwable failure = result.toCompletableFuture().handle((list, err) -> err).join();
+        assertThat(failure).isInstanceOf(TimeoutException.class)
+                .hasMessageContaining("[FromCompletionStage, Collect]");
+
+        // The value emitted after the cancellation is dropped.
+        future.complete(1);
+        assertThat(result.toCompletableFuture()).isCompletedExceptionally();
+    }
+
+    @Test
+    public void testThatTheCancellationWaitsForTheItemBeingEmitted() throws InterruptedException {
+        StreamWatchdog watchdog = install(true);
+        CountDownLatch emitting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TestSubscriber<Integer> subscriber = new TestSubscriber<Integer>(0) {
+            @Override
+            public void onNext(Integer item) {
+                emitting.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onNext(item);
+            }
+        };
+        Flowable.fromPublisher(ReactiveStreams.of(1, 2).buildRs()).subscribe(subscriber);
+        new Thread(() -> subscriber.request(1)).start();
+        assertThat(emitting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        watchdog.check();
+        Thread.sleep(300);
+        List<StalledStream> stalled = watchdog.check();
+        assertThat(stalled).hasSize(1);
+        assertThat(stalled.get(0).isCancelled()).isTrue();
+        // The failure is not emitted while the subscriber is receiving the item.
+        subscriber.assertNoErrors().assertNoValues();
+
+        release.countDown();
+        assertThat(subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS)).isTrue();
+        subscriber.assertValue(1).assertError(TimeoutException.class);
+    }
+
+    @Test
+    public void testThatStreamsAreCheckedPeriodically() {
+        StreamWatchdog watchdog = StreamWatchdog.builder()
+                .idleThreshold(Duration.ofMillis(20))
+                .listener(reported::add)
+                .install();
+        ReactiveStreams.fromCompletionStage(new CompletableFuture<Integer>()).toList().run();
+        assertThat(watchdog.getActiveStreams()).isEqualTo(1);
+        await().until(() -> reported.size() == 1);
+    }
+
+    @Test
+    public void testThatStreamsAreNotTrackedOnceClosed() {
+        StreamWatchdog watchdog = install(false);
+        Publisher<Integer> publisher = ReactiveStreams.fromCompletionStage(new CompletableFuture<Integer>()).buildRs();
+        watchdog.close();
+        assertThat(StreamWatchdog.current()).isEmpty();
+        Flowable.fromPublisher(publisher).test();
+        assertThat(watchdog.getActiveStreams()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,221 @@
+package io.smallrye.reactive.index.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import io.smallrye.reactive.index.ServiceIndex;
+import io.smallrye.reactive.index.ServiceProvider;
+
+/**
+ * Generates the service index ({@value ServiceIndex#LOCATION}) from the classes annotated with
+ * {@link ServiceProvider}.
+ * <p>
+ * The providers declared in the {@code META-INF/services} files of the class output, copied from the resources of the
+ * module before the compilation, are indexed too, so the index lists all the providers of the module and the
+ * {@code META-INF/services} files do not need to be read at runtime.
+ * <p>
+ * The entries of an index generated by a previous compilation are kept if their implementation class still exists,
+ * so incremental compilations do not lose the providers that were not recompiled.
+ */
+public class ServiceIndexProcessor extends AbstractProcessor {
+
+    /**
+     * The providers, sorted by service so the generated file is reproducible.
+     */
+    private final Map<String, Set<String>> providers = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ServiceProvider.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        if (round.processingOver()) {
+            if (!providers.isEmpty()) {
+                write();
+            }
+            return false;
+        }
+        for (Element element : round.getElementsAnnotatedWith(ServiceProvider.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@ServiceProvider can only be used on classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (!isInstantiable(type)) {
+                error(element, "A service provider must be a public concrete class with a public no-arg constructor");
+                continue;
+            }
+            String implementation = processingEnv.getElementUtils().getBinaryName(type).toString();
+            for (TypeMirror service : services(type)) {
+                if (!processingEnv.getTypeUtils().isAssignable(type.asType(),
+                        processingEnv.getTypeUtils().erasure(service))) {
+                    error(element, type.getSimpleName() + " does not implement " + service);
+                    continue;
+                }
+                TypeElement serviceType = (TypeElement) ((DeclaredType) service).asElement();
+                String name = processingEnv.getElementUtils().getBinaryName(serviceType).toString();
+                providers.computeIfAbsent(name, k -> new TreeSet<>()).add(implementation);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isInstantiable(TypeElement type) {
+        Set<Modifier> modifiers = type.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        if (type.getNestingKind().isNested() && !modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the services from the annotation mirror, as the {@code Class} values are not loadable at compile time.
+     */
+    private static Iterable<TypeMirror> services(TypeElement type) {
+        Set<TypeMirror> services = new LinkedHashSet<>();
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().toString().equals(ServiceProvider.class.getName())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues()
+                    .entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    Object value = entry.getValue().getValue();
+                    if (value instanceof TypeMirror) {
+                        services.add((TypeMirror) value);
+                    } else {
+                        for (Object item : (Iterable<?>) value) {
+                            services.add((TypeMirror) ((AnnotationValue) item).getValue());
+                        }
+                    }
+                }
+            }
+        }
+        return services;
+    }
+
+    private void write() {
+        readPrevious();
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    ServiceIndex.LOCATION);
+            readDeclared(file);
+            try (Writer writer = file.openWriter()) {
+                writer.write("# Generated by " + ServiceIndexProcessor.class.getName() + "\n");
+                for (Map.Entry<String, Set<String>> entry : providers.entrySet()) {
+                    for (String implementation : entry.getValue()) {
+                        writer.write(entry.getKey() + "=" + implementation + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write the service index: " + e.getMessage());
+        }
+    }
+
+    private void readPrevious() {
+        try {
+            FileObject previous = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    ServiceIndex.LOCATION);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf('=');
+                    if (line.startsWith("#") || separator <= 0) {
+                        continue;
+                    }
+                    String implementation = line.substring(separator + 1).trim();
+                    if (processingEnv.getElementUtils().getTypeElement(implementation.replace('$', '.')) != null) {
+                        providers.computeIfAbsent(line.substring(0, separator).trim(), k -> new TreeSet<>())
+                                .add(implementation);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No previous index.
+        }
+    }
+
+    /**
+     * Reads the {@code META-INF/services} directory next to the index. The filer cannot list a directory, so it is only
+     * read when the class output is a directory of the file system, as with Maven and Gradle.
+     */
+    private void readDeclared(FileObject index) {
+        Path services;
+        try {
+            services = Paths.get(index.toUri()).getParent().resolveSibling("services");
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            return;
+        }
+        if (!Files.isDirectory(services)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(services)) {
+            for (Path file : files) {
+                String service = file.getFileName().toString();
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    int comment = line.indexOf('#');
+                    String implementation = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                    if (!implementation.isEmpty()) {
+                        providers.computeIfAbsent(service, k -> new TreeSet<>()).add(implementation);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to read the META-INF/services files: " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
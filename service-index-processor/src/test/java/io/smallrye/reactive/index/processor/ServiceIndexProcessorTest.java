@@ -0,0 +1,121 @@
+package io.smallrye.reactive.index.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.smallrye.reactive.index.ServiceIndex;
+
+public class ServiceIndexProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path sources;
+    private Path output;
+    private ByteArrayOutputStream diagnostics;
+
+    @Before
+    public void init() throws IOException {
+        sources = folder.newFolder("src").toPath();
+        output = folder.newFolder("out").toPath();
+        diagnostics = new ByteArrayOutputStream();
+        source("Service", "public interface Service { }");
+    }
+
+    private void source(String name, String body) throws IOException {
+        Path dir = sources.resolve("acme");
+        Files.createDirectories(dir);
+        Files.write(dir.resolve(name + ".java"),
+                ("package acme;\nimport io.smallrye.reactive.index.ServiceProvider;\n" + body)
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean compile(String... names) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> args = new ArrayList<>(Arrays.asList("-d", output.toString(),
+                "-cp", System.getProperty("java.class.path") + File.pathSeparator + output,
+                "-processor", ServiceIndexProcessor.class.getName()));
+        for (String name : names) {
+            args.add(sources.resolve("acme").resolve(name + ".java").toString());
+        }
+        return compiler.run(null, null, diagnostics, args.toArray(new String[0])) == 0;
+    }
+
+    private List<String> index() throws IOException {
+        return Files.readAllLines(output.resolve(ServiceIndex.LOCATION), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testThatTheIndexIsGenerated() throws IOException {
+        source("B", "@ServiceProvider(Service.class) public class B implements Service { }");
+        source("A", "@ServiceProvider({Service.class, Runnable.class}) public class A implements Service, Runnable {"
+                + " public void run() { } }");
+        source("C", "public class C { @ServiceProvider(Service.class) public static class D implements Service { } }");
+        assertThat(compile("Service", "A", "B", "C")).describedAs(diagnostics.toString()).isTrue();
+        // The entries are sorted, so the index is reproducible.
+        assertThat(index()).containsSubsequence(
+                "acme.Service=acme.A",
+                "acme.Service=acme.B",
+                "acme.Service=acme.C$D",
+                "java.lang.Runnable=acme.A");
+    }
+
+    @Test
+    public void testThatIncrementalCompilationsKeepTheExistingEntries() throws IOException {
+        source("A", "@ServiceProvider(Service.class) public class A implements Service { }");
+        source("B", "@ServiceProvider(Service.class) public class B implements Service { }");
+        assertThat(compile("Service", "A", "B")).describedAs(diagnostics.toString()).isTrue();
+        assertThat(compile("B")).describedAs(diagnostics.toString()).isTrue();
+        assertThat(index()).contains("acme.Service=acme.A", "acme.Service=acme.B");
+    }
+
+    @Test
+    public void testThatTheDeclaredProvidersAreIndexed() throws IOException {
+        // The META-INF/services files are copied to the class output before the compilation.
+        Path services = output.resolve("META-INF/services");
+        Files.createDirectories(services);
+        Files.write(services.resolve("acme.Service"), "# Declared\nacme.B\nacme.A # Also annotated\n"
+                .getBytes(StandardCharsets.UTF_8));
+        Files.write(services.resolve("java.lang.Runnable"), "acme.B\n".getBytes(StandardCharsets.UTF_8));
+        source("A", "@ServiceProvider(Service.class) public class A implements Service { }");
+        source("B", "public class B implements Service, Runnable { public void run() { } }");
+        assertThat(compile("Service", "A", "B")).describedAs(diagnostics.toString()).isTrue();
+        assertThat(index()).containsSubsequence(
+                "acme.Service=acme.A",
+                "acme.Service=acme.B",
+                "java.lang.Runnable=acme.B")
+                .containsOnlyOnce("acme.Service=acme.A");
+    }
+
+    @Test
+    public void testThatProvidersMustImplementTheService() throws IOException {
+        source("A", "@ServiceProvider(Service.class) public class A { }");
+        assertThat(compile("Service", "A")).isFalse();
+        assertThat(diagnostics.toString()).contains("A does not implement acme.Service");
+    }
+
+    @Test
+    public void testThatProvidersMustBeInstantiable() throws IOException {
+        source("A", "@ServiceProvider(Service.class) public class A implements Service { public A(String s) { } }");
+        assertThat(compile("Service", "A")).isFalse();
+        assertThat(diagnostics.toString()).contains("public no-arg constructor");
+    }
+
+}
@@ -0,0 +1,156 @@
+package io.smallrye.reactive.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Looks up the implementations of a service using the index generated at build time, and falls back to the
+ * {@link ServiceLoader} when the index does not list any implementation of the service.
+ * <p>
+ * The index files ({@value #LOCATION}) are generated by the annotation processor of the
+ * {@code smallrye-reactive-service-index-processor} artifact for the classes annotated with {@link ServiceProvider}.
+ * They are read once per class loader, with a single classpath scan for all the services.
+ * <p>
+ * Each line of an index file has the form {@code service=implementation}. When the index lists implementations of a
+ * service, the {@code META-INF/services} files of this service are not read: the processor adds the providers declared
+ * in the {@code META-INF/services} files of the module it compiles to the index, so the providers of a jar are either
+ * all indexed or all discovered by the {@link ServiceLoader}. The providers of an indexed service declared in a jar
+ * built without the processor are not found. Set the {@value #DISABLED_PROPERTY} system property to {@code true} to
+ * always use the {@link ServiceLoader}.
+ */
+public final class ServiceIndex {
+
+    /**
+     * The location of the index files.
+     */
+    public static final String LOCATION = "META-INF/smallrye-reactive/services.idx";
+
+    /**
+     * The system property disabling the index.
+     */
+    public static final String DISABLED_PROPERTY = "smallrye.reactive.service-index.disabled";
+
+    private static final Map<ClassLoader, Map<String, Set<String>>> INDEXES = new WeakHashMap<>();
+
+    private ServiceIndex() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Loads the implementations of the given service, using the thread context class loader.
+     *
+     * @param service the service, must not be {@code null}
+     * @param <T> the type of service
+     * @return the instances of the implementations, empty if none
+     * @throws ServiceConfigurationError if an implementation cannot be instantiated
+     */
+    public static <T> List<T> load(Class<T> service) {
+        return load(service, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Loads the implementations of the given service.
+     *
+     * @param service the service, must not be {@code null}
+     * @param loader the class loader, the system class loader is used if {@code null}
+     * @param <T> the type of service
+     * @return the instances of the implementations, empty if none
+     * @throws ServiceConfigurationError if an implementation cannot be instantiated
+     */
+    public static <T> List<T> load(Class<T> service, ClassLoader loader) {
+        Objects.requireNonNull(service, "The service must not be `null`");
+        ClassLoader cl = loader == null ? ClassLoader.getSystemClassLoader() : loader;
+        Set<String> names = Boolean.getBoolean(DISABLED_PROPERTY) ? Collections.emptySet()
+                : index(cl).getOrDefault(service.getName(), Collections.emptySet());
+        List<T> instances = new ArrayList<>();
+        if (names.isEmpty()) {
+            ServiceLoader.load(service, cl).forEach(instances::add);
+            return instances;
+        }
+        for (String name : names) {
+            instances.add(instantiate(service, name, cl));
+        }
+        return instances;
+    }
+
+    /**
+     * Loads the first implementation of the given service, using the thread context class loader.
+     *
+     * @param service the service, must not be {@code null}
+     * @param <T> the type of service
+     * @return the instance of the first implementation, empty if none
+     */
+    public static <T> Optional<T> first(Class<T> service) {
+        List<T> instances = load(service);
+        return instances.isEmpty() ? Optional.empty() : Optional.of(instances.get(0));
+    }
+
+    private static <T> T instantiate(Class<T> service, String name, ClassLoader loader) {
+        try {
+            Class<?> clazz = Class.forName(name, true, loader);
+            return service.cast(clazz.getConstructor().newInstance());
+        } catch (Exception | LinkageError e) {
+            throw new ServiceConfigurationError(service.getName() + ": Provider " + name
+                    + " could not be instantiated", e);
+        }
+    }
+
+    private static String uncomment(String line) {
+        int comment = line.indexOf('#');
+        return (comment >= 0 ? line.substring(0, comment) : line).trim();
+    }
+
+    private static Map<String, Set<String>> index(ClassLoader loader) {
+        synchronized (INDEXES) {
+            return INDEXES.computeIfAbsent(loader, ServiceIndex::read);
+        }
+    }
+
+    private static Map<String, Set<String>> read(ClassLoader loader) {
+        Map<String, Set<String>> index = new HashMap<>();
+        try {
+            Enumeration<URL> resources = loader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                read(resources.nextElement(), index);
+            }
+        } catch (IOException e) {
+            throw new ServiceConfigurationError("Unable to read the service index", e);
+        }
+        return index;
+    }
+
+    private static void read(URL url, Map<String, Set<String>> index) throws IOException {
+        try (InputStream stream = url.openStream();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = uncomment(line);
+                int separator = line.indexOf('=');
+                if (separator > 0) {
+                    String service = line.substring(0, separator).trim();
+                    String implementation = line.substring(separator + 1).trim();
+                    if (!service.isEmpty() && !implementation.isEmpty()) {
+                        index.computeIfAbsent(service, k -> new LinkedHashSet<>()).add(implementation);
+                    }
+                }
+            }
+        }
+    }
+}
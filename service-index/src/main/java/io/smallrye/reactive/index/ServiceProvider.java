@@ -0,0 +1,24 @@
+package io.smallrye.reactive.index;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that the annotated class implements the given services. The annotation processor of the
+ * {@code smallrye-reactive-service-index-processor} artifact records the class in the service index read by
+ * {@link ServiceIndex}.
+ * <p>
+ * The class must be public, and have a public no-arg constructor. It should still be declared in
+ * {@code META-INF/services}, which is used when the index is not available.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface ServiceProvider {
+
+    /**
+     * @return the implemented services
+     */
+    Class<?>[] value();
+}
@@ -0,0 +1,149 @@
+package io.smallrye.reactive.index;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmark measuring the discovery of 4 services, as done on startup by the engine, the execution model and the
+ * converter registry, on a class path of {@link #jars} jars, run with {@code mvn verify -Pbenchmarks}. Each operation
+ * creates a new class loader, as the index is read once per class loader, so the time includes opening the jars. The
+ * {@code discovery} parameter selects the {@code INDEX}, or the {@code SERVICE_LOADER} used when the index is
+ * disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceIndexBenchmark {
+
+    public interface Engine {
+    }
+
+    public interface ExecutionModel {
+    }
+
+    public interface Converter {
+    }
+
+    public interface Propagator {
+    }
+
+    public static class DefaultEngine implements Engine {
+    }
+
+    public static class DefaultExecutionModel implements ExecutionModel {
+    }
+
+    public static class FirstConverter implements Converter {
+    }
+
+    public static class SecondConverter implements Converter {
+    }
+
+    public static class DefaultPropagator implements Propagator {
+    }
+
+    private static final List<Class<?>> SERVICES = Arrays.asList(Engine.class, ExecutionModel.class,
+            Converter.class, Propagator.class);
+
+    @Param({ "INDEX", "SERVICE_LOADER" })
+    public String discovery;
+
+    @Param({ "10", "100", "500" })
+    public int jars;
+
+    private Path directory;
+    private URL[] urls;
+
+    @Setup
+    public void setup() throws IOException {
+        if (discovery.equals("SERVICE_LOADER")) {
+            System.setProperty(ServiceIndex.DISABLED_PROPERTY, "true");
+        }
+        directory = Files.createTempDirectory("service-index-benchmark");
+        urls = new URL[jars];
+        int step = jars / SERVICES.size();
+        for (int i = 0; i < jars; i++) {
+            Path jar = directory.resolve("library-" + i + ".jar");
+            try (JarOutputStream stream = new JarOutputStream(Files.newOutputStream(jar))) {
+                // The libraries have classes, but do not provide the services.
+                for (int j = 0; j < 50; j++) {
+                    write(stream, "library" + i + "/Class" + j + ".class", "");
+                }
+                // The providers are spread over a few jars, declared in both places as the processor does.
+                if (i % step == 0 && i / step < SERVICES.size()) {
+                    writeProviders(stream, i / step);
+                }
+            }
+            urls[i] = jar.toUri().toURL();
+        }
+    }
+
+    private static void writeProviders(JarOutputStream stream, int index) throws IOException {
+        Class<?> service = SERVICES.get(index);
+        List<Class<?>> providers = new ArrayList<>();
+        for (Class<?> clazz : ServiceIndexBenchmark.class.getClasses()) {
+            if (!clazz.isInterface() && service.isAssignableFrom(clazz)) {
+                providers.add(clazz);
+            }
+        }
+        StringBuilder declared = new StringBuilder();
+        StringBuilder indexed = new StringBuilder();
+        for (Class<?> provider : providers) {
+            declared.append(provider.getName()).append('\n');
+            indexed.append(service.getName()).append('=').append(provider.getName()).append('\n');
+        }
+        write(stream, "META-INF/services/" + service.getName(), declared.toString());
+        write(stream, ServiceIndex.LOCATION, indexed.toString());
+    }
+
+    private static void write(JarOutputStream stream, String name, String content) throws IOException {
+        stream.putNextEntry(new JarEntry(name));
+        stream.write(content.getBytes(StandardCharsets.UTF_8));
+        stream.closeEntry();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.clearProperty(ServiceIndex.DISABLED_PROPERTY);
+        for (int i = 0; i < jars; i++) {
+            Files.deleteIfExists(directory.resolve("library-" + i + ".jar"));
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void discover(Blackhole blackhole) throws IOException {
+        try (URLClassLoader loader = new URLClassLoader(urls, ServiceIndexBenchmark.class.getClassLoader())) {
+            for (Class<?> service : SERVICES) {
+                blackhole.consume(ServiceIndex.load(service, loader));
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.smallrye.reactive.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.ServiceConfigurationError;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ServiceIndexTest {
+
+    public interface Indexed {
+    }
+
+    public interface NotIndexed {
+    }
+
+    public interface Broken {
+    }
+
+    public static class First implements Indexed {
+    }
+
+    public static class Second implements Indexed {
+    }
+
+    public static class Third implements Indexed {
+    }
+
+    public static class Declared implements NotIndexed {
+    }
+
+    @After
+    public void cleanup() {
+        System.clearProperty(ServiceIndex.DISABLED_PROPERTY);
+    }
+
+    @Test
+    public void testThatIndexedProvidersAreLoaded() {
+        List<Indexed> providers = ServiceIndex.load(Indexed.class);
+        // Third is only declared in META-INF/services, which is not read for an indexed service.
+        assertThat(providers).hasSize(2);
+        assertThat(providers.get(0)).isInstanceOf(First.class);
+        assertThat(providers.get(1)).isInstanceOf(Second.class);
+        assertThat(ServiceIndex.first(Indexed.class)).containsInstanceOf(First.class);
+    }
+
+    @Test
+    public void testThatEachLoadCreatesNewInstances() {
+        assertThat(ServiceIndex.load(Indexed.class).get(0)).isNotSameAs(ServiceIndex.load(Indexed.class).get(0));
+    }
+
+    @Test
+    public void testFallbackToTheServiceLoader() {
+        assertThat(ServiceIndex.load(NotIndexed.class)).hasSize(1).allMatch(p -> p instanceof Declared);
+    }
+
+    @Test
+    public void testWithoutProviders() {
+        assertThat(ServiceIndex.load(Runnable.class)).isEmpty();
+        assertThat(ServiceIndex.first(Runnable.class)).isEmpty();
+    }
+
+    @Test
+    public void testThatTheIndexCanBeDisabled() {
+        System.setProperty(ServiceIndex.DISABLED_PROPERTY, "true");
+        // Only the providers declared in META-INF/services are loaded.
+        List<Indexed> providers = ServiceIndex.load(Indexed.class);
+        assertThat(providers).hasSize(2);
+        assertThat(providers.get(0)).isInstanceOf(First.class);
+        assertThat(providers.get(1)).isInstanceOf(Third.class);
+    }
+
+    @Test
+    public void testWithAMissingProvider() {
+        assertThatThrownBy(() -> ServiceIndex.load(Broken.class))
+                .isInstanceOf(ServiceConfigurationError.class)
+                .hasMessageContaining(Broken.class.getName())
+                .hasMessageContaining("ServiceIndexTest$Missing");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testWithNullService() {
+        ServiceIndex.load(null);
+    }
+
+}
@@ -0,0 +1,47 @@
+package io.smallrye.reactive.streams.stress;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * A publisher handing a {@link ProbeSubscription} to its subscriber on subscription, and emitting the signals the
+ * actors send with {@link #complete()} and {@link #fail(Throwable)}.
+ */
+public class ManualPublisher<T> implements Publisher<T> {
+
+    public final ProbeSubscription subscription = new ProbeSubscription();
+    public final AtomicInteger subscriptions = new AtomicInteger();
+    private final AtomicReference<Subscriber<? super T>> subscriber = new AtomicReference<>();
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        subscriptions.incrementAndGet();
+        this.subscriber.set(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Completes the last subscriber, if any.
+     */
+    public void complete() {
+        Subscriber<? super T> current = subscriber.get();
+        if (current != null) {
+            current.onComplete();
+        }
+    }
+
+    /**
+     * Fails the last subscriber, if any.
+     *
+     * @param failure the failure
+     */
+    public void fail(Throwable failure) {
+        Subscriber<? super T> current = subscriber.get();
+        if (current != null) {
+            current.onError(failure);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.smallrye.reactive.streams.stress;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * A subscriber counting the signals it receives, possibly from several actors. It requests the items on subscription.
+ */
+public class ProbeSubscriber<T> implements Subscriber<T> {
+
+    public final AtomicInteger onSubscribe = new AtomicInteger();
+    public final AtomicInteger onNext = new AtomicInteger();
+    public final AtomicInteger onError = new AtomicInteger();
+    public final AtomicInteger onComplete = new AtomicInteger();
+    public final AtomicReference<Subscription> subscription = new AtomicReference<>();
+    public final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final long request;
+
+    public ProbeSubscriber() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * @param request the number of items requested on subscription, {@code 0} to not request
+     */
+    public ProbeSubscriber(long request) {
+        this.request = request;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        onSubscribe.incrementAndGet();
+        this.subscription.set(subscription);
+        if (request > 0) {
+            subscription.request(request);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        onNext.incrementAndGet();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure.set(throwable);
+        onError.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete() {
+        onComplete.incrementAndGet();
+    }
+
+    /**
+     * @return the number of terminal signals received
+     */
+    public int terminations() {
+        return onError.get() + onComplete.get();
+    }
+
+    /**
+     * Cancels the received subscription, if any.
+     */
+    public void cancel() {
+        Subscription current = subscription.get();
+        if (current != null) {
+            current.cancel();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.smallrye.reactive.streams.stress;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Subscription;
+
+/**
+ * A subscription counting the requests and cancellations it receives, possibly from several actors.
+ */
+public class ProbeSubscription implements Subscription {
+
+    public final AtomicLong requested = new AtomicLong();
+    public final AtomicInteger cancelled = new AtomicInteger();
+
+    @Override
+    public void request(long n) {
+        requested.addAndGet(n);
+    }
+
+    @Override
+    public void cancel() {
+        cancelled.incrementAndGet();
+    }
+}
@@ -0,0 +1,51 @@
+package io.smallrye.reactive.streams.utils;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+import io.smallrye.reactive.streams.stress.ManualPublisher;
+import io.smallrye.reactive.streams.stress.ProbeSubscriber;
+
+/**
+ * Races the subscription to a {@link CancellablePublisher} with its cancellation.
+ */
+public class CancellablePublisherStressTest {
+
+    /**
+     * The source must be subscribed exactly once: either by the subscriber, or by the cancellation which cancels it
+     * immediately. In the latter case the subscriber is rejected.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 0, 0", expect = Expect.ACCEPTABLE, desc = "Subscribed before the cancellation")
+    @Outcome(id = "1, 1, 1", expect = Expect.ACCEPTABLE, desc = "Cancelled before the subscription")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Source subscribed twice or not at all")
+    @State
+    public static class SubscribeVsCancel {
+
+        private final ManualPublisher<Integer> source = new ManualPublisher<>();
+        private final CancellablePublisher<Integer> publisher = new CancellablePublisher<>(source);
+        private final ProbeSubscriber<Integer> subscriber = new ProbeSubscriber<>();
+
+        @Actor
+        public void subscribe() {
+            publisher.subscribe(subscriber);
+        }
+
+        @Actor
+        public void cancel() {
+            publisher.cancelIfNotSubscribed();
+        }
+
+        @Arbiter
+        public void arbiter(III_Result result) {
+            result.r1 = source.subscriptions.get();
+            result.r2 = source.subscription.cancelled.get();
+            result.r3 = subscriber.failure.get() instanceof IllegalStateException ? 1 : 0;
+        }
+    }
+}
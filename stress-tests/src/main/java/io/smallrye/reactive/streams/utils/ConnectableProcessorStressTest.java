@@ -0,0 +1,120 @@
+package io.smallrye.reactive.streams.utils;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import io.smallrye.reactive.streams.stress.ProbeSubscriber;
+import io.smallrye.reactive.streams.stress.ProbeSubscription;
+
+/**
+ * Races the signals {@link ConnectableProcessor} receives from its upstream and from its subscriber.
+ */
+public class ConnectableProcessorStressTest {
+
+    /**
+     * The subscriber and the upstream subscription arrive concurrently: the subscriber must get the subscription
+     * exactly once, and the upstream must not be cancelled.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 0", expect = Expect.ACCEPTABLE, desc = "Subscribed once, upstream not cancelled")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Lost, duplicated or cancelled subscription")
+    @State
+    public static class SubscribeVsOnSubscribe {
+
+        private final ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        private final ProbeSubscriber<Integer> subscriber = new ProbeSubscriber<>();
+        private final ProbeSubscription upstream = new ProbeSubscription();
+
+        @Actor
+        public void subscribe() {
+            processor.subscribe(subscriber);
+        }
+
+        @Actor
+        public void onSubscribe() {
+            processor.onSubscribe(upstream);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result result) {
+            result.r1 = subscriber.onSubscribe.get();
+            result.r2 = upstream.cancelled.get();
+        }
+    }
+
+    /**
+     * The upstream fails while the subscriber arrives: the subscriber must get the subscription and the failure,
+     * whichever happens first.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1", expect = Expect.ACCEPTABLE, desc = "Subscribed, then failed")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Lost or duplicated signal")
+    @State
+    public static class ErrorVsSubscribe {
+
+        private final ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        private final ProbeSubscriber<Integer> subscriber = new ProbeSubscriber<>();
+
+        public ErrorVsSubscribe() {
+            processor.onSubscribe(new ProbeSubscription());
+        }
+
+        @Actor
+        public void subscribe() {
+            processor.subscribe(subscriber);
+        }
+
+        @Actor
+        public void onError() {
+            processor.onError(new Exception("boom"));
+        }
+
+        @Arbiter
+        public void arbiter(II_Result result) {
+            result.r1 = subscriber.onSubscribe.get();
+            result.r2 = subscriber.failure.get() == null ? -1 : subscriber.onError.get();
+        }
+    }
+
+    /**
+     * The subscriber cancels while the upstream completes: the upstream is cancelled, and the subscriber may or may
+     * not observe the completion, but only once.
+     */
+    @JCStressTest
+    @Outcome(id = "0, 1", expect = Expect.ACCEPTABLE, desc = "Cancelled before the completion")
+    @Outcome(id = "1, 1", expect = Expect.ACCEPTABLE, desc = "Completed before the cancellation")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Duplicated completion or missing cancellation")
+    @State
+    public static class CancelVsComplete {
+
+        private final ConnectableProcessor<Integer> processor = new ConnectableProcessor<>();
+        private final ProbeSubscriber<Integer> subscriber = new ProbeSubscriber<>();
+        private final ProbeSubscription upstream = new ProbeSubscription();
+
+        public CancelVsComplete() {
+            processor.onSubscribe(upstream);
+            processor.subscribe(subscriber);
+        }
+
+        @Actor
+        public void cancel() {
+            subscriber.cancel();
+        }
+
+        @Actor
+        public void onComplete() {
+            processor.onComplete();
+        }
+
+        @Arbiter
+        public void arbiter(II_Result result) {
+            result.r1 = subscriber.onComplete.get();
+            result.r2 = upstream.cancelled.get();
+        }
+    }
+}
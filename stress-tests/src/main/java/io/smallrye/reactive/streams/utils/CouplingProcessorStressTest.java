@@ -0,0 +1,123 @@
+package io.smallrye.reactive.streams.utils;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import io.smallrye.reactive.streams.stress.ManualPublisher;
+import io.smallrye.reactive.streams.stress.ProbeSubscriber;
+
+/**
+ * Races the signals crossing the two {@link SubscriptionObserver} of a {@link CouplingProcessor}: the one from the
+ * source to the coupled subscriber, and the one from the coupled publisher to the downstream subscriber.
+ */
+public class CouplingProcessorStressTest {
+
+    /**
+     * The downstream cancels while the coupled publisher completes: the coupled subscriber must be completed exactly
+     * once, and the downstream may or may not observe the completion, but only once.
+     */
+    @JCStressTest
+    @Outcome(id = "0, 1", expect = Expect.ACCEPTABLE, desc = "Cancelled before the completion")
+    @Outcome(id = "1, 1", expect = Expect.ACCEPTABLE, desc = "Completed before the cancellation")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Duplicated or missing completion")
+    @State
+    public static class CancelVsComplete {
+
+        private final ManualPublisher<Integer> source = new ManualPublisher<>();
+        private final ProbeSubscriber<Integer> coupled = new ProbeSubscriber<>();
+        private final ManualPublisher<Integer> publisher = new ManualPublisher<>();
+        private final ProbeSubscriber<Integer> downstream = new ProbeSubscriber<>();
+
+        public CancelVsComplete() {
+            new CouplingProcessor<>(source, coupled, publisher).subscribe(downstream);
+        }
+
+        @Actor
+        public void cancel() {
+            downstream.cancel();
+        }
+
+        @Actor
+        public void complete() {
+            publisher.complete();
+        }
+
+        @Arbiter
+        public void arbiter(II_Result result) {
+            result.r1 = downstream.onComplete.get();
+            result.r2 = coupled.onComplete.get();
+        }
+    }
+
+    /**
+     * Both sides complete concurrently: each subscriber must be completed exactly once.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1", expect = Expect.ACCEPTABLE, desc = "Both completed once")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Duplicated or missing completion")
+    @State
+    public static class CompleteVsComplete {
+
+        private final ManualPublisher<Integer> source = new ManualPublisher<>();
+        private final ProbeSubscriber<Integer> coupled = new ProbeSubscriber<>();
+        private final ManualPublisher<Integer> publisher = new ManualPublisher<>();
+        private final ProbeSubscriber<Integer> downstream = new ProbeSubscriber<>();
+
+        public CompleteVsComplete() {
+            new CouplingProcessor<>(source, coupled, publisher).subscribe(downstream);
+        }
+
+        @Actor
+        public void completeSource() {
+            source.complete();
+        }
+
+        @Actor
+        public void completePublisher() {
+            publisher.complete();
+        }
+
+        @Arbiter
+        public void arbiter(II_Result result) {
+            result.r1 = downstream.onComplete.get();
+            result.r2 = coupled.onComplete.get();
+        }
+    }
+
+    /**
+     * The source fails while the downstream subscribes: the downstream must get a subscription and the failure,
+     * whichever happens first.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1", expect = Expect.ACCEPTABLE, desc = "Subscribed, then failed")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Lost, duplicated or null failure")
+    @State
+    public static class ErrorVsSubscribe {
+
+        private final ManualPublisher<Integer> source = new ManualPublisher<>();
+        private final ProbeSubscriber<Integer> downstream = new ProbeSubscriber<>();
+        private final CouplingProcessor<Integer, Integer> processor = new CouplingProcessor<>(source,
+                new ProbeSubscriber<>(), new ManualPublisher<>());
+
+        @Actor
+        public void error() {
+            source.fail(new Exception("boom"));
+        }
+
+        @Actor
+        public void subscribe() {
+            processor.subscribe(downstream);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result result) {
+            result.r1 = downstream.onSubscribe.get();
+            result.r2 = downstream.failure.get() == null ? -1 : downstream.onError.get();
+        }
+    }
+}
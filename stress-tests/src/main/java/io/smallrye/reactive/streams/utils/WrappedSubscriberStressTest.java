@@ -0,0 +1,103 @@
+package io.smallrye.reactive.streams.utils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import io.smallrye.reactive.streams.stress.ProbeSubscriber;
+import io.smallrye.reactive.streams.stress.ProbeSubscription;
+
+/**
+ * Races the signals received by a {@link WrappedSubscriber}.
+ */
+public class WrappedSubscriberStressTest {
+
+    /**
+     * Two subscriptions arrive concurrently: exactly one is passed to the delegate, the other one is cancelled.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1", expect = Expect.ACCEPTABLE, desc = "One delegated, one cancelled")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Both or none delegated")
+    @State
+    public static class OnSubscribeVsOnSubscribe {
+
+        private final ProbeSubscriber<Integer> delegate = new ProbeSubscriber<>();
+        private final WrappedSubscriber<Integer> subscriber = new WrappedSubscriber<>(delegate);
+        private final ProbeSubscription first = new ProbeSubscription();
+        private final ProbeSubscription second = new ProbeSubscription();
+
+        @Actor
+        public void onSubscribeFirst() {
+            subscriber.onSubscribe(first);
+        }
+
+        @Actor
+        public void onSubscribeSecond() {
+            subscriber.onSubscribe(second);
+        }
+
+        @Arbiter
+        public void arbiter(II_Result result) {
+            result.r1 = delegate.onSubscribe.get();
+            result.r2 = first.cancelled.get() + second.cancelled.get();
+        }
+    }
+
+    /**
+     * The delegate cancels while the upstream completes: the future must be completed, either normally (1) or with a
+     * {@link CancellationException} (2).
+     */
+    @JCStressTest
+    @Outcome(id = "1", expect = Expect.ACCEPTABLE, desc = "Completed before the cancellation")
+    @Outcome(id = "2", expect = Expect.ACCEPTABLE, desc = "Cancelled before the completion")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Future not completed, or completed with another failure")
+    @State
+    public static class CancelVsComplete {
+
+        private final ProbeSubscriber<Integer> delegate = new ProbeSubscriber<>();
+        private final WrappedSubscriber<Integer> subscriber = new WrappedSubscriber<>(delegate);
+
+        public CancelVsComplete() {
+            subscriber.onSubscribe(new ProbeSubscription());
+        }
+
+        @Actor
+        public void cancel() {
+            delegate.cancel();
+        }
+
+        @Actor
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+
+        @Arbiter
+        public void arbiter(I_Result result) {
+            CompletableFuture<Void> future = subscriber.future().toCompletableFuture();
+            if (!future.isDone()) {
+                result.r1 = 0;
+                return;
+            }
+            try {
+                future.get();
+                result.r1 = 1;
+            } catch (CancellationException e) {
+                result.r1 = 2;
+            } catch (ExecutionException e) {
+                result.r1 = e.getCause() instanceof CancellationException ? 2 : -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.r1 = -1;
+            }
+        }
+    }
+}
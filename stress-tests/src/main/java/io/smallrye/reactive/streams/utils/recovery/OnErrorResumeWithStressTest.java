@@ -0,0 +1,55 @@
+package io.smallrye.reactive.streams.utils.recovery;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import io.smallrye.reactive.streams.stress.ManualPublisher;
+import io.smallrye.reactive.streams.stress.ProbeSubscriber;
+import io.smallrye.reactive.streams.stress.ProbeSubscription;
+
+/**
+ * Races the switch to the fallback publisher of {@link OnErrorResumeWithSubscriber} with the downstream cancellation.
+ */
+public class OnErrorResumeWithStressTest {
+
+    /**
+     * The upstream fails, so the fallback publisher is subscribed, while the downstream cancels: the fallback
+     * subscription must be cancelled. Cancelling it twice is allowed by the Reactive Streams specification.
+     */
+    @JCStressTest
+    @Outcome(id = "1, 1", expect = Expect.ACCEPTABLE, desc = "Fallback subscribed and cancelled")
+    @Outcome(id = "1, 2", expect = Expect.ACCEPTABLE_INTERESTING, desc = "Fallback cancelled twice")
+    @Outcome(expect = Expect.FORBIDDEN, desc = "Fallback not cancelled")
+    @State
+    public static class ErrorVsCancel {
+
+        private final ManualPublisher<Integer> fallback = new ManualPublisher<>();
+        private final OnErrorResumeWithSubscriber<Integer> subscriber = new OnErrorResumeWithSubscriber<>(
+                new ProbeSubscriber<>(), failure -> fallback);
+
+        public ErrorVsCancel() {
+            subscriber.onSubscribe(new ProbeSubscription());
+        }
+
+        @Actor
+        public void onError() {
+            subscriber.onError(new Exception("boom"));
+        }
+
+        @Actor
+        public void cancel() {
+            subscriber.arbiter().cancel();
+        }
+
+        @Arbiter
+        public void arbiter(II_Result result) {
+            result.r1 = fallback.subscriptions.get();
+            result.r2 = fallback.subscription.cancelled.get();
+        }
+    }
+}
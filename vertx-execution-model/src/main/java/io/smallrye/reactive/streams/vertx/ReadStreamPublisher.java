@@ -0,0 +1,117 @@
+package io.smallrye.reactive.streams.vertx;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.internal.subscriptions.EmptySubscription;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * A {@link Publisher} reading from a Vert.x {@link ReadStream}.
+ * <p>
+ * The stream is switched to the <em>fetch</em> mode on subscription, and the reactive streams requests are mapped
+ * directly to {@link ReadStream#fetch(long)}. So, no items are buffered by this publisher: the read stream only emits
+ * the requested amount of items. On cancellation, the handlers are released, which, for event bus consumers,
+ * unregisters the consumer.
+ * <p>
+ * This publisher supports a single subscriber.
+ *
+ * @param <T> the type of item
+ */
+public class ReadStreamPublisher<T> implements Publisher<T> {
+
+    private final ReadStream<T> stream;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public ReadStreamPublisher(ReadStream<T> stream) {
+        this.stream = Objects.requireNonNull(stream, "The stream must not be `null`");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            EmptySubscription.error(new IllegalStateException("Multicast not supported"), subscriber);
+            return;
+        }
+        new ReadStreamSubscription<>(stream, subscriber).start();
+    }
+
+    private static class ReadStreamSubscription<T> implements Subscription {
+        private final ReadStream<T> stream;
+        private final Subscriber<? super T> downstream;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        ReadStreamSubscription(ReadStream<T> stream, Subscriber<? super T> downstream) {
+            this.stream = stream;
+            this.downstream = downstream;
+        }
+
+        void start() {
+            // Switch to the fetch mode before anything else, nothing must be emitted without requests.
+            stream.pause();
+            downstream.onSubscribe(this);
+            if (done.get()) {
+                // Cancelled from `onSubscribe`.
+                return;
+            }
+            stream.exceptionHandler(this::onFailure);
+            stream.endHandler(v -> onEnd());
+            stream.handler(this::onItem);
+        }
+
+        private void onItem(T item) {
+            if (done.get()) {
+                return;
+            }
+            if (item == null) {
+                onFailure(new NullPointerException("The stream emitted a `null` item"));
+                return;
+            }
+            downstream.onNext(item);
+        }
+
+        private void onFailure(Throwable failure) {
+            if (done.compareAndSet(false, true)) {
+                release();
+                downstream.onError(failure);
+            }
+        }
+
+        private void onEnd() {
+            if (done.compareAndSet(false, true)) {
+                release();
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                onFailure(new IllegalArgumentException("Invalid request number, must be greater than 0"));
+                return;
+            }
+            if (!done.get()) {
+                stream.fetch(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (done.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        private void release() {
+            stream.pause();
+            stream.handler(null);
+            stream.endHandler(null);
+            stream.exceptionHandler(null);
+        }
+    }
+}
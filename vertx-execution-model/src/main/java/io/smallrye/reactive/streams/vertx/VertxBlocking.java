@@ -0,0 +1,130 @@
+package io.smallrye.reactive.streams.vertx;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.smallrye.reactive.streams.operators.DeferredProcessor;
+import io.smallrye.reactive.streams.operators.ProcessingStage;
+import io.vertx.reactivex.core.Context;
+import io.vertx.reactivex.core.RxHelper;
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.WorkerExecutor;
+
+/**
+ * Offloads blocking stages to Vert.x worker threads.
+ * <p>
+ * The {@link VertxExecutionModel} invokes every stage on the caller context, so a blocking mapper would block the
+ * event loop. The processors created by this class invoke the mapper using {@code executeBlocking} (ordered) and
+ * emit the results back on the event loop, so the downstream stages are still invoked on the caller context.
+ * <p>
+ * Items are offloaded in batches: all the items received while a batch is being processed are handled by the next
+ * {@code executeBlocking} task, and so the cost of the thread hops is amortized. The order of the items is preserved.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * ReactiveStreams.of(...)
+ *     .via(VertxBlocking.map(item -&gt; blockingCall(item)))
+ *     .map(...) // Called on the event loop
+ * </pre>
+ * <p>
+ * The processor is created on each subscription, so the returned builder can be reused. The Vert.x context is the
+ * one of the subscribing thread: when the stream is not run from a Vert.x context, the mapper is invoked on the
+ * caller thread, as the caller is not an event loop.
+ */
+public class VertxBlocking {
+
+    /**
+     * The default maximum number of items in flight per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 128;
+
+    private VertxBlocking() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Creates a processor invoking the given blocking mapper on a worker thread.
+     *
+     * @param mapper the mapper, must not be {@code null}
+     * @param <I> the type of received items
+     * @param <O> the type of emitted items
+     * @return the processor builder to use with {@code via}
+     */
+    public static <I, O> ProcessorBuilder<I, O> map(Function<? super I, ? extends O> mapper) {
+        return map(mapper, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a processor invoking the given blocking mapper on a worker thread.
+     *
+     * @param mapper the mapper, must not be {@code null}
+     * @param batchSize the maximum number of items offloaded at once, must be strictly positive
+     * @param <I> the type of received items
+     * @param <O> the type of emitted items
+     * @return the processor builder to use with {@code via}
+     */
+    public static <I, O> ProcessorBuilder<I, O> map(Function<? super I, ? extends O> mapper, int batchSize) {
+        validate(mapper, batchSize);
+        return ReactiveStreams.<I> builder().via(DeferredProcessor.fromProcessingStage(() -> {
+            Context context = Vertx.currentContext();
+            if (context == null || context.getDelegate() == null) {
+                return stage(mapper, null, null, batchSize);
+            }
+            return stage(mapper, RxHelper.blockingScheduler(context.owner(), true), context, batchSize);
+        }));
+    }
+
+    /**
+     * Creates a processor invoking the given blocking mapper on a thread from the given {@link WorkerExecutor}.
+     *
+     * @param executor the worker executor, must not be {@code null}
+     * @param mapper the mapper, must not be {@code null}
+     * @param batchSize the maximum number of items offloaded at once, must be strictly positive
+     * @param <I> the type of received items
+     * @param <O> the type of emitted items
+     * @return the processor builder to use with {@code via}
+     */
+    public static <I, O> ProcessorBuilder<I, O> map(WorkerExecutor executor, Function<? super I, ? extends O> mapper,
+            int batchSize) {
+        Objects.requireNonNull(executor, "The executor must not be `null`");
+        validate(mapper, batchSize);
+        return ReactiveStreams.<I> builder().via(DeferredProcessor.fromProcessingStage(
+                () -> stage(mapper, RxHelper.blockingScheduler(executor), Vertx.currentContext(), batchSize)));
+    }
+
+    private static void validate(Function<?, ?> mapper, int batchSize) {
+        Objects.requireNonNull(mapper, "The mapper must not be `null`");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be strictly positive");
+        }
+    }
+
+    /**
+     * Creates the stage of a single materialization, called on subscription.
+     *
+     * @param worker the scheduler invoking the mapper, {@code null} to invoke it on the caller thread
+     * @param context the context on which the items are emitted, {@code null} to emit them on the worker thread
+     */
+    private static <I, O> ProcessingStage<I, O> stage(Function<? super I, ? extends O> mapper, Scheduler worker,
+            Context context, int batchSize) {
+        return source -> {
+            Flowable<I> items = source;
+            if (worker != null) {
+                items = items.observeOn(worker, false, batchSize);
+            }
+            Flowable<O> flowable = items.map(mapper::apply);
+            if (worker != null && context != null && context.getDelegate() != null) {
+                // Go back to the event loop for the downstream stages.
+                flowable = flowable.observeOn(RxHelper.scheduler(context), false, batchSize);
+            }
+            return flowable;
+        };
+    }
+
+}
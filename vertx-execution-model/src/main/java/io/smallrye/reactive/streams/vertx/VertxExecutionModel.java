@@ -1,23 +1,58 @@
 package io.smallrye.reactive.streams.vertx;
 
 import io.reactivex.Flowable;
+import io.smallrye.reactive.index.ServiceProvider;
+import io.smallrye.reactive.streams.Engine;
+import io.smallrye.reactive.streams.boundary.AsyncBoundary;
 import io.smallrye.reactive.streams.spi.ExecutionModel;
 import io.vertx.reactivex.core.Context;
 import io.vertx.reactivex.core.RxHelper;
 import io.vertx.reactivex.core.Vertx;
 
 /**
- * An implementation of {@link ExecutionModel} enforcing the Vert.x execution model.
+ * An implementation of {@link ExecutionModel} enforcing the Vert.x execution model. The signals are delivered on the
+ * caller context through the {@link AsyncBoundary} of the engine, which uses its
+ * {@link io.smallrye.reactive.streams.prefetch.AdaptivePrefetch} if any.
+ * <p>
+ * When the {@value #THREAD_CONFINED_PROPERTY} system property is set to {@code true}, the streams assembled on an
+ * event loop are considered confined to this event loop: the engine uses its thread-confined processors and
+ * subscribers. The boundaries are kept, as the engine only applies the model after the stages that can emit on
+ * another thread (publishers, asynchronous stages such as {@code flatMapCompletionStage}, or processors), and they
+ * bring the signals back to the event loop. The application must then request and cancel from this event loop only,
+ * which can be checked by also setting the {@code smallrye.reactive.streams.confinement.debug} system property. The
+ * property is read on each assembly.
  */
+@ServiceProvider(ExecutionModel.class)
 public class VertxExecutionModel implements ExecutionModel {
 
+    /**
+     * The system property enabling the thread confinement of the streams assembled on an event loop.
+     */
+    public static final String THREAD_CONFINED_PROPERTY = "smallrye.reactive.streams.vertx.thread-confined";
+
     @Override
     public Flowable apply(Flowable input) {
+        return apply(input, null);
+    }
+
+    @Override
+    public Flowable<?> apply(Flowable<?> input, Engine engine) {
         Context context = Vertx.currentContext();
         if (context != null && context.getDelegate() != null) {
-            return input.compose(f -> f.observeOn(RxHelper.scheduler(context)));
+            return AsyncBoundary.forEngine(engine, RxHelper.scheduler(context)).apply(input);
         }
         return input;
     }
 
+    @Override
+    public boolean isThreadConfined(Engine engine) {
+        return isThreadConfined(Vertx.currentContext());
+    }
+
+    private static boolean isThreadConfined(Context context) {
+        return Boolean.getBoolean(THREAD_CONFINED_PROPERTY) && context != null && context.getDelegate() != null
+                && context.isEventLoopContext()
+                && Context.isOnEventLoopThread();
+    }
+
 }
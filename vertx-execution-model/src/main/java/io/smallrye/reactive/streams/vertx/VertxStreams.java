@@ -0,0 +1,68 @@
+package io.smallrye.reactive.streams.vertx;
+
+import org.eclipse.microprofile.reactive.streams.operators.CompletionSubscriber;
+import org.eclipse.microprofile.reactive.streams.operators.PublisherBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.reactivestreams.Publisher;
+
+import io.vertx.core.streams.ReadStream;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * Adapts Vert.x {@link ReadStream} and {@link WriteStream} to Reactive Streams without intermediate buffers.
+ * The back-pressure is mapped onto the Vert.x flow control ({@code pause/resume/fetch} for read streams and
+ * {@code writeQueueFull/drainHandler} for write streams).
+ */
+public class VertxStreams {
+
+    private VertxStreams() {
+        // Avoid direct instantiation.
+    }
+
+    /**
+     * Creates a {@link Publisher} emitting the items from the given {@link ReadStream}.
+     *
+     * @param stream the stream, must not be {@code null}
+     * @param <T> the type of item
+     * @return the publisher, supporting a single subscriber
+     */
+    public static <T> Publisher<T> toPublisher(ReadStream<T> stream) {
+        return new ReadStreamPublisher<>(stream);
+    }
+
+    /**
+     * Creates a {@link PublisherBuilder} emitting the items from the given {@link ReadStream}.
+     *
+     * @param stream the stream, must not be {@code null}
+     * @param <T> the type of item
+     * @return the publisher builder
+     */
+    public static <T> PublisherBuilder<T> fromReadStream(ReadStream<T> stream) {
+        return ReactiveStreams.fromPublisher(toPublisher(stream));
+    }
+
+    /**
+     * Creates a {@link CompletionSubscriber} writing the received items into the given {@link WriteStream}. The
+     * stream is ended when the upstream completes.
+     *
+     * @param stream the stream, must not be {@code null}
+     * @param <T> the type of item
+     * @return the subscriber, its completion is completed when the stream has been ended
+     */
+    public static <T> CompletionSubscriber<T, Void> toSubscriber(WriteStream<T> stream) {
+        return toSubscriber(stream, true);
+    }
+
+    /**
+     * Creates a {@link CompletionSubscriber} writing the received items into the given {@link WriteStream}.
+     *
+     * @param stream the stream, must not be {@code null}
+     * @param endOnComplete whether or not the stream must be ended when the upstream completes
+     * @param <T> the type of item
+     * @return the subscriber
+     */
+    public static <T> CompletionSubscriber<T, Void> toSubscriber(WriteStream<T> stream, boolean endOnComplete) {
+        WriteStreamSubscriber<T> subscriber = new WriteStreamSubscriber<>(stream, endOnComplete);
+        return CompletionSubscriber.of(subscriber, subscriber.getCompletion());
+    }
+}
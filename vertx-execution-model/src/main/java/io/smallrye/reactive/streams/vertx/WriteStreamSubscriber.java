@@ -0,0 +1,113 @@
+package io.smallrye.reactive.streams.vertx;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * A {@link Subscriber} writing the received items into a Vert.x {@link WriteStream}.
+ * <p>
+ * Items are requested one by one, as long as the write queue of the stream is not full. When the write queue is
+ * full, no more items are requested until the stream calls its {@link WriteStream#drainHandler(io.vertx.core.Handler)
+ * drain handler}. So, the amount of items buffered is bounded by the write queue size of the stream.
+ *
+ * @param <T> the type of item
+ */
+public class WriteStreamSubscriber<T> implements Subscriber<T> {
+
+    private final WriteStream<T> stream;
+    private final boolean endOnComplete;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicReference<Subscription> subscription = new AtomicReference<>();
+    private final AtomicBoolean waitingForDrain = new AtomicBoolean();
+
+    /**
+     * Creates a new {@link WriteStreamSubscriber}.
+     *
+     * @param stream the stream, must not be {@code null}
+     * @param endOnComplete whether or not the stream must be ended when the upstream completes
+     */
+    public WriteStreamSubscriber(WriteStream<T> stream, boolean endOnComplete) {
+        this.stream = Objects.requireNonNull(stream, "The stream must not be `null`");
+        this.endOnComplete = endOnComplete;
+    }
+
+    /**
+     * @return the completion stage completed when all the items have been written (and the stream ended if
+     *         required), or completed exceptionally if either the upstream or the stream fails.
+     */
+    public CompletionStage<Void> getCompletion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        Objects.requireNonNull(s);
+        if (!subscription.compareAndSet(null, s)) {
+            s.cancel();
+            return;
+        }
+        stream.exceptionHandler(this::onStreamFailure);
+        s.request(1);
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item);
+        stream.write(item);
+        if (stream.writeQueueFull()) {
+            waitingForDrain.set(true);
+            stream.drainHandler(v -> resume());
+            // The stream may have been drained before the handler registration.
+            if (!stream.writeQueueFull()) {
+                resume();
+            }
+        } else {
+            subscription.get().request(1);
+        }
+    }
+
+    private void resume() {
+        if (waitingForDrain.compareAndSet(true, false)) {
+            subscription.get().request(1);
+        }
+    }
+
+    private void onStreamFailure(Throwable failure) {
+        Subscription s = subscription.get();
+        if (s != null) {
+            s.cancel();
+        }
+        completion.completeExceptionally(failure);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        Objects.requireNonNull(t);
+        stream.drainHandler(null);
+        completion.completeExceptionally(t);
+    }
+
+    @Override
+    public void onComplete() {
+        stream.drainHandler(null);
+        if (endOnComplete) {
+            stream.end(ar -> {
+                if (ar.failed()) {
+                    completion.completeExceptionally(ar.cause());
+                } else {
+                    completion.complete(null);
+                }
+            });
+        } else {
+            completion.complete(null);
+        }
+    }
+}
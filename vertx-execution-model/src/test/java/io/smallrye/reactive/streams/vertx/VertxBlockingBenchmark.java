@@ -0,0 +1,100 @@
+package io.smallrye.reactive.streams.vertx;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+
+/**
+ * JMH benchmark measuring the latency of the event loop while streams with a blocking mapper run on it, run with
+ * {@code mvn verify -Pbenchmarks}. Every millisecond, a timer runs a stream of {@link #items} items whose mapper blocks
+ * for {@link #blockingMicros} microseconds; the benchmark measures the time for a task submitted to the same event loop
+ * to run. The {@code offload} parameter selects how the mapper is invoked:
+ * <ul>
+ * <li>{@code INLINE}: with {@code map}, on the event loop, as a reference,</li>
+ * <li>{@code WORKER}: with {@link VertxBlocking#map(Function)}, on a worker thread.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VertxBlockingBenchmark {
+
+    @Param({ "INLINE", "WORKER" })
+    public String offload;
+
+    @Param({ "5" })
+    public int items;
+
+    @Param({ "100" })
+    public int blockingMicros;
+
+    private Vertx vertx;
+    private Context context;
+    private long timer;
+    private volatile CompletionStage<?> last = CompletableFuture.completedFuture(null);
+
+    @Setup
+    public void setup() {
+        vertx = Vertx.vertx(new VertxOptions().setEventLoopPoolSize(1));
+        context = vertx.getOrCreateContext();
+        Function<Integer, Integer> blocking = i -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(blockingMicros));
+            return i;
+        };
+        ProcessorBuilder<Integer, Integer> processor = offload.equals("WORKER")
+                ? VertxBlocking.map(blocking)
+                : ReactiveStreams.<Integer> builder().map(blocking);
+        Integer[] input = new Integer[items];
+        for (int i = 0; i < items; i++) {
+            input[i] = i;
+        }
+        context.runOnContext(x -> timer = vertx.setPeriodic(1, id -> last = ReactiveStreams.of(input)
+                .via(processor)
+                .toList()
+                .run()));
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        // Let the last stream complete, so the worker threads are not closed while in use.
+        CountDownLatch latch = new CountDownLatch(1);
+        context.runOnContext(x -> {
+            vertx.cancelTimer(timer);
+            last.whenComplete((list, err) -> vertx.close(closed -> latch.countDown()));
+        });
+        latch.await(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Boolean eventLoopLatency() throws InterruptedException, ExecutionException {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        context.runOnContext(x -> future.complete(Context.isOnEventLoopThread()));
+        return future.get();
+    }
+}
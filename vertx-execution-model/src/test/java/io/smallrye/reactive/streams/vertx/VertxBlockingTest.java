@@ -0,0 +1,158 @@
+package io.smallrye.reactive.streams.vertx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.microprofile.reactive.streams.operators.ProcessorBuilder;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Checks the behavior of the {@link VertxBlocking} processors.
+ */
+public class VertxBlockingTest {
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown() {
+        AtomicBoolean done = new AtomicBoolean();
+        vertx.close(x -> done.set(true));
+        await().untilAtomic(done, is(true));
+    }
+
+    @Test
+    public void testThatBlockingMapperRunsOnWorkerAndDownstreamOnEventLoop() throws Exception {
+        List<Boolean> mapperOnWorker = new CopyOnWriteArrayList<>();
+        List<Boolean> downstreamOnEventLoop = new CopyOnWriteArrayList<>();
+        CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+        List<Integer> input = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        vertx.runOnContext(x -> ReactiveStreams.fromIterable(input)
+                .via(VertxBlocking.<Integer, Integer> map(i -> {
+                    mapperOnWorker.add(Context.isOnWorkerThread());
+                    return i + 1;
+                }, 16))
+                .peek(i -> downstreamOnEventLoop.add(Context.isOnEventLoopThread()))
+                .toList()
+                .run()
+                .whenComplete((list, err) -> {
+                    if (err != null) {
+                        result.completeExceptionally(err);
+                    } else {
+                        result.complete(list);
+                    }
+                }));
+
+        List<Integer> list = result.get(10, TimeUnit.SECONDS);
+        assertThat(list).hasSize(1000).isSorted().startsWith(1, 2, 3).endsWith(1000);
+        assertThat(mapperOnWorker).hasSize(1000).containsOnly(true);
+        assertThat(downstreamOnEventLoop).hasSize(1000).containsOnly(true);
+    }
+
+    @Test
+    public void testFailureInBlockingMapper() {
+        CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+        vertx.runOnContext(x -> ReactiveStreams.of(1, 2, 3)
+                .via(VertxBlocking.<Integer, Integer> map(i -> {
+                    if (i == 2) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                }))
+                .toList()
+                .run()
+                .whenComplete((list, err) -> {
+                    if (err != null) {
+                        result.completeExceptionally(err);
+                    } else {
+                        result.complete(list);
+                    }
+                }));
+
+        await().until(result::isDone);
+        assertThat(result).isCompletedExceptionally();
+    }
+
+    @Test
+    public void testWithoutVertxContext() throws Exception {
+        List<Integer> list = ReactiveStreams.of(1, 2, 3)
+                .via(VertxBlocking.<Integer, Integer> map(i -> i * 2))
+                .toList()
+                .run()
+                .toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+        assertThat(list).containsExactly(2, 4, 6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBatchSize() throws Throwable {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        vertx.runOnContext(x -> {
+            try {
+                VertxBlocking.map(i -> i, 0);
+                result.complete(null);
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            result.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw e.getCause();
+        }
+    }
+
+    @Test
+    public void testThatTheBuilderCanBeReused() throws Exception {
+        ProcessorBuilder<Integer, Integer> blocking = VertxBlocking.map(i -> i + 1);
+        for (int run = 0; run < 2; run++) {
+            CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+            List<Boolean> downstreamOnEventLoop = new CopyOnWriteArrayList<>();
+            vertx.runOnContext(x -> ReactiveStreams.of(1, 2, 3)
+                    .via(blocking)
+                    .peek(i -> downstreamOnEventLoop.add(Context.isOnEventLoopThread()))
+                    .toList()
+                    .run()
+                    .whenComplete((list, err) -> {
+                        if (err != null) {
+                            result.completeExceptionally(err);
+                        } else {
+                            result.complete(list);
+                        }
+                    }));
+
+            assertThat(result.get(5, TimeUnit.SECONDS)).containsExactly(2, 3, 4);
+            assertThat(downstreamOnEventLoop).hasSize(3).containsOnly(true);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBatchSizeWithoutVertxContext() {
+        VertxBlocking.map(i -> i, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullMapperWithoutVertxContext() {
+        VertxBlocking.map(null);
+    }
+}
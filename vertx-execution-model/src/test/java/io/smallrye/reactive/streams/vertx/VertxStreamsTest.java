@@ -0,0 +1,182 @@
+package io.smallrye.reactive.streams.vertx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.microprofile.reactive.streams.operators.CompletionSubscriber;
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * Checks the behavior of the {@link VertxStreams} adapters.
+ */
+public class VertxStreamsTest {
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown() {
+        AtomicBoolean done = new AtomicBoolean();
+        vertx.close(x -> done.set(true));
+        await().untilAtomic(done, is(true));
+    }
+
+    @Test
+    public void testReadingFromAnEventBusConsumer() throws Exception {
+        MessageConsumer<Integer> consumer = vertx.eventBus().consumer("data");
+        CompletionStage<List<Integer>> result = VertxStreams.fromReadStream(consumer)
+                .limit(5)
+                .map(Message::body)
+                .toList()
+                .run();
+
+        await().until(consumer::isRegistered);
+        for (int i = 0; i < 10; i++) {
+            vertx.eventBus().send("data", i);
+        }
+
+        assertThat(result.toCompletableFuture().get(5, TimeUnit.SECONDS)).containsExactly(0, 1, 2, 3, 4);
+        // The cancellation triggered by `limit` unregisters the consumer.
+        await().until(() -> !consumer.isRegistered());
+    }
+
+    @Test
+    public void testThatReadStreamPublisherRejectsSecondSubscriber() throws Exception {
+        MessageConsumer<Integer> consumer = vertx.eventBus().consumer("data");
+        ReadStreamPublisher<Message<Integer>> publisher = new ReadStreamPublisher<>(consumer);
+        ReactiveStreams.fromPublisher(publisher).limit(1).toList().run();
+        CompletionStage<List<Message<Integer>>> second = ReactiveStreams.fromPublisher(publisher).toList().run();
+        assertThat(second.toCompletableFuture().handle((r, e) -> e).get(5, TimeUnit.SECONDS))
+                .hasMessageContaining("Multicast");
+    }
+
+    @Test
+    public void testWritingWithBoundedQueue() throws Exception {
+        FakeWriteStream stream = new FakeWriteStream();
+        CompletionSubscriber<Integer, Void> subscriber = VertxStreams.toSubscriber(stream);
+        ReactiveStreams.of(1, 2, 3, 4, 5, 6).to(subscriber).run();
+
+        while (!stream.ended) {
+            // Never more items than the write queue size.
+            assertThat(stream.pending.size()).isLessThanOrEqualTo(FakeWriteStream.MAX);
+            stream.flush();
+        }
+
+        subscriber.getCompletion().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(stream.written).containsExactly(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    public void testWritingWithoutEndingTheStream() throws Exception {
+        FakeWriteStream stream = new FakeWriteStream();
+        stream.flushOnWrite = true;
+        CompletionSubscriber<Integer, Void> subscriber = VertxStreams.toSubscriber(stream, false);
+        ReactiveStreams.of(1, 2, 3).to(subscriber).run();
+
+        subscriber.getCompletion().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(stream.written).containsExactly(1, 2, 3);
+        assertThat(stream.ended).isFalse();
+    }
+
+    @Test
+    public void testUpstreamFailureIsPropagated() {
+        FakeWriteStream stream = new FakeWriteStream();
+        CompletionSubscriber<Integer, Void> subscriber = VertxStreams.toSubscriber(stream);
+        ReactiveStreams.<Integer> failed(new Exception("boom")).to(subscriber).run();
+
+        assertThat(subscriber.getCompletion().toCompletableFuture()).isCompletedExceptionally();
+        assertThat(stream.ended).isFalse();
+    }
+
+    private static class FakeWriteStream implements WriteStream<Integer> {
+        static final int MAX = 2;
+
+        final List<Integer> pending = new ArrayList<>();
+        final List<Integer> written = new ArrayList<>();
+        boolean flushOnWrite;
+        boolean ended;
+        private Handler<Void> drain;
+
+        @Override
+        public WriteStream<Integer> exceptionHandler(Handler<Throwable> handler) {
+            return this;
+        }
+
+        @Override
+        public WriteStream<Integer> write(Integer data) {
+            pending.add(data);
+            if (flushOnWrite) {
+                written.addAll(pending);
+                pending.clear();
+            }
+            return this;
+        }
+
+        @Override
+        public WriteStream<Integer> write(Integer data, Handler<AsyncResult<Void>> handler) {
+            write(data);
+            handler.handle(Future.succeededFuture());
+            return this;
+        }
+
+        @Override
+        public void end() {
+            // Like the Vert.x streams, the queued items are written before ending.
+            written.addAll(pending);
+            pending.clear();
+            ended = true;
+        }
+
+        @Override
+        public void end(Handler<AsyncResult<Void>> handler) {
+            end();
+            handler.handle(Future.succeededFuture());
+        }
+
+        @Override
+        public WriteStream<Integer> setWriteQueueMaxSize(int maxSize) {
+            return this;
+        }
+
+        @Override
+        public boolean writeQueueFull() {
+            return pending.size() >= MAX;
+        }
+
+        @Override
+        public WriteStream<Integer> drainHandler(Handler<Void> handler) {
+            this.drain = handler;
+            return this;
+        }
+
+        void flush() {
+            written.addAll(pending);
+            pending.clear();
+            if (drain != null) {
+                drain.handle(null);
+            }
+        }
+    }
+}
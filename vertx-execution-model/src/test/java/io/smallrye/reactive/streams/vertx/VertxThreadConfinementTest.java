@@ -0,0 +1,80 @@
+package io.smallrye.reactive.streams.vertx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.microprofile.reactive.streams.operators.ReactiveStreams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+/**
+ * Checks the streams assembled on an event loop when the
+ * {@value VertxExecutionModel#THREAD_CONFINED_PROPERTY} system property is set.
+ */
+public class VertxThreadConfinementTest {
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() {
+        System.setProperty(VertxExecutionModel.THREAD_CONFINED_PROPERTY, "true");
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(VertxExecutionModel.THREAD_CONFINED_PROPERTY);
+        AtomicBoolean done = new AtomicBoolean();
+        vertx.close(x -> done.set(true));
+        await().untilAtomic(done, is(true));
+    }
+
+    @Test
+    public void testThatThePropertyIsReadOnAssembly() throws Exception {
+        VertxExecutionModel model = new VertxExecutionModel();
+        assertThat(model.isThreadConfined(null)).isFalse();
+
+        CompletableFuture<Boolean> confined = new CompletableFuture<>();
+        vertx.runOnContext(x -> confined.complete(model.isThreadConfined(null)));
+        assertThat(confined.get(5, TimeUnit.SECONDS)).isTrue();
+
+        System.clearProperty(VertxExecutionModel.THREAD_CONFINED_PROPERTY);
+        CompletableFuture<Boolean> notConfined = new CompletableFuture<>();
+        vertx.runOnContext(x -> notConfined.complete(model.isThreadConfined(null)));
+        assertThat(notConfined.get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    public void testThatAsynchronousStagesAreBroughtBackToTheEventLoop() throws Exception {
+        List<Boolean> downstreamOnEventLoop = new CopyOnWriteArrayList<>();
+        CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+
+        vertx.runOnContext(x -> ReactiveStreams.of(1, 2, 3)
+                // Completed on a thread of the common pool.
+                .flatMapCompletionStage(i -> CompletableFuture.supplyAsync(() -> i * 2))
+                .peek(i -> downstreamOnEventLoop.add(Context.isOnEventLoopThread()))
+                .toList()
+                .run()
+                .whenComplete((list, err) -> {
+                    if (err != null) {
+                        result.completeExceptionally(err);
+                    } else {
+                        result.complete(list);
+                    }
+                }));
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).containsExactly(2, 4, 6);
+        assertThat(downstreamOnEventLoop).hasSize(3).containsOnly(true);
+    }
+}